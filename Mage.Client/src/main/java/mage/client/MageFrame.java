@@ -126,12 +126,12 @@ import mage.client.util.stats.UpdateMemUsageTask;
 import mage.components.ImagePanel;
 import mage.constants.PlayerAction;
 import mage.interfaces.MageClient;
-import mage.interfaces.callback.CallbackClient;
 import mage.interfaces.callback.ClientCallback;
 import mage.remote.Connection;
 import mage.remote.Connection.ProxyType;
 import mage.utils.MageVersion;
 import mage.view.GameEndView;
+import mage.view.RoomUpdateView;
 import mage.view.UserRequestMessage;
 import net.java.balloontip.BalloonTip;
 import net.java.balloontip.positioners.LeftAbovePositioner;
@@ -161,7 +161,7 @@ public class MageFrame extends javax.swing.JFrame implements MageClient {
 
     private final ConnectDialog connectDialog;
     private final ErrorDialog errorDialog;
-    private static CallbackClient callbackClient;
+    private static CallbackClientImpl callbackClient;
     private static final Preferences PREFS = Preferences.userNodeForPackage(MageFrame.class);
     private JLabel title;
     private Rectangle titleRectangle;
@@ -1057,6 +1057,10 @@ public class MageFrame extends javax.swing.JFrame implements MageClient {
         this.tablesPane.hideTables();
     }
 
+    public void updateRoom(UUID roomId, RoomUpdateView update) {
+        this.tablesPane.updateRoom(roomId, update);
+    }
+
     public void showGames(boolean setActive) {
         MagePane topPanebefore = getTopMost(tablesPane);
         if (!tablesPane.isVisible()) {
@@ -1282,6 +1286,7 @@ public class MageFrame extends javax.swing.JFrame implements MageClient {
 
     public static void removeGame(UUID gameId) {
         GAMES.remove(gameId);
+        callbackClient.removeGame(gameId);
     }
 
     public static DraftPanel getDraft(UUID draftId) {
@@ -276,6 +276,19 @@ public class SessionHandler {
         }
     }
 
+    public static RoomUpdateView getRoomUpdate(UUID roomId, long version) {
+        try {
+            return session.getRoomUpdate(roomId, version);
+        } catch (MageRemoteException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    public static boolean stopRoomUpdates(UUID roomId) {
+        return session.stopRoomUpdates(roomId);
+    }
+
     public static void replayGame(UUID id) {
         session.replayGame(id);
     }
@@ -28,12 +28,15 @@
 package mage.client.remote;
 
 import java.awt.event.KeyEvent;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import mage.cards.decks.Deck;
 import mage.client.MageFrame;
+import mage.client.SessionHandler;
 import mage.client.chat.ChatPanelBasic;
 import mage.client.constants.Constants.DeckEditorMode;
 import mage.client.dialog.PreferencesDialog;
@@ -44,8 +47,11 @@ import mage.client.util.DeckUtil;
 import mage.client.util.GameManager;
 import mage.client.util.audio.AudioManager;
 import mage.client.util.object.SaveObjectUtil;
+import mage.constants.PlayerAction;
 import mage.interfaces.callback.CallbackClient;
 import mage.interfaces.callback.ClientCallback;
+import mage.remote.traffic.GameViewDelta;
+import mage.remote.traffic.GameViewDeltaDecoder;
 import mage.utils.CompressUtil;
 import mage.view.AbilityPickerView;
 import mage.view.ChatMessage;
@@ -56,6 +62,7 @@ import mage.view.DraftView;
 import mage.view.GameClientMessage;
 import mage.view.GameEndView;
 import mage.view.GameView;
+import mage.view.RoomUpdateView;
 import mage.view.TableClientMessage;
 import mage.view.UserRequestMessage;
 import org.apache.log4j.Logger;
@@ -70,15 +77,62 @@ public class CallbackClientImpl implements CallbackClient {
     private final MageFrame frame;
     private int messageId = 0;
     private int gameInformMessageId = 0;
+    private final Map<UUID, GameViewDeltaDecoder> gameViewDecoders = new HashMap<>();
 
     public CallbackClientImpl(MageFrame frame) {
         this.frame = frame;
     }
 
+    /**
+     * The game panel was closed, the views of the game are not needed anymore.
+     *
+     * @param gameId
+     */
+    public synchronized void removeGame(UUID gameId) {
+        gameViewDecoders.remove(gameId);
+    }
+
     @Override
     public synchronized void processCallback(final ClientCallback callback) {
         SaveObjectUtil.saveObject(callback.getData(), callback.getMethod());
-        callback.setData(CompressUtil.decompress(callback.getData()));
+        try {
+            callback.setData(CompressUtil.decompress(callback.getData()));
+        } catch (RuntimeException ex) {
+            logger.error("Can't decode callback - dropped, method: " + callback.getMethod() + " messageId: " + callback.getMessageId(), ex);
+            if (callback.getMethod().startsWith("game") && !"gameOver".equals(callback.getMethod())) {
+                // handled like a lost game view, the server sends the last one again
+                final UUID gameId = callback.getObjectId();
+                SwingUtilities.invokeLater(() -> SessionHandler.sendPlayerAction(PlayerAction.CLIENT_REQUEST_GAME_VIEW, gameId, null));
+            }
+            return;
+        }
+        if (callback.getData() instanceof GameViewDelta) {
+            // decoded here because the deltas have to be decoded in the order they were received
+            final UUID gameId = callback.getObjectId();
+            GameViewDeltaDecoder decoder = gameViewDecoders.get(gameId);
+            if (decoder == null) {
+                if (!((GameViewDelta) callback.getData()).isKeyFrame() && MageFrame.getGame(gameId) == null) {
+                    // the game panel was closed, a game starts with a key frame
+                    logger.debug("Game view delta of a closed game dropped, method: " + callback.getMethod());
+                    return;
+                }
+                decoder = new GameViewDeltaDecoder();
+                gameViewDecoders.put(gameId, decoder);
+            }
+            boolean broken = decoder.isBroken();
+            Object data = decoder.decode((GameViewDelta) callback.getData());
+            if (data == null) {
+                if (!broken) {
+                    logger.warn("Game view delta lost - requesting full game view, method: " + callback.getMethod() + " messageId: " + callback.getMessageId());
+                    SwingUtilities.invokeLater(() -> SessionHandler.sendPlayerAction(PlayerAction.CLIENT_REQUEST_GAME_VIEW, gameId, null));
+                }
+                return;
+            }
+            callback.setData(data);
+        }
+        if ("gameOver".equals(callback.getMethod())) {
+            gameViewDecoders.remove(callback.getObjectId());
+        }
         SwingUtilities.invokeLater(() -> {
             try {
                 logger.debug(callback.getMessageId() + " -- " + callback.getMethod());
@@ -153,6 +207,9 @@ public class CallbackClientImpl implements CallbackClient {
                             }
                         }
                         break;
+                    case "roomUpdate":
+                        MageFrame.getInstance().updateRoom(callback.getObjectId(), (RoomUpdateView) callback.getData());
+                        break;
                     case "joinedTable": {
                         TableClientMessage message = (TableClientMessage) callback.getData();
                         joinedTable(message.getRoomId(), message.getTableId(), message.getFlag());
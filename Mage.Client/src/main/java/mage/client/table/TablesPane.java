@@ -33,6 +33,7 @@ import javax.swing.JComponent;
 import mage.client.MagePane;
 import mage.client.SessionHandler;
 import mage.client.plugins.impl.Plugins;
+import mage.view.RoomUpdateView;
 
 /**
  *
@@ -84,6 +85,10 @@ public class TablesPane extends MagePane {
         tablesPanel.hideTables();
     }
 
+    public void updateRoom(UUID roomId, RoomUpdateView update) {
+        tablesPanel.updateRoom(roomId, update);
+    }
+
     public void clearChat() {
         tablesPanel.getChatPanel().clear();
     }
@@ -48,6 +48,7 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -69,6 +70,7 @@ import javax.swing.JPopupMenu;
 import javax.swing.JToggleButton;
 import javax.swing.RowFilter;
 import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.table.AbstractTableModel;
 import mage.cards.decks.importer.DeckImporterUtil;
 import mage.client.MageFrame;
@@ -95,8 +97,9 @@ import mage.constants.RangeOfInfluence;
 import mage.constants.SkillLevel;
 import mage.game.match.MatchOptions;
 import mage.remote.MageRemoteException;
+import mage.remote.traffic.RoomUpdateDecoder;
 import mage.view.MatchView;
-import mage.view.RoomUsersView;
+import mage.view.RoomUpdateView;
 import mage.view.TableView;
 import mage.view.UserRequestMessage;
 import org.apache.log4j.Logger;
@@ -114,9 +117,14 @@ public class TablesPanel extends javax.swing.JPanel {
     private final TableTableModel tableModel;
     private final MatchesTableModel matchesModel;
     private UUID roomId;
-    private UpdateTablesTask updateTablesTask;
-    private UpdatePlayersTask updatePlayersTask;
-    private UpdateMatchesTask updateMatchesTask;
+    private final RoomUpdateDecoder roomUpdates = new RoomUpdateDecoder();
+    private RoomUpdateTask roomUpdateTask;
+    private StopRoomUpdatesTask stopRoomUpdatesTask;
+    // version of the latest pushed update that was rejected while the room was requested
+    private long rejectedVersion = -1;
+    private boolean roomUpdatesStarted;
+    // the server messages are reloaded every 3 minutes
+    private final Timer messagesTimer = new Timer(180000, e -> reloadMessages());
     private JoinTableDialog joinTableDialog;
     private NewTableDialog newTableDialog;
     private NewTournamentDialog newTournamentDialog;
@@ -439,40 +447,78 @@ public class TablesPanel extends javax.swing.JPanel {
         }
     }
 
+    /**
+     * Requests the changes of the room since the last seen version, the
+     * server pushes the next changes then.
+     */
     public void startTasks() {
         if (SessionHandler.getSession() != null) {
-            if (updateTablesTask == null || updateTablesTask.isDone()) {
-                updateTablesTask = new UpdateTablesTask(roomId, this);
-                updateTablesTask.execute();
-            }
-            if (updatePlayersTask == null || updatePlayersTask.isDone()) {
-                updatePlayersTask = new UpdatePlayersTask(roomId, this.chatPanelMain);
-                updatePlayersTask.execute();
+            if (!roomUpdatesStarted) {
+                roomUpdatesStarted = true;
+                requestRoomUpdate();
+                messagesTimer.start();
             }
             if (this.btnStateFinished.isSelected()) {
-                if (updateMatchesTask == null || updateMatchesTask.isDone()) {
-                    updateMatchesTask = new UpdateMatchesTask(roomId, this);
-                    updateMatchesTask.execute();
-                }
-            } else if (updateMatchesTask != null) {
-                updateMatchesTask.cancel(true);
+                updateMatches(roomUpdates.getFinished());
             }
         }
     }
 
     public void stopTasks() {
-        if (updateTablesTask != null) {
-            updateTablesTask.cancel(true);
+        if (roomUpdatesStarted) {
+            roomUpdatesStarted = false;
+            messagesTimer.stop();
+            if (SessionHandler.getSession() != null) {
+                // a remote call, so it's not done on the event dispatch thread
+                stopRoomUpdatesTask = new StopRoomUpdatesTask(roomId);
+                stopRoomUpdatesTask.execute();
+            }
+        }
+    }
+
+    private void requestRoomUpdate() {
+        if (roomUpdateTask == null || roomUpdateTask.isDone()) {
+            rejectedVersion = -1;
+            roomUpdateTask = new RoomUpdateTask(roomId, roomUpdates.getVersion(), this, stopRoomUpdatesTask);
+            roomUpdateTask.execute();
+        }
+    }
+
+    public void updateRoom(UUID roomId, RoomUpdateView update) {
+        if (!roomUpdatesStarted || update == null || !roomId.equals(this.roomId)) {
+            return;
         }
-        if (updatePlayersTask != null) {
-            updatePlayersTask.cancel(true);
+        if (!roomUpdates.apply(update)) {
+            // an update was lost
+            if (roomUpdateTask != null && !roomUpdateTask.isDone()) {
+                // pushed before the requested room arrived, requested again if the room is older
+                rejectedVersion = Math.max(rejectedVersion, update.getVersion());
+            } else {
+                requestRoomUpdate();
+            }
+            return;
         }
-        if (updateMatchesTask != null) {
-            updateMatchesTask.cancel(true);
+        updateTables(roomUpdates.getTables());
+        if (this.btnStateFinished.isSelected() && update.getFinished() != null) {
+            updateMatches(roomUpdates.getFinished());
+        }
+        chatPanelMain.setRoomUserInfo(Collections.singletonList(roomUpdates.getRoomUsers()));
+    }
+
+    /**
+     * The requested room has arrived (or the request failed), updates pushed
+     * in the meantime that couldn't be applied are requested again.
+     */
+    void roomUpdateDone(UUID roomId) {
+        if (roomUpdatesStarted && roomId.equals(this.roomId) && rejectedVersion > roomUpdates.getVersion()) {
+            requestRoomUpdate();
         }
     }
 
     public void showTables(UUID roomId) {
+        if (!roomId.equals(this.roomId)) {
+            roomUpdates.reset();
+        }
         this.roomId = roomId;
         UUID chatRoomId = null;
         if (SessionHandler.getSession() != null) {
@@ -1404,90 +1450,67 @@ class TableTableModel extends AbstractTableModel {
 
 }
 
-class UpdateTablesTask extends SwingWorker<Void, Collection<TableView>> {
+class RoomUpdateTask extends SwingWorker<RoomUpdateView, Void> {
 
     private final UUID roomId;
+    private final long version;
     private final TablesPanel panel;
 
-    private static final Logger logger = Logger.getLogger(UpdateTablesTask.class);
+    private static final Logger logger = Logger.getLogger(RoomUpdateTask.class);
 
-    private int count = 0;
-
-    UpdateTablesTask(UUID roomId, TablesPanel panel) {
+    private final StopRoomUpdatesTask stopTask;
 
+    /**
+     * @param roomId
+     * @param version the version of the room the client has seen
+     * @param panel
+     * @param stopTask the last stop of the room updates, the room is requested
+     * after it or null
+     */
+    RoomUpdateTask(UUID roomId, long version, TablesPanel panel, StopRoomUpdatesTask stopTask) {
         this.roomId = roomId;
+        this.version = version;
         this.panel = panel;
+        this.stopTask = stopTask;
     }
 
     @Override
-    protected Void doInBackground() throws Exception {
-        while (!isCancelled()) {
-            Collection<TableView> tables = SessionHandler.getTables(roomId);
-            if (tables != null) {
-                this.publish(tables);
+    protected RoomUpdateView doInBackground() throws Exception {
+        if (stopTask != null) {
+            // otherwise the server could stop the updates after they were requested again
+            try {
+                stopTask.get();
+            } catch (ExecutionException ex) {
+                logger.warn("Stopping the room updates failed", ex);
             }
-            Thread.sleep(3000);
-        }
-        return null;
-    }
-
-    @Override
-    protected void process(List<Collection<TableView>> view) {
-        panel.updateTables(view.get(0));
-        count++;
-        if (count > 60) {
-            count = 0;
-            panel.reloadMessages();
         }
+        return SessionHandler.getRoomUpdate(roomId, version);
     }
 
     @Override
     protected void done() {
         try {
-            get();
+            panel.updateRoom(roomId, get());
         } catch (InterruptedException | ExecutionException ex) {
-            logger.fatal("Update Tables Task error", ex);
+            logger.fatal("Room Update Task error", ex);
         } catch (CancellationException ex) {
         }
+        panel.roomUpdateDone(roomId);
     }
 
 }
 
-class UpdatePlayersTask extends SwingWorker<Void, Collection<RoomUsersView>> {
+class StopRoomUpdatesTask extends SwingWorker<Boolean, Void> {
 
     private final UUID roomId;
-    private final PlayersChatPanel chat;
-
-    private static final Logger logger = Logger.getLogger(UpdatePlayersTask.class);
-
-    UpdatePlayersTask(UUID roomId, PlayersChatPanel chat) {
 
+    StopRoomUpdatesTask(UUID roomId) {
         this.roomId = roomId;
-        this.chat = chat;
-    }
-
-    @Override
-    protected Void doInBackground() throws Exception {
-        while (!isCancelled()) {
-            this.publish(SessionHandler.getRoomUsers(roomId));
-            Thread.sleep(3000);
-        }
-        return null;
     }
 
     @Override
-    protected void process(List<Collection<RoomUsersView>> roomUserInfo) {
-        chat.setRoomUserInfo(roomUserInfo);
-    }
-
-    @Override
-    protected void done() {
-        try {
-            get();
-        } catch (InterruptedException | ExecutionException ex) {
-            logger.fatal("Update Players Task error", ex);
-        } catch (CancellationException ex) {
-        }
+    protected Boolean doInBackground() throws Exception {
+        return SessionHandler.stopRoomUpdates(roomId);
     }
 
 }
@@ -1593,47 +1616,6 @@ class MatchesTableModel extends AbstractTableModel {
 
 }
 
-class UpdateMatchesTask extends SwingWorker<Void, Collection<MatchView>> {
-
-    private final UUID roomId;
-    private final TablesPanel panel;
-
-    private static final Logger logger = Logger.getLogger(UpdateTablesTask.class);
-
-    UpdateMatchesTask(UUID roomId, TablesPanel panel) {
-        this.roomId = roomId;
-        this.panel = panel;
-    }
-
-    @Override
-    protected Void doInBackground() throws Exception {
-        while (!isCancelled()) {
-            Collection<MatchView> matches = SessionHandler.getFinishedMatches(roomId);
-            if (matches != null) {
-                this.publish(matches);
-            }
-            Thread.sleep(10000);
-        }
-        return null;
-    }
-
-    @Override
-    protected void process(List<Collection<MatchView>> view) {
-        panel.updateMatches(view.get(0));
-    }
-
-    @Override
-    protected void done() {
-        try {
-            get();
-        } catch (InterruptedException | ExecutionException ex) {
-            logger.fatal("Update Matches Task error", ex);
-        } catch (CancellationException ex) {
-        }
-    }
-
-}
-
 class GameChooser extends JPopupMenu {
 
     public void init() {
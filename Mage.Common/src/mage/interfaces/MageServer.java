@@ -117,6 +117,11 @@ public interface MageServer {
 
     List<TableView> getTables(UUID roomId) throws MageException;
 
+    // changes of the room since the version, the next changes are pushed with roomUpdate callbacks
+    Object getRoomUpdateCompressed(String sessionId, UUID roomId, long version) throws MageException;
+
+    void stopRoomUpdates(String sessionId, UUID roomId) throws MageException;
+
     //chat methods
     void sendChatMessage(UUID chatId, String userName, String message) throws MageException;
 
@@ -747,6 +747,36 @@ public class SessionImpl implements Session {
         return null;
     }
 
+    @Override
+    public RoomUpdateView getRoomUpdate(UUID roomId, long version) throws MageRemoteException {
+        try {
+            if (isConnected()) {
+                return (RoomUpdateView) CompressUtil.decompress(server.getRoomUpdateCompressed(sessionId, roomId, version));
+            }
+        } catch (MageException ex) {
+            handleMageException(ex);
+            throw new MageRemoteException();
+        } catch (Throwable t) {
+            handleThrowable(t);
+        }
+        return null;
+    }
+
+    @Override
+    public boolean stopRoomUpdates(UUID roomId) {
+        try {
+            if (isConnected()) {
+                server.stopRoomUpdates(sessionId, roomId);
+                return true;
+            }
+        } catch (MageException ex) {
+            handleMageException(ex);
+        } catch (Throwable t) {
+            handleThrowable(t);
+        }
+        return false;
+    }
+
     @Override
     public Collection<RoomUsersView> getRoomUsers(UUID roomId) throws MageRemoteException {
         try {
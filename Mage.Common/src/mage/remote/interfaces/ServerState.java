@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.UUID;
 import mage.remote.MageRemoteException;
 import mage.view.MatchView;
+import mage.view.RoomUpdateView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.UserView;
@@ -53,6 +54,10 @@ public interface ServerState {
 
     Collection<MatchView> getFinishedMatches(UUID roomId) throws MageRemoteException;
 
+    RoomUpdateView getRoomUpdate(UUID roomId, long version) throws MageRemoteException;
+
+    boolean stopRoomUpdates(UUID roomId);
+
     String getVersionInfo();
 
 }
@@ -0,0 +1,46 @@
+package mage.remote.traffic;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * Callback data encoded with the {@link ViewCodec}. It's decoded by the client
+ * like the zipped objects.
+ */
+public class CodedObject<T> implements ZippedObject<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private byte[] data;
+
+    CodedObject(byte[] data) {
+        this.data = data;
+    }
+
+    @Override
+    public void zip(T object) {
+        try {
+            data = ViewCodec.encode(object);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Can't encode " + object, ex);
+        }
+    }
+
+    /**
+     * @return the decoded object
+     * @throws IllegalStateException if the data can't be decoded
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T unzip() {
+        try {
+            return (T) ViewCodec.decode(data);
+        } catch (IOException | ClassNotFoundException | RuntimeException ex) {
+            throw new IllegalStateException("Can't decode view", ex);
+        }
+    }
+
+    public int getSize() {
+        return data.length;
+    }
+}
@@ -0,0 +1,71 @@
+package mage.remote.traffic;
+
+import java.io.Serializable;
+import java.util.Map;
+import mage.view.SimpleCardsView;
+
+/**
+ * Callback data (a game view or a message with a game view) encoded by a
+ * {@link GameViewDeltaEncoder}. The views that were already sent with the
+ * previous delta are replaced by patches with their changed fields.
+ *
+ * The deltas of a game are numbered, a delta can only be decoded if the delta
+ * with its base version was decoded before. Key frames contain all views and
+ * can always be decoded.
+ *
+ * The same delta can be sent to all watchers of a game, the hands a watcher
+ * is allowed to see are added to the delta for each of them.
+ */
+public class GameViewDelta implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int version;
+    private final int baseVersion;
+    private final byte[] data;
+    private final Map<String, SimpleCardsView> watchedHands;
+
+    public GameViewDelta(int version, int baseVersion, byte[] data) {
+        this(version, baseVersion, data, null);
+    }
+
+    private GameViewDelta(int version, int baseVersion, byte[] data, Map<String, SimpleCardsView> watchedHands) {
+        this.version = version;
+        this.baseVersion = baseVersion;
+        this.data = data;
+        this.watchedHands = watchedHands;
+    }
+
+    /**
+     * @param watchedHands
+     * @return a delta with the same encoded data and the watched hands set to
+     * the game view after decoding
+     */
+    public GameViewDelta withWatchedHands(Map<String, SimpleCardsView> watchedHands) {
+        return new GameViewDelta(version, baseVersion, data, watchedHands);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return version of the delta the patches are based on, -1 for key
+     * frames
+     */
+    public int getBaseVersion() {
+        return baseVersion;
+    }
+
+    public boolean isKeyFrame() {
+        return baseVersion == -1;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public Map<String, SimpleCardsView> getWatchedHands() {
+        return watchedHands;
+    }
+}
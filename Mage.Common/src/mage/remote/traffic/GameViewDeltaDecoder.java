@@ -0,0 +1,95 @@
+package mage.remote.traffic;
+
+import java.io.IOException;
+import mage.view.GameClientMessage;
+import mage.view.GameView;
+import org.apache.log4j.Logger;
+
+/**
+ * Decodes the deltas of one game encoded by a {@link GameViewDeltaEncoder}.
+ *
+ * If a delta was lost (its base version is not the version decoded last) the
+ * following deltas can't be decoded until the next key frame arrives, the
+ * client has to request a full game view from the server then.
+ */
+public class GameViewDeltaDecoder {
+
+    private static final Logger logger = Logger.getLogger(GameViewDeltaDecoder.class);
+
+    private ViewFields.Base base = ViewFields.Base.EMPTY;
+    private int version = -1;
+    private boolean broken;
+
+    /**
+     * @param delta
+     * @return the decoded data or null if the delta can't be decoded
+     */
+    public synchronized Object decode(GameViewDelta delta) {
+        if (!delta.isKeyFrame() && (broken || delta.getBaseVersion() != version)) {
+            if (!broken) {
+                logger.warn("Game view delta " + delta.getVersion() + " is based on " + delta.getBaseVersion() + " but last version is " + version);
+                broken = true;
+            }
+            return null;
+        }
+        try {
+            ViewFields.Base usedBase = delta.isKeyFrame() ? ViewFields.Base.EMPTY : base;
+            DeltaInput in = new DeltaInput(delta.getData(), usedBase);
+            Object data = in.readObject();
+            if (delta.getWatchedHands() != null) {
+                GameView gameView = data instanceof GameClientMessage ? ((GameClientMessage) data).getGameView() : (GameView) data;
+                gameView.setWatchedHands(delta.getWatchedHands());
+            }
+            base = in.views.toBase(usedBase);
+            version = delta.getVersion();
+            broken = false;
+            return data;
+        } catch (IOException | ClassNotFoundException | RuntimeException ex) {
+            logger.error("Can't decode game view delta " + delta.getVersion(), ex);
+            broken = true;
+        }
+        return null;
+    }
+
+    /**
+     * @return true if deltas were lost and no key frame was decoded since
+     */
+    public synchronized boolean isBroken() {
+        return broken;
+    }
+
+    private static class DeltaInput extends ViewCodecInput {
+
+        private final ViewFields.Base base;
+        private final ViewFields.Views views = new ViewFields.Views();
+
+        DeltaInput(byte[] data, ViewFields.Base base) throws IOException {
+            super(data);
+            this.base = base;
+        }
+
+        @Override
+        protected Object resolve(Object obj) throws IOException {
+            if (obj instanceof ViewPatch) {
+                ViewPatch patch = (ViewPatch) obj;
+                ViewFields.Key key = patch.getKey();
+                Object previous = base.get(key);
+                if (previous == null) {
+                    throw new IOException("View to patch is missing: " + patch.getType().getSimpleName());
+                }
+                try {
+                    obj = ViewFields.apply(patch, previous);
+                } catch (ClassNotFoundException | IllegalAccessException ex) {
+                    throw new IOException(ex);
+                }
+                views.add(key, obj);
+                return obj;
+            }
+            ViewFields.Key key = ViewFields.getKey(obj);
+            if (key != null) {
+                views.add(key, obj);
+            }
+            return obj;
+        }
+    }
+}
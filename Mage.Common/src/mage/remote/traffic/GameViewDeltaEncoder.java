@@ -0,0 +1,78 @@
+package mage.remote.traffic;
+
+import java.io.IOException;
+
+/**
+ * Encodes the game views sent to one client as deltas to the game view sent
+ * before. Card, permanent and player views that were sent before are replaced
+ * by patches with their changed fields, unchanged views are only referenced.
+ * The deltas are written with the {@link ViewCodec}.
+ *
+ * The deltas have to be sent in the order they were encoded.
+ */
+public class GameViewDeltaEncoder {
+
+    private ViewFields.Base base = ViewFields.Base.EMPTY;
+    private int version;
+    private boolean keyFrame = true;
+
+    /**
+     * @param data game view or message with a game view
+     * @return
+     * @throws IOException if the data can't be serialized, the next delta is
+     * a key frame then
+     */
+    public synchronized GameViewDelta encode(Object data) throws IOException {
+        ViewFields.Base usedBase = keyFrame ? ViewFields.Base.EMPTY : base;
+        DeltaOutput out = new DeltaOutput(usedBase);
+        try {
+            out.writeObject(data);
+        } catch (IOException | RuntimeException ex) {
+            reset();
+            throw ex instanceof IOException ? (IOException) ex : new IOException(ex);
+        }
+        int baseVersion = keyFrame ? -1 : version;
+        version++;
+        base = out.views.toBase(usedBase);
+        keyFrame = false;
+        return new GameViewDelta(version, baseVersion, out.toByteArray());
+    }
+
+    /**
+     * The next delta will be a key frame, e.g. because the client has lost a
+     * delta or was reconnected.
+     */
+    public synchronized void reset() {
+        keyFrame = true;
+        base = ViewFields.Base.EMPTY;
+    }
+
+    private static class DeltaOutput extends ViewCodecOutput {
+
+        private final ViewFields.Base base;
+        private final ViewFields.Views views = new ViewFields.Views();
+
+        DeltaOutput(ViewFields.Base base) {
+            this.base = base;
+        }
+
+        @Override
+        protected Object replace(Object obj) throws IOException {
+            ViewFields.Key key = ViewFields.getKey(obj);
+            if (key == null) {
+                return obj;
+            }
+            views.add(key, obj);
+            Object previous = base.get(key);
+            if (previous == null) {
+                return obj;
+            }
+            try {
+                ViewPatch patch = ViewFields.diff(key, previous, obj);
+                return patch == null ? obj : patch;
+            } catch (IllegalAccessException ex) {
+                throw new IOException(ex);
+            }
+        }
+    }
+}
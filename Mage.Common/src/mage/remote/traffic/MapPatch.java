@@ -0,0 +1,46 @@
+package mage.remote.traffic;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Changed values of a map field of a view (e.g. the battlefield of a player),
+ * sent instead of the whole map if the keys of the map are unchanged.
+ */
+final class MapPatch implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] positions;
+    private final Object[] values;
+
+    MapPatch(int[] positions, Object[] values) {
+        this.positions = positions;
+        this.values = values;
+    }
+
+    /**
+     * @param previous
+     * @return a changed copy of the previous map
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    @SuppressWarnings("unchecked")
+    Map<Object, Object> apply(Map<?, ?> previous) throws IOException, ClassNotFoundException {
+        Map<Object, Object> copy = (Map<Object, Object>) ViewFields.shallowCopy(previous);
+        Iterator<?> keys = previous.keySet().iterator();
+        int position = 0;
+        for (int i = 0; i < positions.length; i++) {
+            Object key = keys.next();
+            while (position < positions[i]) {
+                key = keys.next();
+                position++;
+            }
+            position++;
+            copy.put(key, values[i]);
+        }
+        return copy;
+    }
+}
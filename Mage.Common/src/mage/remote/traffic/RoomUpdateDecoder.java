@@ -0,0 +1,115 @@
+package mage.remote.traffic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import mage.view.MatchView;
+import mage.view.RoomUpdateView;
+import mage.view.RoomUsersView;
+import mage.view.TableView;
+import mage.view.UsersView;
+
+/**
+ * Rebuilds the tables, finished matches and users of a room from the updates
+ * of the {@link RoomUpdateEncoder}.
+ */
+public class RoomUpdateDecoder {
+
+    private long version = -1;
+
+    private final Map<UUID, TableView> tables = new HashMap<>();
+    private List<UUID> tableOrder = Collections.emptyList();
+    private List<MatchView> finished = Collections.emptyList();
+    private final Map<String, UsersView> users = new HashMap<>();
+    private int numberActiveGames;
+    private int numberGameThreads;
+    private int numberMaxGames;
+
+    /**
+     * @param update
+     * @return false if the update is based on a version that wasn't seen, a
+     * new update since {@link #getVersion()} has to be requested then
+     */
+    public synchronized boolean apply(RoomUpdateView update) {
+        if (update.isFull()) {
+            if (update.getVersion() < version) {
+                return true;
+            }
+            tables.clear();
+            users.clear();
+        } else {
+            if (update.getVersion() <= version) {
+                // older than what was seen, e.g. an update pushed while the
+                // room was requested
+                return true;
+            }
+            if (update.getBaseVersion() > version) {
+                return false;
+            }
+        }
+        for (TableView table : update.getTables()) {
+            tables.put(table.getTableId(), table);
+        }
+        for (UUID tableId : update.getRemovedTables()) {
+            tables.remove(tableId);
+        }
+        if (update.getTableOrder() != null) {
+            tableOrder = update.getTableOrder();
+        }
+        if (update.getFinished() != null) {
+            finished = update.getFinished();
+        }
+        for (UsersView user : update.getUsers()) {
+            users.put(user.getUserName(), user);
+        }
+        for (String userName : update.getRemovedUsers()) {
+            users.remove(userName);
+        }
+        numberActiveGames = update.getNumberActiveGames();
+        numberGameThreads = update.getNumberGameThreads();
+        numberMaxGames = update.getNumberMaxGames();
+        version = update.getVersion();
+        return true;
+    }
+
+    /**
+     * Forgets the room, e.g. because the client connected to another server.
+     */
+    public synchronized void reset() {
+        version = -1;
+        tables.clear();
+        tableOrder = Collections.emptyList();
+        finished = Collections.emptyList();
+        users.clear();
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    public synchronized List<TableView> getTables() {
+        List<TableView> tableList = new ArrayList<>(tableOrder.size());
+        for (UUID tableId : tableOrder) {
+            TableView table = tables.get(tableId);
+            if (table != null) {
+                tableList.add(table);
+            }
+        }
+        return tableList;
+    }
+
+    public synchronized List<MatchView> getFinished() {
+        return finished;
+    }
+
+    public synchronized List<RoomUsersView> getRoomUsers() {
+        List<UsersView> userList = new ArrayList<>(users.values());
+        userList.sort((one, two) -> one.getUserName().compareToIgnoreCase(two.getUserName()));
+        List<RoomUsersView> roomUserInfo = new ArrayList<>();
+        roomUserInfo.add(new RoomUsersView(userList, numberActiveGames, numberGameThreads, numberMaxGames));
+        return roomUserInfo;
+    }
+}
@@ -0,0 +1,196 @@
+package mage.remote.traffic;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import mage.view.MatchView;
+import mage.view.RoomUpdateView;
+import mage.view.RoomUsersView;
+import mage.view.TableView;
+import mage.view.UsersView;
+
+/**
+ * Keeps the tables, finished matches and users of a room with the version
+ * they were changed last. The clients get only the changes since the version
+ * they have seen.
+ *
+ * The versions start with the time the encoder was created, so a client that
+ * has seen the room of a server that was restarted gets a full update.
+ */
+public class RoomUpdateEncoder {
+
+    // removed tables and users are remembered for this number of versions,
+    // clients with an older version get a full update
+    static final int HISTORY = 300;
+
+    private long version = System.currentTimeMillis();
+
+    private final Map<UUID, Entry<TableView>> tables = new HashMap<>();
+    private final Map<UUID, Long> removedTables = new HashMap<>();
+    private List<UUID> tableOrder = Collections.emptyList();
+    private long tableOrderChanged = version;
+    private Entry<List<MatchView>> finished = new Entry<>(Collections.<MatchView>emptyList(), null, version);
+    private final Map<String, Entry<UsersView>> users = new HashMap<>();
+    private final Map<String, Long> removedUsers = new HashMap<>();
+    private int numberActiveGames;
+    private int numberGameThreads;
+    private int numberMaxGames;
+
+    /**
+     * @param tableList the not finished tables in their order
+     * @param finishedList the finished matches
+     * @param roomUsers
+     * @return true if anything changed, the version was increased then
+     */
+    public synchronized boolean update(List<TableView> tableList, List<MatchView> finishedList, RoomUsersView roomUsers) {
+        long next = version + 1;
+        boolean changed = false;
+
+        List<UUID> order = new ArrayList<>(tableList.size());
+        for (TableView table : tableList) {
+            order.add(table.getTableId());
+            if (put(tables, table.getTableId(), table, next)) {
+                removedTables.remove(table.getTableId());
+                changed = true;
+            }
+        }
+        changed |= removeMissing(tables, new HashSet<>(order), removedTables, next);
+        if (!order.equals(tableOrder)) {
+            tableOrder = order;
+            tableOrderChanged = next;
+            changed = true;
+        }
+
+        byte[] data = encode(finishedList);
+        if (data == null || !Arrays.equals(data, finished.data)) {
+            finished = new Entry<>(finishedList, data, next);
+            changed = true;
+        }
+
+        Set<String> names = new HashSet<>();
+        for (UsersView user : roomUsers.getUsersView()) {
+            names.add(user.getUserName());
+            if (put(users, user.getUserName(), user, next)) {
+                removedUsers.remove(user.getUserName());
+                changed = true;
+            }
+        }
+        changed |= removeMissing(users, names, removedUsers, next);
+
+        if (numberActiveGames != roomUsers.getNumberActiveGames()
+                || numberGameThreads != roomUsers.getNumberGameThreads()
+                || numberMaxGames != roomUsers.getNumberMaxGames()) {
+            numberActiveGames = roomUsers.getNumberActiveGames();
+            numberGameThreads = roomUsers.getNumberGameThreads();
+            numberMaxGames = roomUsers.getNumberMaxGames();
+            changed = true;
+        }
+
+        if (changed) {
+            version = next;
+            removedTables.values().removeIf(removed -> removed <= version - HISTORY);
+            removedUsers.values().removeIf(removed -> removed <= version - HISTORY);
+        }
+        return changed;
+    }
+
+    /**
+     * @param since the version the client has seen, -1 if it has seen nothing
+     * @return the changes since the version or the full room if the version
+     * is unknown or too old
+     */
+    public synchronized RoomUpdateView getUpdate(long since) {
+        boolean full = since < version - HISTORY || since > version;
+        List<TableView> changedTables = new ArrayList<>();
+        for (UUID tableId : tableOrder) {
+            Entry<TableView> entry = tables.get(tableId);
+            if (full || entry.changed > since) {
+                changedTables.add(entry.view);
+            }
+        }
+        List<UsersView> changedUsers = new ArrayList<>();
+        for (Entry<UsersView> entry : users.values()) {
+            if (full || entry.changed > since) {
+                changedUsers.add(entry.view);
+            }
+        }
+        return new RoomUpdateView(version, full ? -1 : since,
+                changedTables,
+                full ? new ArrayList<>() : removedSince(removedTables, since),
+                full || tableOrderChanged > since ? new ArrayList<>(tableOrder) : null,
+                full || finished.changed > since ? finished.view : null,
+                changedUsers,
+                full ? new ArrayList<>() : removedSince(removedUsers, since),
+                numberActiveGames, numberGameThreads, numberMaxGames);
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    private static <K, T> boolean put(Map<K, Entry<T>> entries, K key, T view, long version) {
+        byte[] data = encode(view);
+        Entry<T> entry = entries.get(key);
+        if (entry != null && data != null && Arrays.equals(data, entry.data)) {
+            return false;
+        }
+        entries.put(key, new Entry<>(view, data, version));
+        return true;
+    }
+
+    private static <K, T> boolean removeMissing(Map<K, Entry<T>> entries, Set<K> keys, Map<K, Long> removed, long version) {
+        boolean changed = false;
+        for (Iterator<K> it = entries.keySet().iterator(); it.hasNext();) {
+            K key = it.next();
+            if (!keys.contains(key)) {
+                it.remove();
+                removed.put(key, version);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static <K> List<K> removedSince(Map<K, Long> removed, long since) {
+        List<K> keys = new ArrayList<>();
+        for (Map.Entry<K, Long> entry : removed.entrySet()) {
+            if (entry.getValue() > since) {
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return the encoded view to compare it with the view before, null if it
+     * can't be encoded (it's handled as changed then)
+     */
+    private static byte[] encode(Object view) {
+        try {
+            return ViewCodec.encode(view);
+        } catch (IOException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static class Entry<T> {
+
+        private final T view;
+        private final byte[] data;
+        private final long changed;
+
+        Entry(T view, byte[] data, long changed) {
+            this.view = view;
+            this.data = data;
+            this.changed = changed;
+        }
+    }
+}
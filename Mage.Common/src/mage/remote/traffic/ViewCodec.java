@@ -0,0 +1,281 @@
+package mage.remote.traffic;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.apache.log4j.Logger;
+
+/**
+ * Compact binary encoding of the views sent to the clients, used instead of
+ * the java serialization of the object graph.
+ *
+ * The objects of the mage classes are written field by field without class
+ * descriptors: a class is written once by name and then referenced by its
+ * number, the boolean fields of an object are packed into bits and numbers
+ * are written as variable length integers. Strings and ids are written once
+ * per message and then referenced by their number, so the names, rules and
+ * set codes of the cards of a game view are only sent once. Lists, sets and
+ * maps are written entry by entry. Other objects (e.g. dates) and objects
+ * with their own serialization are written with java serialization.
+ *
+ * The encoding starts with its version, server and client must use the same
+ * classes as with java serialization.
+ */
+public final class ViewCodec {
+
+    private static final Logger logger = Logger.getLogger(ViewCodec.class);
+
+    static final int VERSION = 1;
+
+    /**
+     * Callback data is encoded, can be switched off with the system property
+     * "noviewcodec"
+     */
+    private static final boolean ENABLED = System.getProperty("noviewcodec") == null;
+
+    // tags of the written values
+    static final int NULL = 0;
+    static final int TRUE = 1;
+    static final int FALSE = 2;
+    static final int INT = 3;
+    static final int LONG = 4;
+    static final int SHORT = 5;
+    static final int BYTE = 6;
+    static final int CHAR = 7;
+    static final int FLOAT = 8;
+    static final int DOUBLE = 9;
+    static final int STRING = 10;
+    static final int STRING_REF = 11;
+    static final int UUID = 12;
+    static final int UUID_REF = 13;
+    static final int ENUM = 14;
+    static final int CLASS = 15;
+    static final int REF = 16;
+    static final int OBJECT = 17;
+    static final int COLLECTION = 18;
+    static final int MAP = 19;
+    static final int ARRAY = 20;
+    static final int PRIMITIVE_ARRAY = 21;
+    static final int SERIALIZED = 22;
+
+    // collection classes written entry by entry, the others are serialized (e.g. with comparator)
+    private static final List<Class<?>> COLLECTIONS = Arrays.<Class<?>>asList(
+            ArrayList.class, LinkedList.class, HashSet.class, LinkedHashSet.class, HashMap.class, LinkedHashMap.class);
+
+    private static final Constructor<?> OBJECT_CONSTRUCTOR;
+    private static final Method NEW_CONSTRUCTOR_FOR_SERIALIZATION;
+    private static final Object REFLECTION_FACTORY;
+
+    static {
+        Constructor<?> objectConstructor = null;
+        Method newConstructor = null;
+        Object reflectionFactory = null;
+        try {
+            // creates objects like the java serialization: without calling the constructors of serializable classes
+            Class<?> factoryClass = Class.forName("sun.reflect.ReflectionFactory");
+            reflectionFactory = factoryClass.getMethod("getReflectionFactory").invoke(null);
+            newConstructor = factoryClass.getMethod("newConstructorForSerialization", Class.class, Constructor.class);
+            objectConstructor = Object.class.getConstructor();
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            logger.warn("Objects can't be created without constructor, views are serialized", ex);
+        }
+        OBJECT_CONSTRUCTOR = objectConstructor;
+        NEW_CONSTRUCTOR_FOR_SERIALIZATION = newConstructor;
+        REFLECTION_FACTORY = reflectionFactory;
+    }
+
+    private static final ClassValue<ClassInfo> infos = new ClassValue<ClassInfo>() {
+        @Override
+        protected ClassInfo computeValue(Class<?> type) {
+            return new ClassInfo(type);
+        }
+    };
+
+    private ViewCodec() {
+    }
+
+    /**
+     * @param object
+     * @return the encoded object
+     * @throws IOException if the object or an object referenced by it can't
+     * be serialized
+     */
+    public static byte[] encode(Object object) throws IOException {
+        ViewCodecOutput out = new ViewCodecOutput();
+        out.writeObject(object);
+        return out.toByteArray();
+    }
+
+    /**
+     * @param data
+     * @return the decoded object
+     * @throws IOException if the data is no valid encoding
+     * @throws ClassNotFoundException if a class of the data is unknown
+     */
+    public static Object decode(byte[] data) throws IOException, ClassNotFoundException {
+        return new ViewCodecInput(data).readObject();
+    }
+
+    /**
+     * Encodes the data of a callback if it's a view (or another mage object).
+     *
+     * @param data
+     * @return the encoded data or the data itself if it's not encoded
+     */
+    public static Object wrap(Object data) {
+        if (!ENABLED || data == null || data instanceof ZippedObject || data instanceof GameViewDelta
+                || !data.getClass().getName().startsWith("mage.")) {
+            return data;
+        }
+        try {
+            return new CodedObject<>(encode(data));
+        } catch (IOException | RuntimeException ex) {
+            logger.warn("Can't encode " + data.getClass().getName() + " - sending it serialized", ex);
+            return data;
+        }
+    }
+
+    static ClassInfo getInfo(Class<?> type) {
+        return infos.get(type);
+    }
+
+    enum Kind {
+        OBJECT, COLLECTION, MAP, SERIALIZED
+    }
+
+    /**
+     * How the objects of a class are written.
+     */
+    static final class ClassInfo {
+
+        final Kind kind;
+        // fields of objects written field by field, in the order of ViewFields
+        final Field[] booleans;
+        final Field[] primitives;
+        final Field[] references;
+        private final Constructor<?> constructor;
+
+        ClassInfo(Class<?> type) {
+            Constructor<?> typeConstructor = null;
+            Kind typeKind = Kind.SERIALIZED;
+            List<Field> booleanFields = new ArrayList<>();
+            List<Field> primitiveFields = new ArrayList<>();
+            List<Field> referenceFields = new ArrayList<>();
+            try {
+                if (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+                    if (isPlainCollection(type)) {
+                        typeConstructor = type.getDeclaredConstructor();
+                        typeConstructor.setAccessible(true);
+                        typeKind = Map.class.isAssignableFrom(type) ? Kind.MAP : Kind.COLLECTION;
+                    }
+                } else if (isWrittenByFields(type)) {
+                    typeConstructor = newConstructorForSerialization(type);
+                    for (Field field : ViewFields.getFields(type)) {
+                        if (field.getType() == boolean.class) {
+                            booleanFields.add(field);
+                        } else if (field.getType().isPrimitive()) {
+                            primitiveFields.add(field);
+                        } else {
+                            referenceFields.add(field);
+                        }
+                    }
+                    typeKind = Kind.OBJECT;
+                }
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                logger.debug("Objects of " + type.getName() + " are serialized: " + ex);
+                typeKind = Kind.SERIALIZED;
+                typeConstructor = null;
+            }
+            this.kind = typeKind;
+            this.constructor = typeConstructor;
+            this.booleans = booleanFields.toArray(new Field[booleanFields.size()]);
+            this.primitives = primitiveFields.toArray(new Field[primitiveFields.size()]);
+            this.references = referenceFields.toArray(new Field[referenceFields.size()]);
+        }
+
+        Object newInstance() throws IOException {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException ex) {
+                throw new IOException("Can't create " + constructor.getDeclaringClass().getName(), ex);
+            }
+        }
+
+        /**
+         * @return true for the collections of the jdk without comparator and
+         * own collections derived from them without further fields
+         */
+        private static boolean isPlainCollection(Class<?> type) {
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                if (COLLECTIONS.contains(c)) {
+                    return true;
+                }
+                if (!c.getName().startsWith("mage.") || hasOwnSerialization(c) || ViewFields.hasDeclaredFields(c)) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * @return true for the serializable mage classes without own
+         * serialization methods, their fields can be accessed and set
+         */
+        private static boolean isWrittenByFields(Class<?> type) {
+            if (NEW_CONSTRUCTOR_FOR_SERIALIZATION == null || type.isArray() || type.isEnum()
+                    || !Serializable.class.isAssignableFrom(type) || Externalizable.class.isAssignableFrom(type)) {
+                return false;
+            }
+            for (Class<?> c = type; c != null && Serializable.class.isAssignableFrom(c); c = c.getSuperclass()) {
+                if (!c.getName().startsWith("mage.") || hasOwnSerialization(c)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean hasOwnSerialization(Class<?> type) {
+            return hasMethod(type, "writeObject", ObjectOutputStream.class)
+                    || hasMethod(type, "readObject", ObjectInputStream.class)
+                    || hasMethod(type, "readObjectNoData")
+                    || hasMethod(type, "writeReplace")
+                    || hasMethod(type, "readResolve");
+        }
+
+        private static boolean hasMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+            try {
+                type.getDeclaredMethod(name, parameterTypes);
+                return true;
+            } catch (NoSuchMethodException ex) {
+                return false;
+            }
+        }
+
+        private static Constructor<?> newConstructorForSerialization(Class<?> type) throws ReflectiveOperationException {
+            // the constructor of the first class that's not serializable (usually Object)
+            Class<?> parent = type;
+            while (Serializable.class.isAssignableFrom(parent)) {
+                parent = parent.getSuperclass();
+            }
+            Constructor<?> parentConstructor = parent == Object.class ? OBJECT_CONSTRUCTOR : parent.getDeclaredConstructor();
+            Constructor<?> result = (Constructor<?>) NEW_CONSTRUCTOR_FOR_SERIALIZATION.invoke(REFLECTION_FACTORY, type, parentConstructor);
+            result.setAccessible(true);
+            return result;
+        }
+    }
+}
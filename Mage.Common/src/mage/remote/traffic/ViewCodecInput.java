@@ -0,0 +1,392 @@
+package mage.remote.traffic;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads objects written by a {@link ViewCodecOutput}.
+ *
+ * Like {@link ObjectInputStream#resolveObject(Object)} the objects can be
+ * replaced after they were read, e.g. patches by the patched views.
+ */
+class ViewCodecInput {
+
+    private final byte[] data;
+    private int position;
+    private final List<Object> handles = new ArrayList<>();
+    private final List<String> strings = new ArrayList<>();
+    private final List<UUID> uuids = new ArrayList<>();
+    private final List<Class<?>> classes = new ArrayList<>();
+
+    ViewCodecInput(byte[] data) throws IOException {
+        this.data = data;
+        int version = readByte();
+        if (version != ViewCodec.VERSION) {
+            throw new StreamCorruptedException("Unknown view encoding version " + version);
+        }
+    }
+
+    /**
+     * @param obj
+     * @return the object to use instead of the read object, the object itself
+     * if it's not replaced
+     * @throws IOException
+     */
+    protected Object resolve(Object obj) throws IOException {
+        return obj;
+    }
+
+    Object readObject() throws IOException, ClassNotFoundException {
+        int tag = readByte();
+        switch (tag) {
+            case ViewCodec.NULL:
+                return null;
+            case ViewCodec.TRUE:
+                return Boolean.TRUE;
+            case ViewCodec.FALSE:
+                return Boolean.FALSE;
+            case ViewCodec.INT:
+                return (int) unZigZag(readVarLong());
+            case ViewCodec.LONG:
+                return unZigZag(readVarLong());
+            case ViewCodec.SHORT:
+                return (short) unZigZag(readVarLong());
+            case ViewCodec.BYTE:
+                return (byte) readByte();
+            case ViewCodec.CHAR:
+                return (char) readVarLong();
+            case ViewCodec.FLOAT:
+                return Float.intBitsToFloat(readInt());
+            case ViewCodec.DOUBLE:
+                return Double.longBitsToDouble(readLong());
+            case ViewCodec.STRING:
+                String string = readUtf();
+                strings.add(string);
+                return string;
+            case ViewCodec.STRING_REF:
+                return get(strings, readVarLong());
+            case ViewCodec.UUID:
+                UUID uuid = new UUID(readLong(), readLong());
+                uuids.add(uuid);
+                return uuid;
+            case ViewCodec.UUID_REF:
+                return get(uuids, readVarLong());
+            case ViewCodec.ENUM:
+                Class<?> enumType = readClass();
+                Object[] constants = enumType.getEnumConstants();
+                if (constants == null) {
+                    throw new InvalidClassException(enumType.getName(), "no enum");
+                }
+                return get(constants, readVarLong());
+            case ViewCodec.CLASS:
+                return readClass();
+            case ViewCodec.REF:
+                return get(handles, readVarLong());
+            case ViewCodec.OBJECT:
+                return readFields(readClass());
+            case ViewCodec.COLLECTION:
+            case ViewCodec.MAP:
+                return readCollection(tag, readClass());
+            case ViewCodec.ARRAY:
+                return readArray(readClass());
+            case ViewCodec.PRIMITIVE_ARRAY:
+                return readPrimitiveArray();
+            case ViewCodec.SERIALIZED:
+                return readSerialized();
+            default:
+                throw new StreamCorruptedException("Unknown tag " + tag + " at " + (position - 1));
+        }
+    }
+
+    private Object readFields(Class<?> type) throws IOException, ClassNotFoundException {
+        ViewCodec.ClassInfo info = ViewCodec.getInfo(type);
+        if (info.kind != ViewCodec.Kind.OBJECT) {
+            throw new InvalidClassException(type.getName(), "not written by fields");
+        }
+        Object obj = info.newInstance();
+        int handle = register(obj);
+        try {
+            int bits = 0;
+            for (int i = 0; i < info.booleans.length; i++) {
+                if ((i & 7) == 0) {
+                    bits = readByte();
+                }
+                info.booleans[i].setBoolean(obj, (bits & (1 << (i & 7))) != 0);
+            }
+            for (Field field : info.primitives) {
+                Class<?> fieldType = field.getType();
+                if (fieldType == int.class) {
+                    field.setInt(obj, (int) unZigZag(readVarLong()));
+                } else if (fieldType == long.class) {
+                    field.setLong(obj, unZigZag(readVarLong()));
+                } else if (fieldType == float.class) {
+                    field.setFloat(obj, Float.intBitsToFloat(readInt()));
+                } else if (fieldType == double.class) {
+                    field.setDouble(obj, Double.longBitsToDouble(readLong()));
+                } else if (fieldType == char.class) {
+                    field.setChar(obj, (char) readVarLong());
+                } else if (fieldType == short.class) {
+                    field.setShort(obj, (short) unZigZag(readVarLong()));
+                } else {
+                    field.setByte(obj, (byte) unZigZag(readVarLong()));
+                }
+            }
+            for (Field field : info.references) {
+                field.set(obj, readObject());
+            }
+        } catch (IllegalAccessException | IllegalArgumentException ex) {
+            throw new InvalidClassException(type.getName(), ex.toString());
+        }
+        return resolve(handle, obj);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object readCollection(int tag, Class<?> type) throws IOException, ClassNotFoundException {
+        ViewCodec.ClassInfo info = ViewCodec.getInfo(type);
+        ViewCodec.Kind kind = tag == ViewCodec.MAP ? ViewCodec.Kind.MAP : ViewCodec.Kind.COLLECTION;
+        if (info.kind != kind) {
+            throw new InvalidClassException(type.getName(), "no " + kind);
+        }
+        int size = readSize();
+        // sized like the java serialization of hash maps does
+        int capacity = Math.max((int) (size / 0.75f) + 1, 16);
+        Object obj;
+        if (type == HashMap.class) {
+            obj = new HashMap<>(capacity);
+        } else if (type == LinkedHashMap.class) {
+            obj = new LinkedHashMap<>(capacity);
+        } else if (type == HashSet.class) {
+            obj = new HashSet<>(capacity);
+        } else if (type == LinkedHashSet.class) {
+            obj = new LinkedHashSet<>(capacity);
+        } else if (type == ArrayList.class) {
+            obj = new ArrayList<>(size);
+        } else {
+            obj = info.newInstance();
+        }
+        int handle = register(obj);
+        if (kind == ViewCodec.Kind.MAP) {
+            Map<Object, Object> map = (Map<Object, Object>) obj;
+            for (int i = 0; i < size; i++) {
+                Object key = readObject();
+                map.put(key, readObject());
+            }
+        } else {
+            Collection<Object> collection = (Collection<Object>) obj;
+            for (int i = 0; i < size; i++) {
+                collection.add(readObject());
+            }
+        }
+        return resolve(handle, obj);
+    }
+
+    private Object readArray(Class<?> componentType) throws IOException, ClassNotFoundException {
+        int length = readSize();
+        Object[] array = (Object[]) Array.newInstance(componentType, length);
+        int handle = register(array);
+        try {
+            for (int i = 0; i < length; i++) {
+                array[i] = readObject();
+            }
+        } catch (ArrayStoreException ex) {
+            throw new InvalidClassException(componentType.getName(), ex.toString());
+        }
+        return resolve(handle, array);
+    }
+
+    private Object readPrimitiveArray() throws IOException {
+        int type = readByte();
+        int length = readSize();
+        Object array;
+        switch (type) {
+            case ViewCodec.BYTE:
+                byte[] bytes = new byte[length];
+                checkAvailable(length);
+                System.arraycopy(data, position, bytes, 0, length);
+                position += length;
+                array = bytes;
+                break;
+            case ViewCodec.TRUE:
+                boolean[] booleans = new boolean[length];
+                for (int i = 0; i < length; i++) {
+                    booleans[i] = readByte() != 0;
+                }
+                array = booleans;
+                break;
+            case ViewCodec.FLOAT:
+                float[] floats = new float[length];
+                for (int i = 0; i < length; i++) {
+                    floats[i] = Float.intBitsToFloat(readInt());
+                }
+                array = floats;
+                break;
+            case ViewCodec.DOUBLE:
+                double[] doubles = new double[length];
+                for (int i = 0; i < length; i++) {
+                    doubles[i] = Double.longBitsToDouble(readLong());
+                }
+                array = doubles;
+                break;
+            case ViewCodec.INT:
+                int[] ints = new int[length];
+                for (int i = 0; i < length; i++) {
+                    ints[i] = (int) unZigZag(readVarLong());
+                }
+                array = ints;
+                break;
+            case ViewCodec.LONG:
+                long[] longs = new long[length];
+                for (int i = 0; i < length; i++) {
+                    longs[i] = unZigZag(readVarLong());
+                }
+                array = longs;
+                break;
+            case ViewCodec.SHORT:
+                short[] shorts = new short[length];
+                for (int i = 0; i < length; i++) {
+                    shorts[i] = (short) unZigZag(readVarLong());
+                }
+                array = shorts;
+                break;
+            case ViewCodec.CHAR:
+                char[] chars = new char[length];
+                for (int i = 0; i < length; i++) {
+                    chars[i] = (char) readVarLong();
+                }
+                array = chars;
+                break;
+            default:
+                throw new StreamCorruptedException("Unknown array type " + type);
+        }
+        return resolve(register(array), array);
+    }
+
+    private Object readSerialized() throws IOException, ClassNotFoundException {
+        int length = readSize();
+        checkAvailable(length);
+        int handle = register(null);
+        Object obj;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data, position, length))) {
+            obj = in.readObject();
+        }
+        position += length;
+        handles.set(handle, obj);
+        return resolve(handle, obj);
+    }
+
+    private int register(Object obj) {
+        handles.add(obj);
+        return handles.size() - 1;
+    }
+
+    private Object resolve(int handle, Object obj) throws IOException {
+        Object resolved = resolve(obj);
+        handles.set(handle, resolved);
+        return resolved;
+    }
+
+    private Class<?> readClass() throws IOException, ClassNotFoundException {
+        long index = readVarLong();
+        if (index >= 0 && index < classes.size()) {
+            return classes.get((int) index);
+        }
+        if (index != classes.size()) {
+            throw new StreamCorruptedException("Unknown class " + index);
+        }
+        String name = readUtf();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        Class<?> type;
+        try {
+            type = Class.forName(name, false, loader != null ? loader : ViewCodecInput.class.getClassLoader());
+        } catch (ClassNotFoundException ex) {
+            type = Class.forName(name, false, ViewCodecInput.class.getClassLoader());
+        }
+        classes.add(type);
+        return type;
+    }
+
+    private String readUtf() throws IOException {
+        int length = readSize();
+        checkAvailable(length);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    private static <T> T get(List<T> list, long index) throws IOException {
+        if (index < 0 || index >= list.size()) {
+            throw new StreamCorruptedException("Unknown reference " + index);
+        }
+        return list.get((int) index);
+    }
+
+    private static Object get(Object[] array, long index) throws IOException {
+        if (index < 0 || index >= array.length) {
+            throw new StreamCorruptedException("Unknown enum constant " + index);
+        }
+        return array[(int) index];
+    }
+
+    private int readSize() throws IOException {
+        long size = readVarLong();
+        if (size < 0 || size > data.length - position) {
+            // each element has at least one byte
+            throw new StreamCorruptedException("Invalid size " + size + " at " + position);
+        }
+        return (int) size;
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Invalid number at " + position);
+    }
+
+    private int readByte() throws IOException {
+        checkAvailable(1);
+        return data[position++] & 0xFF;
+    }
+
+    private int readInt() throws IOException {
+        checkAvailable(4);
+        int value = ((data[position] & 0xFF) << 24) | ((data[position + 1] & 0xFF) << 16)
+                | ((data[position + 2] & 0xFF) << 8) | (data[position + 3] & 0xFF);
+        position += 4;
+        return value;
+    }
+
+    private long readLong() throws IOException {
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    private void checkAvailable(int length) throws IOException {
+        if (length > data.length - position) {
+            throw new StreamCorruptedException("Unexpected end of data at " + position);
+        }
+    }
+}
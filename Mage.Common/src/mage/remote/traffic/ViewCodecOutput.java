@@ -0,0 +1,320 @@
+package mage.remote.traffic;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes objects in the encoding of the {@link ViewCodec}.
+ *
+ * Like {@link ObjectOutputStream#replaceObject(Object)} the objects can be
+ * replaced before they are written, e.g. by patches.
+ */
+class ViewCodecOutput {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+    // objects written before, the same object is only written once
+    private final Map<Object, Integer> handles = new IdentityHashMap<>();
+    private int nextHandle;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<UUID, Integer> uuids = new HashMap<>();
+    private final Map<Class<?>, Integer> classes = new HashMap<>();
+
+    ViewCodecOutput() {
+        out.write(ViewCodec.VERSION);
+    }
+
+    byte[] toByteArray() {
+        return out.toByteArray();
+    }
+
+    /**
+     * @param obj
+     * @return the object to write instead of the object, the object itself
+     * if it's not replaced
+     * @throws IOException
+     */
+    protected Object replace(Object obj) throws IOException {
+        return obj;
+    }
+
+    void writeObject(Object obj) throws IOException {
+        if (writeValue(obj)) {
+            return;
+        }
+        Integer handle = handles.get(obj);
+        if (handle != null) {
+            out.write(ViewCodec.REF);
+            writeVarLong(handle);
+            return;
+        }
+        Object replaced = replace(obj);
+        if (replaced != obj) {
+            if (writeValue(replaced)) {
+                return;
+            }
+            handle = handles.get(replaced);
+            if (handle != null) {
+                handles.put(obj, handle);
+                out.write(ViewCodec.REF);
+                writeVarLong(handle);
+                return;
+            }
+            handles.put(obj, nextHandle);
+        }
+        handles.put(replaced, nextHandle++);
+        writeNew(replaced);
+    }
+
+    /**
+     * Writes null, strings, ids, numbers and enums. They are written by value.
+     *
+     * @return false if the object is no such value
+     */
+    private boolean writeValue(Object obj) throws IOException {
+        if (obj == null) {
+            out.write(ViewCodec.NULL);
+        } else if (obj instanceof String) {
+            writeString((String) obj);
+        } else if (obj instanceof UUID) {
+            Integer index = uuids.get(obj);
+            if (index != null) {
+                out.write(ViewCodec.UUID_REF);
+                writeVarLong(index);
+            } else {
+                uuids.put((UUID) obj, uuids.size());
+                out.write(ViewCodec.UUID);
+                writeLong(((UUID) obj).getMostSignificantBits());
+                writeLong(((UUID) obj).getLeastSignificantBits());
+            }
+        } else if (obj instanceof Boolean) {
+            out.write((Boolean) obj ? ViewCodec.TRUE : ViewCodec.FALSE);
+        } else if (obj instanceof Integer) {
+            out.write(ViewCodec.INT);
+            writeVarLong(zigZag((Integer) obj));
+        } else if (obj instanceof Long) {
+            out.write(ViewCodec.LONG);
+            writeVarLong(zigZag((Long) obj));
+        } else if (obj instanceof Enum) {
+            out.write(ViewCodec.ENUM);
+            writeClass(((Enum<?>) obj).getDeclaringClass());
+            writeVarLong(((Enum<?>) obj).ordinal());
+        } else if (obj instanceof Class) {
+            out.write(ViewCodec.CLASS);
+            writeClass((Class<?>) obj);
+        } else if (obj instanceof Short) {
+            out.write(ViewCodec.SHORT);
+            writeVarLong(zigZag((Short) obj));
+        } else if (obj instanceof Byte) {
+            out.write(ViewCodec.BYTE);
+            out.write((Byte) obj);
+        } else if (obj instanceof Character) {
+            out.write(ViewCodec.CHAR);
+            writeVarLong((Character) obj);
+        } else if (obj instanceof Float) {
+            out.write(ViewCodec.FLOAT);
+            writeInt(Float.floatToIntBits((Float) obj));
+        } else if (obj instanceof Double) {
+            out.write(ViewCodec.DOUBLE);
+            writeLong(Double.doubleToLongBits((Double) obj));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void writeNew(Object obj) throws IOException {
+        Class<?> type = obj.getClass();
+        if (type.isArray()) {
+            writeArray(obj);
+            return;
+        }
+        ViewCodec.ClassInfo info = ViewCodec.getInfo(type);
+        switch (info.kind) {
+            case OBJECT:
+                out.write(ViewCodec.OBJECT);
+                writeClass(type);
+                writeFields(obj, info);
+                break;
+            case COLLECTION:
+                out.write(ViewCodec.COLLECTION);
+                writeClass(type);
+                Collection<?> collection = (Collection<?>) obj;
+                writeVarLong(collection.size());
+                for (Object element : collection) {
+                    writeObject(element);
+                }
+                break;
+            case MAP:
+                out.write(ViewCodec.MAP);
+                writeClass(type);
+                Map<?, ?> map = (Map<?, ?>) obj;
+                writeVarLong(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeObject(entry.getKey());
+                    writeObject(entry.getValue());
+                }
+                break;
+            default:
+                if (!(obj instanceof Serializable)) {
+                    throw new NotSerializableException(type.getName());
+                }
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (ObjectOutputStream serialized = new ObjectOutputStream(bytes)) {
+                    serialized.writeObject(obj);
+                }
+                out.write(ViewCodec.SERIALIZED);
+                writeVarLong(bytes.size());
+                bytes.writeTo(out);
+        }
+    }
+
+    private void writeFields(Object obj, ViewCodec.ClassInfo info) throws IOException {
+        try {
+            // the booleans are packed into bits
+            int bits = 0;
+            for (int i = 0; i < info.booleans.length; i++) {
+                if (info.booleans[i].getBoolean(obj)) {
+                    bits |= 1 << (i & 7);
+                }
+                if ((i & 7) == 7 || i == info.booleans.length - 1) {
+                    out.write(bits);
+                    bits = 0;
+                }
+            }
+            for (Field field : info.primitives) {
+                Class<?> type = field.getType();
+                if (type == float.class) {
+                    writeInt(Float.floatToIntBits(field.getFloat(obj)));
+                } else if (type == double.class) {
+                    writeLong(Double.doubleToLongBits(field.getDouble(obj)));
+                } else if (type == char.class) {
+                    writeVarLong(field.getChar(obj));
+                } else {
+                    // int, long, short, byte
+                    writeVarLong(zigZag(field.getLong(obj)));
+                }
+            }
+            for (Field field : info.references) {
+                writeObject(field.get(obj));
+            }
+        } catch (IllegalAccessException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private void writeArray(Object array) throws IOException {
+        Class<?> componentType = array.getClass().getComponentType();
+        int length = Array.getLength(array);
+        if (!componentType.isPrimitive()) {
+            out.write(ViewCodec.ARRAY);
+            writeClass(componentType);
+            writeVarLong(length);
+            for (Object element : (Object[]) array) {
+                writeObject(element);
+            }
+            return;
+        }
+        out.write(ViewCodec.PRIMITIVE_ARRAY);
+        if (componentType == byte.class) {
+            out.write(ViewCodec.BYTE);
+            writeVarLong(length);
+            out.write((byte[]) array, 0, length);
+        } else if (componentType == boolean.class) {
+            out.write(ViewCodec.TRUE);
+            writeVarLong(length);
+            for (boolean value : (boolean[]) array) {
+                out.write(value ? 1 : 0);
+            }
+        } else if (componentType == float.class) {
+            out.write(ViewCodec.FLOAT);
+            writeVarLong(length);
+            for (float value : (float[]) array) {
+                writeInt(Float.floatToIntBits(value));
+            }
+        } else if (componentType == double.class) {
+            out.write(ViewCodec.DOUBLE);
+            writeVarLong(length);
+            for (double value : (double[]) array) {
+                writeLong(Double.doubleToLongBits(value));
+            }
+        } else {
+            int tag = componentType == int.class ? ViewCodec.INT
+                    : componentType == long.class ? ViewCodec.LONG
+                    : componentType == short.class ? ViewCodec.SHORT
+                    : ViewCodec.CHAR;
+            out.write(tag);
+            writeVarLong(length);
+            for (int i = 0; i < length; i++) {
+                long value = tag == ViewCodec.CHAR ? Array.getChar(array, i) : Array.getLong(array, i);
+                writeVarLong(tag == ViewCodec.CHAR ? value : zigZag(value));
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        Integer index = strings.get(value);
+        if (index != null) {
+            out.write(ViewCodec.STRING_REF);
+            writeVarLong(index);
+            return;
+        }
+        strings.put(value, strings.size());
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(ViewCodec.STRING);
+        writeVarLong(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes the number of the class, a new class is numbered and followed by
+     * its name.
+     */
+    private void writeClass(Class<?> type) {
+        Integer index = classes.get(type);
+        if (index != null) {
+            writeVarLong(index);
+            return;
+        }
+        index = classes.size();
+        classes.put(type, index);
+        writeVarLong(index);
+        byte[] name = type.getName().getBytes(StandardCharsets.UTF_8);
+        writeVarLong(name.length);
+        out.write(name, 0, name.length);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private void writeInt(int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private void writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+}
@@ -0,0 +1,421 @@
+package mage.remote.traffic;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import mage.view.CardView;
+import mage.view.PlayerView;
+
+/**
+ * Field level access to the views that are sent as patches: the key of a view
+ * and the serialized fields of its class.
+ */
+final class ViewFields {
+
+    // views nested deeper are treated as changed
+    private static final int MAX_DEPTH = 8;
+    // views not sent with one of the last deltas are dropped from the base
+    static final int BASE_DELTAS = 10;
+
+    private static final ClassValue<Field[]> fields = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return findFields(type);
+        }
+    };
+
+    private static final ClassValue<Boolean> comparableByFields = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return !type.isArray() && Serializable.class.isAssignableFrom(type)
+                        && type.getMethod("equals", Object.class).getDeclaringClass() == Object.class;
+            } catch (NoSuchMethodException ex) {
+                return false;
+            }
+        }
+    };
+
+    private ViewFields() {
+    }
+
+    /**
+     * @param object
+     * @return the key of the view or null if the object is no view that can
+     * be patched
+     */
+    static Key getKey(Object object) {
+        UUID id = null;
+        if (object instanceof CardView) {
+            id = ((CardView) object).getId();
+        } else if (object instanceof PlayerView) {
+            id = ((PlayerView) object).getPlayerId();
+        }
+        return id == null ? null : new Key(object.getClass(), id);
+    }
+
+    /**
+     * Compares a view with the previous version of it. Views in the fields
+     * (also in maps and lists) are compared field by field, so a field is
+     * only changed if one of the views in it has changed.
+     *
+     * @param key
+     * @param previous
+     * @param current
+     * @return patch with the changed fields or null if all fields changed
+     * @throws IllegalAccessException
+     */
+    static ViewPatch diff(Key key, Object previous, Object current) throws IllegalAccessException {
+        Field[] all = fields.get(key.type);
+        int[] changed = new int[all.length];
+        Object[] values = new Object[all.length];
+        int count = 0;
+        for (int i = 0; i < all.length; i++) {
+            Object value = all[i].get(current);
+            Object previousValue = all[i].get(previous);
+            if (!isSame(previousValue, value, 0)) {
+                changed[count] = i;
+                values[count] = diffMap(previousValue, value);
+                count++;
+            }
+        }
+        if (count == all.length) {
+            return null;
+        }
+        return new ViewPatch(key.type, key.id, Arrays.copyOf(changed, count), Arrays.copyOf(values, count));
+    }
+
+    /**
+     * @return the changed values of a map if only values of it have changed,
+     * otherwise the current value
+     */
+    private static Object diffMap(Object previous, Object current) throws IllegalAccessException {
+        if (!(current instanceof Map) || previous == null || previous.getClass() != current.getClass()) {
+            return current;
+        }
+        Map<?, ?> previousMap = (Map<?, ?>) previous;
+        Map<?, ?> currentMap = (Map<?, ?>) current;
+        if (previousMap.size() != currentMap.size()) {
+            return current;
+        }
+        int[] positions = new int[currentMap.size()];
+        Object[] values = new Object[currentMap.size()];
+        int count = 0;
+        int position = 0;
+        Iterator<? extends Map.Entry<?, ?>> previousEntries = previousMap.entrySet().iterator();
+        for (Map.Entry<?, ?> entry : currentMap.entrySet()) {
+            Map.Entry<?, ?> previousEntry = previousEntries.next();
+            if (!Objects.equals(previousEntry.getKey(), entry.getKey())) {
+                return current;
+            }
+            if (!isSame(previousEntry.getValue(), entry.getValue(), 1)) {
+                positions[count] = position;
+                values[count] = entry.getValue();
+                count++;
+            }
+            position++;
+        }
+        return new MapPatch(Arrays.copyOf(positions, count), Arrays.copyOf(values, count));
+    }
+
+    private static boolean isSame(Object previous, Object current, int depth) throws IllegalAccessException {
+        if (previous == current) {
+            return true;
+        }
+        if (previous == null || current == null || previous.getClass() != current.getClass()) {
+            return false;
+        }
+        Key key = getKey(current);
+        // views and other objects without equals (e.g. counters) are compared field by field
+        if (key != null || comparableByFields.get(current.getClass())) {
+            if (depth >= MAX_DEPTH || (key != null && !key.equals(getKey(previous)))) {
+                return false;
+            }
+            for (Field field : fields.get(current.getClass())) {
+                if (!isSame(field.get(previous), field.get(current), depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (previous instanceof Map) {
+            Map<?, ?> previousMap = (Map<?, ?>) previous;
+            Map<?, ?> currentMap = (Map<?, ?>) current;
+            if (previousMap.size() != currentMap.size()) {
+                return false;
+            }
+            // the order of the entries is compared too, it's shown in the client
+            Iterator<? extends Map.Entry<?, ?>> previousEntries = previousMap.entrySet().iterator();
+            for (Map.Entry<?, ?> entry : currentMap.entrySet()) {
+                Map.Entry<?, ?> previousEntry = previousEntries.next();
+                if (!Objects.equals(previousEntry.getKey(), entry.getKey())
+                        || !isSame(previousEntry.getValue(), entry.getValue(), depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (previous instanceof List) {
+            List<?> previousList = (List<?>) previous;
+            List<?> currentList = (List<?>) current;
+            if (previousList.size() != currentList.size()) {
+                return false;
+            }
+            for (int i = 0; i < currentList.size(); i++) {
+                if (!isSame(previousList.get(i), currentList.get(i), depth + 1)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return Objects.deepEquals(previous, current);
+    }
+
+    /**
+     * Applies a patch to the previous version of a view. The previous version
+     * is not changed.
+     *
+     * @param patch
+     * @param previous
+     * @return the previous version itself if nothing changed, otherwise a
+     * changed copy of it
+     * @throws IOException
+     * @throws ClassNotFoundException
+     * @throws IllegalAccessException
+     */
+    static Object apply(ViewPatch patch, Object previous) throws IOException, ClassNotFoundException, IllegalAccessException {
+        if (patch.getFields().length == 0) {
+            return previous;
+        }
+        Object copy = shallowCopy(previous);
+        Field[] all = fields.get(patch.getType());
+        for (int i = 0; i < patch.getFields().length; i++) {
+            Field field = all[patch.getFields()[i]];
+            Object value = patch.getValues()[i];
+            if (value instanceof MapPatch) {
+                value = ((MapPatch) value).apply((Map<?, ?>) field.get(previous));
+            }
+            field.set(copy, value);
+        }
+        return copy;
+    }
+
+    /**
+     * Copies an object without copying the objects it references. The view
+     * classes have no copy constructors, so the copy is made by serializing
+     * the object with references to the objects of its fields.
+     */
+    static Object shallowCopy(final Object object) throws IOException, ClassNotFoundException {
+        final List<Object> references = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes) {
+            {
+                enableReplaceObject(true);
+            }
+
+            @Override
+            protected Object replaceObject(Object obj) {
+                if (obj == object) {
+                    return obj;
+                }
+                references.add(obj);
+                return new Reference(references.size() - 1);
+            }
+        }) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())) {
+            {
+                enableResolveObject(true);
+            }
+
+            @Override
+            protected Object resolveObject(Object obj) {
+                if (obj instanceof Reference) {
+                    return references.get(((Reference) obj).index);
+                }
+                return obj;
+            }
+        }) {
+            return in.readObject();
+        }
+    }
+
+    /**
+     * @param type
+     * @return the serialized fields of the class and its super classes
+     */
+    static Field[] getFields(Class<?> type) {
+        return fields.get(type);
+    }
+
+    /**
+     * @param type
+     * @return true if the class itself declares serialized fields
+     */
+    static boolean hasDeclaredFields(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The serialized fields of the class and its super classes. The order
+     * must be the same on server and client, so the fields are sorted by
+     * class and name.
+     */
+    private static Field[] findFields(Class<?> type) {
+        List<Field> result = new ArrayList<>();
+        for (Class<?> c = type; c != null && Serializable.class.isAssignableFrom(c); c = c.getSuperclass()) {
+            List<Field> declared = new ArrayList<>();
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                    field.setAccessible(true);
+                    declared.add(field);
+                }
+            }
+            declared.sort(Comparator.comparing(Field::getName));
+            result.addAll(0, declared);
+        }
+        return result.toArray(new Field[result.size()]);
+    }
+
+    static final class Key {
+
+        private final Class<?> type;
+        private final UUID id;
+
+        Key(Class<?> type, UUID id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return type == other.type && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + id.hashCode();
+        }
+    }
+
+    /**
+     * Collects the views written with one message, together with the views
+     * of the previous messages they are the base of the patches of the next
+     * message. Encoder and decoder collect the same views, so they have the
+     * same base. A key used by different views of the message can't be
+     * patched, because it's not clear which of the views is meant.
+     */
+    static final class Views {
+
+        private final Map<Key, Object> views = new HashMap<>();
+        private final Set<Key> ambiguous = new HashSet<>();
+
+        void add(Key key, Object view) {
+            Object previous = views.put(key, view);
+            if (previous != null && previous != view) {
+                ambiguous.add(key);
+            }
+        }
+
+        /**
+         * The views of this message replace the ones of the previous base.
+         * Views that were not sent with one of the last {@link #BASE_DELTAS}
+         * messages (e.g. cards that have left the visible zones) are dropped,
+         * so the base doesn't grow for the whole game.
+         *
+         * @param previousBase
+         * @return the base of the next message
+         */
+        Base toBase(Base previousBase) {
+            int message = previousBase.message + 1;
+            Map<Key, Sent> base = new HashMap<>();
+            for (Map.Entry<Key, Sent> entry : previousBase.views.entrySet()) {
+                if (message - entry.getValue().message < BASE_DELTAS) {
+                    base.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (Map.Entry<Key, Object> entry : views.entrySet()) {
+                base.put(entry.getKey(), new Sent(entry.getValue(), message));
+            }
+            base.keySet().removeAll(ambiguous);
+            return new Base(base, message);
+        }
+    }
+
+    /**
+     * The views the patches of the next message are based on.
+     */
+    static final class Base {
+
+        static final Base EMPTY = new Base(new HashMap<>(), 0);
+
+        private final Map<Key, Sent> views;
+        // number of the last message
+        private final int message;
+
+        private Base(Map<Key, Sent> views, int message) {
+            this.views = views;
+            this.message = message;
+        }
+
+        Object get(Key key) {
+            Sent sent = views.get(key);
+            return sent == null ? null : sent.view;
+        }
+
+        int size() {
+            return views.size();
+        }
+    }
+
+    private static final class Sent {
+
+        private final Object view;
+        // number of the message that sent the view last
+        private final int message;
+
+        Sent(Object view, int message) {
+            this.view = view;
+            this.message = message;
+        }
+    }
+
+    private static final class Reference implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int index;
+
+        Reference(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package mage.remote.traffic;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Replaces a view in a {@link GameViewDelta} that was already sent with the
+ * previous game view: only the fields that changed since then are sent.
+ */
+final class ViewPatch implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Class<?> type;
+    private final UUID id;
+    private final int[] fields;
+    private final Object[] values;
+
+    ViewPatch(Class<?> type, UUID id, int[] fields, Object[] values) {
+        this.type = type;
+        this.id = id;
+        this.fields = fields;
+        this.values = values;
+    }
+
+    Class<?> getType() {
+        return type;
+    }
+
+    ViewFields.Key getKey() {
+        return new ViewFields.Key(type, id);
+    }
+
+    int[] getFields() {
+        return fields;
+    }
+
+    Object[] getValues() {
+        return values;
+    }
+}
@@ -0,0 +1,107 @@
+package mage.view;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The changes of the tables, finished matches and users of a room since a
+ * version the client has seen. A full update holds the whole room.
+ */
+public class RoomUpdateView implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long version;
+    private final long baseVersion;
+
+    private final List<TableView> tables;
+    private final List<UUID> removedTables;
+    private final List<UUID> tableOrder;
+    private final List<MatchView> finished;
+    private final List<UsersView> users;
+    private final List<String> removedUsers;
+
+    private final int numberActiveGames;
+    private final int numberGameThreads;
+    private final int numberMaxGames;
+
+    /**
+     * @param version version of the room after the update
+     * @param baseVersion version the changes are based on, -1 for a full
+     * update
+     * @param tables the changed tables
+     * @param removedTables ids of the removed tables
+     * @param tableOrder ids of all tables in their order, null if the order
+     * didn't change
+     * @param finished the finished matches, null if they didn't change
+     * @param users the changed users
+     * @param removedUsers names of the removed users
+     * @param numberActiveGames
+     * @param numberGameThreads
+     * @param numberMaxGames
+     */
+    public RoomUpdateView(long version, long baseVersion, List<TableView> tables, List<UUID> removedTables, List<UUID> tableOrder,
+            List<MatchView> finished, List<UsersView> users, List<String> removedUsers,
+            int numberActiveGames, int numberGameThreads, int numberMaxGames) {
+        this.version = version;
+        this.baseVersion = baseVersion;
+        this.tables = tables;
+        this.removedTables = removedTables;
+        this.tableOrder = tableOrder;
+        this.finished = finished;
+        this.users = users;
+        this.removedUsers = removedUsers;
+        this.numberActiveGames = numberActiveGames;
+        this.numberGameThreads = numberGameThreads;
+        this.numberMaxGames = numberMaxGames;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getBaseVersion() {
+        return baseVersion;
+    }
+
+    public boolean isFull() {
+        return baseVersion < 0;
+    }
+
+    public List<TableView> getTables() {
+        return tables;
+    }
+
+    public List<UUID> getRemovedTables() {
+        return removedTables;
+    }
+
+    public List<UUID> getTableOrder() {
+        return tableOrder;
+    }
+
+    public List<MatchView> getFinished() {
+        return finished;
+    }
+
+    public List<UsersView> getUsers() {
+        return users;
+    }
+
+    public List<String> getRemovedUsers() {
+        return removedUsers;
+    }
+
+    public int getNumberActiveGames() {
+        return numberActiveGames;
+    }
+
+    public int getNumberGameThreads() {
+        return numberGameThreads;
+    }
+
+    public int getNumberMaxGames() {
+        return numberMaxGames;
+    }
+}
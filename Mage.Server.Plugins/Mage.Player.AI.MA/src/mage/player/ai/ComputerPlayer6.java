@@ -41,9 +41,6 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import mage.abilities.Ability;
@@ -103,6 +100,7 @@ import mage.players.Player;
 import mage.target.Target;
 import mage.target.TargetCard;
 import mage.target.Targets;
+import mage.util.AiSearchScheduler;
 import mage.util.RandomUtil;
 import org.apache.log4j.Logger;
 
@@ -113,7 +111,6 @@ import org.apache.log4j.Logger;
 public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
 
     private static final Logger logger = Logger.getLogger(ComputerPlayer6.class);
-    private static final ExecutorService pool = Executors.newFixedThreadPool(1);
     protected int maxDepth;
     protected int maxNodes;
     protected int maxThink;
@@ -311,8 +308,8 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
 
     protected void calculateActions(Game game) {
         if (!getNextAction(game)) {
+            game.firePlayerThinkingEvent(playerId);
             Game sim = createSimulation(game);
-            SimulationNode2.resetCount();
             root = new SimulationNode2(null, sim, maxDepth, playerId);
             logger.info("simulating actions");
             //int bestScore = addActionsTimed(new FilterAbility());
@@ -381,7 +378,7 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                 //logger.info("alpha beta pruning");
                 break;
             }
-            if (SimulationNode2.nodeCount > maxNodes) {
+            if (node.getCount() > maxNodes) {
                 //logger.info("simulating -- reached end-state, count=" + SimulationNode2.nodeCount);
                 break;
             }
@@ -454,7 +451,7 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                         SimulationNode2 newNode = new SimulationNode2(node, sim, depth, stackObject.getControllerId());
                         node.children.add(newNode);
                         newNode.getTargets().add(targetId);
-                        logger.trace("Sim search -- node#: " + SimulationNode2.getCount() + " for player: " + sim.getPlayer(stackObject.getControllerId()).getName());
+                        logger.trace("Sim search -- node#: " + newNode.getCount() + " for player: " + sim.getPlayer(stackObject.getControllerId()).getName());
                     }
                     return;
                 }
@@ -476,20 +473,20 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
      * @return
      */
     protected Integer addActionsTimed() {
-        FutureTask<Integer> task = new FutureTask<>(new Callable<Integer>() {
+        final SimulationNode2 searchRoot = root;
+        AiSearchScheduler.Search<Integer> task = AiSearchScheduler.getInstance().submit(searchRoot.getGame().getId(), new Callable<Integer>() {
             @Override
             public Integer call() throws Exception {
-                return addActions(root, maxDepth, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                return addActions(searchRoot, maxDepth, Integer.MIN_VALUE, Integer.MAX_VALUE);
             }
         });
-        pool.execute(task);
         try {
             int maxSeconds = maxThink;
             if (!ALLOW_INTERRUPT) {
                 maxSeconds = 3600;
             }
             logger.debug("maxThink: " + maxSeconds + " seconds ");
-            return task.get(maxSeconds, TimeUnit.SECONDS);
+            return task.getWithinThinkTime(maxSeconds, TimeUnit.SECONDS);
         } catch (TimeoutException e) {
             logger.info("simulating - timed out");
             task.cancel(true);
@@ -502,6 +499,12 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
         } catch (Exception e) {
             e.printStackTrace();
             task.cancel(true);
+        } finally {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Search queue wait: " + TimeUnit.NANOSECONDS.toMillis(task.getQueueWaitNanos()) + " ms, think time: "
+                        + TimeUnit.NANOSECONDS.toMillis(task.getThinkNanos()) + " ms, nodes: " + searchRoot.getCount());
+                logger.debug(AiSearchScheduler.getStatistics());
+            }
         }
         //TODO: timeout handling
         return 0;
@@ -519,8 +522,8 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
             logger.trace("interrupted - " + val);
             return val;
         }
-        if (depth <= 0 || SimulationNode2.nodeCount > maxNodes || game.gameOver(null)) {
-            logger.trace("Add actions -- reached end state, node count=" + SimulationNode2.nodeCount + ", depth=" + depth);
+        if (depth <= 0 || node.getCount() > maxNodes || game.gameOver(null)) {
+            logger.trace("Add actions -- reached end state, node count=" + node.getCount() + ", depth=" + depth);
             val = GameStateEvaluator2.evaluate(playerId, game);
             UUID currentPlayerId = node.getGame().getPlayerList().get();
             //logger.info("reached - " + val + ", playerId=" + playerId + ", node.pid="+currentPlayerId);
@@ -675,14 +678,14 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                     //logger.info("Sim Prio -- pruning");
                     break;
                 }
-                if (SimulationNode2.nodeCount > maxNodes) {
+                if (node.getCount() > maxNodes) {
                     logger.debug("Sim Prio -- reached end-state");
                     break;
                 }
             }
         } // end of for (allActions)
         if (depth == maxDepth) {
-            logger.info(new StringBuilder("Sim Prio [").append(depth).append("] -- End for Max Depth  -- Nodes calculated: ").append(SimulationNode2.nodeCount));
+            logger.info(new StringBuilder("Sim Prio [").append(depth).append("] -- End for Max Depth  -- Nodes calculated: ").append(node.getCount()));
         }
         if (bestNode != null) {
             node.children.clear();
@@ -1310,7 +1313,7 @@ public class ComputerPlayer6 extends ComputerPlayer /*implements Player*/ {
                 }
                 sim.fireEvent(GameEvent.getEvent(GameEvent.EventType.DECLARED_ATTACKERS, playerId, playerId));
                 SimulationNode2 newNode = new SimulationNode2(node, sim, node.getDepth() - 1, activePlayerId);
-                logger.debug("simulating -- node #:" + SimulationNode2.getCount() + " declare attakers");
+                logger.debug("simulating -- node #:" + newNode.getCount() + " declare attakers");
                 newNode.setCombat(sim.getCombat());
                 node.children.add(newNode);
             }
@@ -157,9 +157,9 @@ public class ComputerPlayer7 extends ComputerPlayer6 {
 
     protected void calculatePreCombatActions(Game game) {
         if (!getNextAction(game)) {
+            game.firePlayerThinkingEvent(playerId);
             currentScore = GameStateEvaluator2.evaluate(playerId, game);
             Game sim = createSimulation(game);
-            SimulationNode2.resetCount();
             root = new SimulationNode2(null, sim, maxDepth, playerId);
 
             addActionsTimed();
@@ -197,9 +197,9 @@ public class ComputerPlayer7 extends ComputerPlayer6 {
 
     protected void calculatePostCombatActions(Game game) {
         if (!getNextAction(game)) {
+            game.firePlayerThinkingEvent(playerId);
             currentScore = GameStateEvaluator2.evaluate(playerId, game);
             Game sim = createSimulation(game);
-            SimulationNode2.resetCount();
             root = new SimulationNode2(null, sim, maxDepth, playerId);
             logger.debug("Sim Calculate post combat actions ----------------------------------------------------------------------------------------");
 
@@ -233,7 +233,7 @@ public class ComputerPlayer7 extends ComputerPlayer6 {
             return GameStateEvaluator2.evaluate(playerId, game);
         }
         // Condition to stop deeper simulation
-        if (depth <= 0 || SimulationNode2.nodeCount > maxNodes || game.gameOver(null)) {
+        if (depth <= 0 || node.getCount() > maxNodes || game.gameOver(null)) {
             val = GameStateEvaluator2.evaluate(playerId, game);
             if (logger.isTraceEnabled()) {
                 StringBuilder sb = new StringBuilder("Add Actions -- reached end state  <").append(val).append(">");
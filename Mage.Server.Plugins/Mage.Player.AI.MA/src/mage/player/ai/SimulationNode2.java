@@ -31,6 +31,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import mage.abilities.Ability;
 import mage.game.Game;
 import mage.game.combat.Combat;
@@ -41,7 +42,8 @@ import mage.game.combat.Combat;
  */
 public class SimulationNode2 implements Serializable {
 
-    protected static int nodeCount;
+    // number of nodes of the search tree, shared by all nodes of the tree
+    protected final AtomicInteger nodeCount;
 
     protected Game game;
     protected int gameValue;
@@ -61,7 +63,8 @@ public class SimulationNode2 implements Serializable {
         this.depth = depth;
         this.playerId = playerId;
         game.setCustomData(this);
-        nodeCount++;
+        this.nodeCount = parent == null ? new AtomicInteger() : parent.nodeCount;
+        nodeCount.incrementAndGet();
     }
 
     public SimulationNode2(SimulationNode2 parent, Game game, List<Ability> abilities, int depth, UUID playerId) {
@@ -75,12 +78,11 @@ public class SimulationNode2 implements Serializable {
         abilities.add(ability);
     }
 
-    public static void resetCount() {
-        nodeCount = 0;
-    }
-
-    public static int getCount() {
-        return nodeCount;
+    /**
+     * @return number of nodes of the search tree this node belongs to
+     */
+    public int getCount() {
+        return nodeCount.get();
     }
 
     public Game getGame() {
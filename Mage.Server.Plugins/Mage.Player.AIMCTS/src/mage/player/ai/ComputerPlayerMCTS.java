@@ -39,15 +39,15 @@ import mage.game.combat.Combat;
 import mage.game.combat.CombatGroup;
 import mage.player.ai.MCTSPlayer.NextAction;
 import mage.players.Player;
+import mage.util.AiSearchScheduler;
 import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  *
@@ -59,17 +59,17 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
     private static final int THINK_MAX_RATIO = 100;
     private static final double THINK_TIME_MULTIPLIER = 2.0;
     private static final boolean USE_MULTIPLE_THREADS = true;
+    // all threads search the same tree instead of merging separate trees afterwards
+    private static final boolean USE_TREE_PARALLELIZATION = true;
 
     protected transient MCTSNode root;
     protected int maxThinkTime;
     private static final Logger logger = Logger.getLogger(ComputerPlayerMCTS.class);
-    private int poolSize;
 
     public ComputerPlayerMCTS(String name, RangeOfInfluence range, int skill) {
         super(name, range);
         human = false;
         maxThinkTime = (int) (skill * THINK_TIME_MULTIPLIER);
-        poolSize = Runtime.getRuntime().availableProcessors();
     }
 
     protected ComputerPlayerMCTS(UUID id) {
@@ -284,72 +284,65 @@ public class ComputerPlayerMCTS extends ComputerPlayer implements Player {
         int thinkTime = calculateThinkTime(game, action);
         
         if (thinkTime > 0) {
+            game.firePlayerThinkingEvent(playerId);
+            List<MCTSExecutor> tasks = new ArrayList<>();
             if (USE_MULTIPLE_THREADS) {
-                ExecutorService pool = Executors.newFixedThreadPool(poolSize);
-                List<MCTSExecutor> tasks = new ArrayList<>();
-                for (int i = 0; i < poolSize; i++) {
-                    Game sim = createMCTSGame(game);
-                    MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
-                    player.setNextAction(action);
-                    MCTSExecutor exec = new MCTSExecutor(sim, playerId, thinkTime);
-                    tasks.add(exec);
+                AiSearchScheduler scheduler = AiSearchScheduler.getInstance();
+                int parallelism = scheduler.getParallelism();
+                for (int i = 0; i < parallelism; i++) {
+                    if (USE_TREE_PARALLELIZATION) {
+                        tasks.add(new MCTSExecutor(root, playerId, thinkTime));
+                    }
+                    else {
+                        Game sim = createMCTSGame(game);
+                        MCTSPlayer player = (MCTSPlayer) sim.getPlayer(playerId);
+                        player.setNextAction(action);
+                        tasks.add(new MCTSExecutor(sim, playerId, thinkTime));
+                    }
                 }
 
-                try {
-                    pool.invokeAll(tasks, thinkTime, TimeUnit.SECONDS);
-                    pool.awaitTermination(1, TimeUnit.SECONDS);
-                    pool.shutdownNow();
-                } catch (InterruptedException | RejectedExecutionException ex) {
-                    logger.warn("applyMCTS interrupted");
-                }
-                
-                int simCount = 0;
+                List<AiSearchScheduler.Search<Boolean>> searches = new ArrayList<>();
                 for (MCTSExecutor task: tasks) {
-                    simCount += task.getSimCount();
-                    root.merge(task.getRoot());
-                    task.clear();
+                    searches.add(scheduler.submit(game.getId(), task));
                 }
-                tasks.clear();
-                totalThinkTime += thinkTime;
-                totalSimulations += simCount;
-                logger.info("Player: " + name + " Simulated " + simCount + " games in " + thinkTime + " seconds - nodes in tree: " + root.size());
-                logger.info("Total: Simulated " + totalSimulations + " games in " + totalThinkTime + " seconds - Average: " + totalSimulations/totalThinkTime);
-                MCTSNode.logHitMiss();
-            }
-            else {
-                long startTime = System.nanoTime();
-                long endTime = startTime + (thinkTime * 1000000000l);
-                MCTSNode current;
-                int simCount = 0;
-                while (true) {
-                    long currentTime = System.nanoTime();
-                    if (currentTime > endTime)
+                for (AiSearchScheduler.Search<Boolean> search: searches) {
+                    try {
+                        // the executors stop by themselves after the think time
+                        search.getWithinThinkTime(thinkTime + 1, TimeUnit.SECONDS);
+                    } catch (TimeoutException ex) {
+                        search.cancel(true);
+                    } catch (ExecutionException ex) {
+                        logger.error("applyMCTS search failed", ex.getCause());
+                    } catch (InterruptedException ex) {
+                        logger.warn("applyMCTS interrupted");
+                        for (AiSearchScheduler.Search<Boolean> other: searches) {
+                            other.cancel(true);
+                        }
+                        Thread.currentThread().interrupt();
                         break;
-                    current = root;
-
-                    // Selection
-                    while (!current.isLeaf()) {
-                        current = current.select(this.playerId);
                     }
+                }
+            }
+            else {
+                MCTSExecutor task = new MCTSExecutor(root, playerId, thinkTime);
+                tasks.add(task);
+                task.call();
+            }
 
-                    int result;
-                    if (!current.isTerminal()) {
-                        // Expansion
-                        current.expand();
-
-                        // Simulation
-                        current = current.select(this.playerId);
-                        result = current.simulate(this.playerId);
-                        simCount++;
-                    }
-                    else {
-                        result = current.isWinner(this.playerId)?1:-1;
-                    }
-                    // Backpropagation
-                    current.backpropagate(result);
+            int simCount = 0;
+            for (MCTSExecutor task: tasks) {
+                simCount += task.getSimCount();
+                if (task.getRoot() != root) {
+                    root.merge(task.getRoot());
                 }
-                logger.info("Simulated " + simCount + " games - nodes in tree: " + root.size());
+                task.clear();
             }
+            tasks.clear();
+            totalThinkTime += thinkTime;
+            totalSimulations += simCount;
+            logger.info("Player: " + name + " Simulated " + simCount + " games in " + thinkTime + " seconds - nodes in tree: " + root.size());
+            logger.info("Total: Simulated " + totalSimulations + " games in " + totalThinkTime + " seconds - Average: " + totalSimulations/totalThinkTime);
+            MCTSNode.logHitMiss();
 //            displayMemory();
         }
 
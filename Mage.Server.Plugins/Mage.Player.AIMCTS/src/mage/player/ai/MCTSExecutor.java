@@ -29,10 +29,13 @@ package mage.player.ai;
 
 import java.util.UUID;
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import mage.game.Game;
 import org.apache.log4j.Logger;
 
 /**
+ * Runs MCTS searches on a tree until the think time is over. Several
+ * executors can search the same tree at once.
  *
  * @author BetaSteward_at_googlemail.com
  */
@@ -46,48 +49,59 @@ public class MCTSExecutor implements Callable<Boolean> {
     private static final Logger logger = Logger.getLogger(ComputerPlayerMCTS.class);
 
     public MCTSExecutor(Game sim, UUID playerId, int thinkTime) {
+        this(new MCTSNode(playerId, sim), playerId, thinkTime);
+    }
+
+    /**
+     * @param root tree to search, may be shared with other executors
+     * @param playerId
+     * @param thinkTime
+     */
+    public MCTSExecutor(MCTSNode root, UUID playerId, int thinkTime) {
         this.playerId = playerId;
         this.thinkTime = thinkTime;
-        root = new MCTSNode(playerId, sim);
+        this.root = root;
     }
 
     @Override
     public Boolean call() {
         simCount = 0;
+        long endTime = System.nanoTime() + TimeUnit.SECONDS.toNanos(thinkTime);
         MCTSNode current;
 
-
-        while (true) {
+        while (System.nanoTime() < endTime && !Thread.currentThread().isInterrupted()) {
             current = root;
+            int result = 0;
+            try {
+                // Selection
+                while (!current.isLeaf()) {
+                    current = current.select(this.playerId);
+                }
 
-            // Selection
-            while (!current.isLeaf()) {
-                current = current.select(this.playerId);
-            }
-
-            int result;
-            if (!current.isTerminal()) {
-                // Expansion
-                current.expand();
+                if (!current.isTerminal()) {
+                    // Expansion (does nothing if another executor expanded the node meanwhile)
+                    current.expand();
 
-                // only run simulations for nodes that have siblings
-                if (current.getNumChildren() > 1) {
-                    // Simulation
-                    current = current.select(this.playerId);
-                    result = current.simulate(this.playerId);
-                    simCount++;
+                    // only run simulations for nodes that have siblings
+                    if (current.getNumChildren() > 1) {
+                        // Simulation
+                        current = current.select(this.playerId);
+                        result = current.simulate(this.playerId);
+                        simCount++;
+                    }
+                    else if (current.getNumChildren() == 1) {
+                        current = current.select(this.playerId);
+                    }
                 }
                 else {
-                    current = current.select(this.playerId);
-                    result = 0;
+                    result = current.isWinner(this.playerId)?1:-1;
                 }
+            } finally {
+                // Backpropagation (also removes the virtual losses of the selected nodes)
+                current.backpropagate(result);
             }
-            else {
-                result = current.isWinner(this.playerId)?1:-1;
-            }
-            // Backpropagation
-            current.backpropagate(result);
         }
+        return true;
     }
 
     public MCTSNode getRoot() {
@@ -34,6 +34,8 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 import mage.constants.PhaseStep;
 import mage.constants.Zone;
 import mage.abilities.Ability;
@@ -49,6 +51,11 @@ import mage.players.Player;
 import org.apache.log4j.Logger;
 
 /**
+ * Node of a MCTS search tree. The tree can be searched by several threads at
+ * once (tree parallelization): the statistics are atomic counters, a node is
+ * expanded only once and each search adds a virtual loss to the nodes it
+ * selected until it backpropagates its result, so concurrent searches are
+ * spread over the tree.
  *
  * @author BetaSteward_at_googlemail.com
  */
@@ -59,12 +66,14 @@ public class MCTSNode {
     private static final double passRatioTolerance = 0.0;
     private static final Logger logger = Logger.getLogger(MCTSNode.class);
 
-    private int visits = 0;
-    private int wins = 0;
-    private MCTSNode parent;
-    private final List<MCTSNode> children = new ArrayList<>();
+    private final AtomicInteger visits = new AtomicInteger();
+    private final AtomicInteger wins = new AtomicInteger();
+    // searches that selected this node and did not backpropagate their result yet
+    private final AtomicInteger virtualLosses = new AtomicInteger();
+    private volatile MCTSNode parent;
+    private final List<MCTSNode> children = new CopyOnWriteArrayList<>();
     private Ability action;
-    private Game game;
+    private volatile Game game;
     private Combat combat;
     private final String stateValue;
     private final String fullStateValue;
@@ -72,7 +81,8 @@ public class MCTSNode {
     private boolean terminal = false;
     private UUID targetPlayer;
 
-    private static int nodeCount;
+    // number of nodes of the tree, shared by all nodes of the tree
+    private final AtomicInteger nodeCount;
 
     public MCTSNode(UUID targetPlayer, Game game) {
         this.targetPlayer = targetPlayer;
@@ -81,7 +91,7 @@ public class MCTSNode {
         this.fullStateValue = game.getState().getValue(true, game);
         this.terminal = game.gameOver(null);
         setPlayer();
-        nodeCount = 1;
+        nodeCount = new AtomicInteger(1);
 //        logger.info(this.stateValue);
     }    
 
@@ -94,7 +104,8 @@ public class MCTSNode {
         this.parent = parent;
         this.action = action;
         setPlayer();
-        nodeCount++;
+        nodeCount = parent.nodeCount;
+        nodeCount.incrementAndGet();
 //        logger.info(this.stateValue);
     }
 
@@ -107,7 +118,8 @@ public class MCTSNode {
         this.terminal = game.gameOver(null);
         this.parent = parent;
         setPlayer();
-        nodeCount++;
+        nodeCount = parent.nodeCount;
+        nodeCount.incrementAndGet();
 //        logger.info(this.stateValue);
     }
 
@@ -123,32 +135,54 @@ public class MCTSNode {
         }
     }
 
+    /**
+     * Selects the child to search next and adds a virtual loss to it, that is
+     * removed again by {@link #backpropagate(int)}.
+     *
+     * @param targetPlayerId
+     * @return
+     */
     public MCTSNode select(UUID targetPlayerId) {
         double bestValue = Double.NEGATIVE_INFINITY;
         boolean isTarget = playerId.equals(targetPlayerId);
         MCTSNode bestChild = null;
         if (children.size() == 1) {
-            return children.get(0);
-        }
-        for (MCTSNode node: children) {
-            double uct;
-            if (node.visits > 0)
-                if (isTarget)
-                    uct = (node.wins / (node.visits)) + (selectionCoefficient * Math.sqrt(Math.log(visits) / (node.visits)));
+            bestChild = children.get(0);
+        } else {
+            double logVisits = Math.log(Math.max(1, visits.get()));
+            for (MCTSNode node: children) {
+                double uct;
+                int nodeVisits = node.visits.get();
+                // a virtual loss counts as visit that was lost for the selecting player
+                int virtualVisits = nodeVisits + node.virtualLosses.get();
+                if (virtualVisits > 0) {
+                    double nodeWins = isTarget ? node.wins.get() : nodeVisits - node.wins.get();
+                    uct = (nodeWins / virtualVisits) + (selectionCoefficient * Math.sqrt(logVisits / virtualVisits));
+                }
                 else
-                    uct = ((node.visits - node.wins) / (node.visits)) + (selectionCoefficient * Math.sqrt(Math.log(visits) / (node.visits)));
-            else
-                // ensure that a random unvisited node is played first
-                uct = 10000 + 1000 * Math.random();
-            if (uct > bestValue) {
-                bestChild = node;
-                bestValue = uct;
+                    // ensure that a random unvisited node is played first
+                    uct = 10000 + 1000 * Math.random();
+                if (uct > bestValue) {
+                    bestChild = node;
+                    bestValue = uct;
+                }
             }
         }
+        if (bestChild != null) {
+            bestChild.virtualLosses.incrementAndGet();
+        }
         return bestChild;
     }
 
-    public void expand() {
+    /**
+     * Creates the children of this node. Does nothing if the node was already
+     * expanded (e.g. by another search of the same tree).
+     */
+    public synchronized void expand() {
+        if (game == null) {
+            return;
+        }
+        List<MCTSNode> expanded = new ArrayList<>();
         MCTSPlayer player = (MCTSPlayer) game.getPlayer(playerId);
         if (player.getNextAction() == null) {
             logger.fatal("next action is null");
@@ -167,7 +201,7 @@ public class MCTSNode {
                     MCTSPlayer simPlayer = (MCTSPlayer) sim.getPlayer(player.getId());
                     simPlayer.activateAbility((ActivatedAbility)ability, sim);
                     sim.resume();
-                    children.add(new MCTSNode(this, sim, ability));
+                    expanded.add(new MCTSNode(this, sim, ability));
                 }
                 break;
             case SELECT_ATTACKERS:
@@ -185,7 +219,7 @@ public class MCTSNode {
                         simPlayer.declareAttacker(attackerId, defenderId, sim, false);
                     }
                     sim.resume();
-                    children.add(new MCTSNode(this, sim, sim.getCombat()));
+                    expanded.add(new MCTSNode(this, sim, sim.getCombat()));
                 }
                 break;
             case SELECT_BLOCKERS:
@@ -207,16 +241,23 @@ public class MCTSNode {
                         }
                     }
                     sim.resume();
-                    children.add(new MCTSNode(this, sim, sim.getCombat()));
+                    expanded.add(new MCTSNode(this, sim, sim.getCombat()));
                 }
                 break;
         }
+        children.addAll(expanded);
         game = null;
     }
 
     public int simulate(UUID playerId) {
 //        long startTime = System.nanoTime();
-        Game sim = createSimulation(game, playerId);
+        Game sim;
+        synchronized (this) {
+            if (game == null) { // expanded by another search in the meantime
+                return 0;
+            }
+            sim = createSimulation(game, playerId);
+        }
         sim.resume();
 //        long duration = System.nanoTime() - startTime;
         int retVal = -1;  //anything other than a win is a loss
@@ -230,14 +271,23 @@ public class MCTSNode {
         return retVal;
     }
 
+    /**
+     * Adds the result to this node and all its ancestors and removes the
+     * virtual losses added by {@link #select(UUID)}.
+     *
+     * @param result 1 for a win, -1 for a loss, 0 to only remove the virtual
+     * losses
+     */
     public void backpropagate(int result) {
-        if (result == 0)
-            return;
-        if (result == 1)
-            wins++;
-        visits++;
-        if (parent != null)
-            parent.backpropagate(result);
+        for (MCTSNode node = this; node != null; node = node.parent) {
+            if (result != 0) {
+                if (result == 1)
+                    node.wins.incrementAndGet();
+                node.visits.incrementAndGet();
+            }
+            if (node.parent != null)
+                node.virtualLosses.decrementAndGet();
+        }
     }
 
     public boolean isLeaf() {
@@ -252,25 +302,26 @@ public class MCTSNode {
         boolean bestIsPass = false;
         MCTSNode bestChild = null;
         for (MCTSNode node: children) {
+            int nodeVisits = node.visits.get();
             //favour passing vs any other action except for playing land if ratio is close
-            if (node.visits > bestCount) {
+            if (nodeVisits > bestCount) {
                 if (bestIsPass) {
-                    double ratio = node.wins/(node.visits * 1.0);
+                    double ratio = node.wins.get()/(nodeVisits * 1.0);
                     if (ratio < bestRatio + passRatioTolerance)
                         continue;
                 }
                 bestChild = node;
-                bestCount = node.visits;
-                bestRatio = node.wins/(node.visits * 1.0);
+                bestCount = nodeVisits;
+                bestRatio = node.wins.get()/(nodeVisits * 1.0);
                 bestIsPass = false;
             }
-            else if (node.action instanceof PassAbility && node.visits > 10 && !(bestChild.action instanceof PlayLandAbility)) {
+            else if (node.action instanceof PassAbility && nodeVisits > 10 && !(bestChild.action instanceof PlayLandAbility)) {
                 //favour passing vs any other action if ratio is close
-                double ratio = node.wins/(node.visits * 1.0);
+                double ratio = node.wins.get()/(nodeVisits * 1.0);
                 if (ratio > bestRatio - passRatioTolerance) {
                     logger.info("choosing pass over " + bestChild.getAction());
                     bestChild = node;
-                    bestCount = node.visits;
+                    bestCount = nodeVisits;
                     bestRatio = ratio;
                     bestIsPass = true;
                 }
@@ -303,7 +354,7 @@ public class MCTSNode {
     }
 
     public int getNodeCount() {
-        return nodeCount;
+        return nodeCount.get();
     }
 
     public String getStateValue() {
@@ -311,13 +362,14 @@ public class MCTSNode {
     }
 
     public double getWinRatio() {
-        if (visits > 0)
-            return wins/(visits * 1.0);
+        int nodeVisits = visits.get();
+        if (nodeVisits > 0)
+            return wins.get()/(nodeVisits * 1.0);
         return -1.0;
     }
 
     public int getVisits() {
-        return visits;
+        return visits.get();
     }
 
     /**
@@ -406,8 +458,8 @@ public class MCTSNode {
             return;
         }
 
-        this.visits += merge.visits;
-        this.wins += merge.wins;
+        this.visits.addAndGet(merge.visits.get());
+        this.wins.addAndGet(merge.wins.get());
         int mismatchCount = 0;
         
         List<MCTSNode> mergeChildren = new ArrayList<>();
@@ -36,6 +36,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import mage.MageObject;
 import mage.abilities.Ability;
 import mage.abilities.ActivatedAbility;
@@ -109,6 +111,9 @@ import org.apache.log4j.Logger;
 public class HumanPlayer extends PlayerImpl {
 
     private final transient PlayerResponse response = new PlayerResponse();
+    // a lock instead of synchronized, a virtual game thread waiting on it doesn't block its carrier thread
+    private final transient ReentrantLock responseLock = new ReentrantLock();
+    private final transient Condition responseReceived = responseLock.newCondition();
 
     protected static FilterCreatureForCombatBlock filterCreatureForCombatBlock = new FilterCreatureForCombatBlock();
     protected static FilterCreatureForCombat filterCreatureForCombat = new FilterCreatureForCombat();
@@ -149,15 +154,15 @@ public class HumanPlayer extends PlayerImpl {
         response.clear();
         logger.debug("Waiting response from player: " + getId());
         game.resumeTimer(getTurnControlledBy());
-        synchronized (response) {
-            try {
-                response.wait();
-                logger.debug("Got response from player: " + getId());
-            } catch (InterruptedException ex) {
-                logger.error("Response error for player " + getName() + " gameId: " + game.getId(), ex);
-            } finally {
-                game.pauseTimer(getTurnControlledBy());
-            }
+        responseLock.lock();
+        try {
+            responseReceived.await();
+            logger.debug("Got response from player: " + getId());
+        } catch (InterruptedException ex) {
+            logger.error("Response error for player " + getName() + " gameId: " + game.getId(), ex);
+        } finally {
+            game.pauseTimer(getTurnControlledBy());
+            responseLock.unlock();
         }
     }
 
@@ -1419,65 +1424,86 @@ public class HumanPlayer extends PlayerImpl {
 
     @Override
     public void setResponseString(String responseString) {
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setString(responseString);
-            response.notify();
+            responseReceived.signal();
             logger.debug("Got response string from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void setResponseManaType(UUID manaTypePlayerId, ManaType manaType) {
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setManaType(manaType);
             response.setResponseManaTypePlayerId(manaTypePlayerId);
-            response.notify();
+            responseReceived.signal();
             logger.debug("Got response mana type from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void setResponseUUID(UUID responseUUID) {
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setUUID(responseUUID);
-            response.notify();
+            responseReceived.signal();
             logger.debug("Got response UUID from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void setResponseBoolean(Boolean responseBoolean) {
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setBoolean(responseBoolean);
-            response.notify();
+            responseReceived.signal();
             logger.debug("Got response boolean from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void setResponseInteger(Integer responseInteger) {
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setInteger(responseInteger);
-            response.notify();
+            responseReceived.signal();
             logger.debug("Got response integer from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void abort() {
         abort = true;
-        synchronized (response) {
-            response.notify();
+        responseLock.lock();
+        try {
+            responseReceived.signal();
             logger.debug("Got cancel action from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
     @Override
     public void skip() {
-        synchronized (response) {
+        responseLock.lock();
+        try {
             response.setInteger(0);
-            response.notify();
+            responseReceived.signal();
             logger.debug("Got skip action from player: " + getId());
+        } finally {
+            responseLock.unlock();
         }
     }
 
@@ -47,6 +47,7 @@ import mage.interfaces.ServerState;
 import mage.interfaces.callback.ClientCallback;
 import mage.players.net.UserData;
 import mage.remote.MageVersionException;
+import mage.remote.traffic.ViewCodec;
 import mage.server.draft.CubeFactory;
 import mage.server.draft.DraftManager;
 import mage.server.game.*;
@@ -390,6 +391,32 @@ public class MageServerImpl implements MageServer {
         return null;
     }
 
+    @Override
+    public Object getRoomUpdateCompressed(final String sessionId, final UUID roomId, final long version) throws MageException {
+        return executeWithResult("getRoomUpdate", sessionId, new ActionWithNullNegativeResult<Object>() {
+            @Override
+            public Object execute() throws MageException {
+                GamesRoom room = GamesRoomManager.getInstance().getRoom(roomId);
+                if (room == null) {
+                    return null;
+                }
+                UUID userId = SessionManager.getInstance().getSession(sessionId).getUserId();
+                return ViewCodec.wrap(room.getRoomUpdate(userId, version));
+            }
+        });
+    }
+
+    @Override
+    public void stopRoomUpdates(final String sessionId, final UUID roomId) throws MageException {
+        execute("stopRoomUpdates", sessionId, () -> {
+            GamesRoom room = GamesRoomManager.getInstance().getRoom(roomId);
+            if (room != null) {
+                UUID userId = SessionManager.getInstance().getSession(sessionId).getUserId();
+                room.stopRoomUpdates(userId);
+            }
+        });
+    }
+
     @Override
     public List<RoomUsersView> getRoomUsers(UUID roomId) throws MageException {
         try {
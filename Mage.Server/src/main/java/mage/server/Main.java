@@ -47,6 +47,7 @@ import mage.server.util.ServerMessagesUtil;
 import mage.server.util.SystemUtil;
 import mage.server.util.config.GamePlugin;
 import mage.server.util.config.Plugin;
+import mage.util.AiSearchScheduler;
 import mage.utils.MageVersion;
 import org.apache.log4j.Logger;
 import org.jboss.remoting.*;
@@ -194,6 +195,7 @@ public class Main {
         logger.info("Config - max seconds idle: " + config.getMaxSecondsIdle());
         logger.info("Config - max game threads: " + config.getMaxGameThreads());
         logger.info("Config - max AI opponents: " + config.getMaxAiOpponents());
+        logger.info("Config - AI search threads: " + config.getMaxAiSearchThreads());
         logger.info("Config - min usr name le.: " + config.getMinUserNameLength());
         logger.info("Config - max usr name le.: " + config.getMaxUserNameLength());
         logger.info("Config - min pswrd length: " + config.getMinPasswordLength());
@@ -215,6 +217,8 @@ public class Main {
         logger.info("Config - mail from addre.: " + config.getMailFromAddress());
         logger.info("Config - google account  : " + config.getGoogleAccount());
 
+        AiSearchScheduler.configure(config.getMaxAiSearchThreads());
+
         Connection connection = new Connection("&maxPoolSize=" + config.getMaxPoolSize());
         connection.setHost(config.getServerAddress());
         connection.setPort(config.getPort());
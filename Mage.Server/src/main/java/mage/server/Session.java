@@ -37,6 +37,7 @@ import mage.constants.Constants;
 import mage.interfaces.callback.ClientCallback;
 import mage.players.net.UserData;
 import mage.players.net.UserGroup;
+import mage.remote.traffic.ViewCodec;
 import mage.server.game.GamesRoomManager;
 import mage.server.util.ConfigSettings;
 import mage.server.util.SystemUtil;
@@ -369,6 +370,7 @@ public class Session {
     public void fireCallback(final ClientCallback call) {
         try {
             call.setMessageId(messageId++);
+            call.setData(ViewCodec.wrap(call.getData()));
             callbackHandler.handleCallbackOneway(new Callback(call));
         } catch (HandleCallbackException ex) {
             ex.printStackTrace();
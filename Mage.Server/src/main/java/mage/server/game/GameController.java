@@ -73,6 +73,7 @@ import mage.server.TableManager;
 import mage.server.User;
 import mage.server.UserManager;
 import mage.server.util.ConfigSettings;
+import mage.server.util.ServerMessagesUtil;
 import mage.server.util.Splitter;
 import mage.server.util.SystemUtil;
 import mage.server.util.ThreadExecutor;
@@ -82,6 +83,7 @@ import mage.view.CardsView;
 import mage.view.ChatMessage;
 import mage.view.ChatMessage.MessageColor;
 import mage.view.ChatMessage.MessageType;
+import mage.view.GameClientMessage;
 import mage.view.GameView;
 import mage.view.PermanentView;
 import org.apache.log4j.Logger;
@@ -101,6 +103,8 @@ public class GameController implements GameCallback {
 
     private final ConcurrentHashMap<UUID, GameSessionPlayer> gameSessions = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, GameSessionWatcher> watchers = new ConcurrentHashMap<>();
+    private final SharedGameView sharedWatcherView = new SharedGameView();
+    private final GameUpdateCoalescer updates;
     private final ConcurrentHashMap<UUID, PriorityTimer> timers = new ConcurrentHashMap<>();
 
     private final ConcurrentHashMap<UUID, UUID> userPlayerMap;
@@ -127,6 +131,7 @@ public class GameController implements GameCallback {
         this.tableId = tableId;
         this.choosingPlayerId = choosingPlayerId;
         this.gameOptions = gameOptions;
+        this.updates = new GameUpdateCoalescer(ConfigSettings.getInstance().getGameUpdateDelayMs(), this::updateGame);
         for (Player player : game.getPlayers().values()) {
             if (!player.isHuman()) {
                 useTimeout = false; // no timeout for AI players because of beeing idle
@@ -139,6 +144,9 @@ public class GameController implements GameCallback {
 
     public void cleanUp() {
         cancelTimeout();
+        updates.cancel();
+        ServerMessagesUtil.getInstance().addGameUpdates(updates.getGenerated(), updates.getSent());
+        logger.debug("Game " + game.getId() + " updates: " + updates.getGenerated() + " sent: " + updates.getSent());
         for (GameSessionPlayer gameSessionPlayer : gameSessions.values()) {
             gameSessionPlayer.cleanUp();
         }
@@ -156,7 +164,7 @@ public class GameController implements GameCallback {
                         UUID playerId;
                         switch (event.getEventType()) {
                             case UPDATE:
-                                updateGame();
+                                updates.update();
                                 break;
                             case INFO:
                                 ChatManager.getInstance().broadcast(chatId, "", event.getMessage(), MessageColor.BLACK, true, MessageType.GAME, null);
@@ -169,7 +177,12 @@ public class GameController implements GameCallback {
                             case ERROR:
                                 error(event.getMessage(), event.getException());
                                 break;
+                            case PLAYER_THINKING:
+                                // no update is sent while a computer player thinks
+                                updates.flush();
+                                break;
                             case END_GAME_INFO:
+                                updates.flush();
                                 endGameInfo();
                                 break;
                             case INIT_TIMER:
@@ -216,6 +229,8 @@ public class GameController implements GameCallback {
                 (Listener<PlayerQueryEvent>) event -> {
                     logger.trace(new StringBuilder(event.getPlayerId().toString()).append("--").append(event.getQueryType()).append("--").append(event.getMessage()).toString());
                     try {
+                        // the clients get the pending update before the question
+                        updates.flush();
                         switch (event.getQueryType()) {
                             case ASK:
                                 ask(event.getPlayerId(), event.getMessage(), event.getOptions());
@@ -420,9 +435,12 @@ public class GameController implements GameCallback {
             return;
         }
         UserManager.getInstance().getUser(userId).ifPresent(user -> {
-            GameSessionWatcher gameWatcher = new GameSessionWatcher(userId, game, false);
-            watchers.put(userId, gameWatcher);
-            gameWatcher.init();
+            GameSessionWatcher gameWatcher = new GameSessionWatcher(userId, game, false, sharedWatcherView);
+            // the watcher gets the shared deltas only after its full view
+            synchronized (sharedWatcherView) {
+                gameWatcher.init();
+                watchers.put(userId, gameWatcher);
+            }
             user.addGameWatchInfo(game.getId());
             ChatManager.getInstance().broadcast(chatId, user.getName(), " has started watching", MessageColor.BLUE, true, ChatMessage.MessageType.STATUS, null);
         });
@@ -565,6 +583,15 @@ public class GameController implements GameCallback {
                     requestPermissionToSeeHandCards(userId, (UUID) data);
                 }
                 break;
+            case CLIENT_REQUEST_GAME_VIEW: // the client has lost a game view delta
+            {
+                UUID viewPlayerId = getPlayerId(userId);
+                GameSessionWatcher gameSession = viewPlayerId != null ? gameSessions.get(viewPlayerId) : watchers.get(userId);
+                if (gameSession != null) {
+                    gameSession.resendGameView();
+                }
+            }
+            break;
             default:
                 game.sendPlayerAction(playerAction, getPlayerId(userId), data);
         }
@@ -662,6 +689,7 @@ public class GameController implements GameCallback {
     }
 
     public void endGame(final String message) throws MageException {
+        updates.flush();
         for (final GameSessionPlayer gameSession : gameSessions.values()) {
             gameSession.gameOver(message);
             gameSession.removeGame();
@@ -714,8 +742,47 @@ public class GameController implements GameCallback {
         for (final GameSessionPlayer gameSession : gameSessions.values()) {
             gameSession.update();
         }
-        for (final GameSessionWatcher gameWatcher : watchers.values()) {
-            gameWatcher.update();
+        updateWatchers();
+    }
+
+    /**
+     * The game view of the watchers is created and encoded once for all of
+     * them.
+     */
+    private void updateWatchers() {
+        if (watchers.isEmpty()) {
+            return;
+        }
+        if (!GameSessionWatcher.isSharedGameView()) {
+            for (final GameSessionWatcher gameWatcher : watchers.values()) {
+                gameWatcher.update();
+            }
+            return;
+        }
+        // the shared deltas have to be sent in the order they were encoded
+        synchronized (sharedWatcherView) {
+            SharedGameView.Update update = sharedWatcherView.encode("gameUpdate", new GameView(game.getState(), game, null, null));
+            for (final GameSessionWatcher gameWatcher : watchers.values()) {
+                gameWatcher.update(update);
+            }
+        }
+    }
+
+    private void informWatchers(String message) {
+        if (watchers.isEmpty()) {
+            return;
+        }
+        if (!GameSessionWatcher.isSharedGameView()) {
+            for (final GameSessionWatcher watcher : watchers.values()) {
+                watcher.inform(message);
+            }
+            return;
+        }
+        synchronized (sharedWatcherView) {
+            SharedGameView.Update update = sharedWatcherView.encode("gameInform", new GameClientMessage(new GameView(game.getState(), game, null, null), message));
+            for (final GameSessionWatcher watcher : watchers.values()) {
+                watcher.update(update);
+            }
         }
     }
 
@@ -808,9 +875,7 @@ public class GameController implements GameCallback {
                 entry.getValue().inform(message.toString());
             }
         }
-        for (final GameSessionWatcher watcher : watchers.values()) {
-            watcher.inform(message.toString());
-        }
+        informWatchers(message.toString());
     }
 
     private void informOthers(List<UUID> players) throws MageException {
@@ -835,9 +900,7 @@ public class GameController implements GameCallback {
                 entry.getValue().inform(message);
             }
         }
-        for (final GameSessionWatcher watcher : watchers.values()) {
-            watcher.inform(message);
-        }
+        informWatchers(message);
     }
 
     private synchronized void informPersonal(UUID playerId, final String message) throws MageException {
@@ -876,7 +939,7 @@ public class GameController implements GameCallback {
             OutputStream buffer = new BufferedOutputStream(file);
             try (ObjectOutput output = new ObjectOutputStream(new GZIPOutputStream(buffer))) {
                 output.writeObject(game);
-                output.writeObject(game.getGameStates());
+                output.writeObject(game.getGameStateHistory());
             }
             logger.debug("Saved game:" + game.getId());
             return true;
@@ -37,6 +37,7 @@ import java.util.UUID;
 import java.util.zip.GZIPInputStream;
 import mage.game.Game;
 import mage.game.GameState;
+import mage.game.GameStateHistory;
 import mage.game.GameStates;
 import mage.server.Main;
 import mage.util.CopierObjectInputStream;
@@ -52,13 +53,13 @@ public class GameReplay {
 
     private static final Logger logger = Logger.getLogger(GameReplay.class);
 
-    private final GameStates savedGame;
+    private final GameStateHistory savedGame;
     private final Game game;
     private int stateIndex;
 
     public GameReplay(UUID gameId) {
         this.game = loadGame(gameId);
-        this.savedGame = game.getGameStates();
+        this.savedGame = game.getGameStateHistory();
     }
 
     public void start() {
@@ -67,14 +68,25 @@ public class GameReplay {
 
     public GameState next() {
         if (this.stateIndex < savedGame.getSize()) {
-            return savedGame.get(stateIndex++);
+            return savedGame.get(stateIndex++, Main.classLoader);
         }
         return null;
     }
 
+    /**
+     * Skips the given number of states without decoding them
+     *
+     * @param moves
+     * @return the state after the skipped ones
+     */
+    public GameState skip(int moves) {
+        this.stateIndex = Math.min(this.stateIndex + moves, savedGame.getSize());
+        return next();
+    }
+
     public GameState previous() {
         if (this.stateIndex > 0) {
-            return savedGame.get(--stateIndex);
+            return savedGame.get(--stateIndex, Main.classLoader);
         }
         return null;
     }
@@ -89,8 +101,16 @@ public class GameReplay {
             InputStream buffer = new BufferedInputStream(file);
             try (ObjectInput input = new CopierObjectInputStream(Main.classLoader, new GZIPInputStream(buffer))) {
                 Game loadGame = (Game) input.readObject();
-                GameStates states = (GameStates) input.readObject();
-                loadGame.loadGameStates(states);
+                Object states = input.readObject();
+                if (states instanceof GameStates) {
+                    // game saved before the state history was introduced
+                    GameStateHistory history = new GameStateHistory();
+                    for (int i = 0; i < ((GameStates) states).getSize(); i++) {
+                        history.save(((GameStates) states).get(i));
+                    }
+                    states = history;
+                }
+                loadGame.loadGameStateHistory((GameStateHistory) states);
                 return loadGame;
             }
         }
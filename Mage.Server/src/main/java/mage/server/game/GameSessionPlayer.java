@@ -69,7 +69,7 @@ public class GameSessionPlayer extends GameSessionWatcher {
 
     public void ask(final String question, final Map<String, Serializable> options) {
         if (!killed) {
-            UserManager.getInstance().getUser(userId).ifPresent(user -> user.fireCallback(new ClientCallback("gameAsk", game.getId(), new GameClientMessage(getGameView(), question, options)))
+            UserManager.getInstance().getUser(userId).ifPresent(user -> firePromptCallback(user, "gameAsk", new GameClientMessage(getGameView(), question, options))
             );
         }
     }
@@ -77,7 +77,7 @@ public class GameSessionPlayer extends GameSessionWatcher {
     public void target(final String question, final CardsView cardView, final Set<UUID> targets, final boolean required, final Map<String, Serializable> options) {
         if (!killed) {
             UserManager.getInstance().getUser(userId).ifPresent(user -> {
-                user.fireCallback(new ClientCallback("gameTarget", game.getId(), new GameClientMessage(getGameView(), question, cardView, targets, required, options)));
+                firePromptCallback(user, "gameTarget", new GameClientMessage(getGameView(), question, cardView, targets, required, options));
             });
 
         }
@@ -85,7 +85,7 @@ public class GameSessionPlayer extends GameSessionWatcher {
 
     public void select(final String message, final Map<String, Serializable> options) {
         if (!killed) {
-            UserManager.getInstance().getUser(userId).ifPresent(user -> user.fireCallback(new ClientCallback("gameSelect", game.getId(), new GameClientMessage(getGameView(), message, options))));
+            UserManager.getInstance().getUser(userId).ifPresent(user -> firePromptCallback(user, "gameSelect", new GameClientMessage(getGameView(), message, options)));
         }
         ;
     }
@@ -117,14 +117,14 @@ public class GameSessionPlayer extends GameSessionWatcher {
     public void playMana(final String message, final Map<String, Serializable> options) {
         if (!killed) {
             UserManager.getInstance().getUser(userId).ifPresent(user ->
-                    user.fireCallback(new ClientCallback("gamePlayMana", game.getId(), new GameClientMessage(getGameView(), message, options))));
+                    firePromptCallback(user, "gamePlayMana", new GameClientMessage(getGameView(), message, options)));
         }
     }
 
     public void playXMana(final String message) {
         if (!killed) {
             UserManager.getInstance().getUser(userId).ifPresent(user ->
-                    user.fireCallback(new ClientCallback("gamePlayXMana", game.getId(), new GameClientMessage(getGameView(), message))));
+                    firePromptCallback(user, "gamePlayXMana", new GameClientMessage(getGameView(), message)));
 
         }
     }
@@ -191,22 +191,27 @@ public class GameSessionPlayer extends GameSessionWatcher {
     }
 
     public void sendPlayerUUID(UUID data) {
+        clearPendingPrompt();
         game.getPlayer(playerId).setResponseUUID(data);
     }
 
     public void sendPlayerString(String data) {
+        clearPendingPrompt();
         game.getPlayer(playerId).setResponseString(data);
     }
 
     public void sendPlayerManaType(ManaType manaType, UUID manaTypePlayerId) {
+        clearPendingPrompt();
         game.getPlayer(playerId).setResponseManaType(manaTypePlayerId, manaType);
     }
 
     public void sendPlayerBoolean(Boolean data) {
+        clearPendingPrompt();
         game.getPlayer(playerId).setResponseBoolean(data);
     }
 
     public void sendPlayerInteger(Integer data) {
+        clearPendingPrompt();
         game.getPlayer(playerId).setResponseInteger(data);
     }
 
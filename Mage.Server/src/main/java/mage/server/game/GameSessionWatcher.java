@@ -28,6 +28,7 @@
 
 package mage.server.game;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -37,6 +38,7 @@ import mage.game.Game;
 import mage.game.Table;
 import mage.interfaces.callback.ClientCallback;
 import mage.players.Player;
+import mage.remote.traffic.GameViewDeltaEncoder;
 import mage.server.User;
 import mage.server.UserManager;
 import mage.view.GameClientMessage;
@@ -52,22 +54,65 @@ public class GameSessionWatcher {
 
     protected final static Logger logger = Logger.getLogger(GameSessionWatcher.class);
 
+    /**
+     * Game views are sent as deltas to the previous view, can be switched off
+     * with the system property "nogamedelta"
+     */
+    private static final boolean GAME_VIEW_DELTAS = System.getProperty("nogamedelta") == null;
+
     protected final UUID userId;
     protected final Game game;
     protected boolean killed = false;
     protected final boolean isPlayer;
+    private final GameViewDeltaEncoder deltaEncoder = new GameViewDeltaEncoder();
+    // view shared with the other watchers of the game, null for players
+    private final SharedGameView sharedView;
+    // the game views are sent under this lock, the watchers sharing a view
+    // use the shared view, so its deltas and their full views keep their order
+    private final Object sendLock;
+    // last callback with a game view, sent again as key frame if the client has lost a delta
+    private String lastMethod;
+    private Object lastData;
+    // last question to the player that wasn't answered yet, sent again before
+    // the last game view because a later callback may have replaced it
+    private String pendingPromptMethod;
+    private Object pendingPromptData;
 
     public GameSessionWatcher(UUID userId, Game game, boolean isPlayer) {
+        this(userId, game, isPlayer, null);
+    }
+
+    /**
+     * @param userId
+     * @param game
+     * @param isPlayer
+     * @param sharedView the view shared by the watchers of the game or null
+     * if the game views are encoded for this session only
+     */
+    public GameSessionWatcher(UUID userId, Game game, boolean isPlayer, SharedGameView sharedView) {
         this.userId = userId;
         this.game = game;
         this.isPlayer = isPlayer;
+        this.sharedView = GAME_VIEW_DELTAS ? sharedView : null;
+        this.sendLock = this.sharedView != null ? this.sharedView : this;
+    }
+
+    /**
+     * @return true if the game views of the watchers are created and encoded
+     * once for all of them
+     */
+    public static boolean isSharedGameView() {
+        return GAME_VIEW_DELTAS;
     }
 
     public boolean init() {
         if (!killed) {
             Optional<User> user = UserManager.getInstance().getUser(userId);
             if (user.isPresent()) {
-                user.get().fireCallback(new ClientCallback("gameInit", game.getId(), getGameView()));
+                synchronized (sendLock) {
+                    deltaEncoder.reset();
+                    fireGameViewCallback(user.get(), "gameInit", getGameView());
+                }
                 return true;
             }
         }
@@ -76,21 +121,33 @@ public class GameSessionWatcher {
 
     public void update() {
         if (!killed) {
-            UserManager.getInstance().getUser(userId).ifPresent(user -> user.fireCallback(new ClientCallback("gameUpdate", game.getId(), getGameView())));
+            UserManager.getInstance().getUser(userId).ifPresent(user -> fireGameViewCallback(user, "gameUpdate", getGameView()));
         }
 
     }
 
+    /**
+     * Sends a game view shared with the other watchers, only the hands this
+     * watcher is allowed to see are added.
+     *
+     * @param update
+     */
+    public void update(SharedGameView.Update update) {
+        if (!killed) {
+            UserManager.getInstance().getUser(userId).ifPresent(user -> fireSharedGameViewCallback(user, update));
+        }
+    }
+
     public void inform(final String message) {
         if (!killed) {
-            UserManager.getInstance().getUser(userId).ifPresent(user -> user.fireCallback(new ClientCallback("gameInform", game.getId(), new GameClientMessage(getGameView(), message))));
+            UserManager.getInstance().getUser(userId).ifPresent(user -> fireGameViewCallback(user, "gameInform", new GameClientMessage(getGameView(), message)));
         }
 
     }
 
     public void informPersonal(final String message) {
         if (!killed) {
-            UserManager.getInstance().getUser(userId).ifPresent(user -> user.fireCallback(new ClientCallback("gameInformPersonal", game.getId(), new GameClientMessage(getGameView(), message))));
+            UserManager.getInstance().getUser(userId).ifPresent(user -> fireGameViewCallback(user, "gameInformPersonal", new GameClientMessage(getGameView(), message)));
         }
 
     }
@@ -104,6 +161,108 @@ public class GameSessionWatcher {
         }
     }
 
+    /**
+     * Sends a callback with a game view. The game view is encoded as delta to
+     * the game view sent before, so the callbacks are encoded and sent one
+     * after the other.
+     *
+     * @param user
+     * @param method
+     * @param data game view or message with a game view
+     */
+    protected void fireGameViewCallback(User user, String method, Object data) {
+        synchronized (sendLock) {
+            lastMethod = method;
+            lastData = data;
+            Object sent = data;
+            if (sharedView != null) {
+                // sent as full view, the client can decode the shared deltas again
+                // from the next key frame on
+                sharedView.reset();
+            } else if (GAME_VIEW_DELTAS) {
+                try {
+                    sent = deltaEncoder.encode(data);
+                } catch (IOException ex) {
+                    logger.warn("Can't encode game view delta - sending full view, method: " + method, ex);
+                }
+            }
+            user.fireCallback(new ClientCallback(method, game.getId(), sent));
+        }
+    }
+
+    /**
+     * Sends a question to the player with a game view. It's remembered until
+     * the player answers, so it can be sent again if the client has lost a
+     * delta.
+     *
+     * @param user
+     * @param method
+     * @param data message with the question and a game view
+     */
+    protected void firePromptCallback(User user, String method, Object data) {
+        synchronized (sendLock) {
+            pendingPromptMethod = method;
+            pendingPromptData = data;
+            fireGameViewCallback(user, method, data);
+        }
+    }
+
+    /**
+     * The player has answered the last question.
+     */
+    protected void clearPendingPrompt() {
+        synchronized (sendLock) {
+            pendingPromptMethod = null;
+            pendingPromptData = null;
+        }
+    }
+
+    private void fireSharedGameViewCallback(User user, SharedGameView.Update update) {
+        synchronized (sendLock) {
+            // the shared data has no watched hands, a resend creates the view of this watcher
+            lastMethod = update.getMethod();
+            lastData = update.getData();
+            Object sent;
+            if (update.getDelta() != null) {
+                Map<String, SimpleCardsView> watchedHands = getWatchedHands(userId);
+                sent = watchedHands.isEmpty() ? update.getDelta() : update.getDelta().withWatchedHands(watchedHands);
+            } else {
+                sent = withOwnGameView(update.getData());
+            }
+            user.fireCallback(new ClientCallback(update.getMethod(), game.getId(), sent));
+        }
+    }
+
+    private Object withOwnGameView(Object data) {
+        if (data instanceof GameClientMessage) {
+            return new GameClientMessage(getGameView(), ((GameClientMessage) data).getMessage());
+        }
+        return getGameView();
+    }
+
+    /**
+     * The client has lost a game view delta, the last game view is sent again
+     * as key frame. A question that wasn't answered yet is sent first, in case
+     * the lost delta was the question.
+     */
+    public void resendGameView() {
+        synchronized (sendLock) {
+            if (!killed && lastMethod != null) {
+                deltaEncoder.reset();
+                String method = lastMethod;
+                Object data = sharedView != null ? withOwnGameView(lastData) : lastData;
+                String promptMethod = pendingPromptMethod;
+                Object promptData = pendingPromptData;
+                UserManager.getInstance().getUser(userId).ifPresent(user -> {
+                    if (promptData != null && promptData != data) {
+                        fireGameViewCallback(user, promptMethod, promptData);
+                    }
+                    fireGameViewCallback(user, method, data);
+                });
+            }
+        }
+    }
+
     /**
      * Cleanup if Session ends
      */
@@ -130,13 +289,20 @@ public class GameSessionWatcher {
     }
 
     protected void processWatchedHands(UUID userId, GameView gameView) {
+        Map<String, SimpleCardsView> handCards = getWatchedHands(userId);
+        if (!handCards.isEmpty()) {
+            gameView.setWatchedHands(handCards);
+        }
+    }
+
+    protected Map<String, SimpleCardsView> getWatchedHands(UUID userId) {
         Map<String, SimpleCardsView> handCards = new HashMap<>();
         for (Player player : game.getPlayers().values()) {
             if (player.hasUserPermissionToSeeHand(userId)) {
                 handCards.put(player.getName(), new SimpleCardsView(player.getHand().getCards(game), true));
-                gameView.setWatchedHands(handCards);
             }
         }
+        return handCards;
     }
 
     public GameEndView getGameEndView(UUID playerId, Table table) {
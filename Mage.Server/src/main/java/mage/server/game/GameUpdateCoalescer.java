@@ -0,0 +1,100 @@
+package mage.server.game;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Collapses the game updates that follow each other in quick succession (each
+ * resolved ability, each priority pass) so the game views are sent at most
+ * once per delay to the clients.
+ *
+ * An update is sent at once if the last one was sent more than the delay
+ * before, otherwise it's marked as pending. The game views are only created
+ * on the game thread: the pending update is sent with the first update after
+ * the delay (the next priority pass or step) or with {@link #flush()}. Before
+ * a player is asked something or the game ends the pending update has to be
+ * flushed, so the clients get the updates and questions in the order they
+ * happened. It's also flushed before a computer player starts to think, so
+ * the last change doesn't wait for the whole think time.
+ */
+public class GameUpdateCoalescer {
+
+    private final long delayNanos;
+    private final Runnable sendUpdate;
+    private final LongSupplier nanoTime;
+
+    private long lastSentNanos;
+    private boolean pending;
+    private int generated;
+    private int sent;
+
+    /**
+     * @param delayMs the minimal time between two updates, 0 sends each update
+     * @param sendUpdate sends the current game view to the clients
+     */
+    public GameUpdateCoalescer(int delayMs, Runnable sendUpdate) {
+        this(delayMs, sendUpdate, System::nanoTime);
+    }
+
+    /**
+     * @param delayMs the minimal time between two updates, 0 sends each update
+     * @param sendUpdate sends the current game view to the clients
+     * @param nanoTime the time in nanoseconds, e.g. System::nanoTime
+     */
+    public GameUpdateCoalescer(int delayMs, Runnable sendUpdate, LongSupplier nanoTime) {
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMs);
+        this.sendUpdate = sendUpdate;
+        this.nanoTime = nanoTime;
+        this.lastSentNanos = nanoTime.getAsLong() - delayNanos;
+    }
+
+    /**
+     * The game has changed, the update is sent now if the delay is over since
+     * the last one, otherwise it's pending.
+     */
+    public synchronized void update() {
+        generated++;
+        if (nanoTime.getAsLong() - lastSentNanos >= delayNanos) {
+            send();
+        } else {
+            pending = true;
+        }
+    }
+
+    /**
+     * Sends the pending update now.
+     */
+    public synchronized void flush() {
+        if (pending) {
+            send();
+        }
+    }
+
+    /**
+     * Drops the pending update, e.g. because the game has ended.
+     */
+    public synchronized void cancel() {
+        pending = false;
+    }
+
+    private void send() {
+        pending = false;
+        lastSentNanos = nanoTime.getAsLong();
+        sent++;
+        sendUpdate.run();
+    }
+
+    /**
+     * @return the number of updates of the game
+     */
+    public synchronized int getGenerated() {
+        return generated;
+    }
+
+    /**
+     * @return the number of updates sent to the clients
+     */
+    public synchronized int getSent() {
+        return sent;
+    }
+}
@@ -37,6 +37,7 @@ import mage.game.match.MatchOptions;
 import mage.game.tournament.TournamentOptions;
 import mage.server.Room;
 import mage.view.MatchView;
+import mage.view.RoomUpdateView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 
@@ -49,6 +50,17 @@ public interface GamesRoom extends Room {
     List<TableView> getTables();
     List<MatchView> getFinished();
     List<RoomUsersView> getRoomUsersInfo();
+
+    /**
+     * Returns the changes of the room since the version and pushes the next
+     * changes to the user until {@link #stopRoomUpdates(UUID)} is called.
+     *
+     * @param userId
+     * @param version the version the user has seen, -1 if none
+     * @return
+     */
+    RoomUpdateView getRoomUpdate(UUID userId, long version);
+    void stopRoomUpdates(UUID userId);
     boolean joinTable(UUID userId, UUID tableId, String name, String playerType, int skill, DeckCardLists deckList, String password) throws MageException;
     boolean joinTournamentTable(UUID userId, UUID tableId, String name, String playerType, int skill, DeckCardLists deckList, String password) throws GameException;
     TableView createTable(UUID userId, MatchOptions options);
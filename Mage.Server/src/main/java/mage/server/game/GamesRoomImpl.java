@@ -32,6 +32,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
@@ -45,6 +47,9 @@ import mage.game.GameException;
 import mage.game.Table;
 import mage.game.match.MatchOptions;
 import mage.game.tournament.TournamentOptions;
+import mage.interfaces.callback.ClientCallback;
+import mage.remote.traffic.RoomUpdateEncoder;
+import mage.remote.traffic.ViewCodec;
 import mage.server.RoomImpl;
 import mage.server.TableManager;
 import mage.server.User;
@@ -53,6 +58,7 @@ import mage.server.tournament.TournamentManager;
 import mage.server.util.ConfigSettings;
 import mage.server.util.ThreadExecutor;
 import mage.view.MatchView;
+import mage.view.RoomUpdateView;
 import mage.view.RoomUsersView;
 import mage.view.TableView;
 import mage.view.UsersView;
@@ -71,6 +77,9 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
     private static List<RoomUsersView> roomUsersView = new ArrayList<>();
 
     private final ConcurrentHashMap<UUID, Table> tables = new ConcurrentHashMap<>();
+    private final RoomUpdateEncoder roomUpdates = new RoomUpdateEncoder();
+    // users the changes of the room are pushed to
+    private final Set<UUID> subscribers = ConcurrentHashMap.newKeySet();
 
     public GamesRoomImpl() {
         UPDATE_EXECUTOR.scheduleAtFixedRate(() -> {
@@ -141,6 +150,38 @@ public class GamesRoomImpl extends RoomImpl implements GamesRoom, Serializable {
                 ConfigSettings.getInstance().getMaxGameThreads()
         ));
         roomUsersView = roomUserInfo;
+        pushRoomUpdate(tableList, matchList, roomUserInfo.get(0));
+    }
+
+    /**
+     * Sends the changes since the last update to the subscribed users. The
+     * update is encoded once for all of them.
+     */
+    private void pushRoomUpdate(List<TableView> tableList, List<MatchView> matchList, RoomUsersView roomUsers) {
+        long previous = roomUpdates.getVersion();
+        if (!roomUpdates.update(tableList, matchList, roomUsers) || subscribers.isEmpty()) {
+            return;
+        }
+        Object data = ViewCodec.wrap(roomUpdates.getUpdate(previous));
+        for (UUID userId : subscribers) {
+            Optional<User> user = UserManager.getInstance().getUser(userId);
+            if (user.isPresent()) {
+                user.get().fireCallback(new ClientCallback("roomUpdate", getRoomId(), data));
+            } else {
+                subscribers.remove(userId);
+            }
+        }
+    }
+
+    @Override
+    public RoomUpdateView getRoomUpdate(UUID userId, long version) {
+        subscribers.add(userId);
+        return roomUpdates.getUpdate(version);
+    }
+
+    @Override
+    public void stopRoomUpdates(UUID userId) {
+        subscribers.remove(userId);
     }
 
     @Override
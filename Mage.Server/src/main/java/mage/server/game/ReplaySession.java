@@ -66,10 +66,7 @@ public class ReplaySession implements GameCallback {
     }
 
     public synchronized void next(int moves) {
-        for (int i = 0; i < moves; i++) {
-            replay.next();
-        }
-        updateGame(replay.next(), replay.getGame());
+        updateGame(replay.skip(moves), replay.getGame());
     }
 
     public synchronized void previous() {
@@ -0,0 +1,75 @@
+package mage.server.game;
+
+import java.io.IOException;
+import mage.remote.traffic.GameViewDelta;
+import mage.remote.traffic.GameViewDeltaEncoder;
+import org.apache.log4j.Logger;
+
+/**
+ * The game view of the watchers of a game. The watchers see the same view
+ * (only the hands they are allowed to see differ), so it's created and
+ * encoded once for each update and the same encoded delta is sent to all of
+ * them.
+ *
+ * All watchers get the same stream of deltas. A watcher that needs a full
+ * view (starts watching or has lost a delta) gets it separately and the next
+ * shared delta is a key frame. The watchers send their views under the lock
+ * of this object, so a full view and the shared deltas keep their order.
+ */
+public class SharedGameView {
+
+    private static final Logger logger = Logger.getLogger(SharedGameView.class);
+
+    private final GameViewDeltaEncoder encoder = new GameViewDeltaEncoder();
+
+    /**
+     * @param method
+     * @param data game view or message with a game view, without watched hands
+     * @return the update for all watchers
+     */
+    public synchronized Update encode(String method, Object data) {
+        GameViewDelta delta = null;
+        try {
+            delta = encoder.encode(data);
+        } catch (IOException ex) {
+            logger.warn("Can't encode shared game view delta - sending full views, method: " + method, ex);
+        }
+        return new Update(method, data, delta);
+    }
+
+    /**
+     * A watcher got a full view separately, the next shared delta has to be a
+     * key frame.
+     */
+    public synchronized void reset() {
+        encoder.reset();
+    }
+
+    public static class Update {
+
+        private final String method;
+        private final Object data;
+        private final GameViewDelta delta;
+
+        Update(String method, Object data, GameViewDelta delta) {
+            this.method = method;
+            this.data = data;
+            this.delta = delta;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public Object getData() {
+            return data;
+        }
+
+        /**
+         * @return the encoded data or null if it couldn't be encoded
+         */
+        public GameViewDelta getDelta() {
+            return delta;
+        }
+    }
+}
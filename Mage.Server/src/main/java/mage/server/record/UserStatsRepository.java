@@ -3,6 +3,7 @@ package mage.server.record;
 import com.j256.ormlite.dao.Dao;
 import com.j256.ormlite.dao.DaoManager;
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.j256.ormlite.misc.TransactionManager;
 import com.j256.ormlite.stmt.QueryBuilder;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.support.DatabaseConnection;
@@ -16,8 +17,14 @@ import org.apache.log4j.Logger;
 import java.io.File;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 public enum UserStatsRepository {
 
@@ -28,6 +35,9 @@ public enum UserStatsRepository {
     // raise this if db structure was changed
     private static final long DB_VERSION = 0;
 
+    // SQLite allows 999 parameters per query
+    private static final int MAX_QUERY_PARAMETERS = 500;
+
     private Dao<UserStats, Object> dao;
 
     UserStatsRepository() {
@@ -104,89 +114,187 @@ public enum UserStatsRepository {
         return 0;
     }
 
+    /**
+     * Returns the stats of all given users that are in the DB. The names are
+     * queried in chunks, SQLite limits the number of parameters of a query.
+     *
+     * @param userNames
+     * @return the stats by user name
+     * @throws SQLException if any of the chunks can't be read, a part of the
+     * users would be handled as new users otherwise
+     */
+    public Map<String, UserStats> getUsers(Collection<String> userNames) throws SQLException {
+        Map<String, UserStats> users = new HashMap<>();
+        List<String> names = new ArrayList<>(userNames);
+        for (int i = 0; i < names.size(); i += MAX_QUERY_PARAMETERS) {
+            QueryBuilder<UserStats, Object> qb = dao.queryBuilder();
+            qb.where().in("userName", names.subList(i, Math.min(i + MAX_QUERY_PARAMETERS, names.size())));
+            for (UserStats userStats : dao.query(qb.prepare())) {
+                users.put(userStats.getProto().getName(), userStats);
+            }
+        }
+        return users;
+    }
+
     // updateUserStats reads tables finished after the last DB update and reflects it to the DB.
+    // All affected users are read at once, the tables are applied in memory and the changed
+    // users are written back in a single transaction, so a failed update is simply done again
+    // with the next call.
     // It returns the list of user names that are upated.
     public List<String> updateUserStats() {
-        HashSet<String> updatedUsers = new HashSet<>();
         // Lock the DB so that no other updateUserStats runs at the same time.
-        synchronized(this) {
+        synchronized (this) {
+            long startTime = System.currentTimeMillis();
             long latestEndTimeMs = this.getLatestEndTimeMs();
-            List<TableRecord> records = TableRecordRepository.instance.getAfter(latestEndTimeMs);
-            for (TableRecord record : records) {
+            List<ResultProtos.TableProto> tables = new ArrayList<>();
+            for (TableRecord record : TableRecordRepository.instance.getAfter(latestEndTimeMs)) {
                 ResultProtos.TableProto table = record.getProto();
                 if (table.getControllerName().equals("System")) {
                     // This is a sub table within a tournament, so it's already handled by the main
                     // tournament table.
                     continue;
                 }
-                if (table.hasMatch()) {
-                    ResultProtos.MatchProto match = table.getMatch();
-                    for (ResultProtos.MatchPlayerProto player : match.getPlayersList()) {
-                        UserStats userStats = this.getUser(player.getName());
-                        ResultProtos.UserStatsProto proto =
-                            userStats != null
-                                ? userStats.getProto()
-                                : ResultProtos.UserStatsProto.newBuilder().setName(player.getName()).build();
-                        ResultProtos.UserStatsProto.Builder builder = ResultProtos.UserStatsProto.newBuilder(proto)
-                                .setMatches(proto.getMatches() + 1);
-                        switch (player.getQuit()) {
-                            case IDLE_TIMEOUT:
-                                builder.setMatchesIdleTimeout(proto.getMatchesIdleTimeout() + 1);
-                                break;
-                            case TIMER_TIMEOUT:
-                                builder.setMatchesTimerTimeout(proto.getMatchesTimerTimeout() + 1);
-                                break;
-                            case QUIT:
-                                builder.setMatchesQuit(proto.getMatchesQuit() + 1);
-                                break;
-                        }
-                        if (userStats == null) {
-                            this.add(new UserStats(builder.build(), table.getEndTimeMs()));
-                        } else {
-                            this.update(new UserStats(builder.build(), table.getEndTimeMs()));
-                        }
-                        updatedUsers.add(player.getName());
-                    }
-                    updateRating(match, table.getEndTimeMs());
-                } else if (table.hasTourney()) {
-                    ResultProtos.TourneyProto tourney = table.getTourney();
-                    for (ResultProtos.TourneyPlayerProto player : tourney.getPlayersList()) {
-                        UserStats userStats = this.getUser(player.getName());
-                        ResultProtos.UserStatsProto proto = userStats != null ? userStats.getProto()
-                                : ResultProtos.UserStatsProto.newBuilder().setName(player.getName()).build();
-                        ResultProtos.UserStatsProto.Builder builder = ResultProtos.UserStatsProto.newBuilder(proto)
-                                .setTourneys(proto.getTourneys() + 1);
-                        switch (player.getQuit()) {
-                            case DURING_ROUND:
-                                builder.setTourneysQuitDuringRound(proto.getTourneysQuitDuringRound() + 1);
-                                break;
-                            case DURING_DRAFTING:
-                                builder.setTourneysQuitDuringDrafting(proto.getTourneysQuitDuringDrafting() + 1);
-                                break;
-                            case DURING_CONSTRUCTION:
-                                builder.setTourneysQuitDuringConstruction(proto.getTourneysQuitDuringConstruction() + 1);
-                                break;
-                        }
-                        if (userStats == null) {
-                            this.add(new UserStats(builder.build(), table.getEndTimeMs()));
-                        } else {
-                            this.update(new UserStats(builder.build(), table.getEndTimeMs()));
+                tables.add(table);
+            }
+            if (tables.isEmpty()) {
+                return new ArrayList<>();
+            }
+
+            Map<String, UserStats> stored;
+            try {
+                stored = getUsers(getUserNames(tables));
+            } catch (SQLException ex) {
+                // nothing is updated, the tables are read again with the next call
+                Logger.getLogger(UserStatsRepository.class).error("Error getting users from DB - ", ex);
+                return new ArrayList<>();
+            }
+            Map<String, UserStatsUpdate> users = new LinkedHashMap<>();
+            for (UserStats userStats : stored.values()) {
+                UserStatsUpdate update = new UserStatsUpdate(userStats.getProto(), userStats.getEndTimeMs(), false);
+                users.put(update.proto.getName(), update);
+            }
+            for (ResultProtos.TableProto table : tables) {
+                updateUserStats(table, users);
+            }
+
+            List<UserStatsUpdate> changed = new ArrayList<>();
+            for (UserStatsUpdate update : users.values()) {
+                if (update.changed) {
+                    changed.add(update);
+                }
+            }
+            if (!save(changed)) {
+                return new ArrayList<>();
+            }
+
+            long time = Math.max(1, System.currentTimeMillis() - startTime);
+            Logger.getLogger(UserStatsRepository.class).info("Updated stats of " + changed.size() + " users from "
+                    + tables.size() + " tables in " + time + " ms (" + tables.size() * 1000L / time + " records/sec)");
+            List<String> updatedUsers = new ArrayList<>();
+            for (UserStatsUpdate update : changed) {
+                updatedUsers.add(update.proto.getName());
+            }
+            return updatedUsers;
+        }
+    }
+
+    private static Set<String> getUserNames(List<ResultProtos.TableProto> tables) {
+        Set<String> userNames = new HashSet<>();
+        for (ResultProtos.TableProto table : tables) {
+            if (table.hasMatch()) {
+                for (ResultProtos.MatchPlayerProto player : table.getMatch().getPlayersList()) {
+                    userNames.add(player.getName());
+                }
+            } else if (table.hasTourney()) {
+                for (ResultProtos.TourneyPlayerProto player : table.getTourney().getPlayersList()) {
+                    userNames.add(player.getName());
+                }
+                for (ResultProtos.TourneyRoundProto round : table.getTourney().getRoundsList()) {
+                    for (ResultProtos.MatchProto match : round.getMatchesList()) {
+                        for (ResultProtos.MatchPlayerProto player : match.getPlayersList()) {
+                            userNames.add(player.getName());
                         }
-                        updatedUsers.add(player.getName());
                     }
+                }
+            }
+        }
+        return userNames;
+    }
+
+    private void updateUserStats(ResultProtos.TableProto table, Map<String, UserStatsUpdate> users) {
+        if (table.hasMatch()) {
+            ResultProtos.MatchProto match = table.getMatch();
+            for (ResultProtos.MatchPlayerProto player : match.getPlayersList()) {
+                UserStatsUpdate userStats = getOrCreateUserStats(users, player.getName(), table.getEndTimeMs());
+                ResultProtos.UserStatsProto proto = userStats.proto;
+                ResultProtos.UserStatsProto.Builder builder = ResultProtos.UserStatsProto.newBuilder(proto)
+                        .setMatches(proto.getMatches() + 1);
+                switch (player.getQuit()) {
+                    case IDLE_TIMEOUT:
+                        builder.setMatchesIdleTimeout(proto.getMatchesIdleTimeout() + 1);
+                        break;
+                    case TIMER_TIMEOUT:
+                        builder.setMatchesTimerTimeout(proto.getMatchesTimerTimeout() + 1);
+                        break;
+                    case QUIT:
+                        builder.setMatchesQuit(proto.getMatchesQuit() + 1);
+                        break;
+                }
+                userStats.update(builder.build(), table.getEndTimeMs());
+            }
+            updateRating(match, table.getEndTimeMs(), users);
+        } else if (table.hasTourney()) {
+            ResultProtos.TourneyProto tourney = table.getTourney();
+            for (ResultProtos.TourneyPlayerProto player : tourney.getPlayersList()) {
+                UserStatsUpdate userStats = getOrCreateUserStats(users, player.getName(), table.getEndTimeMs());
+                ResultProtos.UserStatsProto proto = userStats.proto;
+                ResultProtos.UserStatsProto.Builder builder = ResultProtos.UserStatsProto.newBuilder(proto)
+                        .setTourneys(proto.getTourneys() + 1);
+                switch (player.getQuit()) {
+                    case DURING_ROUND:
+                        builder.setTourneysQuitDuringRound(proto.getTourneysQuitDuringRound() + 1);
+                        break;
+                    case DURING_DRAFTING:
+                        builder.setTourneysQuitDuringDrafting(proto.getTourneysQuitDuringDrafting() + 1);
+                        break;
+                    case DURING_CONSTRUCTION:
+                        builder.setTourneysQuitDuringConstruction(proto.getTourneysQuitDuringConstruction() + 1);
+                        break;
+                }
+                userStats.update(builder.build(), table.getEndTimeMs());
+            }
+
+            for (ResultProtos.TourneyRoundProto round : tourney.getRoundsList()) {
+                for (ResultProtos.MatchProto match : round.getMatchesList()) {
+                    updateRating(match, table.getEndTimeMs(), users);
+                }
+            }
+        }
+    }
 
-                    for (ResultProtos.TourneyRoundProto round : tourney.getRoundsList()) {
-                        for (ResultProtos.MatchProto match : round.getMatchesList()) {
-                            updateRating(match, table.getEndTimeMs());
+    private boolean save(final List<UserStatsUpdate> updates) {
+        try {
+            TransactionManager.callInTransaction(dao.getConnectionSource(), new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (UserStatsUpdate update : updates) {
+                        if (update.created) {
+                            dao.create(new UserStats(update.proto, update.endTimeMs));
+                        } else {
+                            dao.update(new UserStats(update.proto, update.endTimeMs));
                         }
                     }
+                    return null;
                 }
-            }
+            });
+            return true;
+        } catch (SQLException ex) {
+            Logger.getLogger(UserStatsRepository.class).error("Error saving user_stats to DB - ", ex);
         }
-        return new ArrayList<>(updatedUsers);
+        return false;
     }
 
-    private void updateRating(ResultProtos.MatchProto match, long tableEndTimeMs) {
+    private void updateRating(ResultProtos.MatchProto match, long tableEndTimeMs, Map<String, UserStatsUpdate> users) {
         long matchEndTimeMs;
         if (match.hasEndTimeMs()) {
             matchEndTimeMs = match.getEndTimeMs();
@@ -233,10 +341,10 @@ public enum UserStatsRepository {
         }
 
         // get players stats
-        UserStats player1Stats = getOrCreateUserStats(player1.getName(), tableEndTimeMs);
-        ResultProtos.UserStatsProto player1StatsProto = player1Stats.getProto();
-        UserStats player2Stats = getOrCreateUserStats(player2.getName(), tableEndTimeMs);
-        ResultProtos.UserStatsProto player2StatsProto = player2Stats.getProto();
+        UserStatsUpdate player1Stats = getOrCreateUserStats(users, player1.getName(), tableEndTimeMs);
+        ResultProtos.UserStatsProto player1StatsProto = player1Stats.proto;
+        UserStatsUpdate player2Stats = getOrCreateUserStats(users, player2.getName(), tableEndTimeMs);
+        ResultProtos.UserStatsProto player2StatsProto = player2Stats.proto;
 
         ResultProtos.UserStatsProto.Builder player1StatsBuilder =
                 ResultProtos.UserStatsProto.newBuilder(player1StatsProto);
@@ -309,8 +417,8 @@ public enum UserStatsRepository {
         }
 
 
-        this.update(new UserStats(player1StatsBuilder.build(), player1Stats.getEndTimeMs()));
-        this.update(new UserStats(player2StatsBuilder.build(), player2Stats.getEndTimeMs()));
+        player1Stats.update(player1StatsBuilder.build(), player1Stats.endTimeMs);
+        player2Stats.update(player2StatsBuilder.build(), player2Stats.endTimeMs);
     }
 
     private void updateRating(
@@ -355,16 +463,41 @@ public enum UserStatsRepository {
                 .setLastGameTimeMs(tableEndTimeMs);
     }
 
-    private UserStats getOrCreateUserStats(String playerName, long endTimeMs) {
-        UserStats userStats = this.getUser(playerName);
+    private static UserStatsUpdate getOrCreateUserStats(Map<String, UserStatsUpdate> users, String playerName, long endTimeMs) {
+        UserStatsUpdate userStats = users.get(playerName);
         if (userStats == null) {
             ResultProtos.UserStatsProto userStatsProto = ResultProtos.UserStatsProto.newBuilder().setName(playerName).build();
-            userStats = new UserStats(userStatsProto, endTimeMs);
-            this.add(userStats);
+            userStats = new UserStatsUpdate(userStatsProto, endTimeMs, true);
+            users.put(playerName, userStats);
         }
         return userStats;
     }
 
+    /**
+     * The stats of a user while the finished tables are applied.
+     */
+    private static class UserStatsUpdate {
+
+        private ResultProtos.UserStatsProto proto;
+        private long endTimeMs;
+        // not in the DB yet
+        private final boolean created;
+        private boolean changed;
+
+        UserStatsUpdate(ResultProtos.UserStatsProto proto, long endTimeMs, boolean created) {
+            this.proto = proto;
+            this.endTimeMs = endTimeMs;
+            this.created = created;
+            this.changed = created;
+        }
+
+        void update(ResultProtos.UserStatsProto proto, long endTimeMs) {
+            this.proto = proto;
+            this.endTimeMs = endTimeMs;
+            this.changed = true;
+        }
+    }
+
     public void closeDB() {
         try {
             if (dao != null && dao.getConnectionSource() != null) {
@@ -29,6 +29,7 @@
 package mage.server.util;
 
 import java.io.File;
+import java.math.BigInteger;
 import java.util.List;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -99,6 +100,19 @@ public class ConfigSettings {
         return config.getServer().getMaxGameThreads().intValue();
     }
 
+    public boolean isVirtualGameThreads() {
+        return Boolean.TRUE.equals(config.getServer().isVirtualGameThreads());
+    }
+
+    /**
+     * @return the minimal time between two game updates sent to the clients,
+     * 0 if every update is sent
+     */
+    public int getGameUpdateDelayMs() {
+        BigInteger delay = config.getServer().getGameUpdateDelayMs();
+        return delay == null ? 40 : delay.intValue();
+    }
+
     public int getMaxSecondsIdle() {
         return config.getServer().getMaxSecondsIdle().intValue();
     }
@@ -127,6 +141,11 @@ public class ConfigSettings {
         return config.getServer().getMaxAiOpponents();
     }
 
+    public int getMaxAiSearchThreads() {
+        BigInteger maxAiSearchThreads = config.getServer().getMaxAiSearchThreads();
+        return maxAiSearchThreads == null ? 0 : maxAiSearchThreads.intValue();
+    }
+
     public Boolean isSaveGameActivated() {
         return config.getServer().isSaveGameActivated();
     }
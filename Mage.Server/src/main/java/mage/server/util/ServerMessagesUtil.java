@@ -37,6 +37,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.log4j.Logger;
@@ -67,6 +68,8 @@ public class ServerMessagesUtil {
     private static final AtomicInteger tournamentsStarted = new AtomicInteger(0);
     private static final AtomicInteger lostConnection = new AtomicInteger(0);
     private static final AtomicInteger reconnects = new AtomicInteger(0);
+    private static final AtomicLong gameUpdatesGenerated = new AtomicLong(0);
+    private static final AtomicLong gameUpdatesSent = new AtomicLong(0);
 
     static {
         pathToExternalMessages = System.getProperty("messagesPath");
@@ -184,6 +187,8 @@ public class ServerMessagesUtil {
         statistics.append(" avg/hour ").append(lostConnection.get() * 60 / minutes);
         statistics.append(" Reconnects: ").append(reconnects.get());
         statistics.append(" avg/hour ").append(reconnects.get() * 60 / minutes);
+        statistics.append(" Game updates sent: ").append(gameUpdatesSent.get());
+        statistics.append(" of ").append(gameUpdatesGenerated.get());
         return statistics.toString();
     }
 
@@ -224,4 +229,13 @@ public class ServerMessagesUtil {
         } while (!lostConnection.compareAndSet(value, value + 1));
     }
 
+    /**
+     * @param generated updates of a finished game
+     * @param sent updates of the game that were sent to the clients
+     */
+    public void addGameUpdates(int generated, int sent) {
+        gameUpdatesGenerated.addAndGet(generated);
+        gameUpdatesSent.addAndGet(sent);
+    }
+
 }
@@ -30,9 +30,11 @@ package mage.server.util;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
 
 /**
  *
@@ -40,9 +42,11 @@ import java.util.concurrent.TimeUnit;
  */
 public class ThreadExecutor {
 
+    private static final Logger logger = Logger.getLogger(ThreadExecutor.class);
+
     private static final ExecutorService callExecutor = Executors.newCachedThreadPool();
     private static final ExecutorService userExecutor = Executors.newCachedThreadPool();
-    private static final ExecutorService gameExecutor = Executors.newFixedThreadPool(ConfigSettings.getInstance().getMaxGameThreads());
+    private static final ExecutorService gameExecutor = createGameExecutor();
     private static final ScheduledExecutorService timeoutExecutor = Executors.newScheduledThreadPool(4);
     private static final ScheduledExecutorService timeoutIdleExecutor = Executors.newScheduledThreadPool(4);
 
@@ -63,9 +67,6 @@ public class ThreadExecutor {
         ((ThreadPoolExecutor) userExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
         ((ThreadPoolExecutor) userExecutor).allowCoreThreadTimeOut(true);
         ((ThreadPoolExecutor) userExecutor).setThreadFactory(new XMageThreadFactory("USER"));
-        ((ThreadPoolExecutor) gameExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
-        ((ThreadPoolExecutor) gameExecutor).allowCoreThreadTimeOut(true);
-        ((ThreadPoolExecutor) gameExecutor).setThreadFactory(new XMageThreadFactory("GAME"));
         ((ThreadPoolExecutor) timeoutExecutor).setKeepAliveTime(60, TimeUnit.SECONDS);
         ((ThreadPoolExecutor) timeoutExecutor).allowCoreThreadTimeOut(true);
         ((ThreadPoolExecutor) timeoutExecutor).setThreadFactory(new XMageThreadFactory("TIMEOUT"));
@@ -74,6 +75,45 @@ public class ThreadExecutor {
         ((ThreadPoolExecutor) timeoutIdleExecutor).setThreadFactory(new XMageThreadFactory("TIMEOUT_IDLE"));
     }
 
+    /**
+     * A game thread waits most of the time for the input of the human
+     * players. With virtual threads (if activated and supported by the Java
+     * runtime) a waiting game doesn't block an OS thread, so the number of
+     * games isn't limited by maxGameThreads. Otherwise the games share a
+     * pool of maxGameThreads OS threads.
+     */
+    private static ExecutorService createGameExecutor() {
+        if (ConfigSettings.getInstance().isVirtualGameThreads()) {
+            ThreadFactory virtualThreadFactory = createVirtualThreadFactory();
+            if (virtualThreadFactory != null) {
+                logger.info("Games are started in virtual threads");
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS, new SynchronousQueue<>());
+                executor.setThreadFactory(new XMageThreadFactory("GAME", virtualThreadFactory));
+                return executor;
+            }
+            logger.warn("Virtual threads are not supported by the Java runtime, games are started in a pool of "
+                    + ConfigSettings.getInstance().getMaxGameThreads() + " threads");
+        }
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(ConfigSettings.getInstance().getMaxGameThreads());
+        executor.setKeepAliveTime(60, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        executor.setThreadFactory(new XMageThreadFactory("GAME"));
+        return executor;
+    }
+
+    /**
+     * @return the factory of Thread.ofVirtual() (Java 21) or null if the
+     * runtime has no virtual threads
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+
     private static final ThreadExecutor INSTANCE = new ThreadExecutor();
 
     public static ThreadExecutor getInstance() {
@@ -111,14 +151,20 @@ public class ThreadExecutor {
 class XMageThreadFactory implements ThreadFactory {
 
     private final String prefix;
+    private final ThreadFactory threadFactory;
 
     XMageThreadFactory(String prefix) {
+        this(prefix, null);
+    }
+
+    XMageThreadFactory(String prefix, ThreadFactory threadFactory) {
         this.prefix = prefix;
+        this.threadFactory = threadFactory;
     }
 
     @Override
     public Thread newThread(Runnable r) {
-        Thread thread = new Thread(r);
+        Thread thread = threadFactory != null ? threadFactory.newThread(r) : new Thread(r);
         thread.setName(prefix + " " + thread.getThreadGroup().getName() + "-" + thread.getId());
         return thread;
     }
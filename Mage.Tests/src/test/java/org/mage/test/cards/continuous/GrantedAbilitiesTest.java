@@ -0,0 +1,94 @@
+package org.mage.test.cards.continuous;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import mage.abilities.Ability;
+import mage.abilities.effects.common.continuous.BoostSourceEffect;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.game.permanent.Permanent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Abilities granted by continuous effects are created once for each grant
+ * and reused each time the effects are applied.
+ */
+public class GrantedAbilitiesTest extends CardTestPlayerBase {
+
+    @Test
+    public void testGrantedManaAbilityCanBeUsed() {
+        // Each land is a Swamp in addition to its other land types.
+        addCard(Zone.BATTLEFIELD, playerA, "Urborg, Tomb of Yawgmoth");
+        addCard(Zone.BATTLEFIELD, playerA, "Plains");
+        // Target player draws two cards and loses 2 life.
+        addCard(Zone.HAND, playerA, "Sign in Blood"); // {B}{B}
+
+        castSpell(1, PhaseStep.PRECOMBAT_MAIN, playerA, "Sign in Blood", playerA);
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        assertGraveyardCount(playerA, "Sign in Blood", 1);
+        assertLife(playerA, 18);
+        assertHandCount(playerA, 2);
+    }
+
+    @Test
+    public void testGrantedAbilityKeepsIdWhenEffectsAreApplied() {
+        // {1}{B}{R}: Until end of turn, Lavaclaw Reaches becomes a 2/2 black and red Elemental creature
+        // with "{X}: This creature gets +X/+0 until end of turn." It's still a land.
+        addCard(Zone.BATTLEFIELD, playerA, "Lavaclaw Reaches");
+        addCard(Zone.BATTLEFIELD, playerA, "Swamp", 1);
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 2);
+
+        activateAbility(1, PhaseStep.PRECOMBAT_MAIN, playerA, "{1}{B}{R}: Until end of turn");
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        Permanent reaches = getPermanent("Lavaclaw Reaches", playerA);
+        List<UUID> grantedIds = getBoostAbilityIds(reaches);
+        Assert.assertEquals("Lavaclaw Reaches must have one granted boost ability", 1, grantedIds.size());
+
+        currentGame.applyEffects();
+        currentGame.applyEffects();
+
+        Assert.assertEquals("Granted ability must be reused", grantedIds, getBoostAbilityIds(reaches));
+    }
+
+    @Test
+    public void testSameAbilityGrantedTwice() {
+        // {1}{B}{R}: Until end of turn, Lavaclaw Reaches becomes a 2/2 black and red Elemental creature
+        // with "{X}: This creature gets +X/+0 until end of turn." It's still a land.
+        addCard(Zone.BATTLEFIELD, playerA, "Lavaclaw Reaches");
+        addCard(Zone.BATTLEFIELD, playerA, "Swamp", 2);
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 4);
+
+        activateAbility(1, PhaseStep.PRECOMBAT_MAIN, playerA, "{1}{B}{R}: Until end of turn");
+        activateAbility(1, PhaseStep.PRECOMBAT_MAIN, playerA, "{1}{B}{R}: Until end of turn");
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        Permanent reaches = getPermanent("Lavaclaw Reaches", playerA);
+        List<UUID> grantedIds = getBoostAbilityIds(reaches);
+        Assert.assertEquals("Each activation must grant its own boost ability", 2, grantedIds.size());
+
+        currentGame.applyEffects();
+
+        Assert.assertEquals("Granted abilities must be reused", grantedIds, getBoostAbilityIds(reaches));
+    }
+
+    private static List<UUID> getBoostAbilityIds(Permanent permanent) {
+        List<UUID> ids = new ArrayList<>();
+        for (Ability ability : permanent.getAbilities()) {
+            if (!ability.getEffects().isEmpty() && ability.getEffects().get(0) instanceof BoostSourceEffect) {
+                ids.add(ability.getId());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,85 @@
+package org.mage.test.cards.control;
+
+import mage.constants.CardType;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.filter.common.FilterCreaturePermanent;
+import mage.game.permanent.Battlefield;
+import mage.game.permanent.Permanent;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * The battlefield queries by controller and card type have to find the
+ * permanents after control and card type changing effects were applied.
+ */
+public class BattlefieldQueriesTest extends CardTestPlayerBase {
+
+    @Test
+    public void testQueriesByControllerAfterControlChanged() {
+        addCard(Zone.BATTLEFIELD, playerA, "Island", 5);
+        // Enchant creature
+        // You control enchanted creature.
+        addCard(Zone.HAND, playerA, "Mind Control"); // {3}{U}{U}
+        addCard(Zone.BATTLEFIELD, playerB, "Silvercoat Lion");
+
+        castSpell(1, PhaseStep.PRECOMBAT_MAIN, playerA, "Mind Control", "Silvercoat Lion");
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        assertPermanentCount(playerA, "Silvercoat Lion", 1);
+
+        Battlefield battlefield = currentGame.getBattlefield();
+        Permanent lion = getPermanent("Silvercoat Lion", playerA);
+        FilterCreaturePermanent filter = new FilterCreaturePermanent();
+        Assert.assertTrue(battlefield.getAllActivePermanents(playerA.getId()).contains(lion));
+        Assert.assertFalse(battlefield.getAllActivePermanents(playerB.getId()).contains(lion));
+        Assert.assertEquals(1, battlefield.countAll(filter, playerA.getId(), currentGame));
+        Assert.assertEquals(0, battlefield.countAll(filter, playerB.getId(), currentGame));
+        Assert.assertTrue(battlefield.contains(filter, playerA.getId(), 1, currentGame));
+        Assert.assertFalse(battlefield.contains(filter, playerB.getId(), 1, currentGame));
+    }
+
+    @Test
+    public void testQueriesByCardTypeAfterTypeChanged() {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain");
+        // {1}: Mutavault becomes a 2/2 creature with all creature types until end of turn. It's still a land.
+        addCard(Zone.BATTLEFIELD, playerA, "Mutavault");
+
+        activateAbility(1, PhaseStep.PRECOMBAT_MAIN, playerA, "{1}: Until end of turn {this} becomes");
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        Battlefield battlefield = currentGame.getBattlefield();
+        Permanent mutavault = getPermanent("Mutavault", playerA);
+        Assert.assertTrue(battlefield.getAllActivePermanents(CardType.CREATURE).contains(mutavault));
+        Assert.assertTrue(battlefield.getAllActivePermanents(CardType.LAND).contains(mutavault));
+        Assert.assertEquals(1, battlefield.getAllActivePermanents(new FilterCreaturePermanent(), playerA.getId(), currentGame).size());
+    }
+
+    @Test
+    public void testQueriesByCardTypeAfterTypeChangedOutsideOfEffects() {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain");
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion");
+
+        setStopAt(1, PhaseStep.BEGIN_COMBAT);
+        execute();
+
+        Battlefield battlefield = currentGame.getBattlefield();
+        Permanent mountain = getPermanent("Mountain", playerA);
+        Assert.assertFalse(battlefield.getAllActivePermanents(CardType.CREATURE).contains(mountain));
+
+        // like Bestow or a one-shot effect, the types are changed until the effects are applied again
+        mountain.getCardType().add(CardType.CREATURE);
+
+        Assert.assertTrue(battlefield.getAllActivePermanents(CardType.CREATURE).contains(mountain));
+        Assert.assertEquals(2, battlefield.countAll(new FilterCreaturePermanent(), playerA.getId(), currentGame));
+
+        mountain.getCardType().remove(CardType.LAND);
+
+        Assert.assertFalse(battlefield.getAllActivePermanents(CardType.LAND).contains(mountain));
+    }
+}
@@ -0,0 +1,131 @@
+package org.mage.test.serverside.deck;
+
+import java.util.List;
+import mage.cards.repository.CardCriteria;
+import mage.cards.repository.CardInfo;
+import mage.cards.repository.CardRepository;
+import mage.constants.CardType;
+import mage.constants.Rarity;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * The card searches of deck validation, boosters and random card effects are
+ * answered by the in memory catalog of the cards. Each search here is also run
+ * as query of the DB and the cards found have to be the same (the verify flag
+ * throws an IllegalStateException otherwise).
+ */
+public class CardCriteriaCatalogTest extends CardTestPlayerBase {
+
+    private boolean verifyCardCatalog;
+
+    @Before
+    public void enableVerify() {
+        verifyCardCatalog = CardRepository.isVerifyCardCatalog();
+        CardRepository.setVerifyCardCatalog(true);
+    }
+
+    @After
+    public void restoreVerify() {
+        CardRepository.setVerifyCardCatalog(verifyCardCatalog);
+    }
+
+    private List<CardInfo> find(CardCriteria criteria) {
+        List<CardInfo> cards = CardRepository.instance.findCards(criteria);
+        Assert.assertFalse("No cards found", cards.isEmpty());
+        return cards;
+    }
+
+    private static boolean containsCard(List<CardInfo> cards, String name) {
+        for (CardInfo card : cards) {
+            if (card.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testSets() {
+        List<CardInfo> cards = find(new CardCriteria().setCodes("M10", "OGW"));
+        Assert.assertTrue(containsCard(cards, "Lightning Bolt"));
+        for (CardInfo card : cards) {
+            Assert.assertTrue(card.getSetCode().equals("M10") || card.getSetCode().equals("OGW"));
+        }
+    }
+
+    @Test
+    public void testTypes() {
+        List<CardInfo> cards = find(new CardCriteria().setCodes("M10").types(CardType.INSTANT, CardType.SORCERY));
+        Assert.assertTrue(containsCard(cards, "Lightning Bolt"));
+        Assert.assertFalse(containsCard(cards, "Pacifism"));
+    }
+
+    @Test
+    public void testNotTypes() {
+        List<CardInfo> cards = find(new CardCriteria().setCodes("M10").notTypes(CardType.CREATURE).notTypes(CardType.LAND));
+        Assert.assertTrue(containsCard(cards, "Pacifism"));
+        Assert.assertFalse(containsCard(cards, "Ornithopter"));
+    }
+
+    @Test
+    public void testColorless() {
+        // Ornithopter {0} - Artifact Creature - Thopter
+        List<CardInfo> cards = find(new CardCriteria().setCodes("M10")
+                .black(false).blue(false).green(false).red(false).white(false).colorless(true));
+        Assert.assertTrue(containsCard(cards, "Ornithopter"));
+        Assert.assertFalse(containsCard(cards, "Lightning Bolt"));
+
+        cards = find(new CardCriteria().setCodes("M10")
+                .black(false).blue(false).green(false).red(true).white(true).colorless(true));
+        Assert.assertTrue(containsCard(cards, "Ornithopter"));
+        Assert.assertTrue(containsCard(cards, "Lightning Bolt"));
+        Assert.assertTrue(containsCard(cards, "Pacifism"));
+    }
+
+    @Test
+    public void testRarity() {
+        List<CardInfo> cards = find(new CardCriteria().setCodes("M10", "OGW").rarities(Rarity.MYTHIC, Rarity.UNCOMMON));
+        Assert.assertTrue(containsCard(cards, "Ornithopter"));
+        Assert.assertFalse(containsCard(cards, "Lightning Bolt"));
+    }
+
+    @Test
+    public void testMinMaxCardNumber() {
+        // Pacifism 22, Lightning Bolt 146, Ornithopter 216
+        List<CardInfo> cards = find(new CardCriteria().setCodes("M10").minCardNumber(22).maxCardNumber(146));
+        Assert.assertTrue(containsCard(cards, "Pacifism"));
+        Assert.assertTrue(containsCard(cards, "Lightning Bolt"));
+        Assert.assertFalse(containsCard(cards, "Ornithopter"));
+        for (CardInfo card : cards) {
+            int cardNumber = Integer.parseInt(card.getCardNumber());
+            Assert.assertTrue(cardNumber >= 22 && cardNumber <= 146);
+        }
+    }
+
+    @Test
+    public void testSortBy() {
+        List<CardInfo> cards = find(new CardCriteria().setCodes("M10").types(CardType.CREATURE).setOrderBy("name"));
+        for (int i = 1; i < cards.size(); i++) {
+            Assert.assertTrue(cards.get(i - 1).getName().compareTo(cards.get(i).getName()) <= 0);
+        }
+
+        cards = find(new CardCriteria().setCodes("M10", "OGW").types(CardType.INSTANT).setOrderBy("convertedManaCost"));
+        for (int i = 1; i < cards.size(); i++) {
+            Assert.assertTrue(cards.get(i - 1).getConvertedManaCost() <= cards.get(i).getConvertedManaCost());
+        }
+
+        cards = find(new CardCriteria().setCodes("M10").setOrderBy("name").start(10L).count(20L));
+        Assert.assertEquals(20, cards.size());
+    }
+
+    @Test
+    public void testNameWithWildcardIsSearchedByDB() {
+        // _ matches any character in the DB
+        List<CardInfo> cards = find(new CardCriteria().setCodes("M10").name("Lightning_Bolt"));
+        Assert.assertTrue(containsCard(cards, "Lightning Bolt"));
+    }
+}
@@ -0,0 +1,89 @@
+package org.mage.test.serverside.game;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import mage.server.game.GameUpdateCoalescer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The game updates within the delay are collapsed and sent with the first
+ * update after the delay or before a player is asked something.
+ */
+public class GameUpdateCoalescerTest {
+
+    private long now = 0;
+    private final AtomicInteger sent = new AtomicInteger();
+
+    private GameUpdateCoalescer createCoalescer(int delayMs) {
+        return new GameUpdateCoalescer(delayMs, sent::incrementAndGet, () -> now);
+    }
+
+    private void advance(int ms) {
+        now += TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    @Test
+    public void testUpdatesWithinDelayAreCollapsed() {
+        GameUpdateCoalescer updates = createCoalescer(40);
+
+        updates.update();
+        Assert.assertEquals("First update is sent at once", 1, sent.get());
+
+        advance(10);
+        updates.update();
+        advance(10);
+        updates.update();
+        Assert.assertEquals("Updates within the delay are pending", 1, sent.get());
+
+        advance(30);
+        updates.update();
+        Assert.assertEquals("Update after the delay sends the pending one", 2, sent.get());
+        updates.flush();
+        Assert.assertEquals("Nothing is pending after an update was sent", 2, sent.get());
+
+        Assert.assertEquals(4, updates.getGenerated());
+        Assert.assertEquals(2, updates.getSent());
+    }
+
+    @Test
+    public void testPendingUpdateIsSentBeforeQuery() {
+        GameUpdateCoalescer updates = createCoalescer(40);
+        updates.update();
+        advance(5);
+        updates.update();
+        Assert.assertEquals(1, sent.get());
+
+        // the game controller flushes before each question to a player
+        updates.flush();
+
+        Assert.assertEquals("Pending update is sent before the question", 2, sent.get());
+        advance(5);
+        updates.update();
+        Assert.assertEquals("Delay starts again with the flushed update", 2, sent.get());
+    }
+
+    @Test
+    public void testPendingUpdateIsNotSentAfterCancel() {
+        GameUpdateCoalescer updates = createCoalescer(40);
+        updates.update();
+        advance(5);
+        updates.update();
+
+        updates.cancel();
+        updates.flush();
+
+        Assert.assertEquals(1, sent.get());
+    }
+
+    @Test
+    public void testNoDelaySendsEachUpdate() {
+        GameUpdateCoalescer updates = createCoalescer(0);
+
+        updates.update();
+        updates.update();
+        updates.update();
+
+        Assert.assertEquals(3, sent.get());
+    }
+}
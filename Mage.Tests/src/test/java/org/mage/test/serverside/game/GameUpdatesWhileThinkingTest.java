@@ -0,0 +1,48 @@
+package org.mage.test.serverside.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.game.events.Listener;
+import mage.game.events.TableEvent;
+import mage.server.game.GameUpdateCoalescer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBaseAI;
+
+/**
+ * A game update that is pending because of the update delay has to be sent
+ * when a computer player starts to think, the game doesn't update again until
+ * the computer player is done.
+ */
+public class GameUpdatesWhileThinkingTest extends CardTestPlayerBaseAI {
+
+    @Test
+    public void testPendingUpdateIsSentWhenComputerPlayerThinks() {
+        addCard(Zone.BATTLEFIELD, playerA, "Plains", 2);
+        addCard(Zone.HAND, playerA, "Silvercoat Lion"); // {1}{W}
+
+        final AtomicInteger sent = new AtomicInteger();
+        final AtomicInteger sentWhileThinking = new AtomicInteger();
+        // the time stands still, so each update after the first one stays pending
+        final GameUpdateCoalescer updates = new GameUpdateCoalescer(1000, sent::incrementAndGet, () -> 0L);
+        currentGame.addTableEventListener((Listener<TableEvent>) event -> {
+            switch (event.getEventType()) {
+                case UPDATE:
+                    updates.update();
+                    break;
+                case PLAYER_THINKING:
+                    int before = sent.get();
+                    updates.flush();
+                    sentWhileThinking.addAndGet(sent.get() - before);
+                    break;
+            }
+        });
+
+        setStopAt(1, PhaseStep.END_TURN);
+        execute();
+
+        assertPermanentCount(playerA, "Silvercoat Lion", 1);
+        Assert.assertTrue("Pending update is sent when the computer player starts to think", sentWhileThinking.get() > 0);
+    }
+}
@@ -0,0 +1,166 @@
+package org.mage.test.serverside.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import mage.abilities.Abilities;
+import mage.abilities.AbilitiesImpl;
+import mage.abilities.Ability;
+import mage.abilities.keyword.DeathtouchAbility;
+import mage.abilities.keyword.FirstStrikeAbility;
+import mage.abilities.keyword.FlyingAbility;
+import mage.abilities.keyword.LifelinkAbility;
+import mage.abilities.keyword.MenaceAbility;
+import mage.abilities.keyword.ReachAbility;
+import mage.abilities.keyword.TrampleAbility;
+import mage.abilities.keyword.VigilanceAbility;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares the indexed ability lookups of {@link AbilitiesImpl} with linear
+ * scans over the abilities of a Commander sized battlefield (4 players with
+ * 40 permanents each): the evasion checks of all attacker/blocker pairs and
+ * re-adding the abilities of all permanents like the layer effects do.
+ */
+@Ignore
+public class AbilitiesLookupPerformanceTest {
+
+    private static final int PLAYERS = 4;
+    private static final int PERMANENTS_PER_PLAYER = 40;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+
+    private static final Ability[] KEYWORDS = {
+        FlyingAbility.getInstance(), ReachAbility.getInstance(), TrampleAbility.getInstance(), VigilanceAbility.getInstance(),
+        DeathtouchAbility.getInstance(), LifelinkAbility.getInstance(), FirstStrikeAbility.getInstance()
+    };
+
+    @Test
+    public void run() {
+        List<List<Ability>> battlefield = createBattlefield();
+
+        // warm up both paths
+        checkBlocks(battlefield, WARMUP, true);
+        checkBlocks(battlefield, WARMUP, false);
+        reAddAbilities(battlefield, WARMUP, true);
+        reAddAbilities(battlefield, WARMUP, false);
+
+        long t1 = System.nanoTime();
+        int scanned = checkBlocks(battlefield, ITERATIONS, false);
+        long t2 = System.nanoTime();
+        int indexed = checkBlocks(battlefield, ITERATIONS, true);
+        long t3 = System.nanoTime();
+        Assert.assertEquals(scanned, indexed);
+
+        int pairs = PLAYERS * PERMANENTS_PER_PLAYER * PERMANENTS_PER_PLAYER * (PLAYERS - 1);
+        System.out.println("Block checks, scan: " + (t2 - t1) / ((long) ITERATIONS * pairs) + " ns/pair");
+        System.out.println("Block checks, index: " + (t3 - t2) / ((long) ITERATIONS * pairs) + " ns/pair");
+
+        long t4 = System.nanoTime();
+        scanned = reAddAbilities(battlefield, ITERATIONS, false);
+        long t5 = System.nanoTime();
+        indexed = reAddAbilities(battlefield, ITERATIONS, true);
+        long t6 = System.nanoTime();
+        Assert.assertEquals(scanned, indexed);
+
+        int permanents = PLAYERS * PERMANENTS_PER_PLAYER;
+        System.out.println("Re-add abilities, scan: " + (t5 - t4) / ((long) ITERATIONS * permanents) + " ns/permanent");
+        System.out.println("Re-add abilities, index: " + (t6 - t5) / ((long) ITERATIONS * permanents) + " ns/permanent");
+    }
+
+    private static List<List<Ability>> createBattlefield() {
+        List<List<Ability>> battlefield = new ArrayList<>();
+        for (int i = 0; i < PLAYERS * PERMANENTS_PER_PLAYER; i++) {
+            List<Ability> abilities = new ArrayList<>();
+            // 2-5 non keyword abilities and 0-3 keywords
+            for (int j = 0; j < 2 + i % 4; j++) {
+                abilities.add(new MenaceAbility());
+            }
+            for (int j = 0; j < i % 4; j++) {
+                abilities.add(KEYWORDS[(i + j) % KEYWORDS.length]);
+            }
+            battlefield.add(abilities);
+        }
+        return battlefield;
+    }
+
+    /**
+     * Checks for every attacker and every blocker of the other players if
+     * the attacker can be blocked, as the flying restriction effect does.
+     */
+    private static int checkBlocks(List<List<Ability>> battlefield, int iterations, boolean indexed) {
+        List<Abilities<Ability>> permanents = toAbilities(battlefield, indexed);
+        UUID flying = FlyingAbility.getInstance().getId();
+        UUID reach = ReachAbility.getInstance().getId();
+        int canBlock = 0;
+        for (int n = 0; n < iterations; n++) {
+            for (int attacker = 0; attacker < permanents.size(); attacker++) {
+                for (int blocker = 0; blocker < permanents.size(); blocker++) {
+                    if (attacker / PERMANENTS_PER_PLAYER == blocker / PERMANENTS_PER_PLAYER) {
+                        continue;
+                    }
+                    if (!permanents.get(attacker).containsKey(flying)
+                            || permanents.get(blocker).containsKey(flying)
+                            || permanents.get(blocker).containsKey(reach)) {
+                        canBlock++;
+                    }
+                }
+            }
+        }
+        return canBlock;
+    }
+
+    /**
+     * Clears the abilities of all permanents and adds them again, with the
+     * containsKey check PermanentImpl.addAbility does before each add.
+     */
+    private static int reAddAbilities(List<List<Ability>> battlefield, int iterations, boolean indexed) {
+        List<Abilities<Ability>> permanents = toAbilities(battlefield, indexed);
+        int added = 0;
+        for (int n = 0; n < iterations; n++) {
+            for (int i = 0; i < permanents.size(); i++) {
+                Abilities<Ability> abilities = permanents.get(i);
+                abilities.clear();
+                for (Ability ability : battlefield.get(i)) {
+                    if (!abilities.containsKey(ability.getId())) {
+                        abilities.add(ability);
+                        added++;
+                    }
+                }
+            }
+        }
+        return added;
+    }
+
+    private static List<Abilities<Ability>> toAbilities(List<List<Ability>> battlefield, boolean indexed) {
+        List<Abilities<Ability>> permanents = new ArrayList<>();
+        for (List<Ability> abilities : battlefield) {
+            Abilities<Ability> permanentAbilities = indexed ? new AbilitiesImpl<>() : new ScannedAbilities();
+            permanentAbilities.addAll(abilities);
+            permanents.add(permanentAbilities);
+        }
+        return permanents;
+    }
+
+    /**
+     * The lookups as they were before the index: linear scans.
+     */
+    private static class ScannedAbilities extends AbilitiesImpl<Ability> {
+
+        @Override
+        public boolean containsKey(UUID abilityId) {
+            for (Ability ability : this) {
+                if (ability.getId().equals(abilityId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public static void main(String[] args) {
+        new AbilitiesLookupPerformanceTest().run();
+    }
+}
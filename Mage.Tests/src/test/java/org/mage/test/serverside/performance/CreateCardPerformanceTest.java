@@ -0,0 +1,73 @@
+package org.mage.test.serverside.performance;
+
+import java.lang.reflect.Constructor;
+import java.util.UUID;
+import mage.cards.Card;
+import mage.cards.CardImpl;
+import mage.cards.CardSetInfo;
+import mage.constants.Rarity;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares creating cards through the card factory registry with the
+ * reflective class and constructor lookup for each card.
+ */
+@Ignore
+public class CreateCardPerformanceTest {
+
+    private static final String[] CLASS_NAMES = {
+        "mage.cards.l.LightningBolt",
+        "mage.cards.g.GrizzlyBears"
+    };
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 200000;
+
+    @Test
+    public void run() throws Exception {
+        CardSetInfo setInfo = new CardSetInfo("Test", "TST", "1", Rarity.COMMON);
+
+        // warm up both paths
+        createReflective(setInfo, WARMUP);
+        createWithRegistry(setInfo, WARMUP);
+
+        long t1 = System.nanoTime();
+        int reflective = createReflective(setInfo, ITERATIONS);
+        long t2 = System.nanoTime();
+        int registry = createWithRegistry(setInfo, ITERATIONS);
+        long t3 = System.nanoTime();
+
+        Assert.assertEquals(reflective, registry);
+        System.out.println("Reflective: " + (t2 - t1) / ITERATIONS + " ns/card");
+        System.out.println("Registry: " + (t3 - t2) / ITERATIONS + " ns/card");
+    }
+
+    private static int createReflective(CardSetInfo setInfo, int count) throws Exception {
+        int created = 0;
+        for (int i = 0; i < count; i++) {
+            Class<?> clazz = Class.forName(CLASS_NAMES[i % CLASS_NAMES.length]);
+            Constructor<?> con = clazz.getConstructor(UUID.class, CardSetInfo.class);
+            Card card = (Card) con.newInstance(null, setInfo);
+            if (card != null) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private static int createWithRegistry(CardSetInfo setInfo, int count) {
+        int created = 0;
+        for (int i = 0; i < count; i++) {
+            Card card = CardImpl.createCard(CLASS_NAMES[i % CLASS_NAMES.length], setInfo);
+            if (card != null) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new CreateCardPerformanceTest().run();
+    }
+}
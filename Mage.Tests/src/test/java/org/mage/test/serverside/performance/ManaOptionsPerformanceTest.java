@@ -0,0 +1,114 @@
+package org.mage.test.serverside.performance;
+
+import mage.Mana;
+import mage.abilities.mana.ManaOptions;
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+
+/**
+ * Compares the calculation of the available mana with and without removing
+ * the included options for a board with basic lands, dual lands, lands that
+ * produce mana of any color and filter lands ({1}, {T}: Add {W}{W}, {W}{U} or
+ * {U}{U}).
+ */
+@Ignore
+public class ManaOptionsPerformanceTest {
+
+    private static final int BASIC_LANDS = 6;
+    private static final int DUAL_LANDS = 8;
+    private static final int ANY_COLOR_LANDS = 2;
+    private static final int FILTER_LANDS = 2;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    @Test
+    public void run() {
+        // warm up both paths
+        for (int n = 0; n < WARMUP; n++) {
+            calculate(new ManaOptions());
+            calculate(new UnprunedManaOptions());
+        }
+
+        long t1 = System.nanoTime();
+        ManaOptions unpruned = null;
+        for (int n = 0; n < ITERATIONS; n++) {
+            unpruned = calculate(new UnprunedManaOptions());
+        }
+        long t2 = System.nanoTime();
+        ManaOptions pruned = null;
+        for (int n = 0; n < ITERATIONS; n++) {
+            pruned = calculate(new ManaOptions());
+        }
+        long t3 = System.nanoTime();
+
+        // every unpruned option must still be payable with a pruned one
+        for (Mana option : unpruned) {
+            boolean included = false;
+            for (Mana kept : pruned) {
+                if (kept.includesMana(option)) {
+                    included = true;
+                    break;
+                }
+            }
+            Assert.assertTrue("Option " + option + " is missing", included);
+        }
+
+        System.out.println("Unpruned: " + unpruned.size() + " options, " + (t2 - t1) / (ITERATIONS * 1000L) + " us");
+        System.out.println("Pruned: " + pruned.size() + " options, " + (t3 - t2) / (ITERATIONS * 1000L) + " us");
+    }
+
+    private static ManaOptions calculate(ManaOptions options) {
+        for (int i = 0; i < BASIC_LANDS; i++) {
+            options.addMana(i % 2 == 0 ? Mana.GreenMana(1) : Mana.WhiteMana(1));
+        }
+        for (int i = 0; i < DUAL_LANDS; i++) {
+            ManaOptions dual = new ManaOptions();
+            dual.add(Mana.WhiteMana(1));
+            dual.add(Mana.BlueMana(1));
+            options.addMana(dual);
+        }
+        for (int i = 0; i < ANY_COLOR_LANDS; i++) {
+            Mana any = new Mana();
+            any.setAny(1);
+            options.addMana(any);
+        }
+        for (int i = 0; i < FILTER_LANDS; i++) {
+            // as addManaWithCost does for mana abilities with a mana cost
+            ManaOptions copy = options.copy();
+            options.clear();
+            for (Mana addMana : new Mana[]{Mana.WhiteMana(2), new Mana(0, 0, 1, 1, 0, 0, 0, 0), Mana.BlueMana(2)}) {
+                ManaOptions filtered = copy.copy();
+                filtered.subtractCostAddMana(Mana.GenericMana(1), addMana, true);
+                options.addAll(filtered);
+            }
+            options.addAll(copy);
+            options.removeFullyIncludedVariations();
+        }
+        return options;
+    }
+
+    /**
+     * The options as they were calculated before: without removing the
+     * included ones.
+     */
+    private static class UnprunedManaOptions extends ManaOptions {
+
+        @Override
+        public void removeFullyIncludedVariations() {
+        }
+
+        @Override
+        public ManaOptions copy() {
+            UnprunedManaOptions copy = new UnprunedManaOptions();
+            for (Mana mana : this) {
+                copy.add(mana.copy());
+            }
+            return copy;
+        }
+    }
+
+    public static void main(String[] args) {
+        new ManaOptionsPerformanceTest().run();
+    }
+}
@@ -0,0 +1,114 @@
+package org.mage.test.serverside.performance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.remote.traffic.GameViewDelta;
+import mage.remote.traffic.GameViewDeltaEncoder;
+import mage.remote.traffic.ViewCodec;
+import mage.remote.traffic.ZippedObjectImpl;
+import mage.view.GameView;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * Compares the size and the encoding and decoding time of a game view with
+ * java serialization, zipped java serialization and the view codec.
+ */
+@Ignore
+public class ViewCodecPerformanceTest extends CardTestPlayerBase {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+
+    @Test
+    public void run() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 8);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 6);
+        addCard(Zone.BATTLEFIELD, playerA, "Grizzly Bears", 4);
+        addCard(Zone.HAND, playerA, "Lightning Bolt", 4);
+        addCard(Zone.GRAVEYARD, playerA, "Shock", 5);
+        addCard(Zone.BATTLEFIELD, playerB, "Forest", 8);
+        addCard(Zone.BATTLEFIELD, playerB, "Llanowar Elves", 4);
+        addCard(Zone.BATTLEFIELD, playerB, "Grizzly Bears", 6);
+        addCard(Zone.HAND, playerB, "Giant Growth", 4);
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+        GameView gameView = new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+
+        byte[] serialized = serialize(gameView);
+        ZippedObjectImpl<GameView> zipped = new ZippedObjectImpl<>(gameView);
+        byte[] coded = ViewCodec.encode(gameView);
+        GameViewDeltaEncoder deltaEncoder = new GameViewDeltaEncoder();
+        deltaEncoder.encode(gameView);
+        GameViewDelta delta = deltaEncoder.encode(new GameView(currentGame.getState(), currentGame, playerA.getId(), null));
+        System.out.println("Serialized: " + serialized.length + " bytes, zipped: " + serialize(zipped).length
+                + " bytes, coded: " + coded.length + " bytes, delta of unchanged view: " + delta.getData().length + " bytes");
+
+        for (int n = 0; n < WARMUP; n++) {
+            deserialize(serialize(gameView));
+            new ZippedObjectImpl<>(gameView).unzip();
+            ViewCodec.decode(ViewCodec.encode(gameView));
+        }
+
+        long t1 = System.nanoTime();
+        for (int n = 0; n < ITERATIONS; n++) {
+            serialize(gameView);
+        }
+        long t2 = System.nanoTime();
+        for (int n = 0; n < ITERATIONS; n++) {
+            deserialize(serialized);
+        }
+        long t3 = System.nanoTime();
+        for (int n = 0; n < ITERATIONS; n++) {
+            new ZippedObjectImpl<>(gameView);
+        }
+        long t4 = System.nanoTime();
+        for (int n = 0; n < ITERATIONS; n++) {
+            zipped.unzip();
+        }
+        long t5 = System.nanoTime();
+        for (int n = 0; n < ITERATIONS; n++) {
+            ViewCodec.encode(gameView);
+        }
+        long t6 = System.nanoTime();
+        for (int n = 0; n < ITERATIONS; n++) {
+            ViewCodec.decode(coded);
+        }
+        long t7 = System.nanoTime();
+
+        System.out.println("Serialized: encode " + (t2 - t1) / (ITERATIONS * 1000L) + " us, decode " + (t3 - t2) / (ITERATIONS * 1000L) + " us");
+        System.out.println("Zipped: encode " + (t4 - t3) / (ITERATIONS * 1000L) + " us, decode " + (t5 - t4) / (ITERATIONS * 1000L) + " us");
+        System.out.println("Coded: encode " + (t6 - t5) / (ITERATIONS * 1000L) + " us, decode " + (t7 - t6) / (ITERATIONS * 1000L) + " us");
+    }
+
+    private static byte[] serialize(Object object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+
+    public static void main(String[] args) {
+        ViewCodecPerformanceTest test = new ViewCodecPerformanceTest();
+        try {
+            init();
+            test.reset();
+            test.run();
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -289,6 +289,15 @@ public class SwissPairingMinimalWeightMatchingTest {
         }
     }
 
+    @Test
+    public void SimulateLargeTournaments() {
+        // swiss rounds of big events, up to 512 players
+        int[][] tournaments = {{33, 6}, {64, 6}, {127, 7}, {256, 8}, {512, 9}};
+        for (int[] tournament : tournaments) {
+            SimulateTournament(tournament[0], tournament[1]);
+        }
+    }
+
     private void SimulateTournament(int playersCount, int roundsCount) {
         Random rnd = new Random();
 
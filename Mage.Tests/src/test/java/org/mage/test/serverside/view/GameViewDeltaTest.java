@@ -0,0 +1,145 @@
+package org.mage.test.serverside.view;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.game.permanent.Permanent;
+import mage.remote.traffic.GameViewDelta;
+import mage.remote.traffic.GameViewDeltaDecoder;
+import mage.remote.traffic.GameViewDeltaEncoder;
+import mage.view.GameView;
+import mage.view.PermanentView;
+import mage.view.PlayerView;
+import mage.view.SimpleCardsView;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * The game views are sent as deltas to the game view sent before. A client
+ * that has lost a delta can't decode the following ones until it gets a key
+ * frame.
+ */
+public class GameViewDeltaTest extends CardTestPlayerBase {
+
+    @Test
+    public void testDeltaContainsOnlyChanges() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 5);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+        addCard(Zone.BATTLEFIELD, playerB, "Forest", 5);
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        GameViewDeltaEncoder encoder = new GameViewDeltaEncoder();
+        GameViewDeltaDecoder decoder = new GameViewDeltaDecoder();
+        GameViewDelta keyFrame = encoder.encode(createGameView());
+        GameView first = (GameView) decoder.decode(keyFrame);
+
+        Permanent mountain = getPermanent("Mountain", playerA);
+        mountain.tap(currentGame);
+        currentGame.getPlayer(playerB.getId()).setLife(15, currentGame);
+        GameViewDelta delta = encoder.encode(createGameView());
+        GameView second = (GameView) decoder.decode(delta);
+
+        Assert.assertTrue(keyFrame.isKeyFrame());
+        Assert.assertFalse(delta.isKeyFrame());
+        Assert.assertTrue("delta with " + delta.getData().length + " bytes, key frame " + keyFrame.getData().length,
+                delta.getData().length * 2 < keyFrame.getData().length);
+        Assert.assertEquals(15, getPlayerView(second, playerB.getId()).getLife());
+        PermanentView tapped = getPlayerView(second, playerA.getId()).getBattlefield().get(mountain.getId());
+        Assert.assertTrue(tapped.isTapped());
+        Assert.assertFalse(getPlayerView(first, playerA.getId()).getBattlefield().get(mountain.getId()).isTapped());
+        Assert.assertEquals(8, getPlayerView(second, playerA.getId()).getBattlefield().size());
+    }
+
+    @Test
+    public void testLostDeltaNeedsKeyFrame() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 2);
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        GameViewDeltaEncoder encoder = new GameViewDeltaEncoder();
+        GameViewDeltaDecoder decoder = new GameViewDeltaDecoder();
+        decoder.decode(encoder.encode(createGameView()));
+
+        encoder.encode(createGameView()); // lost
+        Object afterGap = decoder.decode(encoder.encode(createGameView()));
+        encoder.reset();
+        Object afterKeyFrame = decoder.decode(encoder.encode(createGameView()));
+
+        Assert.assertNull(afterGap);
+        Assert.assertNotNull(afterKeyFrame);
+        Assert.assertFalse(decoder.isBroken());
+    }
+
+    @Test
+    public void testViewsNotSentForLongAreDroppedFromBase() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 5);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        GameViewDeltaEncoder encoder = new GameViewDeltaEncoder();
+        GameViewDeltaDecoder decoder = new GameViewDeltaDecoder();
+        GameViewDelta keyFrame = encoder.encode(createGameView());
+        decoder.decode(keyFrame);
+        // messages without views, encoder and decoder drop the views of the game view from their base
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals("message " + i, decoder.decode(encoder.encode("message " + i)));
+        }
+
+        Permanent mountain = getPermanent("Mountain", playerA);
+        mountain.tap(currentGame);
+        GameViewDelta delta = encoder.encode(createGameView());
+        GameView view = (GameView) decoder.decode(delta);
+
+        Assert.assertFalse(delta.isKeyFrame());
+        Assert.assertFalse(decoder.isBroken());
+        Assert.assertTrue("views are sent in full again, delta with " + delta.getData().length + " bytes, key frame " + keyFrame.getData().length,
+                delta.getData().length * 2 > keyFrame.getData().length);
+        Assert.assertTrue(getPlayerView(view, playerA.getId()).getBattlefield().get(mountain.getId()).isTapped());
+        Assert.assertEquals(8, getPlayerView(view, playerA.getId()).getBattlefield().size());
+    }
+
+    @Test
+    public void testSharedDeltaWithWatchedHands() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 2);
+        // Lightning Bolt deals 3 damage to target creature or player.
+        addCard(Zone.HAND, playerA, "Lightning Bolt", 2);
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        GameViewDeltaEncoder encoder = new GameViewDeltaEncoder();
+        GameViewDeltaDecoder watcher = new GameViewDeltaDecoder();
+        GameViewDeltaDecoder watcherWithHands = new GameViewDeltaDecoder();
+        GameViewDelta delta = encoder.encode(new GameView(currentGame.getState(), currentGame, null, null));
+        Map<String, SimpleCardsView> hands = new HashMap<>();
+        hands.put(playerA.getName(), new SimpleCardsView(playerA.getHand().getCards(currentGame), true));
+
+        GameView view = (GameView) watcher.decode(delta);
+        GameView viewWithHands = (GameView) watcherWithHands.decode(delta.withWatchedHands(hands));
+
+        Assert.assertSame(delta.getData(), delta.withWatchedHands(hands).getData());
+        Assert.assertNull(view.getWatchedHands());
+        Assert.assertEquals(2, viewWithHands.getWatchedHands().get(playerA.getName()).size());
+    }
+
+    private GameView createGameView() {
+        return new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+    }
+
+    private static PlayerView getPlayerView(GameView gameView, UUID playerId) {
+        for (PlayerView playerView : gameView.getPlayers()) {
+            if (playerView.getPlayerId().equals(playerId)) {
+                return playerView;
+            }
+        }
+        throw new IllegalArgumentException("Player not found: " + playerId);
+    }
+}
@@ -0,0 +1,106 @@
+package org.mage.test.serverside.view;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import mage.remote.traffic.RoomUpdateDecoder;
+import mage.remote.traffic.RoomUpdateEncoder;
+import mage.view.RoomUpdateView;
+import mage.view.RoomUsersView;
+import mage.view.UsersView;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The clients get only the tables and users of a room that changed since the
+ * version they have seen. A client that has missed an update or has seen a
+ * version the server doesn't know gets the missing changes or the full room.
+ */
+public class RoomUpdateTest {
+
+    @Test
+    public void testOnlyChangedUsersAreSent() {
+        RoomUpdateEncoder encoder = new RoomUpdateEncoder();
+        RoomUpdateDecoder decoder = new RoomUpdateDecoder();
+        encoder.update(Collections.emptyList(), Collections.emptyList(),
+                roomUsers(user("alice", "10 ms"), user("bob", "20 ms"), user("carol", "30 ms")));
+        Assert.assertTrue(decoder.apply(encoder.getUpdate(decoder.getVersion())));
+        long previous = encoder.getVersion();
+
+        boolean changed = encoder.update(Collections.emptyList(), Collections.emptyList(),
+                roomUsers(user("alice", "10 ms"), user("bob", "25 ms"), user("Dave", "40 ms")));
+        RoomUpdateView update = encoder.getUpdate(previous);
+
+        Assert.assertTrue(changed);
+        Assert.assertFalse(update.isFull());
+        Assert.assertEquals(2, update.getUsers().size());
+        Assert.assertEquals(Collections.singletonList("carol"), update.getRemovedUsers());
+        Assert.assertNull(update.getTableOrder());
+        Assert.assertNull(update.getFinished());
+        Assert.assertTrue(decoder.apply(update));
+        Assert.assertEquals(encoder.getVersion(), decoder.getVersion());
+        List<String> names = new ArrayList<>();
+        for (UsersView user : decoder.getRoomUsers().get(0).getUsersView()) {
+            names.add(user.getUserName());
+        }
+        Assert.assertEquals(Arrays.asList("alice", "bob", "Dave"), names);
+        Assert.assertEquals("25 ms", decoder.getRoomUsers().get(0).getUsersView().get(1).getInfoPing());
+    }
+
+    @Test
+    public void testUnchangedRoomIsNotSent() {
+        RoomUpdateEncoder encoder = new RoomUpdateEncoder();
+        encoder.update(Collections.emptyList(), Collections.emptyList(), roomUsers(user("alice", "10 ms")));
+        long version = encoder.getVersion();
+
+        boolean changed = encoder.update(Collections.emptyList(), Collections.emptyList(), roomUsers(user("alice", "10 ms")));
+
+        Assert.assertFalse(changed);
+        Assert.assertEquals(version, encoder.getVersion());
+        Assert.assertTrue(encoder.getUpdate(version).getUsers().isEmpty());
+    }
+
+    @Test
+    public void testLostUpdateIsDetected() {
+        RoomUpdateEncoder encoder = new RoomUpdateEncoder();
+        RoomUpdateDecoder decoder = new RoomUpdateDecoder();
+        encoder.update(Collections.emptyList(), Collections.emptyList(), roomUsers(user("alice", "10 ms")));
+        decoder.apply(encoder.getUpdate(decoder.getVersion()));
+        encoder.update(Collections.emptyList(), Collections.emptyList(), roomUsers(user("alice", "11 ms")));
+        long previous = encoder.getVersion();
+        encoder.update(Collections.emptyList(), Collections.emptyList(), roomUsers(user("alice", "12 ms")));
+
+        boolean applied = decoder.apply(encoder.getUpdate(previous));
+        RoomUpdateView requested = encoder.getUpdate(decoder.getVersion());
+
+        Assert.assertFalse(applied);
+        Assert.assertFalse(requested.isFull());
+        Assert.assertTrue(decoder.apply(requested));
+        Assert.assertEquals("12 ms", decoder.getRoomUsers().get(0).getUsersView().get(0).getInfoPing());
+    }
+
+    @Test
+    public void testUnknownVersionGetsFullUpdate() {
+        RoomUpdateEncoder encoder = new RoomUpdateEncoder();
+        encoder.update(Collections.emptyList(), Collections.emptyList(), roomUsers(user("alice", "10 ms")));
+
+        RoomUpdateView first = encoder.getUpdate(-1);
+        RoomUpdateView newer = encoder.getUpdate(encoder.getVersion() + 1);
+        RoomUpdateView tooOld = encoder.getUpdate(encoder.getVersion() - 1000);
+
+        Assert.assertTrue(first.isFull());
+        Assert.assertTrue(newer.isFull());
+        Assert.assertTrue(tooOld.isFull());
+        Assert.assertEquals(1, tooOld.getUsers().size());
+        Assert.assertNotNull(tooOld.getTableOrder());
+    }
+
+    private static RoomUsersView roomUsers(UsersView... users) {
+        return new RoomUsersView(Arrays.asList(users), 1, 2, 10);
+    }
+
+    private static UsersView user(String name, String ping) {
+        return new UsersView("world", name, "", 0, "", 0, "", ping, 1500, 1500, 1500);
+    }
+}
@@ -0,0 +1,105 @@
+package org.mage.test.serverside.view;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.util.UUID;
+import mage.constants.PhaseStep;
+import mage.constants.Zone;
+import mage.game.permanent.Permanent;
+import mage.remote.traffic.ViewCodec;
+import mage.remote.traffic.ZippedObject;
+import mage.view.CardView;
+import mage.view.ChatMessage;
+import mage.view.GameView;
+import mage.view.PermanentView;
+import mage.view.PlayerView;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mage.test.serverside.base.CardTestPlayerBase;
+
+/**
+ * The views sent to the clients are encoded with the {@link ViewCodec}, which
+ * is much smaller than the serialized views. The decoded views must show the
+ * same game.
+ */
+public class ViewCodecTest extends CardTestPlayerBase {
+
+    @Test
+    public void testGameViewIsDecoded() throws Exception {
+        addCard(Zone.BATTLEFIELD, playerA, "Mountain", 5);
+        addCard(Zone.BATTLEFIELD, playerA, "Silvercoat Lion", 3);
+        // Lightning Bolt deals 3 damage to target creature or player.
+        addCard(Zone.HAND, playerA, "Lightning Bolt", 2);
+        addCard(Zone.BATTLEFIELD, playerB, "Forest", 5);
+
+        setStopAt(1, PhaseStep.PRECOMBAT_MAIN);
+        execute();
+
+        Permanent mountain = getPermanent("Mountain", playerA);
+        mountain.tap(currentGame);
+        currentGame.getPlayer(playerB.getId()).setLife(15, currentGame);
+        GameView gameView = new GameView(currentGame.getState(), currentGame, playerA.getId(), null);
+
+        byte[] coded = ViewCodec.encode(gameView);
+        GameView decoded = (GameView) ViewCodec.decode(coded);
+
+        Assert.assertTrue("coded " + coded.length + " bytes, serialized " + serialize(gameView).length,
+                coded.length * 2 < serialize(gameView).length);
+        Assert.assertEquals(gameView.getPhase(), decoded.getPhase());
+        Assert.assertEquals(gameView.getTurn(), decoded.getTurn());
+        Assert.assertEquals(15, getPlayerView(decoded, playerB.getId()).getLife());
+        PlayerView playerView = getPlayerView(decoded, playerA.getId());
+        Assert.assertEquals(8, playerView.getBattlefield().size());
+        PermanentView tapped = playerView.getBattlefield().get(mountain.getId());
+        Assert.assertTrue(tapped.isTapped());
+        Assert.assertEquals("Mountain", tapped.getName());
+        Assert.assertEquals(2, decoded.getHand().size());
+        for (CardView card : decoded.getHand().values()) {
+            Assert.assertEquals("Lightning Bolt", card.getName());
+            Assert.assertEquals(gameView.getHand().get(card.getId()).getRules(), card.getRules());
+        }
+    }
+
+    @Test
+    public void testCallbackDataIsWrapped() {
+        ChatMessage message = new ChatMessage("user", "hello", "10:00", ChatMessage.MessageColor.BLUE);
+
+        Object wrapped = ViewCodec.wrap(message);
+        ChatMessage unwrapped = (ChatMessage) ((ZippedObject<?>) wrapped).unzip();
+
+        Assert.assertSame("hello", ViewCodec.wrap("hello"));
+        Assert.assertEquals("user", unwrapped.getUsername());
+        Assert.assertEquals("hello", unwrapped.getMessage());
+        Assert.assertEquals(ChatMessage.MessageColor.BLUE, unwrapped.getColor());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testInvalidCallbackDataIsNotDecoded() throws Exception {
+        ChatMessage message = new ChatMessage("user", "hello", "10:00", ChatMessage.MessageColor.BLUE);
+        ZippedObject<ChatMessage> wrapped = (ZippedObject<ChatMessage>) ViewCodec.wrap(message);
+        // the data of the wrapped message is replaced by data of an unknown encoding version
+        Field data = wrapped.getClass().getDeclaredField("data");
+        data.setAccessible(true);
+        data.set(wrapped, new byte[]{-1});
+
+        wrapped.unzip();
+    }
+
+    private static byte[] serialize(Object object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static PlayerView getPlayerView(GameView gameView, UUID playerId) {
+        for (PlayerView playerView : gameView.getPlayers()) {
+            if (playerView.getPlayerId().equals(playerId)) {
+                return playerView;
+            }
+        }
+        throw new IllegalArgumentException("Player not found: " + playerId);
+    }
+}
@@ -0,0 +1,41 @@
+package org.mage.test.sets;
+
+import java.util.ArrayList;
+import java.util.List;
+import mage.cards.ExpansionSet;
+import mage.cards.Sets;
+import mage.cards.SetsIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The sets index written by the build of the sets module has to contain all
+ * sets with their cards.
+ */
+public class SetsIndexTest {
+
+    @Test
+    public void testIndexContainsAllSets() {
+        SetsIndex index = SetsIndex.load(null);
+        Assert.assertFalse("Sets index not found, build the sets module with maven", index.getSetClassNames().isEmpty());
+
+        List<String> setClassNames = new ArrayList<>();
+        for (ExpansionSet set : Sets.getInstance().values()) {
+            setClassNames.add(set.getClass().getName());
+        }
+        Assert.assertTrue(setClassNames.containsAll(index.getSetClassNames()));
+        Assert.assertTrue(index.getSetClassNames().containsAll(setClassNames));
+    }
+
+    @Test
+    public void testIndexContainsCardsOfSets() {
+        SetsIndex index = SetsIndex.load(null);
+        for (ExpansionSet set : Sets.getInstance().values()) {
+            List<String> cardClassNames = new ArrayList<>();
+            for (ExpansionSet.SetCardInfo card : set.getSetCardInfo()) {
+                cardClassNames.add(card.getCardClass().getName());
+            }
+            Assert.assertEquals("Cards of " + set.getCode(), cardClassNames, index.getCardClassNames(set.getClass().getName()));
+        }
+    }
+}
@@ -243,9 +243,8 @@ public class ManaOptionsTest extends CardTestPlayerBase {
 
         ManaOptions manaOptions = playerA.getAvailableManaTest(currentGame);
 
-        Assert.assertEquals("mana variations don't fit", 2, manaOptions.size());
+        Assert.assertEquals("mana variations don't fit", 1, manaOptions.size());
         Assert.assertEquals("{Any}{Any}", getManaOption(0, manaOptions));
-        Assert.assertEquals("{Any}{Any}", getManaOption(1, manaOptions));
     }
 
     @Test
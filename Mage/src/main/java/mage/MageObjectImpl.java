@@ -43,6 +43,7 @@ import mage.cards.FrameStyle;
 import mage.constants.CardType;
 import mage.game.Game;
 import mage.game.events.ZoneChangeEvent;
+import mage.util.CardTypeList;
 import mage.util.CardUtil;
 import mage.util.GameLog;
 
@@ -55,7 +56,7 @@ public abstract class MageObjectImpl implements MageObject {
     protected ObjectColor color;
     protected ObjectColor frameColor;
     protected FrameStyle frameStyle;
-    protected List<CardType> cardType = new ArrayList<>();
+    protected List<CardType> cardType = new CardTypeList();
     protected List<String> subtype = new ArrayList<>();
     protected List<String> supertype = new ArrayList<>();
     protected Abilities<Ability> abilities;
@@ -294,4 +294,13 @@ public interface Abilities<T extends Ability> extends List<T>, Serializable {
     Abilities<T> copy();
 
     String getValue();
+
+    /**
+     * Returns a number that is changed by every modification (adding,
+     * removing or replacing abilities) of this set of abilities. Used to
+     * detect changes without comparing the abilities.
+     *
+     * @return
+     */
+    int getModificationCount();
 }
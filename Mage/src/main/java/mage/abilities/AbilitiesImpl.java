@@ -30,12 +30,17 @@ package mage.abilities;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import mage.abilities.common.ZoneChangeTriggeredAbility;
 import mage.abilities.costs.Cost;
-import mage.abilities.keyword.ProtectionAbility;
+import mage.abilities.keyword.*;
 import mage.abilities.mana.ActivatedManaAbilityImpl;
 import mage.constants.AbilityType;
 import mage.constants.Zone;
@@ -54,6 +59,43 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
 
     private static final ThreadLocalStringBuilder threadLocalBuilder = new ThreadLocalStringBuilder(200);
 
+    /**
+     * Keyword abilities that are singletons (their id is the same for all
+     * objects) and are looked up all the time, e.g. by combat restrictions.
+     * They are kept as a bitset, the position in this array is the bit.
+     */
+    private static final Class[] KEYWORD_CLASSES = {
+        FlyingAbility.class, ReachAbility.class, FirstStrikeAbility.class, DoubleStrikeAbility.class,
+        DeathtouchAbility.class, LifelinkAbility.class, TrampleAbility.class, VigilanceAbility.class,
+        HasteAbility.class, DefenderAbility.class, HexproofAbility.class, ShroudAbility.class,
+        FearAbility.class, IntimidateAbility.class, HorsemanshipAbility.class, ShadowAbility.class,
+        SpaceflightAbility.class, CanBlockSpaceflightAbility.class, CantBlockAloneAbility.class, InfectAbility.class,
+        WitherAbility.class, FlashAbility.class, ChangelingAbility.class, PhasingAbility.class,
+        LeylineAbility.class, PartnerAbility.class, AttacksThisTurnMarkerAbility.class, BlocksThisTurnMarkerAbility.class
+    };
+
+    private static final Map<Class, Long> keywordBitsByClass = new IdentityHashMap<>();
+
+    static {
+        for (int i = 0; i < KEYWORD_CLASSES.length; i++) {
+            keywordBitsByClass.put(KEYWORD_CLASSES[i], 1L << i);
+        }
+    }
+
+    // the indexes are built on demand and are invalid as soon as modCount differs
+    private transient boolean indexed;
+    // the list can't be indexed, not tried again until the list changes
+    private transient boolean indexFailed;
+    private transient int indexModCount;
+    // AbilityImpl.getIdChanges() when the id index was built
+    private transient int indexIdChanges;
+    private transient Map<UUID, T> idIndex;
+    private transient Set<Class> classIndex;
+    private transient Set<String> singletonRules;
+    private transient long keywords;
+    // counts the replaced abilities, replacing doesn't change modCount
+    private transient int replacements;
+
     public AbilitiesImpl() {
     }
 
@@ -67,6 +109,29 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
         }
     }
 
+    @Override
+    public boolean add(T ability) {
+        boolean upToDate = isIndexUpToDate();
+        boolean added = super.add(ability);
+        if (upToDate) {
+            // keep the index instead of rebuilding it with the next lookup, abilities are added one by one all the time
+            indexModCount = modCount;
+            if (!index(ability)) {
+                indexed = false;
+                indexFailed = true;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public T set(int index, T ability) {
+        indexed = false;
+        indexFailed = false;
+        replacements++;
+        return super.set(index, ability);
+    }
+
     @Override
     public AbilitiesImpl<T> copy() {
         return new AbilitiesImpl<>(this);
@@ -246,6 +311,7 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
         for (Ability ability : this) {
             ability.newId();
         }
+        indexed = false;
     }
 
     @Override
@@ -253,10 +319,33 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
         for (Ability ability : this) {
             ability.newOriginalId();
         }
+        indexed = false;
     }
 
     @Override
     public boolean contains(T ability) {
+        if (ensureIndex()) {
+            // same checks as the loop below, by id, original id and rule of singletons
+            if (getIndexed(ability.getId()) != null || getIndexed(ability.getOriginalId()) != null) {
+                return true;
+            }
+            if (ability instanceof MageSingleton) {
+                if ((keywords & getKeywordBit(ability)) != 0) {
+                    return true;
+                }
+                if (singletonRules == null) {
+                    Set<String> rules = new HashSet<>();
+                    for (T test : this) {
+                        if (test instanceof MageSingleton) {
+                            rules.add(test.getRule());
+                        }
+                    }
+                    singletonRules = rules;
+                }
+                return singletonRules.contains(ability.getRule());
+            }
+            return false;
+        }
         for (Iterator<T> iterator = this.iterator(); iterator.hasNext();) { // simple loop can cause java.util.ConcurrentModificationException
             T test = iterator.next();
             // Checking also by getRule() without other restrictions is a problem when a triggered ability will be copied to a permanent that had the same ability
@@ -300,6 +389,13 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
 
     @Override
     public boolean containsKey(UUID abilityId) {
+        if (ensureIndex()) {
+            Long keywordBit = KeywordIds.bitsById.get(abilityId);
+            if (keywordBit != null) {
+                return (keywords & keywordBit) != 0;
+            }
+            return getIndexed(abilityId) != null;
+        }
         for (T ability : this) {
             if (ability.getId().equals(abilityId)) {
                 return true;
@@ -310,6 +406,9 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
 
     @Override
     public boolean containsClass(Class classObject) {
+        if (ensureIndex()) {
+            return classIndex.contains(classObject);
+        }
         for (T ability : this) {
             if (ability.getClass().equals(classObject)) {
                 return true;
@@ -320,6 +419,9 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
 
     @Override
     public T get(UUID abilityId) {
+        if (ensureIndex()) {
+            return getIndexed(abilityId);
+        }
         for (T ability : this) {
             if (ability.getId().equals(abilityId)) {
                 return ability;
@@ -352,4 +454,115 @@ public class AbilitiesImpl<T extends Ability> extends ArrayList<T> implements Ab
         }
         return sb.toString();
     }
+
+    @Override
+    public int getModificationCount() {
+        return modCount + replacements;
+    }
+
+    private boolean isIndexUpToDate() {
+        return indexed && indexModCount == modCount;
+    }
+
+    /**
+     * Builds the indexes if they are not up to date.
+     *
+     * @return false if the indexes can't be used because an ability can
+     * change its id without notice (only AbilityImpl counts id changes)
+     */
+    private boolean ensureIndex() {
+        if (indexModCount == modCount && (indexed || indexFailed)) {
+            return indexed;
+        }
+        if (isEmpty()) {
+            // nothing to index, shared empty lists are never written to
+            return false;
+        }
+        return buildIndex();
+    }
+
+    private boolean buildIndex() {
+        indexModCount = modCount;
+        indexIdChanges = AbilityImpl.getIdChanges();
+        if (idIndex == null) {
+            idIndex = new HashMap<>(size() * 2);
+            classIndex = new HashSet<>();
+        } else {
+            idIndex.clear();
+            classIndex.clear();
+        }
+        singletonRules = null;
+        keywords = 0;
+        for (T ability : this) {
+            if (!index(ability)) {
+                indexed = false;
+                indexFailed = true;
+                idIndex = null;
+                classIndex = null;
+                return false;
+            }
+        }
+        indexed = true;
+        indexFailed = false;
+        return true;
+    }
+
+    /**
+     * The abilities can get new ids after they were indexed, so a hit is
+     * checked against the id of the ability and a miss is only trusted if no
+     * ability has got a new id since the index was built. Otherwise the index
+     * is rebuilt.
+     */
+    private T getIndexed(UUID abilityId) {
+        T ability = idIndex.get(abilityId);
+        if (ability == null
+                ? indexIdChanges == AbilityImpl.getIdChanges()
+                : ability.getId().equals(abilityId)) {
+            return ability;
+        }
+        buildIndex();
+        return idIndex.get(abilityId);
+    }
+
+    private boolean index(T ability) {
+        if (!(ability instanceof AbilityImpl)) {
+            return false;
+        }
+        idIndex.putIfAbsent(ability.getId(), ability);
+        classIndex.add(ability.getClass());
+        keywords |= getKeywordBit(ability);
+        if (singletonRules != null && ability instanceof MageSingleton) {
+            singletonRules.add(ability.getRule());
+        }
+        return true;
+    }
+
+    private static long getKeywordBit(Ability ability) {
+        Long bit = keywordBitsByClass.get(ability.getClass());
+        return bit == null ? 0 : bit;
+    }
+
+    /**
+     * The ids of the keyword singletons, created on first use so the
+     * singletons are not created while abilities are added.
+     */
+    private static final class KeywordIds {
+
+        private static final Map<UUID, Long> bitsById = new HashMap<>();
+
+        static {
+            Ability[] instances = {
+                FlyingAbility.getInstance(), ReachAbility.getInstance(), FirstStrikeAbility.getInstance(), DoubleStrikeAbility.getInstance(),
+                DeathtouchAbility.getInstance(), LifelinkAbility.getInstance(), TrampleAbility.getInstance(), VigilanceAbility.getInstance(),
+                HasteAbility.getInstance(), DefenderAbility.getInstance(), HexproofAbility.getInstance(), ShroudAbility.getInstance(),
+                FearAbility.getInstance(), IntimidateAbility.getInstance(), HorsemanshipAbility.getInstance(), ShadowAbility.getInstance(),
+                SpaceflightAbility.getInstance(), CanBlockSpaceflightAbility.getInstance(), CantBlockAloneAbility.getInstance(), InfectAbility.getInstance(),
+                WitherAbility.getInstance(), FlashAbility.getInstance(), ChangelingAbility.getInstance(), PhasingAbility.getInstance(),
+                LeylineAbility.getInstance(), PartnerAbility.getInstance(), AttacksThisTurnMarkerAbility.getInstance(), BlocksThisTurnMarkerAbility.getInstance()
+            };
+            for (Ability instance : instances) {
+                bitsById.put(instance.getId(), getKeywordBit(instance));
+            }
+        }
+    }
 }
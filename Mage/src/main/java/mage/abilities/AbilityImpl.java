@@ -30,6 +30,7 @@ package mage.abilities;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import mage.MageObject;
 import mage.MageObjectReference;
@@ -85,6 +86,7 @@ public abstract class AbilityImpl implements Ability {
     private static final ThreadLocalStringBuilder threadLocalBuilder = new ThreadLocalStringBuilder(100);
     private static final List<Watcher> emptyWatchers = new ArrayList<>();
     private static final List<Ability> emptyAbilities = new ArrayList<>();
+    private static final AtomicInteger ID_CHANGES = new AtomicInteger();
 
     protected UUID id;
     protected UUID originalId;
@@ -170,6 +172,7 @@ public abstract class AbilityImpl implements Ability {
     public void newId() {
         if (!(this instanceof MageSingleton)) {
             this.id = UUID.randomUUID();
+            ID_CHANGES.incrementAndGet();
         }
         getEffects().newId();
     }
@@ -177,10 +180,23 @@ public abstract class AbilityImpl implements Ability {
     @Override
     public void newOriginalId() {
         this.id = UUID.randomUUID();
+        ID_CHANGES.incrementAndGet();
         this.originalId = id;
         getEffects().newId();
     }
 
+    /**
+     * The id indexes of {@link AbilitiesImpl} can't be told about the id
+     * changes of their abilities, an ability can be in any number of lists.
+     * A lookup that misses is only trusted if no id has changed since the
+     * index was built.
+     *
+     * @return the number of id changes of all abilities so far
+     */
+    static int getIdChanges() {
+        return ID_CHANGES.get();
+    }
+
     @Override
     public AbilityType getAbilityType() {
         return this.abilityType;
@@ -41,6 +41,7 @@ import mage.cards.Card;
 import mage.constants.Zone;
 import mage.designations.Designation;
 import mage.game.Game;
+import mage.game.events.EventTypeIndex;
 import mage.game.events.GameEvent;
 import mage.game.events.NumberOfTriggersEvent;
 import mage.game.permanent.Permanent;
@@ -56,7 +57,16 @@ import mage.game.stack.Spell;
  */
 public class TriggeredAbilities extends ConcurrentHashMap<String, TriggeredAbility> {
 
+    private static final EventTypeIndex.DeclarationCheck declarationCheck
+            = new EventTypeIndex.DeclarationCheck("getTriggerEventTypes", "checkEventType", GameEvent.class, Game.class);
+
     private final Map<String, List<UUID>> sources = new HashMap<>();
+    // abilities by the event types they trigger on, rebuilt after abilities were added
+    private transient EventTypeIndex<String> index;
+    // classes of the indexed abilities, an ability added again with the same key doesn't change the index
+    private transient Map<String, Class<?>> indexedClasses;
+    // indexed abilities that were removed, they are skipped by checkTriggers
+    private transient int removedIndexed;
 
     public TriggeredAbilities() {
     }
@@ -80,14 +90,90 @@ public class TriggeredAbilities extends ConcurrentHashMap<String, TriggeredAbili
     }
 
     public void checkTriggers(GameEvent event, Game game) {
-        for (Iterator<TriggeredAbility> it = this.values().iterator(); it.hasNext();) {
-            TriggeredAbility ability = it.next();
-            if (ability.checkEventType(event, game)) {
+        for (String key : getIndex().get(event.getType(), game.getState().getEventStatistics())) {
+            TriggeredAbility ability = this.get(key);
+            if (ability != null && ability.checkEventType(event, game)) {
                 checkTrigger(ability, event, game);
             }
         }
     }
 
+    /**
+     * The gained abilities are removed and added again each time the
+     * continuous effects are applied. The index is only rebuilt if an
+     * ability was added that it doesn't know or if more than half of the
+     * indexed abilities were removed.
+     */
+    private EventTypeIndex<String> getIndex() {
+        EventTypeIndex<String> current = index;
+        if (current == null || removedIndexed > current.size() / 2) {
+            current = new EventTypeIndex<>();
+            Map<String, Class<?>> classes = new HashMap<>();
+            for (Map.Entry<String, TriggeredAbility> entry : this.entrySet()) {
+                TriggeredAbility ability = entry.getValue();
+                current.add(entry.getKey(), declarationCheck.isValid(ability.getClass()) ? ability.getTriggerEventTypes() : null);
+                classes.put(entry.getKey(), ability.getClass());
+            }
+            indexedClasses = classes;
+            removedIndexed = 0;
+            index = current;
+        }
+        return current;
+    }
+
+    @Override
+    public TriggeredAbility put(String key, TriggeredAbility value) {
+        TriggeredAbility previous = super.put(key, value);
+        if (index != null) {
+            if (indexedClasses.get(key) != value.getClass()) {
+                index = null;
+            } else if (previous == null && removedIndexed > 0) {
+                // added again after it was removed
+                removedIndexed--;
+            }
+        }
+        return previous;
+    }
+
+    @Override
+    public TriggeredAbility putIfAbsent(String key, TriggeredAbility value) {
+        index = null;
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends TriggeredAbility> m) {
+        index = null;
+        super.putAll(m);
+    }
+
+    @Override
+    public TriggeredAbility replace(String key, TriggeredAbility value) {
+        index = null;
+        return super.replace(key, value);
+    }
+
+    @Override
+    public TriggeredAbility remove(Object key) {
+        TriggeredAbility removed = super.remove(key);
+        if (removed != null && index != null && indexedClasses.containsKey(key)) {
+            removedIndexed++;
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        index = null;
+        return super.remove(key, value);
+    }
+
+    @Override
+    public void clear() {
+        index = null;
+        super.clear();
+    }
+
     private void checkTrigger(TriggeredAbility ability, GameEvent event, Game game) {
         // for effects like when leaves battlefield or destroyed use ShortLKI to check if permanent was in the correct zone before (e.g. Oblivion Ring or Karmic Justice)
         MageObject object = game.getObject(ability.getSourceId());
@@ -104,7 +190,7 @@ public class TriggeredAbilities extends ConcurrentHashMap<String, TriggeredAbili
                             //                            || event.getType().equals(EventType.SACRIFICED_PERMANENT))
                             && game.getLKI().get(Zone.BATTLEFIELD) != null && game.getLKI().get(Zone.BATTLEFIELD).containsKey(ability.getSourceId())) {
                         // need to check if object was face down for dies and destroy events because the ability triggers in the new zone, zone counter -1 is used
-                        Permanent permanent = (Permanent) game.getLastKnownInformation(ability.getSourceId(), Zone.BATTLEFIELD, ability.getSourceObjectZoneChangeCounter() - 1);
+                        Permanent permanent = (Permanent) game.getLastKnownInformationSnapshot(ability.getSourceId(), Zone.BATTLEFIELD, ability.getSourceObjectZoneChangeCounter() - 1);
                         if (permanent != null) {
                             if (!ability.getWorksFaceDown() && permanent.isFaceDown(game)) {
                                 return;
@@ -27,9 +27,11 @@
  */
 package mage.abilities;
 
+import java.util.Set;
 import java.util.UUID;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 
 /**
  *
@@ -50,6 +52,17 @@ public interface TriggeredAbility extends Ability {
      */
     boolean checkEventType(GameEvent event, Game game);
 
+    /**
+     * The event types checkEventType can return true for. Triggered abilities
+     * are only checked for events of these types. The declaration is only
+     * used if it's made in the same class as checkEventType or in a subclass
+     * of it.
+     *
+     * @return the event types or null if the ability has to be checked for
+     * all events
+     */
+    Set<EventType> getTriggerEventTypes();
+
     boolean checkTrigger(GameEvent event, Game game);
 
     boolean checkInterveningIfClause(Game game);
@@ -27,6 +27,7 @@
  */
 package mage.abilities;
 
+import java.util.Set;
 import java.util.UUID;
 import mage.MageObject;
 import mage.abilities.effects.Effect;
@@ -83,6 +84,11 @@ public abstract class TriggeredAbilityImpl extends AbilityImpl implements Trigge
         return true;
     }
 
+    @Override
+    public Set<EventType> getTriggerEventTypes() {
+        return null;
+    }
+
     @Override
     public boolean resolve(Game game) {
         if (isOptional()) {
@@ -189,17 +195,17 @@ public abstract class TriggeredAbilityImpl extends AbilityImpl implements Trigge
                 case DESTROYED_PERMANENT:
                     if (isLeavesTheBattlefieldTrigger()) {
                         if (event.getType().equals(EventType.DESTROYED_PERMANENT)) {
-                            source = game.getLastKnownInformation(getSourceId(), Zone.BATTLEFIELD);
+                            source = game.getLastKnownInformationSnapshot(getSourceId(), Zone.BATTLEFIELD);
                         } else if (((ZoneChangeEvent) event).getTarget() != null) {
                             source = ((ZoneChangeEvent) event).getTarget();
                         } else {
-                            source = game.getLastKnownInformation(getSourceId(), ((ZoneChangeEvent) event).getZone());
+                            source = game.getLastKnownInformationSnapshot(getSourceId(), ((ZoneChangeEvent) event).getZone());
                         }
                     }
 
                 case PHASED_OUT:
                 case PHASED_IN:
-                    if (this.zone == Zone.ALL || game.getLastKnownInformation(getSourceId(), zone) != null) {
+                    if (this.zone == Zone.ALL || game.getLastKnownInformationSnapshot(getSourceId(), zone) != null) {
                         return this.hasSourceObjectAbility(game, source, event);
                     }
             }
@@ -27,6 +27,9 @@
  */
 package mage.abilities.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
 import mage.abilities.TriggeredAbilityImpl;
 import mage.abilities.effects.Effect;
@@ -42,6 +45,8 @@ import mage.target.targetpointer.FixedTarget;
  */
 public class AttacksTriggeredAbility extends TriggeredAbilityImpl {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.DECLARED_ATTACKERS));
+
     protected SetTargetPointer setTargetPointer;
     protected String text;
 
@@ -70,6 +75,11 @@ public class AttacksTriggeredAbility extends TriggeredAbilityImpl {
         return event.getType() == GameEvent.EventType.DECLARED_ATTACKERS;
     }
 
+    @Override
+    public Set<GameEvent.EventType> getTriggerEventTypes() {
+        return EVENT_TYPES;
+    }
+
     @Override
     public boolean checkTrigger(GameEvent event, Game game) {
         if (game.getCombat().getAttackers().contains(this.getSourceId())) {
@@ -27,6 +27,9 @@
  */
 package mage.abilities.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import mage.abilities.TriggeredAbilityImpl;
 import mage.abilities.condition.Condition;
 import mage.abilities.effects.Effect;
@@ -40,6 +43,8 @@ import mage.target.targetpointer.FixedTarget;
 
 public class BeginningOfEndStepTriggeredAbility extends TriggeredAbilityImpl {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.END_TURN_STEP_PRE));
+
     private TargetController targetController;
     private Condition interveningIfClauseCondition;
 
@@ -69,6 +74,11 @@ public class BeginningOfEndStepTriggeredAbility extends TriggeredAbilityImpl {
         return event.getType() == EventType.END_TURN_STEP_PRE;
     }
 
+    @Override
+    public Set<GameEvent.EventType> getTriggerEventTypes() {
+        return EVENT_TYPES;
+    }
+
     @Override
     public boolean checkTrigger(GameEvent event, Game game) {
         switch (targetController) {
@@ -27,6 +27,9 @@
  */
 package mage.abilities.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import mage.abilities.TriggeredAbilityImpl;
 import mage.abilities.effects.Effect;
 import mage.constants.TargetController;
@@ -42,6 +45,8 @@ import mage.target.targetpointer.FixedTarget;
  */
 public class BeginningOfUpkeepTriggeredAbility extends TriggeredAbilityImpl {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.UPKEEP_STEP_PRE));
+
     private TargetController targetController;
     private boolean setTargetPointer;
     protected String ruleTrigger;
@@ -82,6 +87,11 @@ public class BeginningOfUpkeepTriggeredAbility extends TriggeredAbilityImpl {
         return event.getType() == GameEvent.EventType.UPKEEP_STEP_PRE;
     }
 
+    @Override
+    public Set<GameEvent.EventType> getTriggerEventTypes() {
+        return EVENT_TYPES;
+    }
+
     @Override
     public boolean checkTrigger(GameEvent event, Game game) {
         switch (targetController) {
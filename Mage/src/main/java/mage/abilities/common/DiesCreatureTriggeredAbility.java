@@ -1,5 +1,8 @@
 package mage.abilities.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import mage.abilities.TriggeredAbilityImpl;
 import mage.abilities.effects.Effect;
 import mage.constants.Zone;
@@ -15,6 +18,8 @@ import mage.target.targetpointer.FixedTarget;
  */
 public class DiesCreatureTriggeredAbility extends TriggeredAbilityImpl {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.ZONE_CHANGE));
+
     protected FilterCreaturePermanent filter;
     private boolean setTargetPointer;
 
@@ -64,6 +69,11 @@ public class DiesCreatureTriggeredAbility extends TriggeredAbilityImpl {
         return event.getType() == GameEvent.EventType.ZONE_CHANGE;
     }
 
+    @Override
+    public Set<GameEvent.EventType> getTriggerEventTypes() {
+        return EVENT_TYPES;
+    }
+
     @Override
     public boolean checkTrigger(GameEvent event, Game game) {
         ZoneChangeEvent zEvent = (ZoneChangeEvent) event;
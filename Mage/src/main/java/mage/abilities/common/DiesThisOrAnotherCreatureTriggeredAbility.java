@@ -75,7 +75,7 @@ public class DiesThisOrAnotherCreatureTriggeredAbility extends TriggeredAbilityI
             sourcePermanent = game.getPermanent(getSourceId());
         } else {
             if (game.getShortLivingLKI(getSourceId(), Zone.BATTLEFIELD)) {
-                sourcePermanent = (Permanent) game.getLastKnownInformation(getSourceId(), Zone.BATTLEFIELD);
+                sourcePermanent = (Permanent) game.getLastKnownInformationSnapshot(getSourceId(), Zone.BATTLEFIELD);
             }
         }
         if (sourcePermanent == null) {
@@ -27,6 +27,9 @@
  */
 package mage.abilities.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import mage.MageObject;
 import mage.abilities.effects.Effect;
 import mage.constants.Zone;
@@ -41,6 +44,8 @@ import mage.game.permanent.PermanentToken;
  */
 public class DiesTriggeredAbility extends ZoneChangeTriggeredAbility {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.ZONE_CHANGE));
+
     public DiesTriggeredAbility(Effect effect, boolean optional) {
         super(Zone.BATTLEFIELD, Zone.GRAVEYARD, effect, "When {this} dies, ", optional);
     }
@@ -73,6 +78,11 @@ public class DiesTriggeredAbility extends ZoneChangeTriggeredAbility {
         return false;
     }
 
+    @Override
+    public Set<GameEvent.EventType> getTriggerEventTypes() {
+        return EVENT_TYPES;
+    }
+
     @Override
     public DiesTriggeredAbility copy() {
         return new DiesTriggeredAbility(this);
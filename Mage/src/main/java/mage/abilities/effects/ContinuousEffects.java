@@ -29,6 +29,7 @@ package mage.abilities.effects;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
@@ -42,6 +43,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
 import mage.MageObject;
+import mage.abilities.Abilities;
 import mage.abilities.Ability;
 import mage.abilities.ActivatedAbility;
 import mage.abilities.MageSingleton;
@@ -85,6 +87,9 @@ public class ContinuousEffects implements Serializable {
 
     private static final Logger logger = Logger.getLogger(ContinuousEffects.class);
 
+    // if set every skipped recalculation of the active layered effects is verified (for tests)
+    private static volatile boolean verifyLayeredEffects = Boolean.getBoolean("verifyLayeredEffects");
+
     private long order = 0;
 
     //transient Continuous effects
@@ -211,6 +216,15 @@ public class ContinuousEffects implements Serializable {
     }
 
     public List<ContinuousEffect> getLayeredEffects(Game game) {
+        List<ContinuousEffect> layerEffects = collectLayeredEffects(game);
+
+        updateTimestamps(layerEffects);
+
+        Collections.sort(layerEffects, sorter);
+        return layerEffects;
+    }
+
+    private List<ContinuousEffect> collectLayeredEffects(Game game) {
         List<ContinuousEffect> layerEffects = new ArrayList<>();
         for (ContinuousEffect effect : layeredEffects) {
             switch (effect.getDuration()) {
@@ -234,11 +248,23 @@ public class ContinuousEffects implements Serializable {
                     layerEffects.add(effect);
             }
         }
+        return layerEffects;
+    }
 
-        updateTimestamps(layerEffects);
+    /**
+     * If set, each time the active layered effects are not recalculated during
+     * {@link #apply(Game)} because nothing they depend on has changed, they
+     * are recalculated anyway and an {@link IllegalStateException} is thrown
+     * if the result differs.
+     *
+     * @param verify
+     */
+    public static void setVerifyLayeredEffects(boolean verify) {
+        verifyLayeredEffects = verify;
+    }
 
-        Collections.sort(layerEffects, sorter);
-        return layerEffects;
+    public static boolean isVerifyLayeredEffects() {
+        return verifyLayeredEffects;
     }
 
     /**
@@ -265,14 +291,120 @@ public class ContinuousEffects implements Serializable {
         effect.setOrder(order++);
     }
 
-    private List<ContinuousEffect> filterLayeredEffects(List<ContinuousEffect> effects, Layer layer) {
-        List<ContinuousEffect> layerEffects = new ArrayList<>();
-        for (ContinuousEffect effect : effects) {
-            if (effect.hasLayer(layer)) {
-                layerEffects.add(effect);
+    /**
+     * The active layered effects while the layers are applied, split by layer.
+     * Applying an effect can activate or deactivate other effects (e.g. if it
+     * removes the abilities of their source), so the active effects have to be
+     * updated after each applied effect. They are only recalculated if their
+     * dependencies have changed since the last calculation.
+     */
+    private final class ActiveLayeredEffects {
+
+        private List<ContinuousEffect> effects;
+        private Set<ContinuousEffect> effectSet;
+        private Map<Layer, List<ContinuousEffect>> effectsByLayer;
+        private LayeredEffectsDependencies dependencies;
+
+        ActiveLayeredEffects(Game game) {
+            refresh(game);
+        }
+
+        /**
+         * Recalculates the active effects. The lists returned before are not
+         * changed, so they can still be iterated.
+         */
+        void refresh(Game game) {
+            dependencies = new LayeredEffectsDependencies(game);
+            effects = getLayeredEffects(game);
+            effectSet = new HashSet<>(effects);
+            effectsByLayer = new EnumMap<>(Layer.class);
+            for (Layer layer : Layer.values()) {
+                effectsByLayer.put(layer, new ArrayList<ContinuousEffect>());
+            }
+            for (ContinuousEffect effect : effects) {
+                for (Map.Entry<Layer, List<ContinuousEffect>> entry : effectsByLayer.entrySet()) {
+                    if (effect.hasLayer(entry.getKey())) {
+                        entry.getValue().add(effect);
+                    }
+                }
             }
         }
-        return layerEffects;
+
+        /**
+         * Recalculates the active effects if something they depend on has
+         * changed.
+         */
+        void update(Game game) {
+            if (!dependencies.isUnchanged(game)) {
+                refresh(game);
+            } else if (verifyLayeredEffects) {
+                List<ContinuousEffect> expected = collectLayeredEffects(game);
+                if (expected.size() != effects.size() || !effectSet.containsAll(expected)) {
+                    throw new IllegalStateException("Active layered effects changed without change of their dependencies, expected: "
+                            + expected + " but was: " + effects);
+                }
+            }
+        }
+
+        List<ContinuousEffect> get(Layer layer) {
+            return effectsByLayer.get(layer);
+        }
+
+        boolean contains(ContinuousEffect effect) {
+            return effectSet.contains(effect);
+        }
+    }
+
+    /**
+     * Everything the active layered effects depend on that can be changed
+     * while the layers are applied: the layered effects and their abilities,
+     * the abilities of the permanents and the abilities added to cards outside
+     * of the battlefield. The lists and their modification counts are
+     * remembered and compared one by one.
+     */
+    private final class LayeredEffectsDependencies {
+
+        private final ContinuousEffectsList<ContinuousEffect> effects;
+        private final int effectsModificationCount;
+        private final int otherAbilitiesChanges;
+        private final Abilities<?>[] abilities;
+        private final int[] abilitiesModificationCounts;
+
+        LayeredEffectsDependencies(Game game) {
+            effects = layeredEffects;
+            effectsModificationCount = layeredEffects.getModificationCount();
+            otherAbilitiesChanges = game.getState().getOtherAbilitiesChanges();
+            Collection<Permanent> permanents = game.getBattlefield().getAllPermanents();
+            abilities = new Abilities<?>[permanents.size()];
+            abilitiesModificationCounts = new int[permanents.size()];
+            int i = 0;
+            for (Permanent permanent : permanents) {
+                abilities[i] = permanent.getAbilities();
+                abilitiesModificationCounts[i] = abilities[i].getModificationCount();
+                i++;
+            }
+        }
+
+        boolean isUnchanged(Game game) {
+            if (effects != layeredEffects
+                    || effectsModificationCount != layeredEffects.getModificationCount()
+                    || otherAbilitiesChanges != game.getState().getOtherAbilitiesChanges()) {
+                return false;
+            }
+            int i = 0;
+            for (Permanent permanent : game.getBattlefield().getAllPermanents()) {
+                if (i == abilities.length) {
+                    return false;
+                }
+                Abilities<Ability> permanentAbilities = permanent.getAbilities();
+                if (permanentAbilities != abilities[i]
+                        || permanentAbilities.getModificationCount() != abilitiesModificationCounts[i]) {
+                    return false;
+                }
+                i++;
+            }
+            return i == abilities.length;
+        }
     }
 
     public HashMap<RequirementEffect, HashSet<Ability>> getApplicableRequirementEffects(Permanent permanent, Game game) {
@@ -889,9 +1021,9 @@ public class ContinuousEffects implements Serializable {
     //20091005 - 613
     public void apply(Game game) {
         removeInactiveEffects(game);
-        List<ContinuousEffect> activeLayerEffects = getLayeredEffects(game);
+        ActiveLayeredEffects activeLayerEffects = new ActiveLayeredEffects(game);
 
-        List<ContinuousEffect> layer = filterLayeredEffects(activeLayerEffects, Layer.CopyEffects_1);
+        List<ContinuousEffect> layer = activeLayerEffects.get(Layer.CopyEffects_1);
         for (ContinuousEffect effect : layer) {
             HashSet<Ability> abilities = layeredEffects.getAbility(effect.getId());
             for (Ability ability : abilities) {
@@ -900,10 +1032,10 @@ public class ContinuousEffects implements Serializable {
         }
         //Reload layerEffect if copy effects were applied
         if (layer.size() > 0) {
-            activeLayerEffects = getLayeredEffects(game);
+            activeLayerEffects.refresh(game);
         }
 
-        layer = filterLayeredEffects(activeLayerEffects, Layer.ControlChangingEffects_2);
+        layer = activeLayerEffects.get(Layer.ControlChangingEffects_2);
         // apply control changing effects multiple times if it's needed
         // for cases when control over permanents with change control abilities is changed
         // e.g. Mind Control is controlled by Steal Enchantment
@@ -922,9 +1054,9 @@ public class ContinuousEffects implements Serializable {
             game.getBattlefield().resetPermanentsControl();
         }
 
-        applyLayer(activeLayerEffects, Layer.TextChangingEffects_3, game);
-        applyLayer(activeLayerEffects, Layer.TypeChangingEffects_4, game);
-        applyLayer(activeLayerEffects, Layer.ColorChangingEffects_5, game);
+        applyLayer(activeLayerEffects.get(Layer.TextChangingEffects_3), Layer.TextChangingEffects_3, game);
+        applyLayer(activeLayerEffects.get(Layer.TypeChangingEffects_4), Layer.TypeChangingEffects_4, game);
+        applyLayer(activeLayerEffects.get(Layer.ColorChangingEffects_5), Layer.ColorChangingEffects_5, game);
 
         Map<ContinuousEffect, List<Ability>> appliedEffectAbilities = new HashMap<>();
         boolean done = false;
@@ -932,7 +1064,7 @@ public class ContinuousEffects implements Serializable {
         Set<UUID> appliedEffects = new HashSet<>();
         while (!done) { // loop needed if a added effect adds again an effect (e.g. Level 5- of Joraga Treespeaker)
             done = true;
-            layer = filterLayeredEffects(activeLayerEffects, Layer.AbilityAddingRemovingEffects_6);
+            layer = activeLayerEffects.get(Layer.AbilityAddingRemovingEffects_6);
             for (ContinuousEffect effect : layer) {
                 if (activeLayerEffects.contains(effect) && !appliedEffects.contains(effect.getId())) { // Effect does still exist and was not applied yet
                     Set<UUID> dependentTo = effect.isDependentTo(layer);
@@ -952,7 +1084,7 @@ public class ContinuousEffects implements Serializable {
                             effect.apply(Layer.AbilityAddingRemovingEffects_6, SubLayer.NA, ability, game);
                             done = false;
                             // list must be updated after each applied effect (eg. if "Turn to Frog" removes abilities)
-                            activeLayerEffects = getLayeredEffects(game);
+                            activeLayerEffects.update(game);
                         }
                     }
                     appliedEffects.add(effect.getId());
@@ -974,7 +1106,7 @@ public class ContinuousEffects implements Serializable {
                                         entry.getKey().apply(Layer.AbilityAddingRemovingEffects_6, SubLayer.NA, ability, game);
                                         done = false;
                                         // list must be updated after each applied effect (eg. if "Turn to Frog" removes abilities)
-                                        activeLayerEffects = getLayeredEffects(game);
+                                        activeLayerEffects.update(game);
                                     }
                                 }
                                 appliedEffects.add(entry.getKey().getId());
@@ -986,7 +1118,7 @@ public class ContinuousEffects implements Serializable {
             }
         }
 
-        layer = filterLayeredEffects(activeLayerEffects, Layer.PTChangingEffects_7);
+        layer = activeLayerEffects.get(Layer.PTChangingEffects_7);
         for (ContinuousEffect effect : layer) {
             HashSet<Ability> abilities = layeredEffects.getAbility(effect.getId());
             for (Ability ability : abilities) {
@@ -1014,14 +1146,14 @@ public class ContinuousEffects implements Serializable {
                 effect.apply(Layer.PTChangingEffects_7, SubLayer.SwitchPT_e, ability, game);
             }
         }
-        layer = filterLayeredEffects(activeLayerEffects, Layer.PlayerEffects);
+        layer = activeLayerEffects.get(Layer.PlayerEffects);
         for (ContinuousEffect effect : layer) {
             HashSet<Ability> abilities = layeredEffects.getAbility(effect.getId());
             for (Ability ability : abilities) {
                 effect.apply(Layer.PlayerEffects, SubLayer.NA, ability, game);
             }
         }
-        layer = filterLayeredEffects(activeLayerEffects, Layer.RulesEffects);
+        layer = activeLayerEffects.get(Layer.RulesEffects);
         for (ContinuousEffect effect : layer) {
             HashSet<Ability> abilities = layeredEffects.getAbility(effect.getId());
             for (Ability ability : abilities) {
@@ -1030,8 +1162,7 @@ public class ContinuousEffects implements Serializable {
         }
     }
 
-    private void applyLayer(List<ContinuousEffect> activeLayerEffects, Layer currentLayer, Game game) {
-        List<ContinuousEffect> layer = filterLayeredEffects(activeLayerEffects, currentLayer);
+    private void applyLayer(List<ContinuousEffect> layer, Layer currentLayer, Game game) {
         if (!layer.isEmpty()) {
             int numberOfEffects = layer.size();
             Set<UUID> appliedEffects = new HashSet<>();
@@ -51,6 +51,8 @@ public class ContinuousEffectsList<T extends ContinuousEffect> extends ArrayList
 
     // the effectAbilityMap holds for each effect all abilities that are connected (used) with this effect
     private final Map<UUID, HashSet<Ability>> effectAbilityMap = new HashMap<>();
+    // counts the changes of the connected abilities of the effects
+    private int abilityChanges;
 
     public ContinuousEffectsList() {
     }
@@ -96,9 +98,13 @@ public class ContinuousEffectsList<T extends ContinuousEffect> extends ArrayList
     public void removeInactiveEffects(Game game) {
         for (Iterator<T> i = this.iterator(); i.hasNext();) {
             T entry = i.next();
+            HashSet<Ability> abilities = effectAbilityMap.get(entry.getId());
+            int abilitiesCount = abilities == null ? 0 : abilities.size();
             if (isInactive(entry, game)) {
                 i.remove();
                 effectAbilityMap.remove(entry.getId());
+            } else if (abilities != null && abilities.size() != abilitiesCount) {
+                abilityChanges++;
             }
         }
     }
@@ -160,6 +166,7 @@ public class ContinuousEffectsList<T extends ContinuousEffect> extends ArrayList
                 }
             }
             set.add(source);
+            abilityChanges++;
             return;
         }
         HashSet<Ability> set = new HashSet<>();
@@ -175,7 +182,9 @@ public class ContinuousEffectsList<T extends ContinuousEffect> extends ArrayList
     public void removeEffects(UUID effectIdToRemove, Set<Ability> abilitiesToRemove) {
         HashSet<Ability> abilities = effectAbilityMap.get(effectIdToRemove);
         if (abilitiesToRemove != null && abilities != null) {
-            abilities.removeAll(abilitiesToRemove);
+            if (abilities.removeAll(abilitiesToRemove)) {
+                abilityChanges++;
+            }
         }
         if (abilities == null || abilities.isEmpty()) {
             for (Iterator<T> iterator = this.iterator(); iterator.hasNext();) {
@@ -189,6 +198,16 @@ public class ContinuousEffectsList<T extends ContinuousEffect> extends ArrayList
         }
     }
 
+    /**
+     * Returns a number that is changed whenever effects or their connected
+     * abilities are added or removed.
+     *
+     * @return
+     */
+    public int getModificationCount() {
+        return modCount + abilityChanges;
+    }
+
     @Override
     public void clear() {
         super.clear();
@@ -95,6 +95,8 @@ public class TransformAbility extends SimpleStaticAbility {
         permanent.getPower().setValue(sourceCard.getPower().getValue());
         permanent.getToughness().setValue(sourceCard.getToughness().getValue());
         permanent.setTransformable(sourceCard.isTransformable());
+        // the card types may have changed
+        game.getBattlefield().invalidateIndexes();
     }
 }
 
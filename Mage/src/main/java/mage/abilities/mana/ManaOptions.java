@@ -105,6 +105,7 @@ public class ManaOptions extends ArrayList<Mana> {
                 }
             }
         }
+        removeFullyIncludedVariations();
     }
 
     public void addManaWithCost(List<ActivatedManaAbilityImpl> abilities, Game game) {
@@ -192,6 +193,7 @@ public class ManaOptions extends ArrayList<Mana> {
                 }
             }
         }
+        removeFullyIncludedVariations();
     }
 
     public void addMana(Mana addMana) {
@@ -225,12 +227,101 @@ public class ManaOptions extends ArrayList<Mana> {
                 }
             }
         }
+        removeFullyIncludedVariations();
     }
 
     public ManaOptions copy() {
         return new ManaOptions(this);
     }
 
+    /**
+     * Removes the options that are equal to or included in another option,
+     * everything that can be paid with them can be paid with the other option
+     * too. An option that includes an earlier option replaces it, the order of
+     * the options is kept otherwise.
+     */
+    public void removeFullyIncludedVariations() {
+        if (size() < 2) {
+            return;
+        }
+        long[] packed = new long[size()];
+        for (int i = 0; i < size(); i++) {
+            packed[i] = pack(get(i));
+            if (packed[i] < 0) {
+                // amounts too big to be compared packed
+                return;
+            }
+        }
+        List<Mana> kept = new ArrayList<>(size());
+        long[] keptPacked = new long[size()];
+        Option:
+        for (int i = 0; i < packed.length; i++) {
+            int replaced = -1;
+            for (int j = 0; j < kept.size(); j++) {
+                if (includes(keptPacked[j], packed[i])) {
+                    continue Option;
+                }
+                if (includes(packed[i], keptPacked[j])) {
+                    if (replaced < 0) {
+                        replaced = j;
+                        kept.set(j, get(i));
+                        keptPacked[j] = packed[i];
+                    } else {
+                        // mark as included, removed below
+                        keptPacked[j] = -1;
+                    }
+                }
+            }
+            if (replaced < 0) {
+                keptPacked[kept.size()] = packed[i];
+                kept.add(get(i));
+            } else {
+                int count = 0;
+                for (int j = 0; j < kept.size(); j++) {
+                    if (keptPacked[j] >= 0) {
+                        keptPacked[count] = keptPacked[j];
+                        kept.set(count, kept.get(j));
+                        count++;
+                    }
+                }
+                kept.subList(count, kept.size()).clear();
+            }
+        }
+        if (kept.size() < size()) {
+            clear();
+            addAll(kept);
+        }
+    }
+
+    // one byte per mana type, every amount must be between 0 and 127
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * @return the amounts of the mana packed into one long or -1 if an amount
+     * can't be packed
+     */
+    private static long pack(Mana mana) {
+        int[] amounts = {mana.getWhite(), mana.getBlue(), mana.getBlack(), mana.getRed(),
+            mana.getGreen(), mana.getGeneric(), mana.getColorless(), mana.getAny()};
+        long packed = 0;
+        for (int amount : amounts) {
+            if (amount < 0 || amount > 127) {
+                return -1;
+            }
+            packed = (packed << 8) | amount;
+        }
+        return packed;
+    }
+
+    /**
+     * @return true if each amount of the first packed mana is greater than or
+     * equal to the amount of the second one
+     */
+    private static boolean includes(long packed, long other) {
+        // the high bit of a byte stays set if no borrow was needed
+        return (((packed | HIGH_BITS) - other) & HIGH_BITS) == HIGH_BITS;
+    }
+
     public void subtractCostAddMana(Mana cost, Mana addMana, boolean onlyManaCosts) {
         if (isEmpty()) {
             this.add(new Mana());
@@ -0,0 +1,117 @@
+package mage.cards;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import mage.cards.repository.PluginClassloaderRegistery;
+import org.apache.log4j.Logger;
+
+/**
+ * Registry of the factories of the card classes. The class and constructor of
+ * a card are looked up only once, afterwards creating a card is a map lookup
+ * and a direct call of the constructor handle.
+ */
+public final class CardFactoryRegistry {
+
+    private static final Logger logger = Logger.getLogger(CardFactoryRegistry.class);
+
+    private static final ConcurrentMap<String, CardFactory> factoriesByName = new ConcurrentHashMap<>();
+    private static final ClassValue<CardFactory> factoriesByClass = new ClassValue<CardFactory>() {
+        @Override
+        protected CardFactory computeValue(Class<?> type) {
+            return new CardFactory(type);
+        }
+    };
+
+    private CardFactoryRegistry() {
+    }
+
+    public static CardFactory getFactory(Class<?> cardClass) {
+        return factoriesByClass.get(cardClass);
+    }
+
+    /**
+     * @param className class name of the card, the class is searched in the
+     * class path and in the plugin class loaders
+     * @return
+     * @throws ClassNotFoundException
+     */
+    public static CardFactory getFactory(String className) throws ClassNotFoundException {
+        CardFactory factory = factoriesByName.get(className);
+        if (factory == null) {
+            Class<?> cardClass;
+            try {
+                cardClass = Class.forName(className);
+            } catch (ClassNotFoundException ex) {
+                try {
+                    cardClass = PluginClassloaderRegistery.forName(className);
+                } catch (ClassNotFoundException ex2) {
+                    throw ex;
+                }
+            }
+            factory = getFactory(cardClass);
+            factoriesByName.putIfAbsent(className, factory);
+        }
+        return factory;
+    }
+
+    /**
+     * Creates the cards of one card class.
+     */
+    public static final class CardFactory {
+
+        private static final MethodType SET_INFO_CONSTRUCTOR = MethodType.methodType(void.class, UUID.class, CardSetInfo.class);
+        private static final MethodType SET_INFO_FACTORY = MethodType.methodType(Card.class, UUID.class, CardSetInfo.class);
+        private static final MethodType ID_CONSTRUCTOR = MethodType.methodType(void.class, UUID.class);
+        private static final MethodType ID_FACTORY = MethodType.methodType(Card.class, UUID.class);
+
+        private final Class<?> cardClass;
+        // the constructors are looked up when they are used first
+        private volatile MethodHandle setInfoConstructor;
+        private volatile MethodHandle idConstructor;
+
+        private CardFactory(Class<?> cardClass) {
+            this.cardClass = cardClass;
+        }
+
+        public Class<?> getCardClass() {
+            return cardClass;
+        }
+
+        /**
+         * @param setInfo set info of the card or null to use the constructor
+         * without set info
+         * @return the new card or null if the card can't be created
+         */
+        public Card create(CardSetInfo setInfo) {
+            try {
+                if (setInfo == null) {
+                    MethodHandle constructor = idConstructor;
+                    if (constructor == null) {
+                        constructor = MethodHandles.publicLookup().findConstructor(cardClass, ID_CONSTRUCTOR).asType(ID_FACTORY);
+                        idConstructor = constructor;
+                    }
+                    return (Card) constructor.invokeExact((UUID) null);
+                }
+                MethodHandle constructor = setInfoConstructor;
+                if (constructor == null) {
+                    constructor = MethodHandles.publicLookup().findConstructor(cardClass, SET_INFO_CONSTRUCTOR).asType(SET_INFO_FACTORY);
+                    setInfoConstructor = constructor;
+                }
+                return (Card) constructor.invokeExact((UUID) null, setInfo);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // no such constructor or the constructor failed
+                logger.fatal("Error loading card: " + cardClass.getCanonicalName(), e);
+                return null;
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // invokeExact declares Throwable, the card constructors don't throw checked exceptions
+                throw new IllegalStateException("Error loading card: " + cardClass.getCanonicalName(), e);
+            }
+        }
+    }
+}
@@ -27,7 +27,6 @@
  */
 package mage.cards;
 
-import java.lang.reflect.Constructor;
 import java.util.*;
 import mage.MageObject;
 import mage.MageObjectImpl;
@@ -39,7 +38,6 @@ import mage.abilities.Ability;
 import mage.abilities.PlayLandAbility;
 import mage.abilities.SpellAbility;
 import mage.abilities.mana.ActivatedManaAbilityImpl;
-import mage.cards.repository.PluginClassloaderRegistery;
 import mage.constants.CardType;
 import mage.constants.ColoredManaSymbol;
 import mage.constants.Rarity;
@@ -167,33 +165,15 @@ public abstract class CardImpl extends MageObjectImpl implements Card {
 
     public static Card createCard(String name, CardSetInfo setInfo) {
         try {
-            return createCard(Class.forName(name), setInfo);
+            return CardFactoryRegistry.getFactory(name).create(setInfo);
         } catch (ClassNotFoundException ex) {
-            try {
-                return createCard(PluginClassloaderRegistery.forName(name), setInfo);
-            } catch (ClassNotFoundException ex2) {
-                // ignored
-            }
             logger.fatal("Error loading card: " + name, ex);
             return null;
         }
     }
 
     public static Card createCard(Class<?> clazz, CardSetInfo setInfo) {
-        try {
-            Card card;
-            if (setInfo == null) {
-                Constructor<?> con = clazz.getConstructor(UUID.class);
-                card = (Card) con.newInstance(new Object[]{null});
-            } else {
-                Constructor<?> con = clazz.getConstructor(UUID.class, CardSetInfo.class);
-                card = (Card) con.newInstance(null, setInfo);
-            }
-            return card;
-        } catch (Exception e) {
-            logger.fatal("Error loading card: " + clazz.getCanonicalName(), e);
-            return null;
-        }
+        return CardFactoryRegistry.getFactory(clazz).create(setInfo);
     }
 
     @Override
@@ -59,9 +59,28 @@ public class Sets extends HashMap<String, ExpansionSet> {
     private Set<String> customSets = new HashSet<>();
 
     private Sets() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        // the sets module has an index of its sets, only jars without one (e.g. external plugins) are scanned
+        SetsIndex index = SetsIndex.load(classLoader);
+        List<Class> classes = new ArrayList<>();
+        boolean outdated = false;
+        for (String className : index.getSetClassNames()) {
+            try {
+                classes.add(Class.forName(className, true, classLoader));
+            } catch (ClassNotFoundException ex) {
+                logger.warn("Set of the sets index not found, the index is outdated and all sets are scanned: " + className);
+                outdated = true;
+            }
+        }
         ArrayList<String> packages = new ArrayList<>();
         packages.add("mage.sets");
-        for (Class c : ClassScanner.findClasses(null, packages, ExpansionSet.class)) {
+        Set<String> skippedLocations = outdated ? Collections.<String>emptySet() : index.getLocations();
+        for (Class c : ClassScanner.findClasses(classLoader, packages, ExpansionSet.class, skippedLocations)) {
+            if (!classes.contains(c)) {
+                classes.add(c);
+            }
+        }
+        for (Class c : classes) {
             try {
                 addSet((ExpansionSet) c.getMethod("getInstance").invoke(null));
             } catch (Exception ex) {
@@ -0,0 +1,153 @@
+package mage.cards;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import mage.util.ClassScanner;
+import org.apache.log4j.Logger;
+
+/**
+ * Index of the expansion set classes and their card classes, generated when
+ * the sets module is built, so the sets can be loaded without scanning the
+ * jar.
+ *
+ * Each line of the index holds the class name of a set followed by the class
+ * names of its cards, separated by tabs.
+ *
+ * @see #main(String[])
+ */
+public final class SetsIndex {
+
+    private static final Logger logger = Logger.getLogger(SetsIndex.class);
+
+    public static final String RESOURCE = "META-INF/mage/sets.idx";
+
+    // set class names followed by their card class names
+    private final List<List<String>> sets = new ArrayList<>();
+    // the jars and class folders that contain an index
+    private final Set<String> locations = new HashSet<>();
+
+    private SetsIndex() {
+    }
+
+    /**
+     * Reads all indexes that can be found with the class loader.
+     *
+     * @param classLoader the class loader or null for the context class loader
+     * @return
+     */
+    public static SetsIndex load(ClassLoader classLoader) {
+        if (classLoader == null) {
+            classLoader = Thread.currentThread().getContextClassLoader();
+        }
+        SetsIndex index = new SetsIndex();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                String location = ClassScanner.getLocation(resource, RESOURCE);
+                if (isOutdated(resource, location)) {
+                    logger.info("The sets index of " + location + " is older than the sets, they are scanned");
+                    continue;
+                }
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (!line.isEmpty()) {
+                            List<String> set = new ArrayList<>();
+                            Collections.addAll(set, line.split("\t"));
+                            index.sets.add(set);
+                        }
+                    }
+                }
+                index.locations.add(location);
+            }
+        } catch (IOException ex) {
+            logger.error("Can't read the sets index", ex);
+        }
+        return index;
+    }
+
+    /**
+     * The index of a jar is built with the jar. A class folder can get new
+     * sets without a new index (e.g. compiled by an IDE), the folder of the
+     * sets is changed then after the index was written.
+     */
+    private static boolean isOutdated(URL resource, String location) throws IOException {
+        if (!"file".equals(resource.getProtocol())) {
+            return false;
+        }
+        File file = new File(URLDecoder.decode(resource.getFile(), "UTF-8"));
+        File setsFolder = new File(URLDecoder.decode(location, "UTF-8"), "mage/sets");
+        return setsFolder.lastModified() > file.lastModified();
+    }
+
+    public List<String> getSetClassNames() {
+        List<String> classNames = new ArrayList<>();
+        for (List<String> set : sets) {
+            classNames.add(set.get(0));
+        }
+        return classNames;
+    }
+
+    public List<String> getCardClassNames(String setClassName) {
+        for (List<String> set : sets) {
+            if (set.get(0).equals(setClassName)) {
+                return set.subList(1, set.size());
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return the jars and class folders with an index, they don't need to be
+     * scanned for sets
+     */
+    public Set<String> getLocations() {
+        return locations;
+    }
+
+    /**
+     * Writes the index of the sets found in the mage.sets package. Called in
+     * the build of the sets module with the class folder as argument.
+     *
+     * @param args
+     * @throws IOException
+     */
+    public static void main(String[] args) throws IOException {
+        File file = new File(args[0], RESOURCE);
+        List<String> packages = new ArrayList<>();
+        packages.add("mage.sets");
+        List<Class> classes = ClassScanner.findClasses(null, packages, ExpansionSet.class);
+        classes.sort(Comparator.comparing(Class::getName));
+        file.getParentFile().mkdirs();
+        try (PrintWriter writer = new PrintWriter(file, "UTF-8")) {
+            for (Class c : classes) {
+                ExpansionSet set;
+                try {
+                    set = (ExpansionSet) c.getMethod("getInstance").invoke(null);
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException("Can't create the set " + c.getName(), ex);
+                }
+                StringBuilder line = new StringBuilder(c.getName());
+                for (ExpansionSet.SetCardInfo card : set.getSetCardInfo()) {
+                    line.append('\t').append(card.getCardClass().getName());
+                }
+                writer.println(line);
+            }
+        }
+        logger.info("Sets index with " + classes.size() + " sets written to " + file);
+    }
+}
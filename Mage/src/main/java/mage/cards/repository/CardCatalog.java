@@ -0,0 +1,305 @@
+package mage.cards.repository;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import mage.constants.CardType;
+import mage.constants.Rarity;
+
+/**
+ * Immutable in memory copy of the card DB for the frequent queries (card
+ * names, cards by name or set and {@link CardCriteria}).
+ *
+ * The values needed to evaluate a {@link CardCriteria} are stored column wise
+ * (one array per field, indexed by the position of the card), the cards can
+ * also be found by name, set code and card type without scanning all of them.
+ *
+ * A catalog holds the cards of one content version of the DB, the
+ * {@link CardRepository} replaces the whole catalog if the content changes.
+ */
+public final class CardCatalog {
+
+    static final int BLACK = 1;
+    static final int BLUE = 1 << 1;
+    static final int GREEN = 1 << 2;
+    static final int RED = 1 << 3;
+    static final int WHITE = 1 << 4;
+
+    private final long contentVersion;
+    private final CardInfo[] cards;
+
+    // columns, the value of a card is at the position of the card
+    final String[] names;
+    final String[] rules;
+    final String[] supertypes;
+    final String[] subtypes;
+    final int[] types;
+    final int[] colors;
+    final int[] convertedManaCosts;
+    final int[] cardNumbers;
+    final Rarity[] rarities;
+    final boolean[] nightCards;
+    final boolean[] splitCardHalves;
+    final boolean[] doubleFaced;
+
+    // indexes
+    private final Map<String, int[]> byName;
+    private final Map<String, int[]> byLowerCaseName;
+    private final Map<String, Integer> byCardKey;
+    private final Map<String, BitSet> bySetCode;
+    private final Map<CardType, BitSet> byType;
+    private final ConcurrentMap<Long, Set<String>> namesByTypes = new ConcurrentHashMap<>();
+
+    CardCatalog(long contentVersion, List<CardInfo> cardInfos) {
+        this.contentVersion = contentVersion;
+        int size = cardInfos.size();
+        this.cards = cardInfos.toArray(new CardInfo[size]);
+        this.names = new String[size];
+        this.rules = new String[size];
+        this.supertypes = new String[size];
+        this.subtypes = new String[size];
+        this.types = new int[size];
+        this.colors = new int[size];
+        this.convertedManaCosts = new int[size];
+        this.cardNumbers = new int[size];
+        this.rarities = new Rarity[size];
+        this.nightCards = new boolean[size];
+        this.splitCardHalves = new boolean[size];
+        this.doubleFaced = new boolean[size];
+
+        Map<String, List<Integer>> namePositions = new HashMap<>();
+        Map<String, List<Integer>> lowerCaseNamePositions = new HashMap<>();
+        this.byCardKey = new HashMap<>();
+        this.bySetCode = new HashMap<>();
+        this.byType = new EnumMap<>(CardType.class);
+        for (int i = 0; i < size; i++) {
+            CardInfo card = cards[i];
+            names[i] = card.name;
+            rules[i] = card.rules;
+            supertypes[i] = card.supertypes;
+            subtypes[i] = card.subtypes;
+            colors[i] = (card.black ? BLACK : 0) | (card.blue ? BLUE : 0) | (card.green ? GREEN : 0)
+                    | (card.red ? RED : 0) | (card.white ? WHITE : 0);
+            convertedManaCosts[i] = card.convertedManaCost;
+            cardNumbers[i] = parseCardNumber(card.cardNumber);
+            rarities[i] = card.rarity;
+            nightCards[i] = card.nightCard;
+            splitCardHalves[i] = card.splitCardHalf;
+            doubleFaced[i] = card.doubleFaced;
+            if (card.types != null) {
+                for (CardType type : card.getTypes()) {
+                    types[i] |= getTypeMask(type);
+                    getBits(byType, type).set(i);
+                }
+            }
+            if (card.name != null) {
+                getPositions(namePositions, card.name).add(i);
+                getPositions(lowerCaseNamePositions, card.name.toLowerCase(Locale.ENGLISH)).add(i);
+            }
+            if (card.setCode != null) {
+                getBits(bySetCode, card.setCode).set(i);
+                if (!card.nightCard) {
+                    byCardKey.putIfAbsent(CardRepository.getCardKey(card.setCode, card.cardNumber), i);
+                }
+            }
+        }
+        this.byName = toArrays(namePositions);
+        this.byLowerCaseName = toArrays(lowerCaseNamePositions);
+    }
+
+    public long getContentVersion() {
+        return contentVersion;
+    }
+
+    public int size() {
+        return cards.length;
+    }
+
+    CardInfo getCard(int position) {
+        return cards[position];
+    }
+
+    /**
+     * @param name
+     * @return all cards with the name, in the order of the DB
+     */
+    public List<CardInfo> findCards(String name) {
+        return getCards(byName.get(name));
+    }
+
+    public List<CardInfo> findCardsCaseInsensitive(String name) {
+        return getCards(byLowerCaseName.get(name.toLowerCase(Locale.ENGLISH)));
+    }
+
+    /**
+     * @param setCode
+     * @param cardNumber
+     * @return the card (without night cards) or null if the set has no card
+     * with the number
+     */
+    public CardInfo findCard(String setCode, String cardNumber) {
+        Integer position = byCardKey.get(CardRepository.getCardKey(setCode, cardNumber));
+        return position == null ? null : cards[position];
+    }
+
+    /**
+     * Returns the names of the cards with the given types, the names of split
+     * cards are split into the names of the halves.
+     *
+     * @param requiredTypes types a card must have, mask built by
+     * {@link #getTypeMask(CardType...)}
+     * @param excludedTypes types a card must not have
+     * @return sorted names, the set can't be modified
+     */
+    public Set<String> getNames(int requiredTypes, int excludedTypes) {
+        Long key = ((long) requiredTypes << 32) | (excludedTypes & 0xFFFFFFFFL);
+        Set<String> result = namesByTypes.get(key);
+        if (result == null) {
+            TreeSet<String> names = new TreeSet<>();
+            for (int i = 0; i < cards.length; i++) {
+                String name = this.names[i];
+                if ((types[i] & requiredTypes) == requiredTypes && (types[i] & excludedTypes) == 0 && name != null) {
+                    int split = name.indexOf(" // ");
+                    if (split > 0) {
+                        names.add(name.substring(0, split));
+                        names.add(name.substring(split + 4));
+                    } else {
+                        names.add(name);
+                    }
+                }
+            }
+            result = Collections.unmodifiableSet(names);
+            namesByTypes.putIfAbsent(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return a new set with the positions of all cards
+     */
+    BitSet getAllCards() {
+        BitSet result = new BitSet(cards.length);
+        result.set(0, cards.length);
+        return result;
+    }
+
+    /**
+     * @param setCodes
+     * @return a new set with the positions of the cards of all given sets
+     */
+    BitSet getCardsOfSets(Collection<String> setCodes) {
+        BitSet result = new BitSet(cards.length);
+        for (String setCode : setCodes) {
+            BitSet cardsOfSet = bySetCode.get(setCode);
+            if (cardsOfSet != null) {
+                result.or(cardsOfSet);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param cardTypes
+     * @return a new set with the positions of the cards with any of the types
+     */
+    BitSet getCardsOfTypes(Collection<CardType> cardTypes) {
+        BitSet result = new BitSet(cards.length);
+        for (CardType cardType : cardTypes) {
+            BitSet cardsOfType = byType.get(cardType);
+            if (cardsOfType != null) {
+                result.or(cardsOfType);
+            }
+        }
+        return result;
+    }
+
+    public static int getTypeMask(CardType... cardTypes) {
+        int mask = 0;
+        for (CardType cardType : cardTypes) {
+            mask |= 1 << cardType.ordinal();
+        }
+        return mask;
+    }
+
+    /**
+     * @param column column of the card table
+     * @return the order of the column or null if the catalog can't sort by
+     * the column
+     */
+    static Comparator<CardInfo> getOrder(String column) {
+        switch (column) {
+            case "name":
+                return Comparator.comparing(CardInfo::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+            case "setCode":
+                return Comparator.comparing(CardInfo::getSetCode, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+            case "cardNumber":
+                return Comparator.comparing(CardInfo::getCardNumber, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+            case "convertedManaCost":
+                return Comparator.comparingInt(CardInfo::getConvertedManaCost);
+            default:
+                return null;
+        }
+    }
+
+    private List<CardInfo> getCards(int[] positions) {
+        if (positions == null) {
+            return new ArrayList<>();
+        }
+        List<CardInfo> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(cards[position]);
+        }
+        return result;
+    }
+
+    private static int parseCardNumber(String cardNumber) {
+        int number = 0;
+        if (cardNumber != null) {
+            for (int i = 0; i < cardNumber.length() && Character.isDigit(cardNumber.charAt(i)); i++) {
+                number = number * 10 + Character.digit(cardNumber.charAt(i), 10);
+            }
+        }
+        return number;
+    }
+
+    private static <K> List<Integer> getPositions(Map<K, List<Integer>> map, K key) {
+        List<Integer> list = map.get(key);
+        if (list == null) {
+            list = new ArrayList<>();
+            map.put(key, list);
+        }
+        return list;
+    }
+
+    private static <K> BitSet getBits(Map<K, BitSet> map, K key) {
+        BitSet set = map.get(key);
+        if (set == null) {
+            set = new BitSet();
+            map.put(key, set);
+        }
+        return set;
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, List<Integer>> positions) {
+        Map<String, int[]> result = new HashMap<>(positions.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+            int[] array = new int[entry.getValue().size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = entry.getValue().get(i);
+            }
+            result.put(entry.getKey(), array);
+        }
+        return result;
+    }
+}
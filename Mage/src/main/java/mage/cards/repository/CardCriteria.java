@@ -33,6 +33,9 @@ import com.j256.ormlite.stmt.Where;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import mage.constants.CardType;
 import mage.constants.Rarity;
@@ -328,4 +331,131 @@ public class CardCriteria {
             qb.orderBy(sortBy, true);
         }
     }
+
+    /**
+     * Evaluates the criteria against the in memory catalog of the cards. The
+     * result is the same as the result of the query built by
+     * {@link #buildQuery(QueryBuilder)}.
+     *
+     * @param catalog
+     * @return the matching cards or null if the criteria can only be
+     * evaluated by the DB
+     */
+    public List<CardInfo> find(CardCatalog catalog) {
+        // LIKE of the DB treats _ and % as wildcards (and \ as escape)
+        if (isLikePattern(name) || isLikePattern(rules)) {
+            return null;
+        }
+        Comparator<CardInfo> order = null;
+        if (sortBy != null) {
+            order = CardCatalog.getOrder(sortBy);
+            if (order == null) {
+                return null;
+            }
+        }
+
+        // the indexes reduce the cards to check
+        BitSet candidates = setCodes.isEmpty() ? catalog.getAllCards() : catalog.getCardsOfSets(setCodes);
+        if (types.size() != 7 && !types.isEmpty()) {
+            candidates.and(catalog.getCardsOfTypes(types));
+        }
+
+        int notTypesMask = CardCatalog.getTypeMask(notTypes.toArray(new CardType[notTypes.size()]));
+        EnumSet<Rarity> raritySet = rarities.isEmpty() ? null : EnumSet.copyOf(rarities);
+        int colorMask = 0;
+        boolean colorFilter = false;
+        if (!black || !blue || !green || !red || !white || !colorless) {
+            colorMask = (black ? CardCatalog.BLACK : 0) | (blue ? CardCatalog.BLUE : 0) | (green ? CardCatalog.GREEN : 0)
+                    | (red ? CardCatalog.RED : 0) | (white ? CardCatalog.WHITE : 0);
+            colorFilter = colorMask != 0 || colorless;
+        }
+
+        List<CardInfo> result = new ArrayList<>();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (catalog.nightCards[i] || catalog.splitCardHalves[i]) {
+                continue;
+            }
+            if (name != null && !contains(catalog.names[i], name)) {
+                continue;
+            }
+            if (rules != null && !contains(catalog.rules[i], rules)) {
+                continue;
+            }
+            if (doubleFaced != null && catalog.doubleFaced[i] != doubleFaced) {
+                continue;
+            }
+            if (raritySet != null && (catalog.rarities[i] == null || !raritySet.contains(catalog.rarities[i]))) {
+                continue;
+            }
+            if ((catalog.types[i] & notTypesMask) != 0) {
+                continue;
+            }
+            if (!containsAll(catalog.supertypes[i], supertypes)
+                    || !containsNone(catalog.supertypes[i], notSupertypes)
+                    || !containsAll(catalog.subtypes[i], subtypes)) {
+                continue;
+            }
+            if (convertedManaCost != null && catalog.convertedManaCosts[i] != convertedManaCost) {
+                continue;
+            }
+            if (colorFilter && (catalog.colors[i] & colorMask) == 0 && !(colorless && catalog.colors[i] == 0)) {
+                continue;
+            }
+            if (catalog.cardNumbers[i] < minCardNumber || catalog.cardNumbers[i] > maxCardNumber) {
+                continue;
+            }
+            result.add(catalog.getCard(i));
+        }
+
+        if (order != null) {
+            result.sort(order);
+        }
+        if (start != null || count != null) {
+            int from = start == null ? 0 : (int) Math.min(start, result.size());
+            int to = count == null ? result.size() : (int) Math.min(from + count, result.size());
+            result = new ArrayList<>(result.subList(from, to));
+        }
+        return result;
+    }
+
+    /**
+     * @return the column the cards are sorted by or null
+     */
+    String getSortBy() {
+        return sortBy;
+    }
+
+    /**
+     * @return true if only a part of the matching cards is returned
+     */
+    boolean isPaged() {
+        return start != null || count != null;
+    }
+
+    private static boolean isLikePattern(String value) {
+        return value != null && (value.indexOf('_') >= 0 || value.indexOf('%') >= 0 || value.indexOf('\\') >= 0);
+    }
+
+    private static boolean contains(String value, String part) {
+        return value != null && value.contains(part);
+    }
+
+    private static boolean containsAll(String value, List<String> parts) {
+        for (String part : parts) {
+            if (!contains(value, part)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsNone(String value, List<String> parts) {
+        for (String part : parts) {
+            // like the SQL not like, an unknown value matches nothing
+            if (value == null || value.contains(part)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
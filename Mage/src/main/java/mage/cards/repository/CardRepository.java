@@ -61,9 +61,13 @@ public enum CardRepository {
     private static final long CARD_DB_VERSION = 50;
     // raise this if new cards were added to the server
     private static final long CARD_CONTENT_VERSION = 69;
+    // if set every search of the catalog is compared with the query of the DB (for tests)
+    private static volatile boolean verifyCardCatalog = Boolean.getBoolean("verifyCardCatalog");
     private final TreeSet<String> landTypes = new TreeSet();
     private Dao<CardInfo, Object> cardDao;
     private Set<String> classNames;
+    // in memory copy of the cards, replaced if the content of the DB changes
+    private volatile CardCatalog catalog;
 
     CardRepository() {
         File file = new File("db");
@@ -105,6 +109,41 @@ public enum CardRepository {
             });
         } catch (Exception ex) {
         }
+        // rebuilt with the next query or the next content version
+        catalog = null;
+    }
+
+    /**
+     * Returns the in memory catalog of the cards. It's built with the first
+     * call and rebuilt if the content version of the DB is changed.
+     *
+     * @return the catalog or null if the cards can't be read from the DB
+     */
+    public CardCatalog getCatalog() {
+        CardCatalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    current = buildCatalog(getContentVersionFromDB());
+                    catalog = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private CardCatalog buildCatalog(long contentVersion) {
+        try {
+            long start = System.currentTimeMillis();
+            CardCatalog newCatalog = new CardCatalog(contentVersion, cardDao.queryForAll());
+            Logger.getLogger(CardRepository.class).info("Card catalog built - cards: " + newCatalog.size()
+                    + ", content version: " + contentVersion + ", time: " + (System.currentTimeMillis() - start) + " ms");
+            return newCatalog;
+        } catch (SQLException ex) {
+            Logger.getLogger(CardRepository.class).error("Error building card catalog - ", ex);
+        }
+        return null;
     }
 
     public boolean cardExists(String className) {
@@ -142,6 +181,10 @@ public enum CardRepository {
     }
 
     public Set<String> getNames() {
+        CardCatalog current = getCatalog();
+        if (current != null) {
+            return new TreeSet<>(current.getNames(0, 0));
+        }
         Set<String> names = new TreeSet<>();
         try {
             QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
@@ -162,6 +205,10 @@ public enum CardRepository {
     }
 
     public Set<String> getNonLandNames() {
+        CardCatalog current = getCatalog();
+        if (current != null) {
+            return new TreeSet<>(current.getNames(0, CardCatalog.getTypeMask(CardType.LAND)));
+        }
         Set<String> names = new TreeSet<>();
         try {
             QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
@@ -183,6 +230,10 @@ public enum CardRepository {
     }
 
     public Set<String> getCreatureNames() {
+        CardCatalog current = getCatalog();
+        if (current != null) {
+            return new TreeSet<>(current.getNames(CardCatalog.getTypeMask(CardType.CREATURE), 0));
+        }
         Set<String> names = new TreeSet<>();
         try {
             QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
@@ -204,6 +255,10 @@ public enum CardRepository {
     }
 
     public Set<String> getNonLandAndNonCreatureNames() {
+        CardCatalog current = getCatalog();
+        if (current != null) {
+            return new TreeSet<>(current.getNames(0, CardCatalog.getTypeMask(CardType.CREATURE, CardType.LAND)));
+        }
         Set<String> names = new TreeSet<>();
         try {
             QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
@@ -226,6 +281,10 @@ public enum CardRepository {
     }
 
     public Set<String> getNonArtifactAndNonLandNames() {
+        CardCatalog current = getCatalog();
+        if (current != null) {
+            return new TreeSet<>(current.getNames(0, CardCatalog.getTypeMask(CardType.ARTIFACT, CardType.LAND)));
+        }
         Set<String> names = new TreeSet<>();
         try {
             QueryBuilder<CardInfo, Object> qb = cardDao.queryBuilder();
@@ -307,7 +366,36 @@ public enum CardRepository {
         return landTypes;
     }
 
+    /**
+     * Returns the keys of all cards in the DB, a key is built by
+     * {@link #getCardKey(String, String)}.
+     *
+     * @return
+     */
+    public Set<String> getCardKeys() {
+        Set<String> keys = new HashSet<>();
+        try {
+            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
+            queryBuilder.selectColumns("setCode", "cardNumber").where().eq("nightCard", false);
+            List<CardInfo> results = cardDao.query(queryBuilder.prepare());
+            for (CardInfo card : results) {
+                keys.add(getCardKey(card.getSetCode(), card.getCardNumber()));
+            }
+        } catch (SQLException ex) {
+            Logger.getLogger(CardRepository.class).error("Error getting card keys from DB - ", ex);
+        }
+        return keys;
+    }
+
+    public static String getCardKey(String setCode, String cardNumber) {
+        return setCode + '|' + cardNumber;
+    }
+
     public CardInfo findCard(String setCode, String cardNumber) {
+        CardCatalog current = getCatalog();
+        if (current != null) {
+            return current.findCard(setCode, cardNumber);
+        }
         try {
             QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
             queryBuilder.limit(1L).where().eq("setCode", new SelectArg(setCode)).and().eq("cardNumber", cardNumber).and().eq("nightCard", false);
@@ -387,6 +475,10 @@ public enum CardRepository {
     }
 
     public List<CardInfo> findCards(String name) {
+        CardCatalog current = getCatalog();
+        if (current != null) {
+            return current.findCards(name);
+        }
         try {
             QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
             queryBuilder.where().eq("name", new SelectArg(name));
@@ -397,6 +489,10 @@ public enum CardRepository {
     }
 
     public List<CardInfo> findCardsCaseInsensitive(String name) {
+        CardCatalog current = getCatalog();
+        if (current != null) {
+            return current.findCardsCaseInsensitive(name);
+        }
         try {
             String sqlName = name.toLowerCase().replaceAll("\'", "\'\'");
             GenericRawResults<CardInfo> rawResults = cardDao.queryRaw(
@@ -413,18 +509,88 @@ public enum CardRepository {
         return Collections.emptyList();
     }
 
+    /**
+     * If set, each {@link #findCards(CardCriteria)} answered by the catalog
+     * runs the query of the DB too and throws an
+     * {@link IllegalStateException} if the cards found differ.
+     *
+     * @param verify
+     */
+    public static void setVerifyCardCatalog(boolean verify) {
+        verifyCardCatalog = verify;
+    }
+
+    public static boolean isVerifyCardCatalog() {
+        return verifyCardCatalog;
+    }
+
     public List<CardInfo> findCards(CardCriteria criteria) {
+        CardCatalog current = getCatalog();
+        if (current != null) {
+            List<CardInfo> result = criteria.find(current);
+            if (result != null) {
+                if (verifyCardCatalog) {
+                    verifyCatalogResult(criteria, result);
+                }
+                return result;
+            }
+        }
         try {
-            QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
-            criteria.buildQuery(queryBuilder);
-
-            return cardDao.query(queryBuilder.prepare());
+            return queryCards(criteria);
         } catch (SQLException ex) {
             Logger.getLogger(CardRepository.class).error("Error during execution of card repository query statement", ex);
         }
         return Collections.emptyList();
     }
 
+    private List<CardInfo> queryCards(CardCriteria criteria) throws SQLException {
+        QueryBuilder<CardInfo, Object> queryBuilder = cardDao.queryBuilder();
+        criteria.buildQuery(queryBuilder);
+
+        return cardDao.query(queryBuilder.prepare());
+    }
+
+    private void verifyCatalogResult(CardCriteria criteria, List<CardInfo> found) {
+        List<CardInfo> expected;
+        try {
+            expected = queryCards(criteria);
+        } catch (SQLException ex) {
+            // the DB can't compare card numbers like 12a with the min/max card number
+            return;
+        }
+        if (criteria.isPaged()) {
+            // cards with the same sort value can be on another page
+            if (found.size() != expected.size()) {
+                throw new IllegalStateException("Catalog found " + found.size() + " cards but DB " + expected.size());
+            }
+            return;
+        }
+        List<String> foundKeys = getVerifyKeys(found);
+        List<String> expectedKeys = getVerifyKeys(expected);
+        Collections.sort(foundKeys);
+        Collections.sort(expectedKeys);
+        if (!foundKeys.equals(expectedKeys)) {
+            throw new IllegalStateException("Catalog found " + foundKeys + " but DB " + expectedKeys);
+        }
+        if (criteria.getSortBy() != null) {
+            Comparator<CardInfo> order = CardCatalog.getOrder(criteria.getSortBy());
+            for (int i = 1; i < expected.size(); i++) {
+                if (order.compare(expected.get(i - 1), expected.get(i)) > 0) {
+                    throw new IllegalStateException("Catalog sorts " + expected.get(i - 1).getName() + " after "
+                            + expected.get(i).getName() + " but DB before by " + criteria.getSortBy());
+                }
+            }
+        }
+    }
+
+    private static List<String> getVerifyKeys(List<CardInfo> cards) {
+        List<String> keys = new ArrayList<>(cards.size());
+        for (CardInfo card : cards) {
+            keys.add(card.getSetCode() + ' ' + card.getCardNumber() + ' ' + card.getClassName());
+        }
+        return keys;
+    }
+
     public long getContentVersionFromDB() {
         try {
             ConnectionSource connectionSource = new JdbcConnectionSource(JDBC_URL);
@@ -442,6 +608,24 @@ public enum CardRepository {
         } catch (SQLException ex) {
             Logger.getLogger(CardRepository.class).error("Error getting content version - ", ex);
         }
+        refreshCatalog(version);
+    }
+
+    /**
+     * Builds a new catalog if the content version differs from the version
+     * of the current catalog. The new catalog replaces the current one at
+     * once, queries running at the same time still use the previous catalog.
+     *
+     * @param version
+     */
+    private synchronized void refreshCatalog(long version) {
+        CardCatalog current = catalog;
+        if (current == null || current.getContentVersion() != version) {
+            CardCatalog newCatalog = buildCatalog(version);
+            if (newCatalog != null) {
+                catalog = newCatalog;
+            }
+        }
     }
 
     public long getContentVersionConstant() {
@@ -28,7 +28,11 @@
 package mage.cards.repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import mage.cards.*;
 import org.apache.log4j.Logger;
 
@@ -48,8 +52,7 @@ public class CardScanner {
         }
         scanned = true;
 
-        List<CardInfo> cardsToAdd = new ArrayList<>();
-
+        long start = System.nanoTime();
         for (ExpansionSet set : Sets.getInstance().values()) {
             ExpansionInfo expansionInfo = ExpansionRepository.instance.getSetByCode(set.getCode());
             if (expansionInfo == null) {
@@ -65,29 +68,69 @@ public class CardScanner {
             }
         }
         ExpansionRepository.instance.setContentVersion(ExpansionRepository.instance.getContentVersionConstant());
+        long setsTime = System.nanoTime();
 
+        // one query for all cards instead of one per card
+        Set<String> existingCards = CardRepository.instance.getCardKeys();
+        List<MissingCard> missingCards = new ArrayList<>();
         for (ExpansionSet set : Sets.getInstance().values()) {
             for (ExpansionSet.SetCardInfo setInfo : set.getSetCardInfo()) {
-                if (CardRepository.instance.findCard(set.getCode(), setInfo.getCardNumber()) == null) {
-                    Card card = CardImpl.createCard(setInfo.getCardClass(),
-                            new CardSetInfo(setInfo.getName(), set.getCode(), setInfo.getCardNumber(),
-                                    setInfo.getRarity(), setInfo.getGraphicInfo()));
-                    if (card != null) {
-                        cardsToAdd.add(new CardInfo(card));
-                        if (card instanceof SplitCard) {
-                            SplitCard splitCard = (SplitCard) card;
-                            cardsToAdd.add(new CardInfo(splitCard.getLeftHalfCard()));
-                            cardsToAdd.add(new CardInfo(splitCard.getRightHalfCard()));
-                        }
-                    }
+                if (!existingCards.contains(CardRepository.getCardKey(set.getCode(), setInfo.getCardNumber()))) {
+                    missingCards.add(new MissingCard(set, setInfo));
                 }
             }
         }
+        long findTime = System.nanoTime();
+
+        // the card classes are independent, so they can be instantiated on all cores
+        List<CardInfo> cardsToAdd = missingCards.parallelStream()
+                .map(MissingCard::createCardInfos)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList());
+        long createTime = System.nanoTime();
 
         if (!cardsToAdd.isEmpty()) {
             logger.info("Cards need storing in DB: " + cardsToAdd.size());
             CardRepository.instance.addCards(cardsToAdd);
         }
         CardRepository.instance.setContentVersion(CardRepository.instance.getContentVersionConstant());
+        long storeTime = System.nanoTime();
+
+        logger.info("Card scan: sets " + toMillis(setsTime - start)
+                + " ms, find missing cards (" + missingCards.size() + " of " + (existingCards.size() + missingCards.size()) + ") " + toMillis(findTime - setsTime)
+                + " ms, create cards " + toMillis(createTime - findTime)
+                + " ms, store cards " + toMillis(storeTime - createTime)
+                + " ms, total " + toMillis(storeTime - start) + " ms");
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static class MissingCard {
+
+        private final ExpansionSet set;
+        private final ExpansionSet.SetCardInfo setInfo;
+
+        MissingCard(ExpansionSet set, ExpansionSet.SetCardInfo setInfo) {
+            this.set = set;
+            this.setInfo = setInfo;
+        }
+
+        List<CardInfo> createCardInfos() {
+            List<CardInfo> cardInfos = new ArrayList<>();
+            Card card = CardImpl.createCard(setInfo.getCardClass(),
+                    new CardSetInfo(setInfo.getName(), set.getCode(), setInfo.getCardNumber(),
+                            setInfo.getRarity(), setInfo.getGraphicInfo()));
+            if (card != null) {
+                cardInfos.add(new CardInfo(card));
+                if (card instanceof SplitCard) {
+                    SplitCard splitCard = (SplitCard) card;
+                    cardInfos.add(new CardInfo(splitCard.getLeftHalfCard()));
+                    cardInfos.add(new CardInfo(splitCard.getRightHalfCard()));
+                }
+            }
+            return cardInfos;
+        }
     }
 }
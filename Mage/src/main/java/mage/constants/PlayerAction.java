@@ -82,6 +82,7 @@ public enum PlayerAction {
     CLIENT_DOWNLOAD_CARD_IMAGES,
     CLIENT_RECONNECT,
     CLIENT_REPLAY_ACTION,
+    CLIENT_REQUEST_GAME_VIEW,
     HOLD_PRIORITY,
     UNHOLD_PRIORITY
 }
@@ -90,14 +90,14 @@ public class FilterCard extends FilterObject<Card> {
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectPlayer(card, playerId), game);
+        return extraPredicates.isEmpty() || Predicates.<ObjectPlayer<Card>>applyAll(extraPredicates, new ObjectPlayer(card, playerId), game);
     }
 
     public boolean match(Card card, UUID sourceId, UUID playerId, Game game) {
         if (!this.match(card, game)) {
             return false;
         }
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(card, sourceId, playerId), game);
+        return extraPredicates.isEmpty() || Predicates.<ObjectPlayer<Card>>applyAll(extraPredicates, new ObjectSourcePlayer(card, sourceId, playerId), game);
     }
 
     public void add(ObjectPlayerPredicate predicate) {
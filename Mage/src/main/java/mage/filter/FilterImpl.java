@@ -43,6 +43,8 @@ public abstract class FilterImpl<E> implements Filter<E> {
 
     protected List<Predicate<Object>> predicates = new ArrayList<>();
     protected String message;
+    // the predicates ordered by cost, created with the first match and again after predicates were added
+    private transient volatile List<Predicate<Object>> orderedPredicates;
 
     @Override
     public abstract FilterImpl<E> copy();
@@ -59,14 +61,24 @@ public abstract class FilterImpl<E> implements Filter<E> {
     @Override
     public boolean match(E e, Game game) {
         if (checkObjectClass(e)) {
-            return Predicates.and(predicates).apply(e, game);
+            return Predicates.applyAll(getOrderedPredicates(), e, game);
         }
         return false;
     }
 
+    private List<Predicate<Object>> getOrderedPredicates() {
+        List<Predicate<Object>> ordered = orderedPredicates;
+        if (ordered == null || ordered.size() != predicates.size()) {
+            ordered = Predicates.orderByCost(predicates);
+            orderedPredicates = ordered;
+        }
+        return ordered;
+    }
+
     @Override
     public final void add(Predicate predicate) {
         predicates.add(predicate);
+        orderedPredicates = null;
     }
 
     @Override
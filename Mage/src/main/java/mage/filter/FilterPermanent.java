@@ -30,10 +30,13 @@ package mage.filter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import mage.constants.CardType;
 import mage.filter.predicate.ObjectPlayer;
 import mage.filter.predicate.ObjectPlayerPredicate;
 import mage.filter.predicate.ObjectSourcePlayer;
+import mage.filter.predicate.Predicate;
 import mage.filter.predicate.Predicates;
+import mage.filter.predicate.mageobject.CardTypePredicate;
 import mage.filter.predicate.mageobject.SubtypePredicate;
 import mage.game.Game;
 import mage.game.permanent.Permanent;
@@ -75,13 +78,26 @@ public class FilterPermanent extends FilterObject<Permanent> implements FilterIn
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(permanent, sourceId, playerId), game);
+        return extraPredicates.isEmpty() || Predicates.<ObjectPlayer<Permanent>>applyAll(extraPredicates, new ObjectSourcePlayer(permanent, sourceId, playerId), game);
     }
 
     public void add(ObjectPlayerPredicate predicate) {
         extraPredicates.add(predicate);
     }
 
+    /**
+     * @return a card type all permanents matching the filter have or null if
+     * the filter doesn't require a card type
+     */
+    public CardType getRequiredCardType() {
+        for (Predicate predicate : predicates) {
+            if (predicate instanceof CardTypePredicate) {
+                return ((CardTypePredicate) predicate).getCardType();
+            }
+        }
+        return null;
+    }
+
     @Override
     public FilterPermanent copy() {
         return new FilterPermanent(this);
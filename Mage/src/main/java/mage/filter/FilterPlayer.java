@@ -73,7 +73,7 @@ public class FilterPlayer extends FilterImpl<Player> {
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(player, sourceId, playerId), game);
+        return extraPredicates.isEmpty() || Predicates.<ObjectPlayer<Player>>applyAll(extraPredicates, new ObjectSourcePlayer(player, sourceId, playerId), game);
     }
 
     @Override
@@ -64,7 +64,7 @@ public class FilterStackObject extends FilterObject<StackObject> {
             return false;
         }
 
-        return Predicates.and(extraPredicates).apply(new ObjectSourcePlayer(stackObject, sourceId, playerId), game);
+        return extraPredicates.isEmpty() || Predicates.<ObjectPlayer<Permanent>>applyAll(extraPredicates, new ObjectSourcePlayer(stackObject, sourceId, playerId), game);
     }
 
     public void add(ObjectPlayerPredicate predicate) {
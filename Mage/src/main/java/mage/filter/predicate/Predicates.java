@@ -27,11 +27,33 @@
  */
 package mage.filter.predicate;
 
+import mage.filter.predicate.mageobject.AbilityPredicate;
+import mage.filter.predicate.mageobject.CardIdPredicate;
+import mage.filter.predicate.mageobject.CardTypePredicate;
+import mage.filter.predicate.mageobject.ColorPredicate;
+import mage.filter.predicate.mageobject.ColorlessPredicate;
+import mage.filter.predicate.mageobject.ConvertedManaCostPredicate;
+import mage.filter.predicate.mageobject.MonocoloredPredicate;
+import mage.filter.predicate.mageobject.MulticoloredPredicate;
+import mage.filter.predicate.mageobject.NamePredicate;
+import mage.filter.predicate.mageobject.PowerPredicate;
+import mage.filter.predicate.mageobject.SubtypePredicate;
+import mage.filter.predicate.mageobject.SupertypePredicate;
+import mage.filter.predicate.mageobject.ToughnessPredicate;
+import mage.filter.predicate.permanent.AnotherPredicate;
+import mage.filter.predicate.permanent.AttackingPredicate;
+import mage.filter.predicate.permanent.ControllerPredicate;
+import mage.filter.predicate.permanent.PermanentIdPredicate;
+import mage.filter.predicate.permanent.TappedPredicate;
+import mage.filter.predicate.permanent.TokenPredicate;
 import mage.game.Game;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Static utility methods pertaining to {@code Predicate} instances.
@@ -42,9 +64,98 @@ import java.util.List;
  */
 public final class Predicates {
 
+    // estimated costs of predicates, predicates that only read a field of the object are the cheapest
+    private static final int COST_FIELD = 0;
+    private static final int COST_CHARACTERISTIC = 1;
+    private static final int COST_UNKNOWN = 2;
+
+    private static final Map<Class, Integer> costs = new HashMap<>();
+
+    static {
+        costs.put(CardTypePredicate.class, COST_FIELD);
+        costs.put(SupertypePredicate.class, COST_FIELD);
+        costs.put(CardIdPredicate.class, COST_FIELD);
+        costs.put(PermanentIdPredicate.class, COST_FIELD);
+        costs.put(TappedPredicate.class, COST_FIELD);
+        costs.put(TokenPredicate.class, COST_FIELD);
+        costs.put(AttackingPredicate.class, COST_FIELD);
+        costs.put(AnotherPredicate.class, COST_FIELD);
+        costs.put(NamePredicate.class, COST_FIELD);
+        costs.put(SubtypePredicate.class, COST_CHARACTERISTIC);
+        costs.put(ColorPredicate.class, COST_CHARACTERISTIC);
+        costs.put(ColorlessPredicate.class, COST_CHARACTERISTIC);
+        costs.put(MonocoloredPredicate.class, COST_CHARACTERISTIC);
+        costs.put(MulticoloredPredicate.class, COST_CHARACTERISTIC);
+        costs.put(PowerPredicate.class, COST_CHARACTERISTIC);
+        costs.put(ToughnessPredicate.class, COST_CHARACTERISTIC);
+        costs.put(ConvertedManaCostPredicate.class, COST_CHARACTERISTIC);
+        costs.put(AbilityPredicate.class, COST_CHARACTERISTIC);
+        costs.put(ControllerPredicate.class, COST_CHARACTERISTIC);
+    }
+
     private Predicates() {
     }
 
+    /**
+     * Returns the predicates of a conjunction ordered by their estimated
+     * cost, so the cheap predicates (e.g. card type) are checked before the
+     * expensive ones (e.g. lookups in the game state). Predicates of the same
+     * cost keep their order. The predicates must not have side effects.
+     *
+     * @param <T>
+     * @param predicates
+     * @return an unmodifiable list that can be iterated by index without
+     * allocations
+     */
+    public static <T> List<T> orderByCost(List<T> predicates) {
+        List<T> ordered = new ArrayList<>(predicates.size());
+        for (int cost = COST_FIELD; cost <= COST_UNKNOWN; cost++) {
+            for (T predicate : predicates) {
+                if (getCost((Predicate) checkNotNull(predicate)) == cost) {
+                    ordered.add(predicate);
+                }
+            }
+        }
+        return Collections.unmodifiableList(ordered);
+    }
+
+    private static int getCost(Predicate predicate) {
+        if (predicate instanceof NotPredicate) {
+            return getCost(((NotPredicate) predicate).predicate);
+        }
+        if (predicate instanceof AndPredicate || predicate instanceof OrPredicate) {
+            List<? extends Predicate> components = predicate instanceof AndPredicate
+                    ? ((AndPredicate) predicate).components : ((OrPredicate) predicate).components;
+            int cost = COST_FIELD;
+            for (Predicate component : components) {
+                cost = Math.max(cost, getCost(component));
+            }
+            return cost;
+        }
+        Integer cost = costs.get(predicate.getClass());
+        return cost == null ? COST_UNKNOWN : cost;
+    }
+
+    /**
+     * Applies the predicates of a list created by
+     * {@link #orderByCost(java.util.List)}, like {@link #and(java.lang.Iterable)}
+     * without creating a predicate.
+     *
+     * @param <T>
+     * @param predicates
+     * @param input
+     * @param game
+     * @return true if all predicates evaluate to true
+     */
+    public static <T> boolean applyAll(List<? extends Predicate<? super T>> predicates, T input, Game game) {
+        for (int i = 0; i < predicates.size(); i++) {
+            if (!predicates.get(i).apply(input, game)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns a predicate that evaluates to {@code true} if the given predicate evaluates to {@code false}.
      * @param <T>
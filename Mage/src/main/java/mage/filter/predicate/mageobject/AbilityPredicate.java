@@ -54,13 +54,7 @@ public class AbilityPredicate implements Predicate<MageObject> {
         } else {
             abilities = input.getAbilities();
         }
-        
-        for (Ability ability : abilities) {
-            if (abilityClass.equals(ability.getClass())) {
-                return true;
-            }
-        }
-        return false;
+        return abilities.containsClass(abilityClass);
     }
 
     @Override
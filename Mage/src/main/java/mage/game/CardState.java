@@ -18,6 +18,8 @@ public class CardState implements Serializable {
     protected Map<String, String> info;
     protected Counters counters;
     protected Abilities<Ability> abilities;
+    // stamp of the game state that is allowed to change this object in place
+    protected long ownerStamp;
 
     private static final Map<String, String> emptyInfo = new HashMap<>();
     private static final Abilities<Ability> emptyAbilities = new AbilitiesImpl<>();
@@ -204,6 +204,14 @@ public interface Game extends MageItem, Serializable {
 
     void loadGameStates(GameStates states);
 
+    /**
+     * @return history of all game states, only filled if the game is saved
+     * (see setSaveGame)
+     */
+    GameStateHistory getGameStateHistory();
+
+    void loadGameStateHistory(GameStateHistory history);
+
     Game copy();
 
     boolean isSimulation();
@@ -214,6 +222,19 @@ public interface Game extends MageItem, Serializable {
 
     MageObject getLastKnownInformation(UUID objectId, Zone zone, int zoneChangeCounter);
 
+    /**
+     * Like {@link #getLastKnownInformation(UUID, Zone)} but returns the
+     * remembered object itself instead of a copy of it. The object is shared
+     * by all callers, so it must not be changed.
+     *
+     * @param objectId
+     * @param zone
+     * @return
+     */
+    MageObject getLastKnownInformationSnapshot(UUID objectId, Zone zone);
+
+    MageObject getLastKnownInformationSnapshot(UUID objectId, Zone zone, int zoneChangeCounter);
+
     boolean getShortLivingLKI(UUID objectId, Zone zone);
 
     void rememberLKI(UUID objectId, Zone zone, MageObject object);
@@ -273,6 +294,14 @@ public interface Game extends MageItem, Serializable {
 
     void fireUpdatePlayersEvent();
 
+    /**
+     * A computer player starts a search, the game waits until the search is
+     * done.
+     *
+     * @param playerId
+     */
+    void firePlayerThinkingEvent(UUID playerId);
+
     void informPlayers(String message);
 
     void informPlayer(Player player, String message);
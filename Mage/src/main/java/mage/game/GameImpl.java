@@ -144,6 +144,9 @@ public abstract class GameImpl implements Game, Serializable {
 
     private static final Logger logger = Logger.getLogger(GameImpl.class);
 
+    // if set every object lookup is compared with a search of all zones (for tests)
+    private static volatile boolean verifyObjectLookup = Boolean.getBoolean("verifyObjectLookup");
+
     private static final FilterPermanent FILTER_AURA = new FilterPermanent();
     private static final FilterPermanent FILTER_EQUIPMENT = new FilterPermanent();
     private static final FilterPermanent FILTER_FORTIFICATION = new FilterPermanent();
@@ -176,6 +179,12 @@ public abstract class GameImpl implements Game, Serializable {
 
     protected Map<Zone, HashMap<UUID, MageObject>> lki = new EnumMap<>(Zone.class);
     protected Map<UUID, Map<Integer, MageObject>> lkiExtended = new HashMap<>();
+    // the remembered spells by the id of their card
+    protected Map<Zone, Map<UUID, Spell>> lkiSpells = new EnumMap<>(Zone.class);
+    // statistics of the Last Known Information of this game
+    private transient long lkiSnapshots;
+    private transient long lkiCopies;
+    private transient int lkiPeakSize;
     // Used to check if an object was moved by the current effect in resolution (so Wrath like effect can be handled correctly)
     protected Map<Zone, Set<UUID>> shortLivingLKI = new EnumMap<>(Zone.class);
 
@@ -185,6 +194,8 @@ public abstract class GameImpl implements Game, Serializable {
     protected GameState state;
     private transient Stack<Integer> savedStates = new Stack<>();
     protected transient GameStates gameStates = new GameStates();
+    // all game states of the game to be able to replay it, only used if game is saved
+    protected transient GameStateHistory gameStateHistory = new GameStateHistory();
     // game states to allow player rollback
     protected transient Map<Integer, GameState> gameStatesRollBack = new HashMap<>();
     protected boolean executingRollback;
@@ -249,6 +260,7 @@ public abstract class GameImpl implements Game, Serializable {
         this.gameOptions = game.gameOptions;
         this.lki.putAll(game.lki);
         this.lkiExtended.putAll(game.lkiExtended);
+        this.lkiSpells.putAll(game.lkiSpells);
         this.shortLivingLKI.putAll(game.shortLivingLKI);
         this.permanentsEntering.putAll(game.permanentsEntering);
         if (logger.isDebugEnabled()) {
@@ -358,45 +370,96 @@ public abstract class GameImpl implements Game, Serializable {
         return state.getPlayer(playerId);
     }
 
+    /**
+     * If set, each {@link #getObject(UUID)} compares the object found by the
+     * indexes of the zones with the object found by searching all zones and
+     * throws an {@link IllegalStateException} if they differ.
+     *
+     * @param verify
+     */
+    public static void setVerifyObjectLookup(boolean verify) {
+        verifyObjectLookup = verify;
+    }
+
+    public static boolean isVerifyObjectLookup() {
+        return verifyObjectLookup;
+    }
+
     @Override
     public MageObject getObject(UUID objectId) {
         if (objectId == null) {
             return null;
         }
-        MageObject object;
-        if (state.getBattlefield().containsPermanent(objectId)) {
-            object = state.getBattlefield().getPermanent(objectId);
+        MageObject object = findObject(objectId);
+        if (verifyObjectLookup) {
+            MageObject expected = searchObject(objectId);
+            if (expected != object) {
+                throw new IllegalStateException("Object lookup of " + objectId + " found " + object + " but expected " + expected);
+            }
+        }
+        if (object == null) {
+            // can be an ability of a sacrificed Token trying to get it's source object
+            object = getLastKnownInformation(objectId, Zone.BATTLEFIELD);
+        }
+        return object;
+    }
+
+    private MageObject findObject(UUID objectId) {
+        Permanent permanent = state.getBattlefield().getPermanent(objectId);
+        if (permanent != null) {
             state.setZone(objectId, Zone.BATTLEFIELD); // why is this neccessary?
-            return object;
+            return permanent;
         }
-        for (StackObject item : state.getStack()) {
+        StackObject item = state.getStack().getObject(objectId);
+        if (item != null) {
             if (item.getId().equals(objectId)) {
                 state.setZone(objectId, Zone.STACK); // why is this neccessary?
+            }
+            return item;
+        }
+        CommandObject commandObject = state.getCommand().getObject(objectId);
+        if (commandObject != null) {
+            return commandObject;
+        }
+        MageObject object = getCard(objectId);
+        if (object == null) {
+            for (Designation designation : state.getDesignations()) {
+                if (designation.getId().equals(objectId)) {
+                    return designation;
+                }
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Searches all zones without the indexes, only used to verify them.
+     */
+    private MageObject searchObject(UUID objectId) {
+        if (state.getBattlefield().containsPermanent(objectId)) {
+            return state.getBattlefield().getPermanent(objectId);
+        }
+        for (StackObject item : state.getStack()) {
+            if (item.getId().equals(objectId)) {
                 return item;
             }
             if (item.getSourceId().equals(objectId) && item instanceof Spell) {
                 return item;
             }
         }
-
         for (CommandObject commandObject : state.getCommand()) {
             if (commandObject.getId().equals(objectId)) {
                 return commandObject;
             }
         }
-
-        object = getCard(objectId);
-
+        MageObject object = getCard(objectId);
         if (object == null) {
             for (Designation designation : state.getDesignations()) {
                 if (designation.getId().equals(objectId)) {
                     return designation;
                 }
             }
-            // can be an ability of a sacrificed Token trying to get it's source object
-            object = getLastKnownInformation(objectId, Zone.BATTLEFIELD);
         }
-
         return object;
     }
 
@@ -421,18 +484,13 @@ public abstract class GameImpl implements Game, Serializable {
         if (object != null) {
             return object;
         }
-        for (CommandObject commandObject : state.getCommand()) {
-            if (commandObject instanceof Commander && commandObject.getId().equals(objectId)) {
-                return commandObject;
-            }
+        CommandObject commandObject = state.getCommand().getObject(objectId);
+        if (commandObject instanceof Commander) {
+            return commandObject;
         }
         object = getCard(objectId);
         if (object == null) {
-            for (CommandObject commandObject : state.getCommand()) {
-                if (commandObject.getId().equals(objectId)) {
-                    return commandObject;
-                }
-            }
+            return commandObject;
         }
         return object;
     }
@@ -442,12 +500,7 @@ public abstract class GameImpl implements Game, Serializable {
         if (objectId == null) {
             return null;
         }
-        for (CommandObject commandObject : state.getCommand()) {
-            if (commandObject.getId().equals(objectId)) {
-                return commandObject;
-            }
-        }
-        return null;
+        return state.getCommand().getObject(objectId);
     }
 
     @Override
@@ -571,12 +624,25 @@ public abstract class GameImpl implements Game, Serializable {
         this.gameStates = states;
     }
 
+    @Override
+    public GameStateHistory getGameStateHistory() {
+        return gameStateHistory;
+    }
+
+    @Override
+    public void loadGameStateHistory(GameStateHistory history) {
+        this.gameStateHistory = history;
+    }
+
     @Override
     public void saveState(boolean bookmark) {
         if (!simulation && gameStates != null) {
-            if (bookmark || saveGame) {
+            if (bookmark) {
                 gameStates.save(state);
             }
+            if (saveGame) {
+                gameStateHistory.save(state);
+            }
         }
     }
 
@@ -1133,6 +1199,10 @@ public abstract class GameImpl implements Game, Serializable {
     public void end() {
         if (!state.isGameOver()) {
             logger.debug("END of gameId: " + this.getId());
+            if (logger.isDebugEnabled()) {
+                logger.debug(state.getEventStatistics());
+                logger.debug(getLKIStatistics());
+            }
             endTime = new Date();
             state.endGame();
             for (Player player : state.getPlayers().values()) {
@@ -2205,6 +2275,14 @@ public abstract class GameImpl implements Game, Serializable {
         getState().clearRevealed();
     }
 
+    @Override
+    public void firePlayerThinkingEvent(UUID playerId) {
+        if (simulation) {
+            return;
+        }
+        tableEventSource.fireTableEvent(EventType.PLAYER_THINKING, playerId, null, this);
+    }
+
     @Override
     public void fireGameEndInfo() {
         if (simulation) {
@@ -2344,6 +2422,7 @@ public abstract class GameImpl implements Game, Serializable {
                 }
             }
         }
+        getBattlefield().invalidateIndexes();
         // Then, if that player controlled any objects on the stack not represented by cards, those objects cease to exist.
         this.getState().getContinuousEffects().removeInactiveEffects(this);
         getStack().removeIf(object -> object.getControllerId().equals(playerId));
@@ -2497,6 +2576,7 @@ public abstract class GameImpl implements Game, Serializable {
         tableEventSource = new TableEventSource();
         playerQueryEventSource = new PlayerQueryEventSource();
         gameStates = new GameStates();
+        gameStateHistory = new GameStateHistory();
     }
 
     /**
@@ -2515,38 +2595,67 @@ public abstract class GameImpl implements Game, Serializable {
         /*if (!lki.containsKey(objectId)) {
          return getCard(objectId);
          }*/
-        Map<UUID, MageObject> lkiMap = lki.get(zone);
-        if (lkiMap != null) {
-            MageObject object = lkiMap.get(objectId);
-            if (object != null) {
-                return object.copy();
-            }
-            for (MageObject mageObject : lkiMap.values()) {
-                if (mageObject instanceof Spell) {
-                    if (((Spell) mageObject).getCard().getId().equals(objectId)) {
-                        return mageObject;
-                    }
-                }
-
-            }
+        MageObject object = getRemembered(objectId, zone);
+        if (object != null) {
+            return copyLastKnownInformation(object);
         }
-        return null;
+        return getRememberedSpell(objectId, zone);
     }
 
     @Override
     public MageObject getLastKnownInformation(UUID objectId, Zone zone, int zoneChangeCounter) {
+        MageObject object = getRemembered(objectId, zone, zoneChangeCounter);
+        if (object != null) {
+            return copyLastKnownInformation(object);
+        }
+        return getLastKnownInformation(objectId, zone);
+    }
+
+    @Override
+    public MageObject getLastKnownInformationSnapshot(UUID objectId, Zone zone) {
+        MageObject object = getRemembered(objectId, zone);
+        if (object != null) {
+            return object;
+        }
+        return getRememberedSpell(objectId, zone);
+    }
+
+    @Override
+    public MageObject getLastKnownInformationSnapshot(UUID objectId, Zone zone, int zoneChangeCounter) {
+        MageObject object = getRemembered(objectId, zone, zoneChangeCounter);
+        if (object != null) {
+            return object;
+        }
+        return getLastKnownInformationSnapshot(objectId, zone);
+    }
+
+    private MageObject getRemembered(UUID objectId, Zone zone) {
+        Map<UUID, MageObject> lkiMap = lki.get(zone);
+        return lkiMap == null ? null : lkiMap.get(objectId);
+    }
+
+    private MageObject getRemembered(UUID objectId, Zone zone, int zoneChangeCounter) {
         if (zone.equals(Zone.BATTLEFIELD)) {
             Map<Integer, MageObject> lkiMapExtended = lkiExtended.get(objectId);
-
             if (lkiMapExtended != null) {
-                MageObject object = lkiMapExtended.get(zoneChangeCounter);
-                if (object != null) {
-                    return object.copy();
-                }
+                return lkiMapExtended.get(zoneChangeCounter);
             }
         }
+        return null;
+    }
 
-        return getLastKnownInformation(objectId, zone);
+    /**
+     * @return the remembered spell of the card with the id, it was never
+     * copied for reading
+     */
+    private Spell getRememberedSpell(UUID cardId, Zone zone) {
+        Map<UUID, Spell> spells = lkiSpells.get(zone);
+        return spells == null ? null : spells.get(cardId);
+    }
+
+    private MageObject copyLastKnownInformation(MageObject object) {
+        lkiCopies++;
+        return object.copy();
     }
 
     @Override
@@ -2569,6 +2678,7 @@ public abstract class GameImpl implements Game, Serializable {
     public void rememberLKI(UUID objectId, Zone zone, MageObject object) {
         if (object instanceof Permanent || object instanceof StackObject) {
             MageObject copy = object.copy();
+            lkiSnapshots++;
 
             Map<UUID, MageObject> lkiMap = lki.get(zone);
             if (lkiMap != null) {
@@ -2578,6 +2688,9 @@ public abstract class GameImpl implements Game, Serializable {
                 newMap.put(objectId, copy);
                 lki.put(zone, newMap);
             }
+            if (copy instanceof Spell) {
+                lkiSpells.computeIfAbsent(zone, k -> new HashMap<>()).put(((Spell) copy).getCard().getId(), (Spell) copy);
+            }
             // remembers if a object was in a zone during the resolution of an effect
             // e.g. Wrath destroys all and you the question is is the replacement effect to apply because the source was also moved by the same effect
             // because it ahppens all at the same time the replcaement effect has still to be applied
@@ -2597,6 +2710,7 @@ public abstract class GameImpl implements Game, Serializable {
                     lkiExtended.put(objectId, lkiExtendedMap);
                 }
             }
+            lkiPeakSize = Math.max(lkiPeakSize, getLKISize());
         }
     }
 
@@ -2607,6 +2721,25 @@ public abstract class GameImpl implements Game, Serializable {
     public void resetLKI() {
         lki.clear();
         lkiExtended.clear();
+        lkiSpells.clear();
+    }
+
+    /**
+     * @return number of objects currently remembered as Last Known
+     * Information (an object remembered for the battlefield is counted once)
+     */
+    public int getLKISize() {
+        int size = 0;
+        for (Map<UUID, MageObject> lkiMap : lki.values()) {
+            size += lkiMap.size();
+        }
+        return size;
+    }
+
+    public String getLKIStatistics() {
+        return "LKI objects remembered: " + lkiSnapshots
+                + ", copied for reading: " + lkiCopies
+                + ", most remembered at once: " + lkiPeakSize;
     }
 
     @Override
@@ -40,6 +40,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import mage.MageObject;
 import mage.abilities.Abilities;
 import mage.abilities.Ability;
@@ -63,6 +64,7 @@ import mage.game.combat.Combat;
 import mage.game.combat.CombatGroup;
 import mage.game.command.Command;
 import mage.game.command.CommandObject;
+import mage.game.events.EventTypeIndex;
 import mage.game.events.GameEvent;
 import mage.game.events.ZoneChangeEvent;
 import mage.game.events.ZoneChangeGroupEvent;
@@ -76,6 +78,7 @@ import mage.players.Player;
 import mage.players.PlayerList;
 import mage.players.Players;
 import mage.target.Target;
+import mage.util.CopyOnWriteMap;
 import mage.util.Copyable;
 import mage.util.ThreadLocalStringBuilder;
 import mage.watchers.Watcher;
@@ -94,6 +97,7 @@ import mage.watchers.Watchers;
 public class GameState implements Serializable, Copyable<GameState> {
 
     private static final ThreadLocalStringBuilder threadLocalBuilder = new ThreadLocalStringBuilder(1024);
+    private static final AtomicLong stampCounter = new AtomicLong();
 
     private final Players players;
     private final PlayerList playerList;
@@ -129,13 +133,21 @@ public class GameState implements Serializable, Copyable<GameState> {
     private List<TriggeredAbility> triggered = new ArrayList<>();
     private Combat combat;
     private Map<String, Object> values = new HashMap<>();
-    private Map<UUID, Zone> zones = new HashMap<>();
+    // the id keyed maps are shared with copies of the state until they are changed
+    private CopyOnWriteMap<UUID, Zone> zones = new CopyOnWriteMap<>();
     private List<GameEvent> simultaneousEvents = new ArrayList<>();
-    private Map<UUID, CardState> cardState = new HashMap<>();
+    private CopyOnWriteMap<UUID, CardState> cardState = new CopyOnWriteMap<>();
     private Map<UUID, CardAttribute> cardAttribute = new HashMap<>();
-    private Map<UUID, Integer> zoneChangeCounter = new HashMap<>();
-    private Map<UUID, Card> copiedCards = new HashMap<>();
+    private CopyOnWriteMap<UUID, Integer> zoneChangeCounter = new CopyOnWriteMap<>();
+    private CopyOnWriteMap<UUID, Card> copiedCards = new CopyOnWriteMap<>();
     private int permanentOrderNumber;
+    // card states with this stamp belong to this state only and can be changed in place
+    private long stamp = stampCounter.incrementAndGet();
+    // counts the abilities added to cards outside of the battlefield
+    private transient int otherAbilitiesChanges;
+    // counts the handled events and applications of the continuous effects
+    private transient int changes;
+    private transient EventTypeIndex.Statistics eventStatistics;
 
     public GameState() {
         players = new Players();
@@ -196,16 +208,16 @@ public class GameState implements Serializable, Copyable<GameState> {
                 this.values.put(entry.getKey(), entry.getValue());
             }
         }
-        this.zones.putAll(state.zones);
+        this.zones = state.zones.copy();
         this.simultaneousEvents.addAll(state.simultaneousEvents);
-        for (Map.Entry<UUID, CardState> entry : state.cardState.entrySet()) {
-            cardState.put(entry.getKey(), entry.getValue().copy());
-        }
+        // card states are shared and only copied if one of the states changes them (see getCardState)
+        this.cardState = state.cardState.copy();
+        state.stamp = stampCounter.incrementAndGet();
         for (Map.Entry<UUID, CardAttribute> entry : state.cardAttribute.entrySet()) {
             cardAttribute.put(entry.getKey(), entry.getValue().copy());
         }
-        this.zoneChangeCounter.putAll(state.zoneChangeCounter);
-        this.copiedCards.putAll(state.copiedCards);
+        this.zoneChangeCounter = state.zoneChangeCounter.copy();
+        this.copiedCards = state.copiedCards.copy();
         this.permanentOrderNumber = state.permanentOrderNumber;
     }
 
@@ -242,13 +254,17 @@ public class GameState implements Serializable, Copyable<GameState> {
             Player origPlayer = players.get(copyPlayer.getId());
             origPlayer.restore(copyPlayer);
         }
-        this.zones = state.zones;
+        this.zones = state.zones.copy();
         this.simultaneousEvents = state.simultaneousEvents;
-        this.cardState = state.cardState;
+        this.cardState = state.cardState.copy();
+        this.stamp = stampCounter.incrementAndGet();
         this.cardAttribute = state.cardAttribute;
-        this.zoneChangeCounter = state.zoneChangeCounter;
-        this.copiedCards = state.copiedCards;
+        this.zoneChangeCounter = state.zoneChangeCounter.copy();
+        this.copiedCards = state.copiedCards.copy();
         this.permanentOrderNumber = state.permanentOrderNumber;
+        // the state is changed in place, results calculated from it before are outdated
+        this.otherAbilitiesChanges++;
+        this.changes++;
     }
 
     @Override
@@ -570,10 +586,12 @@ public class GameState implements Serializable, Copyable<GameState> {
         for (Player player : players.values()) {
             player.reset();
         }
+        changes++;
         battlefield.reset(game);
         combat.reset(game);
         this.reset();
         effects.apply(game);
+        battlefield.resumeIndexes();
         combat.checkForRemoveFromCombat(game);
     }
 
@@ -673,7 +691,10 @@ public class GameState implements Serializable, Copyable<GameState> {
     }
 
     public void setZone(UUID id, Zone zone) {
-        zones.put(id, zone);
+        // getObject sets the zone on every call, so don't detach the shared zones for an unchanged value
+        if (zones.get(id) != zone || !zones.containsKey(id)) {
+            zones.put(id, zone);
+        }
     }
 
     public void addSimultaneousEvent(GameEvent event, Game game) {
@@ -698,7 +719,18 @@ public class GameState implements Serializable, Copyable<GameState> {
         return !simultaneousEvents.isEmpty();
     }
 
+    /**
+     * @return the events dispatched to the triggers and watchers of this state
+     */
+    public EventTypeIndex.Statistics getEventStatistics() {
+        if (eventStatistics == null) {
+            eventStatistics = new EventTypeIndex.Statistics();
+        }
+        return eventStatistics;
+    }
+
     public void handleEvent(GameEvent event, Game game) {
+        changes++;
         watchers.watch(event, game);
         delayed.checkTriggers(event, game);
         triggers.checkTriggers(event, game);
@@ -963,14 +995,22 @@ public class GameState implements Serializable, Copyable<GameState> {
      */
     public Abilities<ActivatedAbility> getActivatedOtherAbilities(UUID objectId, Zone zone) {
         if (cardState.containsKey(objectId)) {
-            return cardState.get(objectId).getAbilities().getActivatedAbilities(zone);
+            // the abilities may be activated, so don't return the ones of a shared card state
+            return getCardState(objectId).getAbilities().getActivatedAbilities(zone);
         }
         return null;
     }
 
+    /**
+     * @param objectId
+     * @return the other abilities of the object, they may be shared with a
+     * copy of this game state so they must not be changed (use
+     * {@link #getCardState(UUID)} to change them)
+     */
     public Abilities<Ability> getAllOtherAbilities(UUID objectId) {
-        if (cardState.containsKey(objectId)) {
-            return cardState.get(objectId).getAbilities();
+        CardState state = cardState.get(objectId);
+        if (state != null) {
+            return state.getAbilities();
         }
         return null;
     }
@@ -1002,13 +1042,33 @@ public class GameState implements Serializable, Copyable<GameState> {
         }
         newAbility.setSourceId(attachedTo.getId());
         newAbility.setControllerId(attachedTo.getOwnerId());
-        if (!cardState.containsKey(attachedTo.getId())) {
-            cardState.put(attachedTo.getId(), new CardState());
-        }
-        cardState.get(attachedTo.getId()).addAbility(newAbility);
+        getCardState(attachedTo.getId()).addAbility(newAbility);
+        otherAbilitiesChanges++;
         addAbility(newAbility, attachedTo.getId(), attachedTo);
     }
 
+    /**
+     * Returns a number that is changed whenever an ability is added to a card
+     * outside of the battlefield.
+     *
+     * @return
+     */
+    public int getOtherAbilitiesChanges() {
+        return otherAbilitiesChanges;
+    }
+
+    /**
+     * Returns a number that is changed whenever an event is handled or the
+     * continuous effects are applied. Everything that changes the game fires
+     * an event or is followed by applying the effects, so results calculated
+     * from the state can be kept as long as the number is the same.
+     *
+     * @return
+     */
+    public int getChanges() {
+        return changes;
+    }
+
     /**
      * Removes Triggered abilities that belong to sourceId This is used if a
      * token leaves the battlefield
@@ -1027,8 +1087,22 @@ public class GameState implements Serializable, Copyable<GameState> {
         triggers.removeAllGainedAbilities();
         getContinuousEffects().removeAllTemporaryEffects();
         this.setLegendaryRuleActive(true);
-        for (CardState state : cardState.values()) {
-            state.clearAbilities();
+        List<UUID> sharedStates = null;
+        for (Map.Entry<UUID, CardState> entry : cardState.entrySet()) {
+            CardState state = entry.getValue();
+            if (state.ownerStamp == stamp) {
+                state.clearAbilities();
+            } else if (!state.getAbilities().isEmpty()) {
+                if (sharedStates == null) {
+                    sharedStates = new ArrayList<>();
+                }
+                sharedStates.add(entry.getKey());
+            }
+        }
+        if (sharedStates != null) {
+            for (UUID cardId : sharedStates) {
+                getCardState(cardId).clearAbilities();
+            }
         }
         cardAttribute.clear();
     }
@@ -1091,11 +1165,25 @@ public class GameState implements Serializable, Copyable<GameState> {
         return triggers;
     }
 
+    /**
+     * Returns the card state of the card that can be changed. A card state
+     * that is still shared with a copy of this game state is copied first.
+     *
+     * @param cardId
+     * @return
+     */
     public CardState getCardState(UUID cardId) {
-        if (!cardState.containsKey(cardId)) {
-            cardState.put(cardId, new CardState());
+        CardState state = cardState.get(cardId);
+        if (state == null) {
+            state = new CardState();
+        } else if (state.ownerStamp == stamp) {
+            return state;
+        } else {
+            state = state.copy();
         }
-        return cardState.get(cardId);
+        state.ownerStamp = stamp;
+        cardState.put(cardId, state);
+        return state;
     }
 
     public CardAttribute getCardAttribute(UUID cardId) {
@@ -1128,7 +1216,7 @@ public class GameState implements Serializable, Copyable<GameState> {
         this.zoneChangeCounter.put(objectId, value);
         // card is changing zone so clear state
         if (cardState.containsKey(objectId)) {
-            this.cardState.get(objectId).clear();
+            getCardState(objectId).clear();
         }
     }
 
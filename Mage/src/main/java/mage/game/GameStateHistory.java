@@ -0,0 +1,135 @@
+package mage.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import mage.util.BinaryDelta;
+import mage.util.CopierObjectInputStream;
+import mage.util.FastByteArrayOutputStream;
+import org.apache.log4j.Logger;
+
+/**
+ * Compact history of all game states of a game (used to save and replay
+ * games).
+ *
+ * Every state is serialized and stored either as a keyframe (the compressed
+ * serialized state) or as a compressed binary delta against the previous
+ * state. Because consecutive states differ only in a few zones, counters or
+ * permanents the deltas are small. To get a state the nearest keyframe is
+ * decoded and the deltas up to the state are applied.
+ */
+public class GameStateHistory implements Serializable {
+
+    private static final Logger logger = Logger.getLogger(GameStateHistory.class);
+
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 50;
+
+    private final int keyframeInterval;
+    private final List<byte[]> entries = new ArrayList<>();
+    private final List<Boolean> keyframes = new ArrayList<>();
+    private long memorySize;
+
+    // serialized form of the last saved state, base of the next delta
+    private transient byte[] lastState;
+    // last decoded state, speeds up stepping through the history
+    private transient int decodedIndex = -1;
+    private transient byte[] decodedState;
+
+    public GameStateHistory() {
+        this(DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public GameStateHistory(int keyframeInterval) {
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    public synchronized void save(GameState gameState) {
+        byte[] state;
+        try {
+            state = serialize(gameState);
+        } catch (IOException ex) {
+            logger.error("Can't save game state to history", ex);
+            return;
+        }
+        boolean keyframe = lastState == null || entries.size() % keyframeInterval == 0;
+        byte[] entry = BinaryDelta.compress(keyframe ? state : BinaryDelta.encode(lastState, state));
+        entries.add(entry);
+        keyframes.add(keyframe);
+        memorySize += entry.length;
+        lastState = state;
+        if (logger.isTraceEnabled()) {
+            logger.trace("Saved game state " + entries.size() + (keyframe ? " (keyframe) " : " ") + state.length
+                    + " bytes as " + entry.length + " bytes, history size: " + memorySize);
+        }
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of bytes used by the stored states
+     */
+    public synchronized long getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Decodes the state with the given index.
+     *
+     * @param index
+     * @param loader class loader used to resolve the classes of the state
+     * @return the state or null if no state with that index exists
+     */
+    public synchronized GameState get(int index, ClassLoader loader) {
+        if (index < 0 || index >= entries.size()) {
+            return null;
+        }
+        byte[] state = decode(index);
+        try (ObjectInputStream in = new CopierObjectInputStream(loader, new ByteArrayInputStream(state))) {
+            return (GameState) in.readObject();
+        } catch (IOException | ClassNotFoundException ex) {
+            logger.error("Can't load game state " + index + " from history", ex);
+        }
+        return null;
+    }
+
+    private byte[] decode(int index) {
+        int start = index;
+        while (!keyframes.get(start)) {
+            start--;
+        }
+        byte[] state;
+        if (decodedState != null && decodedIndex >= start && decodedIndex <= index) {
+            start = decodedIndex;
+            state = decodedState;
+        } else {
+            state = BinaryDelta.uncompress(entries.get(start));
+        }
+        for (int i = start + 1; i <= index; i++) {
+            state = BinaryDelta.apply(state, BinaryDelta.uncompress(entries.get(i)));
+        }
+        decodedIndex = index;
+        decodedState = state;
+        return state;
+    }
+
+    private static byte[] serialize(GameState gameState) throws IOException {
+        FastByteArrayOutputStream fbos = new FastByteArrayOutputStream(64 * 1024);
+        try (ObjectOutputStream out = new ObjectOutputStream(fbos)) {
+            out.writeObject(gameState);
+        }
+        byte[] state = new byte[fbos.getSize()];
+        System.arraycopy(fbos.getByteArray(), 0, state, 0, fbos.getSize());
+        return state;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        decodedIndex = -1;
+    }
+}
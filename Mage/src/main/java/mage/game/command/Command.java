@@ -29,6 +29,9 @@
 package mage.game.command;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  *
@@ -38,10 +41,37 @@ public class Command extends ArrayList<CommandObject> {
 
     public Command () {}
 
+    // the command objects by id, created with the first lookup after the list was changed
+    private transient Map<UUID, CommandObject> objects;
+    private transient int indexModCount;
+
     public Command(final Command command) {
         addAll(command);
     }
 
+    /**
+     * @param id
+     * @return the command object with the id or null
+     */
+    public CommandObject getObject(UUID id) {
+        if (objects == null || indexModCount != modCount) {
+            Map<UUID, CommandObject> byId = new HashMap<>();
+            for (CommandObject commandObject : this) {
+                byId.putIfAbsent(commandObject.getId(), commandObject);
+            }
+            objects = byId;
+            indexModCount = modCount;
+        }
+        return objects.get(id);
+    }
+
+    @Override
+    public CommandObject set(int index, CommandObject element) {
+        // replacing doesn't change the modCount
+        objects = null;
+        return super.set(index, element);
+    }
+
     /*public void checkTriggers(GameEvent event, Game game) {
         for (CommandObject commandObject: this) {
             commandObject.checkTriggers(event, game);
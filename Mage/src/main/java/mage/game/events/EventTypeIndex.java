@@ -0,0 +1,182 @@
+package mage.game.events;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import mage.game.events.GameEvent.EventType;
+
+/**
+ * Index of event listeners (triggered abilities or watchers) by the event
+ * types they react to. Listeners that don't declare their event types are
+ * returned for every event type. The listeners of an event type are returned
+ * in the order they were added to the index.
+ *
+ * The index is not updated, it has to be rebuilt if the listeners change.
+ *
+ * @param <K> key of the listener
+ */
+public class EventTypeIndex<K> {
+
+    private final List<K> keys = new ArrayList<>();
+    private final List<Integer> undeclared = new ArrayList<>();
+    private final Map<EventType, List<Integer>> declared = new EnumMap<>(EventType.class);
+    private final Map<EventType, List<K>> listeners = new EnumMap<>(EventType.class);
+
+    /**
+     * @param key
+     * @param eventTypes event types the listener reacts to or null if unknown
+     */
+    public void add(K key, Set<EventType> eventTypes) {
+        int position = keys.size();
+        keys.add(key);
+        if (eventTypes == null) {
+            undeclared.add(position);
+        } else {
+            for (EventType eventType : eventTypes) {
+                List<Integer> positions = declared.get(eventType);
+                if (positions == null) {
+                    positions = new ArrayList<>();
+                    declared.put(eventType, positions);
+                }
+                positions.add(position);
+            }
+        }
+        listeners.clear();
+    }
+
+    /**
+     * Returns the keys of all listeners that can react to the event type. The
+     * returned list is never changed, so the listeners may be changed while
+     * iterating over it.
+     *
+     * @param eventType
+     * @return
+     */
+    public List<K> get(EventType eventType) {
+        List<K> result = listeners.get(eventType);
+        if (result == null) {
+            result = merge(declared.get(eventType));
+            listeners.put(eventType, result);
+        }
+        return result;
+    }
+
+    /**
+     * Like {@link #get(EventType)}, the dispatch is counted in the statistics.
+     *
+     * @param eventType
+     * @param statistics
+     * @return
+     */
+    public List<K> get(EventType eventType, Statistics statistics) {
+        List<K> result = get(eventType);
+        statistics.dispatchedEvents++;
+        statistics.visitedListeners += result.size();
+        statistics.registeredListeners += keys.size();
+        return result;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    private List<K> merge(List<Integer> positions) {
+        if (positions == null) {
+            positions = Collections.emptyList();
+        }
+        List<K> result = new ArrayList<>(positions.size() + undeclared.size());
+        int i = 0;
+        int j = 0;
+        while (i < positions.size() || j < undeclared.size()) {
+            if (j == undeclared.size() || (i < positions.size() && positions.get(i) < undeclared.get(j))) {
+                result.add(keys.get(positions.get(i++)));
+            } else {
+                result.add(keys.get(undeclared.get(j++)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the events dispatched by the indexes of one game state. The
+     * counters aren't synchronized, they are only changed by the thread
+     * of the game.
+     */
+    public static class Statistics {
+
+        private long dispatchedEvents;
+        private long visitedListeners;
+        private long registeredListeners;
+
+        /**
+         * @return number of dispatched events
+         */
+        public long getDispatchedEvents() {
+            return dispatchedEvents;
+        }
+
+        /**
+         * @return number of listeners visited for the dispatched events
+         */
+        public long getVisitedListeners() {
+            return visitedListeners;
+        }
+
+        /**
+         * @return number of listeners that would have been visited without
+         * the index
+         */
+        public long getRegisteredListeners() {
+            return registeredListeners;
+        }
+
+        @Override
+        public String toString() {
+            long events = Math.max(1, dispatchedEvents);
+            return "Dispatched events: " + dispatchedEvents
+                    + ", listeners per event before: " + registeredListeners / events
+                    + ", after: " + visitedListeners / events;
+        }
+    }
+
+    /**
+     * Checks if the event types a listener class declares can be trusted. This
+     * is only the case if the declaration is made by the class that
+     * implements the event check or by a subclass of it. If a subclass
+     * overrides only the check, the declaration of the superclass may be
+     * wrong for it.
+     */
+    public static class DeclarationCheck {
+
+        private final Map<Class<?>, Boolean> results = new ConcurrentHashMap<>();
+        private final String declarationMethod;
+        private final String checkMethod;
+        private final Class<?>[] checkParameters;
+
+        public DeclarationCheck(String declarationMethod, String checkMethod, Class<?>... checkParameters) {
+            this.declarationMethod = declarationMethod;
+            this.checkMethod = checkMethod;
+            this.checkParameters = checkParameters;
+        }
+
+        public boolean isValid(Class<?> listenerClass) {
+            Boolean result = results.get(listenerClass);
+            if (result == null) {
+                try {
+                    Method declaration = listenerClass.getMethod(declarationMethod);
+                    Method check = listenerClass.getMethod(checkMethod, checkParameters);
+                    result = check.getDeclaringClass().isAssignableFrom(declaration.getDeclaringClass());
+                } catch (NoSuchMethodException | SecurityException ex) {
+                    result = false;
+                }
+                results.put(listenerClass, result);
+            }
+            return result;
+        }
+    }
+}
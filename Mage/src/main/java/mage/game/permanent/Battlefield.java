@@ -30,17 +30,22 @@ package mage.game.permanent;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 import mage.abilities.keyword.PhasingAbility;
 import mage.constants.CardType;
 import mage.constants.RangeOfInfluence;
 import mage.filter.FilterPermanent;
 import mage.game.Game;
+import mage.util.CardTypeList;
 
 /**
  *
@@ -48,8 +53,20 @@ import mage.game.Game;
  */
 public class Battlefield implements Serializable {
 
+    // if set every query of the indexes is compared with a search of the field (for tests)
+    private static volatile boolean verifyBattlefieldIndex = Boolean.getBoolean("verifyBattlefieldIndex");
+
     private final Map<UUID, Permanent> field = new LinkedHashMap<>();
 
+    // the permanents by controller and by card type in the order of the field,
+    // created with the first query after they were invalidated
+    private transient Map<UUID, List<Permanent>> byController;
+    private transient Map<CardType, List<Permanent>> byCardType;
+    // controllers and card types change while the continuous effects are applied
+    private transient boolean indexesSuspended;
+    // the card type lists of the permanents call it if they change
+    private transient Runnable cardTypesChanged;
+
     public Battlefield() {
     }
 
@@ -64,13 +81,161 @@ public class Battlefield implements Serializable {
     }
 
     public void reset(Game game) {
+        indexesSuspended = true;
+        invalidateIndexes();
         for (Permanent perm : field.values()) {
             perm.reset(game);
         }
     }
 
+    /**
+     * Called after the continuous effects were applied, the controllers and
+     * card types of the permanents are known again.
+     */
+    public void resumeIndexes() {
+        indexesSuspended = false;
+    }
+
+    /**
+     * If set, each query of the indexes is compared with a search of all
+     * permanents and an {@link IllegalStateException} is thrown if they
+     * differ.
+     *
+     * @param verify
+     */
+    public static void setVerifyBattlefieldIndex(boolean verify) {
+        verifyBattlefieldIndex = verify;
+    }
+
+    public static boolean isVerifyBattlefieldIndex() {
+        return verifyBattlefieldIndex;
+    }
+
+    /**
+     * Has to be called if the controller of a permanent was changed outside
+     * of applying the continuous effects. The changes of the card types are
+     * reported by the {@link CardTypeList} of the permanents.
+     */
+    public void invalidateIndexes() {
+        byController = null;
+        byCardType = null;
+    }
+
     public void clear() {
         field.clear();
+        invalidateIndexes();
+    }
+
+    private boolean ensureIndexes() {
+        if (indexesSuspended) {
+            return false;
+        }
+        if (byController == null) {
+            if (cardTypesChanged == null) {
+                cardTypesChanged = this::invalidateIndexes;
+            }
+            Map<UUID, List<Permanent>> controllers = new HashMap<>();
+            Map<CardType, List<Permanent>> cardTypes = new EnumMap<>(CardType.class);
+            for (Permanent permanent : field.values()) {
+                controllers.computeIfAbsent(permanent.getControllerId(), k -> new ArrayList<>()).add(permanent);
+                List<CardType> permanentTypes = permanent.getCardType();
+                if (permanentTypes instanceof CardTypeList) {
+                    ((CardTypeList) permanentTypes).setChangeListener(cardTypesChanged);
+                } else {
+                    // changes of these card types are not reported
+                    cardTypes = null;
+                }
+                if (cardTypes == null) {
+                    continue;
+                }
+                for (CardType type : permanentTypes) {
+                    List<Permanent> typed = cardTypes.computeIfAbsent(type, k -> new ArrayList<>());
+                    if (typed.isEmpty() || typed.get(typed.size() - 1) != permanent) {
+                        typed.add(permanent);
+                    }
+                }
+            }
+            byController = controllers;
+            byCardType = cardTypes;
+        }
+        return true;
+    }
+
+    /**
+     * The permanents that may be controlled by the player. The controller
+     * still has to be checked by the caller.
+     */
+    private Collection<Permanent> controlledBy(UUID controllerId) {
+        if (!ensureIndexes()) {
+            return field.values();
+        }
+        List<Permanent> controlled = byController.get(controllerId);
+        if (controlled == null) {
+            controlled = Collections.<Permanent>emptyList();
+        }
+        if (verifyBattlefieldIndex) {
+            verifyIndex(controlled, p -> p.getControllerId().equals(controllerId), "controller " + controllerId);
+        }
+        return controlled;
+    }
+
+    /**
+     * The permanents that may have the card type. The card type still has to
+     * be checked by the caller.
+     */
+    private Collection<Permanent> ofCardType(CardType type) {
+        if (!ensureIndexes() || byCardType == null) {
+            return field.values();
+        }
+        List<Permanent> typed = byCardType.get(type);
+        if (typed == null) {
+            typed = Collections.<Permanent>emptyList();
+        }
+        if (verifyBattlefieldIndex) {
+            verifyIndex(typed, p -> p.getCardType().contains(type), "card type " + type);
+        }
+        return typed;
+    }
+
+    private void verifyIndex(List<Permanent> indexed, Predicate<Permanent> predicate, String key) {
+        List<Permanent> expected = new ArrayList<>();
+        for (Permanent permanent : field.values()) {
+            if (predicate.test(permanent)) {
+                expected.add(permanent);
+            }
+        }
+        if (!expected.equals(indexed)) {
+            throw new IllegalStateException("Battlefield index of " + key + " has " + indexed + " but expected " + expected);
+        }
+    }
+
+    /**
+     * The permanents that may match the filter, only the permanents with the
+     * card type the filter requires.
+     */
+    private Collection<Permanent> candidates(FilterPermanent filter) {
+        CardType type = filter.getRequiredCardType();
+        return type == null ? field.values() : ofCardType(type);
+    }
+
+    /**
+     * Returns the {@link Permanent} that may match the filter without copying
+     * them, only the permanents with the card type the filter requires. The
+     * caller still has to check the filter, if the permanent is phased in and
+     * within the range of influence, so it can stop with the first matching
+     * permanents.
+     *
+     * @param filter
+     * @return the permanents that may match the filter
+     */
+    public Collection<Permanent> getCandidates(FilterPermanent filter) {
+        return Collections.unmodifiableCollection(candidates(filter));
+    }
+
+    private Collection<Permanent> candidates(FilterPermanent filter, UUID controllerId) {
+        Collection<Permanent> controlled = controlledBy(controllerId);
+        Collection<Permanent> typed = candidates(filter);
+        return typed.size() < controlled.size() ? typed : controlled;
     }
 
     /**
@@ -88,8 +253,8 @@ public class Battlefield implements Serializable {
      */
     public int countAll(FilterPermanent filter, UUID controllerId, Game game) {
         int count = 0;
-        for (Permanent permanent : field.values()) {
-            if (permanent.getControllerId().equals(controllerId) && filter.match(permanent, game) && permanent.isPhasedIn()) {
+        for (Permanent permanent : candidates(filter, controllerId)) {
+            if (permanent.isPhasedIn() && permanent.getControllerId().equals(controllerId) && filter.match(permanent, game)) {
                 count++;
             }
         }
@@ -110,15 +275,15 @@ public class Battlefield implements Serializable {
     public int count(FilterPermanent filter, UUID sourceId, UUID sourcePlayerId, Game game) {
         int count = 0;
         if (game.getRangeOfInfluence() == RangeOfInfluence.ALL) {
-            for (Permanent permanent : field.values()) {
-                if (filter.match(permanent, sourceId, sourcePlayerId, game) && permanent.isPhasedIn()) {
+            for (Permanent permanent : candidates(filter)) {
+                if (permanent.isPhasedIn() && filter.match(permanent, sourceId, sourcePlayerId, game)) {
                     count++;
                 }
             }
         } else {
             Set<UUID> range = game.getPlayer(sourcePlayerId).getInRange();
-            for (Permanent permanent : field.values()) {
-                if (range.contains(permanent.getControllerId()) && filter.match(permanent, sourceId, sourcePlayerId, game) && permanent.isPhasedIn()) {
+            for (Permanent permanent : candidates(filter)) {
+                if (permanent.isPhasedIn() && range.contains(permanent.getControllerId()) && filter.match(permanent, sourceId, sourcePlayerId, game)) {
                     count++;
                 }
             }
@@ -137,8 +302,8 @@ public class Battlefield implements Serializable {
      */
     public boolean contains(FilterPermanent filter, int num, Game game) {
         int count = 0;
-        for (Permanent permanent : field.values()) {
-            if (filter.match(permanent, game) && permanent.isPhasedIn()) {
+        for (Permanent permanent : candidates(filter)) {
+            if (permanent.isPhasedIn() && filter.match(permanent, game)) {
                 count++;
                 if (num == count) {
                     return true;
@@ -161,8 +326,8 @@ public class Battlefield implements Serializable {
      */
     public boolean contains(FilterPermanent filter, UUID controllerId, int num, Game game) {
         int count = 0;
-        for (Permanent permanent : field.values()) {
-            if (permanent.getControllerId().equals(controllerId) && filter.match(permanent, game) && permanent.isPhasedIn()) {
+        for (Permanent permanent : candidates(filter, controllerId)) {
+            if (permanent.isPhasedIn() && permanent.getControllerId().equals(controllerId) && filter.match(permanent, game)) {
                 count++;
                 if (num == count) {
                     return true;
@@ -186,8 +351,8 @@ public class Battlefield implements Serializable {
     public boolean contains(FilterPermanent filter, UUID sourcePlayerId, Game game, int num) {
         int count = 0;
         if (game.getRangeOfInfluence() == RangeOfInfluence.ALL) {
-            for (Permanent permanent : field.values()) {
-                if (filter.match(permanent, null, sourcePlayerId, game) && permanent.isPhasedIn()) {
+            for (Permanent permanent : candidates(filter)) {
+                if (permanent.isPhasedIn() && filter.match(permanent, null, sourcePlayerId, game)) {
                     count++;
                     if (num == count) {
                         return true;
@@ -196,8 +361,8 @@ public class Battlefield implements Serializable {
             }
         } else {
             Set<UUID> range = game.getPlayer(sourcePlayerId).getInRange();
-            for (Permanent permanent : field.values()) {
-                if (range.contains(permanent.getControllerId()) && filter.match(permanent, null, sourcePlayerId, game) && permanent.isPhasedIn()) {
+            for (Permanent permanent : candidates(filter)) {
+                if (permanent.isPhasedIn() && range.contains(permanent.getControllerId()) && filter.match(permanent, null, sourcePlayerId, game)) {
                     count++;
                     if (num == count) {
                         return true;
@@ -210,6 +375,7 @@ public class Battlefield implements Serializable {
 
     public void addPermanent(Permanent permanent) {
         field.put(permanent.getId(), permanent);
+        invalidateIndexes();
     }
 
     public Permanent getPermanent(UUID key) {
@@ -217,7 +383,9 @@ public class Battlefield implements Serializable {
     }
 
     public void removePermanent(UUID key) {
-        field.remove(key);
+        if (field.remove(key) != null) {
+            invalidateIndexes();
+        }
     }
 
     public boolean containsPermanent(UUID key) {
@@ -264,7 +432,7 @@ public class Battlefield implements Serializable {
      */
     public List<Permanent> getAllActivePermanents(UUID controllerId) {
         List<Permanent> active = new ArrayList<>();
-        for (Permanent perm : field.values()) {
+        for (Permanent perm : controlledBy(controllerId)) {
             if (perm.isPhasedIn() && perm.getControllerId().equals(controllerId)) {
                 active.add(perm);
             }
@@ -282,7 +450,7 @@ public class Battlefield implements Serializable {
      */
     public List<Permanent> getAllActivePermanents(CardType type) {
         List<Permanent> active = new ArrayList<>();
-        for (Permanent perm : field.values()) {
+        for (Permanent perm : ofCardType(type)) {
             if (perm.isPhasedIn() && perm.getCardType().contains(type)) {
                 active.add(perm);
             }
@@ -302,7 +470,7 @@ public class Battlefield implements Serializable {
      */
     public List<Permanent> getAllActivePermanents(FilterPermanent filter, Game game) {
         List<Permanent> active = new ArrayList<>();
-        for (Permanent perm : field.values()) {
+        for (Permanent perm : candidates(filter)) {
             if (perm.isPhasedIn() && filter.match(perm, game)) {
                 active.add(perm);
             }
@@ -322,7 +490,7 @@ public class Battlefield implements Serializable {
      */
     public List<Permanent> getAllActivePermanents(FilterPermanent filter, UUID controllerId, Game game) {
         List<Permanent> active = new ArrayList<>();
-        for (Permanent perm : field.values()) {
+        for (Permanent perm : candidates(filter, controllerId)) {
             if (perm.isPhasedIn() && perm.getControllerId().equals(controllerId) && filter.match(perm, game)) {
                 active.add(perm);
             }
@@ -358,14 +526,14 @@ public class Battlefield implements Serializable {
     public List<Permanent> getActivePermanents(FilterPermanent filter, UUID sourcePlayerId, UUID sourceId, Game game) {
         List<Permanent> active = new ArrayList<>();
         if (game.getRangeOfInfluence() == RangeOfInfluence.ALL) {
-            for (Permanent perm : field.values()) {
+            for (Permanent perm : candidates(filter)) {
                 if (perm.isPhasedIn() && filter.match(perm, sourceId, sourcePlayerId, game)) {
                     active.add(perm);
                 }
             }
         } else {
             Set<UUID> range = game.getPlayer(sourcePlayerId).getInRange();
-            for (Permanent perm : field.values()) {
+            for (Permanent perm : candidates(filter)) {
                 if (perm.isPhasedIn() && range.contains(perm.getControllerId()) && filter.match(perm, sourceId, sourcePlayerId, game)) {
                     active.add(perm);
                 }
@@ -400,7 +568,7 @@ public class Battlefield implements Serializable {
 
     public List<Permanent> getPhasedIn(UUID controllerId) {
         List<Permanent> phasedIn = new ArrayList<>();
-        for (Permanent perm : field.values()) {
+        for (Permanent perm : controlledBy(controllerId)) {
             if (perm.getAbilities().containsKey(PhasingAbility.getInstance().getId()) && perm.isPhasedIn() && perm.getControllerId().equals(controllerId)) {
                 phasedIn.add(perm);
             }
@@ -410,7 +578,7 @@ public class Battlefield implements Serializable {
 
     public List<Permanent> getPhasedOut(UUID controllerId) {
         List<Permanent> phasedOut = new ArrayList<>();
-        for (Permanent perm : field.values()) {
+        for (Permanent perm : controlledBy(controllerId)) {
             if (!perm.isPhasedIn() && perm.getControllerId().equals(controllerId)) {
                 phasedOut.add(perm);
             }
@@ -40,6 +40,7 @@ import mage.MageObjectReference;
 import mage.ObjectColor;
 import mage.abilities.Abilities;
 import mage.abilities.Ability;
+import mage.abilities.MageSingleton;
 import mage.abilities.effects.ContinuousEffect;
 import mage.abilities.effects.Effect;
 import mage.abilities.effects.RestrictionEffect;
@@ -121,6 +122,11 @@ public abstract class PermanentImpl extends CardImpl implements Permanent {
     protected int timesLoyaltyUsed = 0;
     protected Map<String, String> info;
     protected int createOrder;
+    // abilities granted by effects of other objects (by source id and id of the granted ability, one for each grant) in the
+    // current and in the last application of the effects, the ones of the last application are reused for the current one
+    private Map<UUID, Map<UUID, List<Ability>>> grantedAbilities;
+    private Map<UUID, Map<UUID, List<Ability>>> lastGrantedAbilities;
+    private int grantedZoneChangeCounter;
 
     private static final List<UUID> emptyList = Collections.unmodifiableList(new ArrayList<UUID>());
 
@@ -184,6 +190,22 @@ public abstract class PermanentImpl extends CardImpl implements Permanent {
         this.morphed = permanent.morphed;
         this.manifested = permanent.manifested;
         this.createOrder = permanent.createOrder;
+        this.grantedZoneChangeCounter = permanent.grantedZoneChangeCounter;
+        if (permanent.grantedAbilities != null) {
+            // only the granted abilities the permanent still has are kept, the others are created again if needed
+            grantedAbilities = new HashMap<>();
+            for (Map.Entry<UUID, Map<UUID, List<Ability>>> sourceEntry : permanent.grantedAbilities.entrySet()) {
+                for (Map.Entry<UUID, List<Ability>> entry : sourceEntry.getValue().entrySet()) {
+                    for (Ability grantedAbility : entry.getValue()) {
+                        Ability copiedAbility = abilities.get(grantedAbility.getId());
+                        if (copiedAbility == null) {
+                            break;
+                        }
+                        getGrantedAbilities(grantedAbilities, sourceEntry.getKey(), entry.getKey(), true).add(copiedAbility);
+                    }
+                }
+            }
+        }
     }
 
     @Override
@@ -215,6 +237,15 @@ public abstract class PermanentImpl extends CardImpl implements Permanent {
         this.minBlockedBy = 1;
         this.maxBlockedBy = 0;
         this.copy = false;
+        int zoneChangeCounter = getZoneChangeCounter(game);
+        if (zoneChangeCounter != grantedZoneChangeCounter) {
+            // a new object, the abilities granted to the old one aren't reused
+            lastGrantedAbilities = null;
+            grantedZoneChangeCounter = zoneChangeCounter;
+        } else {
+            lastGrantedAbilities = grantedAbilities;
+        }
+        grantedAbilities = null;
     }
 
     @Override
@@ -290,9 +321,31 @@ public abstract class PermanentImpl extends CardImpl implements Permanent {
     @Override
     public void addAbility(Ability ability, UUID sourceId, Game game, boolean createNewId) {
         if (!abilities.containsKey(ability.getId())) {
-            Ability copyAbility = ability.copy();
-            if (createNewId) {
-                copyAbility.newId(); // needed so that source can get an ability multiple times (e.g. Raging Ravine)
+            Ability copyAbility = null;
+            List<Ability> granted = null;
+            if (!(ability instanceof MageSingleton)) {
+                // the permanents are reset before each application of the effects, so the same abilities are
+                // granted again and again: the copy of the same grant in the last application is reused
+                if (grantedAbilities == null) {
+                    grantedAbilities = new HashMap<>();
+                }
+                granted = getGrantedAbilities(grantedAbilities, sourceId, ability.getId(), true);
+                List<Ability> lastGranted = getGrantedAbilities(lastGrantedAbilities, sourceId, ability.getId(), false);
+                if (lastGranted != null && lastGranted.size() > granted.size()) {
+                    copyAbility = lastGranted.get(granted.size());
+                    if (abilities.containsKey(copyAbility.getId())) {
+                        copyAbility = null;
+                    }
+                }
+            }
+            if (copyAbility == null) {
+                copyAbility = ability.copy();
+                if (createNewId) {
+                    copyAbility.newId(); // needed so that source can get an ability multiple times (e.g. Raging Ravine)
+                }
+            }
+            if (granted != null) {
+                granted.add(copyAbility);
             }
             copyAbility.setControllerId(controllerId);
             copyAbility.setSourceId(objectId);
@@ -310,6 +363,26 @@ public abstract class PermanentImpl extends CardImpl implements Permanent {
         }
     }
 
+    private List<Ability> getGrantedAbilities(Map<UUID, Map<UUID, List<Ability>>> grants, UUID sourceId, UUID abilityId, boolean create) {
+        if (grants == null) {
+            return null;
+        }
+        Map<UUID, List<Ability>> ofSource = grants.get(sourceId);
+        if (ofSource == null) {
+            if (!create) {
+                return null;
+            }
+            ofSource = new HashMap<>();
+            grants.put(sourceId, ofSource);
+        }
+        List<Ability> ofAbility = ofSource.get(abilityId);
+        if (ofAbility == null && create) {
+            ofAbility = new ArrayList<>(1);
+            ofSource.put(abilityId, ofAbility);
+        }
+        return ofAbility;
+    }
+
     @Override
     public void removeAllAbilities(UUID sourceId, Game game) {
         getAbilities().clear();
@@ -562,7 +635,10 @@ public abstract class PermanentImpl extends CardImpl implements Permanent {
         }
 
         if (newController != null && (!newController.hasLeft() || !newController.hasLost())) {
-            this.controllerId = controllerId;
+            if (!controllerId.equals(this.controllerId)) {
+                this.controllerId = controllerId;
+                game.getBattlefield().invalidateIndexes();
+            }
             return true;
         }
         return false;
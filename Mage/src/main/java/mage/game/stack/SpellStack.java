@@ -28,8 +28,13 @@
 package mage.game.stack;
 
 import java.util.ArrayDeque;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 import mage.MageObject;
 import mage.constants.Zone;
 import mage.constants.ZoneDetail;
@@ -47,6 +52,13 @@ public class SpellStack extends ArrayDeque<StackObject> {
 
     protected Date dateLastAdded;
 
+    // the stack objects by id, the topmost spell of each card and the topmost
+    // stack object of each source, created with the first lookup after
+    // objects were removed
+    private transient Map<UUID, StackObject> objects;
+    private transient Map<UUID, StackObject> spells;
+    private transient Map<UUID, StackObject> sources;
+
     public SpellStack() {
     }
 
@@ -123,28 +135,69 @@ public class SpellStack extends ArrayDeque<StackObject> {
     }
 
     public StackObject getStackObject(UUID id) {
+        ensureIndex();
+        return topmost(objects.get(id), sources.get(id));
+    }
+
+    public Spell getSpell(UUID id) {
+        StackObject stackObject = getObject(id);
+        return stackObject instanceof Spell ? (Spell) stackObject : null;
+    }
+
+    /**
+     * Returns the stack object with the id or the topmost spell of the card
+     * with the id.
+     *
+     * @param id
+     * @return
+     */
+    public StackObject getObject(UUID id) {
+        ensureIndex();
+        return topmost(objects.get(id), spells.get(id));
+    }
+
+    private StackObject topmost(StackObject first, StackObject second) {
+        if (first == null || second == null || first == second) {
+            return first == null ? second : first;
+        }
         for (StackObject stackObject : this) {
-            UUID objectId = stackObject.getId();
-            if (objectId.equals(id)) {
-                return stackObject;
-            }
-            UUID sourceId = stackObject.getSourceId();
-            if (sourceId.equals(id)) {
+            if (stackObject == first || stackObject == second) {
                 return stackObject;
             }
         }
         return null;
     }
 
-    public Spell getSpell(UUID id) {
-        for (StackObject stackObject : this) {
+    private void ensureIndex() {
+        if (objects == null) {
+            objects = new HashMap<>();
+            spells = new HashMap<>();
+            sources = new HashMap<>();
+            for (StackObject stackObject : this) {
+                addToIndex(stackObject, false);
+            }
+        }
+    }
+
+    private void addToIndex(StackObject stackObject, boolean top) {
+        objects.put(stackObject.getId(), stackObject);
+        if (top) {
             if (stackObject instanceof Spell) {
-                if (stackObject.getId().equals(id) || stackObject.getSourceId().equals(id)) {
-                    return (Spell) stackObject;
-                }
+                spells.put(stackObject.getSourceId(), stackObject);
+            }
+            sources.put(stackObject.getSourceId(), stackObject);
+        } else {
+            if (stackObject instanceof Spell) {
+                spells.putIfAbsent(stackObject.getSourceId(), stackObject);
             }
+            sources.putIfAbsent(stackObject.getSourceId(), stackObject);
         }
-        return null;
+    }
+
+    private void invalidateIndex() {
+        objects = null;
+        spells = null;
+        sources = null;
     }
 
     public SpellStack copy() {
@@ -157,6 +210,113 @@ public class SpellStack extends ArrayDeque<StackObject> {
         this.dateLastAdded = new Date();
     }
 
+    // all changes of the deque go through the following methods, added objects
+    // are added to the index, removing objects invalidates it
+    @Override
+    public void addFirst(StackObject e) {
+        super.addFirst(e);
+        if (objects != null) {
+            addToIndex(e, true);
+        }
+    }
+
+    @Override
+    public void addLast(StackObject e) {
+        super.addLast(e);
+        if (objects != null) {
+            addToIndex(e, false);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends StackObject> c) {
+        invalidateIndex();
+        return super.addAll(c);
+    }
+
+    @Override
+    public StackObject pollFirst() {
+        invalidateIndex();
+        return super.pollFirst();
+    }
+
+    @Override
+    public StackObject pollLast() {
+        invalidateIndex();
+        return super.pollLast();
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        invalidateIndex();
+        return super.removeFirstOccurrence(o);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        invalidateIndex();
+        return super.removeLastOccurrence(o);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super StackObject> filter) {
+        invalidateIndex();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        invalidateIndex();
+        return super.removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        invalidateIndex();
+        return super.retainAll(c);
+    }
+
+    @Override
+    public void clear() {
+        invalidateIndex();
+        super.clear();
+    }
+
+    @Override
+    public Iterator<StackObject> iterator() {
+        return new IndexedIterator(super.iterator());
+    }
+
+    @Override
+    public Iterator<StackObject> descendingIterator() {
+        return new IndexedIterator(super.descendingIterator());
+    }
+
+    private class IndexedIterator implements Iterator<StackObject> {
+
+        private final Iterator<StackObject> iterator;
+
+        IndexedIterator(Iterator<StackObject> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public StackObject next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+            invalidateIndex();
+            iterator.remove();
+        }
+    }
+
     public Date getDateLastAdded() {
         return dateLastAdded;
     }
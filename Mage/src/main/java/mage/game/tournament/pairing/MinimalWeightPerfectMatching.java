@@ -0,0 +1,728 @@
+package mage.game.tournament.pairing;
+
+import java.util.Arrays;
+
+/**
+ * Finds a perfect matching with minimal weight in a complete graph with an
+ * even number of vertexes in O(n^3).
+ *
+ * It's the blossom algorithm of Edmonds for maximum weight matching with the
+ * primal-dual method of Galil ("Efficient algorithms for finding maximum
+ * matching in graphs", 1986), following the implementation of Joris van
+ * Rantwijk (http://jorisvr.nl/article/maximum-matching). The weights are
+ * inverted, so the maximum weight matching of maximum cardinality is the
+ * perfect matching with minimal weight. All weights are integers, so the dual
+ * variables stay integers too.
+ */
+public class MinimalWeightPerfectMatching {
+
+    // number of vertexes and edges
+    private final int n;
+    private final int edgesCount;
+
+    // edge k connects edgeFrom[k] and edgeTo[k], endpoint 2k is edgeFrom[k] and 2k + 1 is edgeTo[k]
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final long[] edgeWeight;
+    // endpoints of the edges leaving each vertex (the remote ends)
+    private final int[][] neighbourEnds;
+
+    // mate[v] is the remote endpoint of the matched edge of v or -1
+    private final int[] mate;
+    // label of the top-level blossoms and vertexes: 0 free, 1 S, 2 T (5 temporary in scanBlossom)
+    private final int[] label;
+    // the endpoint through which the blossom or vertex got its label
+    private final int[] labelEnd;
+    private final int[] inBlossom;
+    private final int[] blossomParent;
+    private final int[][] blossomChilds;
+    private final int[] blossomBase;
+    private final int[][] blossomEnds;
+    // least slack edge to a different S blossom
+    private final int[] bestEdge;
+    private final int[][] blossomBestEdges;
+    private final int[] unusedBlossoms;
+    private int unusedBlossomsCount;
+    private final long[] dualVar;
+    private final boolean[] allowEdge;
+
+    private int[] queue;
+    private int queueSize;
+
+    private final int[] result;
+
+    /**
+     * @param weights symmetric matrix with the weight of each pair, the number
+     * of vertexes must be even
+     */
+    public MinimalWeightPerfectMatching(int[][] weights) {
+        n = weights.length;
+        if (n % 2 != 0) {
+            throw new IllegalArgumentException("Perfect matching needs an even number of vertexes: " + n);
+        }
+        edgesCount = n * (n - 1) / 2;
+        edgeFrom = new int[edgesCount];
+        edgeTo = new int[edgesCount];
+        edgeWeight = new long[edgesCount];
+        long maxWeight = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                maxWeight = Math.max(maxWeight, weights[i][j]);
+            }
+        }
+        // all inverted weights are positive
+        long maxInvertedWeight = 0;
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                edgeFrom[k] = i;
+                edgeTo[k] = j;
+                edgeWeight[k] = maxWeight + 1 - weights[i][j];
+                maxInvertedWeight = Math.max(maxInvertedWeight, edgeWeight[k]);
+                k++;
+            }
+        }
+        neighbourEnds = new int[n][Math.max(n - 1, 0)];
+        int[] neighbours = new int[n];
+        for (k = 0; k < edgesCount; k++) {
+            neighbourEnds[edgeFrom[k]][neighbours[edgeFrom[k]]++] = 2 * k + 1;
+            neighbourEnds[edgeTo[k]][neighbours[edgeTo[k]]++] = 2 * k;
+        }
+
+        mate = new int[n];
+        Arrays.fill(mate, -1);
+        label = new int[2 * n];
+        labelEnd = new int[2 * n];
+        Arrays.fill(labelEnd, -1);
+        inBlossom = new int[n];
+        blossomParent = new int[2 * n];
+        Arrays.fill(blossomParent, -1);
+        blossomChilds = new int[2 * n][];
+        blossomBase = new int[2 * n];
+        Arrays.fill(blossomBase, -1);
+        for (int v = 0; v < n; v++) {
+            inBlossom[v] = v;
+            blossomBase[v] = v;
+        }
+        blossomEnds = new int[2 * n][];
+        bestEdge = new int[2 * n];
+        Arrays.fill(bestEdge, -1);
+        blossomBestEdges = new int[2 * n][];
+        unusedBlossoms = new int[n];
+        for (int b = n; b < 2 * n; b++) {
+            unusedBlossoms[unusedBlossomsCount++] = b;
+        }
+        dualVar = new long[2 * n];
+        Arrays.fill(dualVar, 0, n, maxInvertedWeight);
+        allowEdge = new boolean[edgesCount];
+        queue = new int[Math.max(n, 1)];
+
+        match();
+
+        result = new int[n];
+        for (int v = 0; v < n; v++) {
+            result[v] = mate[v] >= 0 ? endpoint(mate[v]) : -1;
+        }
+    }
+
+    /**
+     * @return the vertex each vertex is paired with
+     */
+    public int[] getPairs() {
+        return Arrays.copyOf(result, result.length);
+    }
+
+    private int endpoint(int p) {
+        return (p & 1) == 0 ? edgeFrom[p >> 1] : edgeTo[p >> 1];
+    }
+
+    private long slack(int k) {
+        return dualVar[edgeFrom[k]] + dualVar[edgeTo[k]] - 2 * edgeWeight[k];
+    }
+
+    private void push(int v) {
+        if (queueSize == queue.length) {
+            queue = Arrays.copyOf(queue, queue.length * 2);
+        }
+        queue[queueSize++] = v;
+    }
+
+    private int[] blossomLeaves(int b) {
+        int[] leaves = new int[n];
+        int count = addBlossomLeaves(b, leaves, 0);
+        return Arrays.copyOf(leaves, count);
+    }
+
+    private int addBlossomLeaves(int b, int[] leaves, int count) {
+        if (b < n) {
+            leaves[count++] = b;
+        } else {
+            for (int child : blossomChilds[b]) {
+                count = addBlossomLeaves(child, leaves, count);
+            }
+        }
+        return count;
+    }
+
+    private static int indexOf(int[] values, int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // python like index: negative values count from the end
+    private static int at(int[] values, int index) {
+        return values[index < 0 ? index + values.length : index];
+    }
+
+    /**
+     * Assigns label t to the top-level blossom containing vertex w that was
+     * reached through the edge with remote endpoint p.
+     */
+    private void assignLabel(int w, int t, int p) {
+        int b = inBlossom[w];
+        label[w] = label[b] = t;
+        labelEnd[w] = labelEnd[b] = p;
+        bestEdge[w] = bestEdge[b] = -1;
+        if (t == 1) {
+            // b became an S blossom, add its vertexes to the queue
+            for (int v : blossomLeaves(b)) {
+                push(v);
+            }
+        } else if (t == 2) {
+            // b became a T blossom, label its mate as S
+            int base = blossomBase[b];
+            assignLabel(endpoint(mate[base]), 1, mate[base] ^ 1);
+        }
+    }
+
+    /**
+     * Traces back from the S vertexes v and w to discover either a new
+     * blossom (returns its base) or an augmenting path (returns -1).
+     */
+    private int scanBlossom(int v, int w) {
+        int[] path = new int[2 * n];
+        int pathSize = 0;
+        int base = -1;
+        while (v != -1 || w != -1) {
+            int b = inBlossom[v];
+            if ((label[b] & 4) != 0) {
+                base = blossomBase[b];
+                break;
+            }
+            path[pathSize++] = b;
+            label[b] = 5;
+            if (labelEnd[b] == -1) {
+                // the base of blossom b is single, stop tracing this path
+                v = -1;
+            } else {
+                v = endpoint(labelEnd[b]);
+                b = inBlossom[v];
+                // b is a T blossom, trace one more step back
+                v = endpoint(labelEnd[b]);
+            }
+            // swap v and w so that we alternate between both paths
+            if (w != -1) {
+                int t = v;
+                v = w;
+                w = t;
+            }
+        }
+        for (int i = 0; i < pathSize; i++) {
+            label[path[i]] = 1;
+        }
+        return base;
+    }
+
+    /**
+     * Constructs a new blossom with the given base, containing edge k that
+     * connects a pair of S vertexes.
+     */
+    private void addBlossom(int base, int k) {
+        int v = edgeFrom[k];
+        int w = edgeTo[k];
+        int bb = inBlossom[base];
+        int bv = inBlossom[v];
+        int bw = inBlossom[w];
+        int b = unusedBlossoms[--unusedBlossomsCount];
+        blossomBase[b] = base;
+        blossomParent[b] = -1;
+        blossomParent[bb] = b;
+        // trace back from v to base
+        int[] path = new int[2 * n];
+        int[] ends = new int[2 * n];
+        int vSize = 0;
+        while (bv != bb) {
+            blossomParent[bv] = b;
+            path[vSize] = bv;
+            ends[vSize] = labelEnd[bv];
+            vSize++;
+            v = endpoint(labelEnd[bv]);
+            bv = inBlossom[v];
+        }
+        // the childs start with the base and go round the blossom
+        int[] childs = new int[2 * n];
+        int[] childEnds = new int[2 * n];
+        int size = 0;
+        childs[size++] = bb;
+        for (int i = vSize - 1; i >= 0; i--) {
+            childs[size] = path[i];
+            childEnds[size - 1] = ends[i];
+            size++;
+        }
+        childEnds[size - 1] = 2 * k;
+        // trace back from w to base
+        while (bw != bb) {
+            blossomParent[bw] = b;
+            childs[size] = bw;
+            childEnds[size] = labelEnd[bw] ^ 1;
+            size++;
+            w = endpoint(labelEnd[bw]);
+            bw = inBlossom[w];
+        }
+        blossomChilds[b] = Arrays.copyOf(childs, size);
+        blossomEnds[b] = Arrays.copyOf(childEnds, size);
+        label[b] = 1;
+        labelEnd[b] = labelEnd[bb];
+        dualVar[b] = 0;
+        // relabel the vertexes
+        for (int leaf : blossomLeaves(b)) {
+            if (label[inBlossom[leaf]] == 2) {
+                // this T vertex now turns into an S vertex because it becomes part of an S blossom
+                push(leaf);
+            }
+            inBlossom[leaf] = b;
+        }
+        // compute the least slack edges to the neighbouring S blossoms
+        int[] bestEdgeTo = new int[2 * n];
+        Arrays.fill(bestEdgeTo, -1);
+        for (int child : blossomChilds[b]) {
+            int[][] edgeLists;
+            if (blossomBestEdges[child] == null) {
+                // this sub-blossom doesn't have a list of least slack edges, get the information from the vertexes
+                int[] leaves = blossomLeaves(child);
+                edgeLists = new int[leaves.length][];
+                for (int i = 0; i < leaves.length; i++) {
+                    int[] ends2 = neighbourEnds[leaves[i]];
+                    edgeLists[i] = new int[ends2.length];
+                    for (int j = 0; j < ends2.length; j++) {
+                        edgeLists[i][j] = ends2[j] >> 1;
+                    }
+                }
+            } else {
+                edgeLists = new int[][]{blossomBestEdges[child]};
+            }
+            for (int[] edges : edgeLists) {
+                for (int edge : edges) {
+                    int i = edgeFrom[edge];
+                    int j = edgeTo[edge];
+                    if (inBlossom[j] == b) {
+                        j = i;
+                    }
+                    int bj = inBlossom[j];
+                    if (bj != b && label[bj] == 1
+                            && (bestEdgeTo[bj] == -1 || slack(edge) < slack(bestEdgeTo[bj]))) {
+                        bestEdgeTo[bj] = edge;
+                    }
+                }
+            }
+            // forget about least slack edges of the sub-blossom
+            blossomBestEdges[child] = null;
+            bestEdge[child] = -1;
+        }
+        int count = 0;
+        for (int edge : bestEdgeTo) {
+            if (edge != -1) {
+                bestEdgeTo[count++] = edge;
+            }
+        }
+        blossomBestEdges[b] = Arrays.copyOf(bestEdgeTo, count);
+        // select the best edge for blossom b
+        bestEdge[b] = -1;
+        for (int edge : blossomBestEdges[b]) {
+            if (bestEdge[b] == -1 || slack(edge) < slack(bestEdge[b])) {
+                bestEdge[b] = edge;
+            }
+        }
+    }
+
+    /**
+     * Expands the given top-level blossom.
+     */
+    private void expandBlossom(int b, boolean endStage) {
+        // convert the sub-blossoms into top-level blossoms
+        for (int s : blossomChilds[b]) {
+            blossomParent[s] = -1;
+            if (s < n) {
+                inBlossom[s] = s;
+            } else if (endStage && dualVar[s] == 0) {
+                // recursively expand this sub-blossom
+                expandBlossom(s, endStage);
+            } else {
+                for (int v : blossomLeaves(s)) {
+                    inBlossom[v] = s;
+                }
+            }
+        }
+        // if we expand a T blossom during a stage, its sub-blossoms must be relabeled
+        if (!endStage && label[b] == 2) {
+            int[] childs = blossomChilds[b];
+            int[] ends = blossomEnds[b];
+            // start at the sub-blossom through which the expanding blossom obtained its label
+            int entryChild = inBlossom[endpoint(labelEnd[b] ^ 1)];
+            // decide in which direction we will go round the blossom
+            int j = indexOf(childs, entryChild);
+            int jStep;
+            int endTrick;
+            if ((j & 1) != 0) {
+                // start index is odd, go forward and wrap
+                j -= childs.length;
+                jStep = 1;
+                endTrick = 0;
+            } else {
+                // start index is even, go backward
+                jStep = -1;
+                endTrick = 1;
+            }
+            // move along the blossom until we get to the base
+            int p = labelEnd[b];
+            while (j != 0) {
+                // relabel the T sub-blossom
+                label[endpoint(p ^ 1)] = 0;
+                label[endpoint(at(ends, j - endTrick) ^ endTrick ^ 1)] = 0;
+                assignLabel(endpoint(p ^ 1), 2, p);
+                // step to the next S sub-blossom and note its forward endpoint
+                allowEdge[at(ends, j - endTrick) >> 1] = true;
+                j += jStep;
+                p = at(ends, j - endTrick) ^ endTrick;
+                // step to the next T sub-blossom
+                allowEdge[p >> 1] = true;
+                j += jStep;
+            }
+            // relabel the base T sub-blossom without stepping through to its mate
+            int bv = at(childs, j);
+            label[endpoint(p ^ 1)] = label[bv] = 2;
+            labelEnd[endpoint(p ^ 1)] = labelEnd[bv] = p;
+            bestEdge[bv] = -1;
+            // continue along the blossom until we get back to the entry child
+            j += jStep;
+            while (at(childs, j) != entryChild) {
+                bv = at(childs, j);
+                if (label[bv] == 1) {
+                    // this sub-blossom just got label S through one of its neighbours
+                    j += jStep;
+                    continue;
+                }
+                int labeled = -1;
+                for (int v : blossomLeaves(bv)) {
+                    if (label[v] != 0) {
+                        labeled = v;
+                        break;
+                    }
+                }
+                // if the sub-blossom contains a reachable vertex, assign label T to the sub-blossom
+                if (labeled >= 0) {
+                    label[labeled] = 0;
+                    label[endpoint(mate[blossomBase[bv]])] = 0;
+                    assignLabel(labeled, 2, labelEnd[labeled]);
+                }
+                j += jStep;
+            }
+        }
+        // recycle the blossom number
+        label[b] = labelEnd[b] = -1;
+        blossomChilds[b] = blossomEnds[b] = null;
+        blossomBase[b] = -1;
+        blossomBestEdges[b] = null;
+        bestEdge[b] = -1;
+        unusedBlossoms[unusedBlossomsCount++] = b;
+    }
+
+    /**
+     * Swaps matched and unmatched edges over an alternating path through
+     * blossom b between vertex v and the base vertex.
+     */
+    private void augmentBlossom(int b, int v) {
+        // bubble up through the blossom tree from vertex v to an immediate sub-blossom of b
+        int t = v;
+        while (blossomParent[t] != b) {
+            t = blossomParent[t];
+        }
+        // recursively deal with the first sub-blossom
+        if (t >= n) {
+            augmentBlossom(t, v);
+        }
+        int[] childs = blossomChilds[b];
+        int[] ends = blossomEnds[b];
+        // decide in which direction we will go round the blossom
+        int i = indexOf(childs, t);
+        int j = i;
+        int jStep;
+        int endTrick;
+        if ((i & 1) != 0) {
+            // start index is odd, go forward and wrap
+            j -= childs.length;
+            jStep = 1;
+            endTrick = 0;
+        } else {
+            // start index is even, go backward
+            jStep = -1;
+            endTrick = 1;
+        }
+        // move along the blossom until we get to the base
+        while (j != 0) {
+            // step to the next sub-blossom and augment it recursively
+            j += jStep;
+            t = at(childs, j);
+            int p = at(ends, j - endTrick) ^ endTrick;
+            if (t >= n) {
+                augmentBlossom(t, endpoint(p));
+            }
+            // step to the next sub-blossom and augment it recursively
+            j += jStep;
+            t = at(childs, j);
+            if (t >= n) {
+                augmentBlossom(t, endpoint(p ^ 1));
+            }
+            // match the edge connecting those sub-blossoms
+            mate[endpoint(p)] = p ^ 1;
+            mate[endpoint(p ^ 1)] = p;
+        }
+        // rotate the list of sub-blossoms to put the new base at the front
+        int[] rotatedChilds = new int[childs.length];
+        int[] rotatedEnds = new int[ends.length];
+        for (int k = 0; k < childs.length; k++) {
+            rotatedChilds[k] = childs[(i + k) % childs.length];
+            rotatedEnds[k] = ends[(i + k) % ends.length];
+        }
+        blossomChilds[b] = rotatedChilds;
+        blossomEnds[b] = rotatedEnds;
+        blossomBase[b] = blossomBase[rotatedChilds[0]];
+    }
+
+    /**
+     * Swaps matched and unmatched edges over an alternating path between two
+     * single vertexes, the path goes through edge k that connects a pair of S
+     * vertexes.
+     */
+    private void augmentMatching(int k) {
+        for (int side = 0; side < 2; side++) {
+            int s = side == 0 ? edgeFrom[k] : edgeTo[k];
+            int p = side == 0 ? 2 * k + 1 : 2 * k;
+            while (true) {
+                int bs = inBlossom[s];
+                // augment through the S blossom from s to base
+                if (bs >= n) {
+                    augmentBlossom(bs, s);
+                }
+                // update mate[s]
+                mate[s] = p;
+                // trace one step back
+                if (labelEnd[bs] == -1) {
+                    // reached single vertex, stop
+                    break;
+                }
+                int t = endpoint(labelEnd[bs]);
+                int bt = inBlossom[t];
+                // trace one more step back
+                s = endpoint(labelEnd[bt]);
+                int j = endpoint(labelEnd[bt] ^ 1);
+                // augment through the T blossom from j to base
+                if (bt >= n) {
+                    augmentBlossom(bt, j);
+                }
+                // update mate[j]
+                mate[j] = labelEnd[bt];
+                // keep the opposite endpoint, it will be assigned to mate[s] in the next step
+                p = labelEnd[bt] ^ 1;
+            }
+        }
+    }
+
+    private void match() {
+        // each iteration of this loop is a stage, a stage finds an augmenting path and uses that to improve the matching
+        for (int stage = 0; stage < n; stage++) {
+            // remove labels from top-level blossoms and vertexes
+            Arrays.fill(label, 0);
+            // forget all about least slack edges
+            Arrays.fill(bestEdge, -1);
+            Arrays.fill(blossomBestEdges, n, 2 * n, null);
+            // loss of labeling means that we can not be sure that currently allowable edges remain allowable throughout this stage
+            Arrays.fill(allowEdge, false);
+            queueSize = 0;
+            // label single blossoms and vertexes with S and put them in the queue
+            for (int v = 0; v < n; v++) {
+                if (mate[v] == -1 && label[inBlossom[v]] == 0) {
+                    assignLabel(v, 1, -1);
+                }
+            }
+            boolean augmented = false;
+            while (true) {
+                // continue labeling until all vertexes which are reachable through an alternating path have got a label
+                while (queueSize > 0 && !augmented) {
+                    // take an S vertex from the queue
+                    int v = queue[--queueSize];
+                    // scan its neighbours
+                    for (int p : neighbourEnds[v]) {
+                        int k = p >> 1;
+                        int w = endpoint(p);
+                        // w is a neighbour to v
+                        if (inBlossom[v] == inBlossom[w]) {
+                            // this edge is internal to a blossom, ignore it
+                            continue;
+                        }
+                        long kSlack = 0;
+                        if (!allowEdge[k]) {
+                            kSlack = slack(k);
+                            if (kSlack <= 0) {
+                                // edge k has zero slack, it is allowable
+                                allowEdge[k] = true;
+                            }
+                        }
+                        if (allowEdge[k]) {
+                            if (label[inBlossom[w]] == 0) {
+                                // w is a free vertex (or an unreached vertex inside a T blossom), label w with T and label its mate with S
+                                assignLabel(w, 2, p ^ 1);
+                            } else if (label[inBlossom[w]] == 1) {
+                                // w is an S vertex (not in the same blossom), follow back links to discover either an augmenting path or a new blossom
+                                int base = scanBlossom(v, w);
+                                if (base >= 0) {
+                                    // found a new blossom, add it to the blossom bookkeeping and turn it into an S blossom
+                                    addBlossom(base, k);
+                                } else {
+                                    // found an augmenting path, augment the matching and end this stage
+                                    augmentMatching(k);
+                                    augmented = true;
+                                    break;
+                                }
+                            } else if (label[w] == 0) {
+                                // w is inside a T blossom, but w itself has not yet been reached from outside the blossom, mark it as reached
+                                label[w] = 2;
+                                labelEnd[w] = p ^ 1;
+                            }
+                        } else if (label[inBlossom[w]] == 1) {
+                            // keep track of the least slack non-allowable edge to a different S blossom
+                            int b = inBlossom[v];
+                            if (bestEdge[b] == -1 || kSlack < slack(bestEdge[b])) {
+                                bestEdge[b] = k;
+                            }
+                        } else if (label[w] == 0) {
+                            // w is a free vertex (or an unreached vertex inside a T blossom), keep track of the least slack edge that reaches w
+                            if (bestEdge[w] == -1 || kSlack < slack(bestEdge[w])) {
+                                bestEdge[w] = k;
+                            }
+                        }
+                    }
+                }
+                if (augmented) {
+                    break;
+                }
+
+                // there is no augmenting path under these constraints, compute delta and reduce slack in the optimization problem
+                int deltaType = -1;
+                long delta = 0;
+                int deltaEdge = -1;
+                int deltaBlossom = -1;
+
+                // compute delta2: the minimum slack on any edge between an S vertex and a free vertex
+                for (int v = 0; v < n; v++) {
+                    if (label[inBlossom[v]] == 0 && bestEdge[v] != -1) {
+                        long d = slack(bestEdge[v]);
+                        if (deltaType == -1 || d < delta) {
+                            delta = d;
+                            deltaType = 2;
+                            deltaEdge = bestEdge[v];
+                        }
+                    }
+                }
+                // compute delta3: half the minimum slack on any edge between a pair of S blossoms
+                for (int b = 0; b < 2 * n; b++) {
+                    if (blossomParent[b] == -1 && label[b] == 1 && bestEdge[b] != -1) {
+                        long d = slack(bestEdge[b]) / 2;
+                        if (deltaType == -1 || d < delta) {
+                            delta = d;
+                            deltaType = 3;
+                            deltaEdge = bestEdge[b];
+                        }
+                    }
+                }
+                // compute delta4: minimum z variable of any T blossom
+                for (int b = n; b < 2 * n; b++) {
+                    if (blossomBase[b] >= 0 && blossomParent[b] == -1 && label[b] == 2
+                            && (deltaType == -1 || dualVar[b] < delta)) {
+                        delta = dualVar[b];
+                        deltaType = 4;
+                        deltaBlossom = b;
+                    }
+                }
+                if (deltaType == -1) {
+                    // no further improvement possible, max cardinality optimum reached
+                    deltaType = 1;
+                    long minDual = Long.MAX_VALUE;
+                    for (int v = 0; v < n; v++) {
+                        minDual = Math.min(minDual, dualVar[v]);
+                    }
+                    delta = Math.max(0, minDual);
+                }
+
+                // update dual variables according to delta
+                for (int v = 0; v < n; v++) {
+                    if (label[inBlossom[v]] == 1) {
+                        // S vertex: 2 * u = 2 * u - 2 * delta
+                        dualVar[v] -= delta;
+                    } else if (label[inBlossom[v]] == 2) {
+                        // T vertex: 2 * u = 2 * u + 2 * delta
+                        dualVar[v] += delta;
+                    }
+                }
+                for (int b = n; b < 2 * n; b++) {
+                    if (blossomBase[b] >= 0 && blossomParent[b] == -1) {
+                        if (label[b] == 1) {
+                            // top-level S blossom: z = z + 2 * delta
+                            dualVar[b] += delta;
+                        } else if (label[b] == 2) {
+                            // top-level T blossom: z = z - 2 * delta
+                            dualVar[b] -= delta;
+                        }
+                    }
+                }
+
+                // take action at the point where minimum delta occurred
+                if (deltaType == 1) {
+                    // no further improvement possible, optimum reached
+                    break;
+                } else if (deltaType == 2) {
+                    // use the least slack edge to continue the search
+                    allowEdge[deltaEdge] = true;
+                    int i = edgeFrom[deltaEdge];
+                    if (label[inBlossom[i]] == 0) {
+                        i = edgeTo[deltaEdge];
+                    }
+                    push(i);
+                } else if (deltaType == 3) {
+                    // use the least slack edge to continue the search
+                    allowEdge[deltaEdge] = true;
+                    push(edgeFrom[deltaEdge]);
+                } else if (deltaType == 4) {
+                    // expand the least z blossom
+                    expandBlossom(deltaBlossom, false);
+                }
+            }
+
+            // stop when no more augmenting path can be found
+            if (!augmented) {
+                break;
+            }
+
+            // end of a stage, expand all S blossoms which have dualVar = 0
+            for (int b = n; b < 2 * n; b++) {
+                if (blossomParent[b] == -1 && blossomBase[b] >= 0 && label[b] == 1 && dualVar[b] == 0) {
+                    expandBlossom(b, true);
+                }
+            }
+        }
+    }
+}
@@ -42,8 +42,8 @@ import java.util.*;
 // SwissPairingMinimalWeightMatching creates round pairings for swiss tournament.
 // It assigns weight to each possible pair and searches perfect matching with minimal weight
 // for more details see https://www.leaguevine.com/blog/18/swiss-tournament-scheduling-leaguevines-new-algorithm/
-// This implementation don't use fast minimum weight maximum matching algorithm,
-// it uses brute-force search, so it works reasonably fast only up to 16 players.
+// The matching is found with the blossom algorithm (see MinimalWeightPerfectMatching),
+// so it works fast for any number of players.
 
 public class SwissPairingMinimalWeightMatching {
 
@@ -209,14 +209,7 @@ public class SwissPairingMinimalWeightMatching {
             }
         }
 
-        // initialize variables for backtrack
-        used = new boolean[n];
-        pairs = new int[n];
-        Arrays.fill(pairs, -1);
-        result = new int[n];
-        weight = 0;
-        minCost = -1;
-        makePairings(0);
+        result = new MinimalWeightPerfectMatching(w).getPairs();
     }
 
     public RoundPairings getRoundPairings() {
@@ -247,48 +240,8 @@ public class SwissPairingMinimalWeightMatching {
         return new RoundPairings(pairings, playerByes);
     }
 
-    boolean[] used;
-
-    // current pairs
-    int[] pairs;
-    // current weight
-    int weight;
-
-    int[] result;
-    int minCost;
-
-    // backtrack all possible pairings and choose one with minimal weight
-    private void makePairings(int t) {
-        if (t >= n) {
-            if (minCost < 0 || minCost > weight) {
-                minCost = weight;
-                System.arraycopy(pairs, 0, result, 0, n);
-            }
-            return;
-        }
-
-        if (!used[t]) {
-            for (int i = t + 1; i < n; i++) {
-                if (!used[i]) {
-                    pairs[t] = i;
-                    pairs[i] = t;
-                    used[t] = true;
-                    used[i] = true;
-                    weight += w[t][i];
-
-                    makePairings(t + 1);
-
-                    pairs[t] = -1;
-                    pairs[i] = -1;
-                    used[t] = false;
-                    used[i] = false;
-                    weight -= w[t][i];
-                }
-            }
-        } else {
-            makePairings(t + 1);
-        }
-    }
+    // pairs with minimal weight
+    private final int[] result;
 
     class PlayerInfo {
         public int id;
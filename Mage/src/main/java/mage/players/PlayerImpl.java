@@ -97,6 +97,9 @@ public abstract class PlayerImpl implements Player, Serializable {
 
     private static final SimpleDateFormat sdf = new SimpleDateFormat("HH:mm:ss.SSS");
 
+    // if set every cached mana availability is compared with a new calculation (for tests)
+    private static volatile boolean verifyManaAvailable = Boolean.getBoolean("verifyManaAvailable");
+
     /**
      * Used to cancel waiting requests send to the player
      */
@@ -189,6 +192,12 @@ public abstract class PlayerImpl implements Player, Serializable {
     // indicates that the player is in mana payment phase
     protected boolean payManaMode = false;
 
+    // the mana available calculated last and the fingerprint of the game it was calculated for
+    private transient ManaOptions manaAvailable;
+    // the state and its number of changes the available mana was calculated for
+    private transient GameState manaAvailableState;
+    private transient int manaAvailableChanges;
+
     protected UserData userData;
     protected MatchPlayer matchPlayer;
 
@@ -2325,8 +2334,48 @@ public abstract class PlayerImpl implements Player, Serializable {
         return game.getBattlefield().getAllActivePermanents(blockFilter, playerId, game);
     }
 
+    /**
+     * If set, each time the available mana is taken from the cache it is
+     * calculated anyway and an {@link IllegalStateException} is thrown if the
+     * result differs.
+     *
+     * @param verify
+     */
+    public static void setVerifyManaAvailable(boolean verify) {
+        verifyManaAvailable = verify;
+    }
+
+    public static boolean isVerifyManaAvailable() {
+        return verifyManaAvailable;
+    }
+
+    /**
+     * The available mana is calculated again only if the game has changed
+     * since the last calculation.
+     *
+     * @param game
+     * @return
+     */
     @Override
     public ManaOptions getManaAvailable(Game game) {
+        GameState state = game.getState();
+        if (manaAvailable != null && manaAvailableState == state && manaAvailableChanges == state.getChanges()) {
+            if (verifyManaAvailable) {
+                ManaOptions expected = calculateManaAvailable(game);
+                if (!expected.toString().equals(manaAvailable.toString())) {
+                    throw new IllegalStateException("Available mana changed without change of the game, expected: "
+                            + expected + " but was: " + manaAvailable);
+                }
+            }
+        } else {
+            manaAvailable = calculateManaAvailable(game);
+            manaAvailableState = state;
+            manaAvailableChanges = state.getChanges();
+        }
+        return manaAvailable.copy();
+    }
+
+    private ManaOptions calculateManaAvailable(Game game) {
         ManaOptions available = new ManaOptions();
 
         List<Abilities<ActivatedManaAbilityImpl>> sourceWithoutManaCosts = new ArrayList<>();
@@ -32,6 +32,7 @@ import java.util.Set;
 import java.util.UUID;
 import mage.MageObject;
 import mage.abilities.Ability;
+import mage.constants.RangeOfInfluence;
 import mage.constants.Zone;
 import mage.filter.FilterPermanent;
 import mage.game.Game;
@@ -128,8 +129,10 @@ public class TargetPermanent extends TargetObject {
         }
         int count = 0;
         MageObject targetSource = game.getObject(sourceId);
-        for (Permanent permanent : game.getBattlefield().getActivePermanents(filter, sourceControllerId, sourceId, game)) {
-            if (!targets.containsKey(permanent.getId())) {
+        // the filter is checked for each permanent here, so the search stops with the last target needed
+        Set<UUID> range = getRange(sourceControllerId, game);
+        for (Permanent permanent : game.getBattlefield().getCandidates(filter)) {
+            if (isActive(permanent, range) && !targets.containsKey(permanent.getId()) && filter.match(permanent, sourceId, sourceControllerId, game)) {
                 if (notTarget || permanent.canBeTargetedBy(targetSource, sourceControllerId, game)) {
                     count++;
                     if (count >= remainingTargets) {
@@ -159,8 +162,9 @@ public class TargetPermanent extends TargetObject {
             return true;
         }
         int count = 0;
-        for (Permanent permanent : game.getBattlefield().getActivePermanents(filter, sourceControllerId, game)) {
-            if (!targets.containsKey(permanent.getId())) {
+        Set<UUID> range = getRange(sourceControllerId, game);
+        for (Permanent permanent : game.getBattlefield().getCandidates(filter)) {
+            if (isActive(permanent, range) && !targets.containsKey(permanent.getId()) && filter.match(permanent, null, sourceControllerId, game)) {
                 count++;
                 if (count >= remainingTargets) {
                     return true;
@@ -174,8 +178,9 @@ public class TargetPermanent extends TargetObject {
     public Set<UUID> possibleTargets(UUID sourceId, UUID sourceControllerId, Game game) {
         Set<UUID> possibleTargets = new HashSet<>();
         MageObject targetSource = game.getObject(sourceId);
-        for (Permanent permanent : game.getBattlefield().getActivePermanents(filter, sourceControllerId, sourceId, game)) {
-            if (!targets.containsKey(permanent.getId())) {
+        Set<UUID> range = getRange(sourceControllerId, game);
+        for (Permanent permanent : game.getBattlefield().getCandidates(filter)) {
+            if (isActive(permanent, range) && !targets.containsKey(permanent.getId()) && filter.match(permanent, sourceId, sourceControllerId, game)) {
                 if (notTarget || permanent.canBeTargetedBy(targetSource, sourceControllerId, game)) {
                     possibleTargets.add(permanent.getId());
                 }
@@ -187,14 +192,30 @@ public class TargetPermanent extends TargetObject {
     @Override
     public Set<UUID> possibleTargets(UUID sourceControllerId, Game game) {
         Set<UUID> possibleTargets = new HashSet<>();
-        for (Permanent permanent : game.getBattlefield().getActivePermanents(filter, sourceControllerId, game)) {
-            if (!targets.containsKey(permanent.getId())) {
+        Set<UUID> range = getRange(sourceControllerId, game);
+        for (Permanent permanent : game.getBattlefield().getCandidates(filter)) {
+            if (isActive(permanent, range) && !targets.containsKey(permanent.getId()) && filter.match(permanent, null, sourceControllerId, game)) {
                 possibleTargets.add(permanent.getId());
             }
         }
         return possibleTargets;
     }
 
+    /**
+     * @return the players within the range of influence of the player, null
+     * if all players are
+     */
+    private static Set<UUID> getRange(UUID sourceControllerId, Game game) {
+        if (game.getRangeOfInfluence() == RangeOfInfluence.ALL) {
+            return null;
+        }
+        return game.getPlayer(sourceControllerId).getInRange();
+    }
+
+    private static boolean isActive(Permanent permanent, Set<UUID> range) {
+        return permanent.isPhasedIn() && (range == null || range.contains(permanent.getControllerId()));
+    }
+
     @Override
     public TargetPermanent copy() {
         return new TargetPermanent(this);
@@ -0,0 +1,301 @@
+package mage.util;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.log4j.Logger;
+
+/**
+ * Server wide scheduler for the searches of the computer players.
+ *
+ * The searches are executed by a fixed number of worker threads (by default
+ * one per core). The searches of each game are queued separately and the
+ * workers take the searches round robin from the games, so a game with many
+ * computer players can't delay the searches of the other games.
+ *
+ * A computer player waits for a search at most its think time, including the
+ * time the search waits in the queue for a worker. A search that isn't
+ * started within the think time is cancelled.
+ */
+public final class AiSearchScheduler {
+
+    private static final Logger logger = Logger.getLogger(AiSearchScheduler.class);
+
+    private static AiSearchScheduler instance;
+
+    private static final AtomicLong searches = new AtomicLong();
+    private static final AtomicLong queueWaitNanos = new AtomicLong();
+    private static final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private static final AtomicLong thinkNanos = new AtomicLong();
+
+    private final Object lock = new Object();
+    // queued searches of each game
+    private final Map<UUID, Queue<Search<?>>> queues = new HashMap<>();
+    // games with queued searches in the order the workers serve them
+    private final Queue<UUID> ready = new ArrayDeque<>();
+    private final int threads;
+    private int queued;
+    private int running;
+    private boolean shutdown;
+
+    private AiSearchScheduler(int threads) {
+        this.threads = threads;
+        for (int i = 1; i <= threads; i++) {
+            Thread worker = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    work();
+                }
+            }, "AI-SEARCH-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    public static synchronized AiSearchScheduler getInstance() {
+        if (instance == null) {
+            instance = new AiSearchScheduler(Runtime.getRuntime().availableProcessors());
+        }
+        return instance;
+    }
+
+    /**
+     * Sets the number of worker threads. Should be called before the first
+     * search is submitted, searches already queued are still executed by the
+     * previous workers.
+     *
+     * @param threads number of worker threads, if less than 1 one thread per
+     * core is used
+     */
+    public static synchronized void configure(int threads) {
+        if (threads < 1) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        if (instance != null) {
+            if (instance.threads == threads) {
+                return;
+            }
+            instance.shutdown();
+        }
+        instance = new AiSearchScheduler(threads);
+        logger.info("AI search threads: " + threads);
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Number of searches one decision of a computer player should run in
+     * parallel, so it doesn't take all workers from the other games: the
+     * idle workers, but at least one and at most half of the workers.
+     *
+     * @return
+     */
+    public int getParallelism() {
+        synchronized (lock) {
+            int idle = threads - running - queued;
+            return Math.max(1, Math.min(idle, threads / 2));
+        }
+    }
+
+    /**
+     * Queues a search of a computer player.
+     *
+     * @param <T>
+     * @param gameId game of the searching player, used to share the workers
+     * fairly between the games
+     * @param search
+     * @return
+     */
+    public <T> Search<T> submit(UUID gameId, Callable<T> search) {
+        Search<T> task = new Search<>(search);
+        synchronized (lock) {
+            Queue<Search<?>> queue = queues.get(gameId);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(gameId, queue);
+                ready.add(gameId);
+            }
+            queue.add(task);
+            queued++;
+            lock.notify();
+        }
+        return task;
+    }
+
+    private void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+            lock.notifyAll();
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Search<?> search;
+            try {
+                search = take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (search == null) {
+                return;
+            }
+            search.run();
+            // clear an interrupt of a cancelled search so it does not hit the next one
+            Thread.interrupted();
+            synchronized (lock) {
+                running--;
+            }
+        }
+    }
+
+    private Search<?> take() throws InterruptedException {
+        synchronized (lock) {
+            while (ready.isEmpty()) {
+                if (shutdown) {
+                    return null;
+                }
+                lock.wait();
+            }
+            UUID gameId = ready.poll();
+            Queue<Search<?>> queue = queues.get(gameId);
+            Search<?> search = queue.poll();
+            queued--;
+            running++;
+            if (queue.isEmpty()) {
+                queues.remove(gameId);
+            } else {
+                ready.add(gameId);
+            }
+            return search;
+        }
+    }
+
+    public static long getSearches() {
+        return searches.get();
+    }
+
+    /**
+     * @return summed up time the searches waited for a worker
+     */
+    public static long getQueueWaitNanos() {
+        return queueWaitNanos.get();
+    }
+
+    /**
+     * @return summed up time the workers executed searches
+     */
+    public static long getThinkNanos() {
+        return thinkNanos.get();
+    }
+
+    public static String getStatistics() {
+        long count = Math.max(1, searches.get());
+        return "AI searches: " + searches.get()
+                + ", avg queue wait: " + TimeUnit.NANOSECONDS.toMillis(queueWaitNanos.get() / count) + " ms"
+                + ", max queue wait: " + TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get()) + " ms"
+                + ", avg think time: " + TimeUnit.NANOSECONDS.toMillis(thinkNanos.get() / count) + " ms";
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * A queued search.
+     *
+     * @param <T>
+     */
+    public static final class Search<T> extends FutureTask<T> {
+
+        private final long queuedTime = System.nanoTime();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile long startTime;
+        private volatile long endTime;
+
+        private Search(Callable<T> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            if (isDone()) { // cancelled while waiting in the queue
+                return;
+            }
+            startTime = System.nanoTime();
+            started.countDown();
+            try {
+                super.run();
+            } finally {
+                endTime = System.nanoTime();
+                searches.incrementAndGet();
+                queueWaitNanos.addAndGet(getQueueWaitNanos());
+                updateMax(maxQueueWaitNanos, getQueueWaitNanos());
+                thinkNanos.addAndGet(getThinkNanos());
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            started.countDown();
+            return cancelled;
+        }
+
+        /**
+         * Waits for the result of the search, at most the think time. The
+         * time the search still waits for a worker is part of the think time,
+         * if no worker starts the search within the think time it's cancelled.
+         *
+         * @param thinkTime
+         * @param unit
+         * @return
+         * @throws InterruptedException
+         * @throws ExecutionException
+         * @throws TimeoutException if the search did not finish within the
+         * think time
+         */
+        public T getWithinThinkTime(long thinkTime, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            long deadline = System.nanoTime() + unit.toNanos(thinkTime);
+            if (!started.await(thinkTime, unit)) {
+                cancel(true);
+                throw new TimeoutException("AI search was not started within " + thinkTime + " " + unit);
+            }
+            return get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @return the time the search waited for a worker (up to now if it
+         * was not started yet)
+         */
+        public long getQueueWaitNanos() {
+            return (startTime == 0 ? System.nanoTime() : startTime) - queuedTime;
+        }
+
+        /**
+         * @return the time the search was executed (up to now if it is still
+         * running)
+         */
+        public long getThinkNanos() {
+            if (startTime == 0) {
+                return 0;
+            }
+            return (endTime == 0 ? System.nanoTime() : endTime) - startTime;
+        }
+    }
+}
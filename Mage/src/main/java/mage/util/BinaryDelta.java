@@ -0,0 +1,181 @@
+package mage.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Simple block matching binary delta. The delta of a target against a base
+ * is a sequence of copy (offset and length in the base) and literal
+ * instructions, all numbers are written as varints.
+ *
+ * Used to store serialized game states that differ only slightly from the
+ * previous one.
+ */
+public final class BinaryDelta {
+
+    private static final int BLOCK_SIZE = 16;
+    private static final int OP_LITERAL = 0;
+    private static final int OP_COPY = 1;
+
+    private BinaryDelta() {
+    }
+
+    public static byte[] encode(byte[] base, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, target.length / 16));
+        writeVarInt(out, target.length);
+
+        int[] index = buildIndex(base);
+        int mask = index.length - 1;
+        int literalStart = 0;
+        int pos = 0;
+        while (pos + BLOCK_SIZE <= target.length) {
+            int candidate = index[hash(target, pos) & mask] - 1;
+            if (candidate < 0 || !equalBlock(base, candidate, target, pos)) {
+                pos++;
+                continue;
+            }
+            // extend the match in both directions
+            int matchStart = pos;
+            int baseStart = candidate;
+            while (matchStart > literalStart && baseStart > 0 && base[baseStart - 1] == target[matchStart - 1]) {
+                matchStart--;
+                baseStart--;
+            }
+            int matchEnd = pos + BLOCK_SIZE;
+            int baseEnd = candidate + BLOCK_SIZE;
+            while (matchEnd < target.length && baseEnd < base.length && base[baseEnd] == target[matchEnd]) {
+                matchEnd++;
+                baseEnd++;
+            }
+            writeLiteral(out, target, literalStart, matchStart - literalStart);
+            writeVarInt(out, ((matchEnd - matchStart) << 1) | OP_COPY);
+            writeVarInt(out, baseStart);
+            pos = matchEnd;
+            literalStart = matchEnd;
+        }
+        writeLiteral(out, target, literalStart, target.length - literalStart);
+        return out.toByteArray();
+    }
+
+    public static byte[] apply(byte[] base, byte[] delta) {
+        int[] pos = new int[1];
+        byte[] target = new byte[readVarInt(delta, pos)];
+        int targetPos = 0;
+        while (pos[0] < delta.length) {
+            int op = readVarInt(delta, pos);
+            int length = op >>> 1;
+            if ((op & 1) == OP_COPY) {
+                int offset = readVarInt(delta, pos);
+                System.arraycopy(base, offset, target, targetPos, length);
+            } else {
+                System.arraycopy(delta, pos[0], target, targetPos, length);
+                pos[0] += length;
+            }
+            targetPos += length;
+        }
+        if (targetPos != target.length) {
+            throw new IllegalArgumentException("Corrupt delta: expected " + target.length + " bytes but got " + targetPos);
+        }
+        return target;
+    }
+
+    public static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static byte[] uncompress(byte[] data) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && inflater.needsInput()) {
+                    throw new IllegalArgumentException("Truncated compressed data");
+                }
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new IllegalArgumentException("Corrupt compressed data", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static int[] buildIndex(byte[] base) {
+        int blocks = base.length / BLOCK_SIZE;
+        int size = Integer.highestOneBit(Math.max(16, blocks * 2) - 1) << 1;
+        int[] index = new int[size];
+        for (int i = 0; i + BLOCK_SIZE <= base.length; i += BLOCK_SIZE) {
+            int slot = hash(base, i) & (size - 1);
+            if (index[slot] == 0) { // keep the first occurrence
+                index[slot] = i + 1;
+            }
+        }
+        return index;
+    }
+
+    private static int hash(byte[] data, int offset) {
+        int h = 0;
+        for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+            h = 31 * h + data[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equalBlock(byte[] base, int baseOffset, byte[] target, int targetOffset) {
+        if (baseOffset + BLOCK_SIZE > base.length) {
+            return false;
+        }
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            if (base[baseOffset + i] != target[targetOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeLiteral(ByteArrayOutputStream out, byte[] data, int offset, int length) {
+        if (length > 0) {
+            writeVarInt(out, (length << 1) | OP_LITERAL);
+            out.write(data, offset, length);
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] data, int[] pos) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
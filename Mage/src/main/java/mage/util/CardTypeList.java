@@ -0,0 +1,113 @@
+package mage.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import mage.constants.CardType;
+
+/**
+ * The card types of an object. The battlefield indexes the permanents by card
+ * type and is told if the card types of a permanent change, most card types
+ * are changed by continuous effects but some by one-shot effects, state-based
+ * actions or when a permanent is turned face up.
+ */
+public class CardTypeList extends ArrayList<CardType> {
+
+    private transient Runnable changeListener;
+
+    public CardTypeList() {
+    }
+
+    /**
+     * @param changeListener called with each change of the card types, null
+     * to stop the calls
+     */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void changed() {
+        if (changeListener != null) {
+            changeListener.run();
+        }
+    }
+
+    @Override
+    public boolean add(CardType type) {
+        changed();
+        return super.add(type);
+    }
+
+    @Override
+    public void add(int index, CardType type) {
+        changed();
+        super.add(index, type);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends CardType> types) {
+        changed();
+        return super.addAll(types);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends CardType> types) {
+        changed();
+        return super.addAll(index, types);
+    }
+
+    @Override
+    public CardType set(int index, CardType type) {
+        changed();
+        return super.set(index, type);
+    }
+
+    @Override
+    public CardType remove(int index) {
+        changed();
+        return super.remove(index);
+    }
+
+    @Override
+    public boolean remove(Object type) {
+        changed();
+        return super.remove(type);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> types) {
+        changed();
+        return super.removeAll(types);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> types) {
+        changed();
+        return super.retainAll(types);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super CardType> filter) {
+        changed();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<CardType> operator) {
+        changed();
+        super.replaceAll(operator);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        changed();
+        super.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public void clear() {
+        changed();
+        super.clear();
+    }
+}
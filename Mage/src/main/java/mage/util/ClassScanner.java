@@ -33,9 +33,11 @@ import java.io.IOException;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.TreeSet;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
@@ -58,6 +60,21 @@ public class ClassScanner {
     }
 
     public static List<Class> findClasses(ClassLoader classLoader, List<String> packages, Class<?> type) {
+        return findClasses(classLoader, packages, type, Collections.<String>emptySet());
+    }
+
+    /**
+     * Finds the classes of the given type in the packages, except for the
+     * classes in the given jars and class folders.
+     *
+     * @param classLoader
+     * @param packages
+     * @param type
+     * @param skippedLocations locations as returned by
+     * {@link #getLocation(URL, String)}
+     * @return
+     */
+    public static List<Class> findClasses(ClassLoader classLoader, List<String> packages, Class<?> type, Set<String> skippedLocations) {
         List<Class> cards = new ArrayList<>();
         try {
             if(classLoader == null) classLoader = Thread.currentThread().getContextClassLoader();
@@ -71,6 +88,9 @@ public class ClassScanner {
 
                 while (resources.hasMoreElements()) {
                     URL resource = resources.nextElement();
+                    if (skippedLocations.contains(getLocation(resource, path))) {
+                        continue;
+                    }
                     String filePath = resource.getFile();
                     if (filePath.startsWith("file:")) {
                         filePath = filePath.substring("file:".length(), filePath.lastIndexOf("!"));
@@ -94,6 +114,19 @@ public class ClassScanner {
         return cards;
     }
 
+    /**
+     * @param resource
+     * @param name the name the resource was found with
+     * @return the jar or class folder that contains the resource
+     */
+    public static String getLocation(URL resource, String name) {
+        String filePath = resource.getFile();
+        if (filePath.startsWith("file:")) {
+            return filePath.substring("file:".length(), filePath.lastIndexOf("!"));
+        }
+        return filePath.substring(0, filePath.length() - name.length());
+    }
+
     private static List<Class> findClasses(ClassLoader classLoader, File directory, String packageName, Class<?> type) {
         List<Class> cards = new ArrayList<>();
         if (!directory.exists()) return cards;
@@ -0,0 +1,138 @@
+package mage.util;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hash map whose copies share the underlying storage until one of them is
+ * written to. Copying is therefore O(1) and a state snapshot that is never
+ * changed afterwards never pays for the copy at all.
+ *
+ * The collection views are read only, all modifications have to go through
+ * the map methods so the storage can be detached before it is changed.
+ *
+ * Values are not copied, so this should only be used for immutable values or
+ * for values whose copy-on-write handling is done by the owner of the map.
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class CopyOnWriteMap<K, V> implements Map<K, V>, Serializable, Copyable<CopyOnWriteMap<K, V>> {
+
+    private HashMap<K, V> map;
+    // true if the storage may be referenced by another copy
+    private boolean shared;
+
+    public CopyOnWriteMap() {
+        this.map = new HashMap<>();
+    }
+
+    public CopyOnWriteMap(final CopyOnWriteMap<K, V> copyOnWriteMap) {
+        // the source may be written afterwards, so it has to detach too
+        copyOnWriteMap.shared = true;
+        this.map = copyOnWriteMap.map;
+        this.shared = true;
+    }
+
+    @Override
+    public CopyOnWriteMap<K, V> copy() {
+        return new CopyOnWriteMap<>(this);
+    }
+
+    private HashMap<K, V> writable() {
+        if (shared) {
+            map = new HashMap<>(map);
+            shared = false;
+        }
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return map.containsValue(value);
+    }
+
+    @Override
+    public V get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return writable().put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!map.containsKey(key)) {
+            return null;
+        }
+        return writable().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        if (!m.isEmpty()) {
+            writable().putAll(m);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (shared) {
+            map = new HashMap<>();
+            shared = false;
+        } else {
+            map.clear();
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(map.values());
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return Collections.unmodifiableMap(map).entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return map.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return map.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
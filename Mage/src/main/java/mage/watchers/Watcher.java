@@ -28,10 +28,12 @@
 package mage.watchers;
 
 import java.io.Serializable;
+import java.util.Set;
 import java.util.UUID;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.GameEvent;
+import mage.game.events.GameEvent.EventType;
 
 /**
  *
@@ -98,6 +100,17 @@ public abstract class Watcher implements Serializable {
 
     public abstract void watch(GameEvent event, Game game);
 
+    /**
+     * The event types the watcher reacts to. The watcher only gets events of
+     * these types. The declaration is only used if it's made in the same class
+     * as watch or in a subclass of it.
+     *
+     * @return the event types or null if the watcher has to get all events
+     */
+    public Set<EventType> getWatchedEventTypes() {
+        return null;
+    }
+
     public abstract Watcher copy();
 
 }
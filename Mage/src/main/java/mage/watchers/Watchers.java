@@ -28,8 +28,10 @@
 package mage.watchers;
 
 import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import mage.game.Game;
+import mage.game.events.EventTypeIndex;
 import mage.game.events.GameEvent;
 
 /**
@@ -38,6 +40,12 @@ import mage.game.events.GameEvent;
  */
 public class Watchers extends HashMap<String, Watcher> {
 
+    private static final EventTypeIndex.DeclarationCheck declarationCheck
+            = new EventTypeIndex.DeclarationCheck("getWatchedEventTypes", "watch", GameEvent.class, Game.class);
+
+    // watchers by the event types they watch, rebuilt after the watchers have changed
+    private transient EventTypeIndex<String> index;
+
     public Watchers() {
     }
 
@@ -54,9 +62,68 @@ public class Watchers extends HashMap<String, Watcher> {
     }
 
     public void watch(GameEvent event, Game game) {
-        for (Watcher watcher : this.values()) {
-            watcher.watch(event, game);
+        for (String key : getIndex().get(event.getType(), game.getState().getEventStatistics())) {
+            Watcher watcher = this.get(key);
+            if (watcher != null) {
+                watcher.watch(event, game);
+            }
+        }
+    }
+
+    private EventTypeIndex<String> getIndex() {
+        if (index == null) {
+            index = new EventTypeIndex<>();
+            for (Map.Entry<String, Watcher> entry : this.entrySet()) {
+                Watcher watcher = entry.getValue();
+                index.add(entry.getKey(), declarationCheck.isValid(watcher.getClass()) ? watcher.getWatchedEventTypes() : null);
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public Watcher put(String key, Watcher value) {
+        index = null;
+        return super.put(key, value);
+    }
+
+    @Override
+    public Watcher putIfAbsent(String key, Watcher value) {
+        Watcher current = get(key);
+        if (current == null) {
+            put(key, value);
         }
+        return current;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Watcher> m) {
+        index = null;
+        super.putAll(m);
+    }
+
+    @Override
+    public Watcher replace(String key, Watcher value) {
+        index = null;
+        return super.replace(key, value);
+    }
+
+    @Override
+    public Watcher remove(Object key) {
+        index = null;
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        index = null;
+        return super.remove(key, value);
+    }
+
+    @Override
+    public void clear() {
+        index = null;
+        super.clear();
     }
 
     public void reset() {
@@ -27,6 +27,9 @@
  */
 package mage.watchers.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import mage.constants.WatcherScope;
 import mage.game.Game;
 import mage.game.events.DamagedPlayerEvent;
@@ -40,6 +43,9 @@ import java.util.UUID;
  * @author Loki
  */
 public class BloodthirstWatcher extends Watcher {
+
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.DAMAGED_PLAYER));
+
     public BloodthirstWatcher(UUID controllerId) {
         super("DamagedOpponents", WatcherScope.PLAYER);
         this.controllerId = controllerId;
@@ -62,6 +68,11 @@ public class BloodthirstWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<GameEvent.EventType> getWatchedEventTypes() {
+        return EVENT_TYPES;
+    }
+
     @Override
     public BloodthirstWatcher copy() {
         return new BloodthirstWatcher(this);
@@ -28,10 +28,13 @@
 package mage.watchers.common;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import mage.MageObjectReference;
 import mage.constants.WatcherScope;
@@ -45,6 +48,8 @@ import mage.watchers.Watcher;
  */
 public class CastSpellLastTurnWatcher extends Watcher {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.SPELL_CAST));
+
     private final Map<UUID, Integer> amountOfSpellsCastOnPrevTurn = new HashMap<>();
     private final Map<UUID, Integer> amountOfSpellsCastOnCurrentTurn = new HashMap<>();
     private final List<MageObjectReference> spellsCastThisTurnInOrder = new ArrayList<>();
@@ -81,6 +86,11 @@ public class CastSpellLastTurnWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<GameEvent.EventType> getWatchedEventTypes() {
+        return EVENT_TYPES;
+    }
+
     @Override
     public void reset() {
         amountOfSpellsCastOnPrevTurn.clear();
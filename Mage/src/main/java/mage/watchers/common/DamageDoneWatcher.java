@@ -5,8 +5,11 @@
  */
 package mage.watchers.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import mage.MageObjectReference;
 import mage.constants.WatcherScope;
@@ -20,6 +23,8 @@ import mage.watchers.Watcher;
  */
 public class DamageDoneWatcher extends Watcher {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.DAMAGED_CREATURE, GameEvent.EventType.DAMAGED_PLANESWALKER, GameEvent.EventType.DAMAGED_PLAYER));
+
     // which object did how much damage during the turn
     public final Map<MageObjectReference, Integer> damagingObjects;
 
@@ -60,6 +65,11 @@ public class DamageDoneWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<GameEvent.EventType> getWatchedEventTypes() {
+        return EVENT_TYPES;
+    }
+
     @Override
     public void reset() {
         super.reset();
@@ -28,6 +28,9 @@
 
 package mage.watchers.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 import mage.constants.CardType;
 import mage.constants.WatcherScope;
 import mage.constants.Zone;
@@ -43,6 +46,8 @@ import mage.watchers.Watcher;
  */
 public class MorbidWatcher extends Watcher {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.ZONE_CHANGE));
+
     public MorbidWatcher() {
         super("Morbid", WatcherScope.GAME);
     }
@@ -64,6 +69,11 @@ public class MorbidWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<GameEvent.EventType> getWatchedEventTypes() {
+        return EVENT_TYPES;
+    }
+
     @Override
     public MorbidWatcher copy() {
         return new MorbidWatcher(this);
@@ -27,6 +27,8 @@
  */
 package mage.watchers.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
@@ -44,6 +46,8 @@ import mage.watchers.Watcher;
  */
 public class PlayerDamagedBySourceWatcher extends Watcher {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.DAMAGED_PLAYER));
+
     private final Set<String> damageSourceIds = new HashSet<>();
 
     public PlayerDamagedBySourceWatcher(UUID playerId) {
@@ -70,6 +74,11 @@ public class PlayerDamagedBySourceWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<GameEvent.EventType> getWatchedEventTypes() {
+        return EVENT_TYPES;
+    }
+
     /**
      * Checks if the current object with sourceId has damaged the player during the current turn.
      * The zoneChangeCounter will be taken into account.
@@ -27,9 +27,12 @@
  */
 package mage.watchers.common;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.UUID;
 import mage.constants.WatcherScope;
 import mage.game.Game;
@@ -44,6 +47,8 @@ import mage.watchers.Watcher;
  */
 public class PlayerLostLifeWatcher extends Watcher {
 
+    private static final Set<GameEvent.EventType> EVENT_TYPES = Collections.unmodifiableSet(EnumSet.of(GameEvent.EventType.LOST_LIFE));
+
     private final Map<UUID, Integer> amountOfLifeLostThisTurn = new HashMap<>();
     private final Map<UUID, Integer> amountOfLifeLostLastTurn = new HashMap<>();
 
@@ -74,6 +79,11 @@ public class PlayerLostLifeWatcher extends Watcher {
         }
     }
 
+    @Override
+    public Set<GameEvent.EventType> getWatchedEventTypes() {
+        return EVENT_TYPES;
+    }
+
     public int getLiveLost(UUID playerId) {
         Integer amount = amountOfLifeLostThisTurn.get(playerId);
         if (amount != null) {
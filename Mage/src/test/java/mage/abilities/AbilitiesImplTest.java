@@ -0,0 +1,145 @@
+package mage.abilities;
+
+import mage.abilities.keyword.FlyingAbility;
+import mage.abilities.keyword.MenaceAbility;
+import mage.abilities.keyword.ReachAbility;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Custom unit tests for {@link AbilitiesImpl}
+ */
+public class AbilitiesImplTest {
+
+    @Test
+    public void shouldFindKeywordSingletonsById() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<>(new MenaceAbility());
+
+        // when
+        abilities.add(FlyingAbility.getInstance());
+
+        // then
+        assertTrue(abilities.containsKey(FlyingAbility.getInstance().getId()));
+        assertFalse(abilities.containsKey(ReachAbility.getInstance().getId()));
+        assertTrue(abilities.contains(FlyingAbility.getInstance()));
+        assertTrue(abilities.containsClass(FlyingAbility.class));
+    }
+
+    @Test
+    public void shouldKeepIndexUpToDateWhenAddingAndRemoving() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<>();
+        MenaceAbility menace = new MenaceAbility();
+        assertFalse(abilities.containsKey(menace.getId()));
+
+        // when
+        abilities.add(menace);
+
+        // then
+        assertSame(menace, abilities.get(menace.getId()));
+        assertTrue(abilities.containsClass(MenaceAbility.class));
+
+        // when
+        abilities.remove(menace);
+
+        // then
+        assertNull(abilities.get(menace.getId()));
+        assertFalse(abilities.containsClass(MenaceAbility.class));
+    }
+
+    @Test
+    public void shouldFindAbilityAfterIdChanged() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<>();
+        MenaceAbility menace = new MenaceAbility();
+        abilities.add(menace);
+        assertTrue(abilities.containsKey(menace.getId()));
+
+        // when
+        menace.newId();
+
+        // then
+        assertTrue(abilities.containsKey(menace.getId()));
+        assertSame(menace, abilities.get(menace.getId()));
+    }
+
+    @Test
+    public void shouldFindAbilityOfTwoListsAfterIdChanged() {
+        // given
+        MenaceAbility menace = new MenaceAbility();
+        Abilities<Ability> first = new AbilitiesImpl<>(menace);
+        Abilities<Ability> second = new AbilitiesImpl<>(menace, FlyingAbility.getInstance());
+        assertTrue(first.containsKey(menace.getId()));
+        assertTrue(second.containsKey(menace.getId()));
+
+        // when
+        menace.newId();
+
+        // then
+        assertSame(menace, first.get(menace.getId()));
+        assertSame(menace, second.get(menace.getId()));
+        assertTrue(second.containsKey(FlyingAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldFindAbilitiesCopiedIntoAnotherList() {
+        // given
+        MenaceAbility menace = new MenaceAbility();
+        MenaceAbility otherMenace = new MenaceAbility();
+        Abilities<Ability> abilities = new AbilitiesImpl<>(menace, FlyingAbility.getInstance());
+        assertSame(menace, abilities.get(menace.getId()));
+        Abilities<Ability> copied = new AbilitiesImpl<>();
+        copied.addAll(abilities);
+        copied.add(otherMenace);
+
+        // when
+        Ability found = copied.get(menace.getId());
+
+        // then
+        assertSame(menace, found);
+        assertSame(menace, abilities.get(menace.getId()));
+        assertNull(abilities.get(otherMenace.getId()));
+        assertSame(otherMenace, copied.get(otherMenace.getId()));
+
+        // when
+        menace.newId();
+        otherMenace.newId();
+
+        // then
+        assertSame(menace, abilities.get(menace.getId()));
+        assertSame(menace, copied.get(menace.getId()));
+        assertSame(otherMenace, copied.get(otherMenace.getId()));
+        assertFalse(abilities.containsKey(otherMenace.getId()));
+        assertTrue(copied.containsKey(FlyingAbility.getInstance().getId()));
+    }
+
+    @Test
+    public void shouldFindCopyByOriginalId() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<>();
+        MenaceAbility menace = new MenaceAbility();
+        abilities.add(menace);
+
+        // when
+        Ability copy = menace.copy();
+        copy.newId();
+
+        // then
+        assertTrue(abilities.contains(copy));
+        assertFalse(abilities.contains(new MenaceAbility()));
+    }
+
+    @Test
+    public void shouldChangeModificationCountWhenReplacing() {
+        // given
+        Abilities<Ability> abilities = new AbilitiesImpl<>(new MenaceAbility());
+        int modificationCount = abilities.getModificationCount();
+
+        // when
+        abilities.set(0, new MenaceAbility());
+
+        // then
+        assertNotEquals(modificationCount, abilities.getModificationCount());
+    }
+}
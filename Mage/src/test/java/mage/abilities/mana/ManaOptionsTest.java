@@ -0,0 +1,59 @@
+package mage.abilities.mana;
+
+import mage.Mana;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Custom unit tests for {@link ManaOptions}
+ */
+public class ManaOptionsTest {
+
+    @Test
+    public void shouldRemoveEqualAndIncludedOptions() {
+        // given
+        ManaOptions options = new ManaOptions();
+        options.add(Mana.RedMana(1));
+        options.add(new Mana(1, 0, 1, 0, 0, 0, 0, 0));
+        options.add(Mana.BlueMana(1));
+        options.add(new Mana(1, 0, 1, 0, 0, 0, 0, 0));
+        options.add(Mana.GreenMana(2));
+
+        // when
+        options.removeFullyIncludedVariations();
+
+        // then
+        assertEquals(2, options.size());
+        assertEquals("{R}{U}", options.get(0).toString());
+        assertEquals("{G}{G}", options.get(1).toString());
+    }
+
+    @Test
+    public void shouldKeepOptionsNotIncludedInEachOther() {
+        // given
+        ManaOptions options = new ManaOptions();
+        options.add(Mana.RedMana(2));
+        options.add(new Mana(1, 0, 1, 0, 0, 0, 0, 0));
+        options.add(Mana.BlueMana(2));
+
+        // when
+        options.removeFullyIncludedVariations();
+
+        // then
+        assertEquals(3, options.size());
+    }
+
+    @Test
+    public void shouldKeepOptionsWithAmountsTooBigToPack() {
+        // given
+        ManaOptions options = new ManaOptions();
+        options.add(Mana.RedMana(200));
+        options.add(Mana.RedMana(200));
+
+        // when
+        options.removeFullyIncludedVariations();
+
+        // then
+        assertEquals(2, options.size());
+    }
+}
@@ -0,0 +1,70 @@
+package mage.filter.predicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import mage.ObjectColor;
+import mage.constants.CardType;
+import mage.filter.predicate.mageobject.CardTypePredicate;
+import mage.filter.predicate.mageobject.ColorPredicate;
+import mage.filter.predicate.mageobject.SupertypePredicate;
+import mage.game.Game;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Custom unit tests for {@link Predicates}
+ */
+public class PredicatesTest {
+
+    @Test
+    public void shouldOrderCheapPredicatesFirst() {
+        // given
+        Predicate<Object> unknown = new CountingPredicate(true);
+        Predicate cardType = new CardTypePredicate(CardType.CREATURE);
+        Predicate notLegendary = Predicates.not(new SupertypePredicate("Legendary"));
+        Predicate color = new ColorPredicate(ObjectColor.RED);
+        Predicate anotherCardType = new CardTypePredicate(CardType.ARTIFACT);
+
+        // when
+        List<Predicate> ordered = Predicates.orderByCost(Arrays.asList(unknown, cardType, color, notLegendary, anotherCardType));
+
+        // then
+        assertEquals(Arrays.asList(cardType, notLegendary, anotherCardType, color, unknown), ordered);
+    }
+
+    @Test
+    public void shouldStopAtFirstFalsePredicate() {
+        // given
+        CountingPredicate first = new CountingPredicate(false);
+        CountingPredicate second = new CountingPredicate(true);
+        List<Predicate<Object>> predicates = new ArrayList<>();
+        predicates.add(first);
+        predicates.add(second);
+
+        // when
+        boolean result = Predicates.applyAll(predicates, new Object(), null);
+
+        // then
+        assertFalse(result);
+        assertEquals(1, first.calls);
+        assertEquals(0, second.calls);
+        assertTrue(Predicates.applyAll(new ArrayList<Predicate<Object>>(), new Object(), null));
+    }
+
+    private static class CountingPredicate implements Predicate<Object> {
+
+        private final boolean result;
+        private int calls;
+
+        CountingPredicate(boolean result) {
+            this.result = result;
+        }
+
+        @Override
+        public boolean apply(Object input, Game game) {
+            calls++;
+            return result;
+        }
+    }
+}
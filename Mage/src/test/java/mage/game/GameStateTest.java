@@ -0,0 +1,38 @@
+package mage.game;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Custom unit tests for {@link GameState}
+ */
+public class GameStateTest {
+
+    @Test
+    public void shouldCountRestoreAsChange() {
+        // given
+        GameState state = new GameState();
+        GameState bookmark = state.copy();
+        int changes = state.getChanges();
+
+        // when
+        state.restore(bookmark);
+
+        // then
+        assertTrue(state.getChanges() != changes);
+    }
+
+    @Test
+    public void shouldCountRollBackAsChange() {
+        // given
+        GameState state = new GameState();
+        GameState bookmark = state.copy();
+        int changes = state.getChanges();
+
+        // when
+        state.restoreForRollBack(bookmark);
+
+        // then
+        assertTrue(state.getChanges() != changes);
+    }
+}
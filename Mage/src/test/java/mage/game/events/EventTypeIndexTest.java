@@ -0,0 +1,110 @@
+package mage.game.events;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import mage.game.events.GameEvent.EventType;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Custom unit tests for {@link EventTypeIndex}
+ */
+public class EventTypeIndexTest {
+
+    @Test
+    public void shouldReturnListenersOfEventTypeInOrder() {
+        // given
+        EventTypeIndex<String> index = new EventTypeIndex<>();
+        index.add("a", EnumSet.of(EventType.ZONE_CHANGE));
+        index.add("b", null);
+        index.add("c", EnumSet.of(EventType.SPELL_CAST, EventType.ZONE_CHANGE));
+        index.add("d", EnumSet.of(EventType.SPELL_CAST));
+        index.add("e", null);
+
+        // when
+        List<String> zoneChange = index.get(EventType.ZONE_CHANGE);
+        List<String> spellCast = index.get(EventType.SPELL_CAST);
+        List<String> upkeep = index.get(EventType.UPKEEP_STEP_PRE);
+
+        // then
+        assertEquals(Arrays.asList("a", "b", "c", "e"), zoneChange);
+        assertEquals(Arrays.asList("b", "c", "d", "e"), spellCast);
+        assertEquals(Arrays.asList("b", "e"), upkeep);
+    }
+
+    @Test
+    public void shouldOnlyTrustDeclarationOfCheckingClass() {
+        // given
+        EventTypeIndex.DeclarationCheck check = new EventTypeIndex.DeclarationCheck("getTypes", "check", GameEvent.class);
+
+        // then
+        assertFalse(check.isValid(CheckingListener.class));
+        assertTrue(check.isValid(DeclaringListener.class));
+        assertTrue(check.isValid(SubclassOfDeclaringListener.class));
+        assertFalse(check.isValid(CheckingSubclassOfDeclaringListener.class));
+    }
+
+    @Test
+    public void shouldCountDispatchedEventsInStatistics() {
+        // given
+        EventTypeIndex<String> index = new EventTypeIndex<>();
+        index.add("a", EnumSet.of(EventType.ZONE_CHANGE));
+        index.add("b", EnumSet.of(EventType.SPELL_CAST));
+        index.add("c", null);
+        EventTypeIndex.Statistics statistics = new EventTypeIndex.Statistics();
+
+        // when
+        index.get(EventType.ZONE_CHANGE, statistics);
+        index.get(EventType.UPKEEP_STEP_PRE, statistics);
+        index.get(EventType.SPELL_CAST);
+
+        // then
+        assertEquals(2, statistics.getDispatchedEvents());
+        assertEquals(3, statistics.getVisitedListeners());
+        assertEquals(6, statistics.getRegisteredListeners());
+    }
+
+    public static class Listener {
+
+        public boolean check(GameEvent event) {
+            return true;
+        }
+
+        public EnumSet<EventType> getTypes() {
+            return null;
+        }
+    }
+
+    public static class CheckingListener extends Listener {
+
+        @Override
+        public boolean check(GameEvent event) {
+            return event.getType() == EventType.ZONE_CHANGE;
+        }
+    }
+
+    public static class DeclaringListener extends Listener {
+
+        @Override
+        public boolean check(GameEvent event) {
+            return event.getType() == EventType.ZONE_CHANGE;
+        }
+
+        @Override
+        public EnumSet<EventType> getTypes() {
+            return EnumSet.of(EventType.ZONE_CHANGE);
+        }
+    }
+
+    public static class SubclassOfDeclaringListener extends DeclaringListener {
+    }
+
+    public static class CheckingSubclassOfDeclaringListener extends DeclaringListener {
+
+        @Override
+        public boolean check(GameEvent event) {
+            return event.getType() == EventType.SPELL_CAST;
+        }
+    }
+}
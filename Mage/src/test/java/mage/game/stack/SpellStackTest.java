@@ -0,0 +1,82 @@
+package mage.game.stack;
+
+import java.util.Iterator;
+import java.util.UUID;
+import mage.abilities.Ability;
+import mage.abilities.keyword.MenaceAbility;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * The stack finds its objects by their id and by the id of their source
+ * without searching. The lookup has to follow each change of the stack.
+ */
+public class SpellStackTest {
+
+    private final UUID sourceId = UUID.randomUUID();
+
+    @Test
+    public void shouldFindTopmostObjectOfSource() {
+        SpellStack stack = new SpellStack();
+        StackAbility first = createStackAbility();
+        StackAbility second = createStackAbility();
+        stack.push(first);
+        assertSame(first, stack.getStackObject(sourceId));
+
+        stack.push(second);
+        assertSame(second, stack.getStackObject(sourceId));
+        assertSame(first, stack.getStackObject(first.getId()));
+        assertSame(second, stack.getObject(second.getId()));
+        assertNull(stack.getObject(sourceId));
+        assertNull(stack.getSpell(second.getId()));
+
+        // the object below is the topmost again
+        stack.pop();
+        assertSame(first, stack.getStackObject(sourceId));
+        assertNull(stack.getStackObject(second.getId()));
+    }
+
+    @Test
+    public void shouldForgetRemovedObjects() {
+        SpellStack stack = new SpellStack();
+        StackAbility first = createStackAbility();
+        StackAbility second = createStackAbility();
+        StackAbility third = createStackAbility();
+        stack.push(first);
+        stack.push(second);
+        stack.push(third);
+        assertSame(second, stack.getObject(second.getId()));
+
+        // each way of removing objects
+        stack.remove(second);
+        stack.removeIf(object -> object == third);
+        Iterator<StackObject> it = stack.iterator();
+        it.next();
+        it.remove();
+
+        assertTrue(stack.isEmpty());
+        assertNull(stack.getObject(first.getId()));
+        assertNull(stack.getObject(second.getId()));
+        assertNull(stack.getObject(third.getId()));
+        assertNull(stack.getStackObject(sourceId));
+    }
+
+    @Test
+    public void shouldFindObjectsOfCopiedStack() {
+        SpellStack stack = new SpellStack();
+        StackAbility ability = createStackAbility();
+        stack.push(ability);
+        assertSame(ability, stack.getObject(ability.getId()));
+
+        SpellStack copy = stack.copy();
+        StackObject copied = copy.getObject(ability.getId());
+        assertNotNull(copied);
+        assertNotSame(ability, copied);
+    }
+
+    private StackAbility createStackAbility() {
+        Ability ability = new MenaceAbility();
+        ability.setSourceId(sourceId);
+        return new StackAbility(ability, UUID.randomUUID());
+    }
+}
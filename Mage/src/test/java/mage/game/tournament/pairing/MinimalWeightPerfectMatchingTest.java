@@ -0,0 +1,92 @@
+package mage.game.tournament.pairing;
+
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * The matching of the swiss pairings has to find a perfect matching with the
+ * minimal weight. It's compared with all matchings of small random graphs,
+ * with small weights (many matchings with the same weight) and large ones.
+ */
+public class MinimalWeightPerfectMatchingTest {
+
+    @Test
+    public void shouldFindMinimalWeightOfBruteForce() {
+        Random random = new Random(42);
+        for (int test = 0; test < 500; test++) {
+            int n = 2 * (1 + random.nextInt(6));
+            int maxWeight = 1 + random.nextInt(test % 2 == 0 ? 10 : 100000);
+            int[][] weights = createWeights(n, maxWeight, random);
+
+            int[] pairs = new MinimalWeightPerfectMatching(weights).getPairs();
+
+            assertPerfect(pairs);
+            assertEquals(bruteForce(weights, new boolean[n], 0), weight(weights, pairs));
+        }
+    }
+
+    @Test
+    public void shouldMatchLargeGraphs() {
+        // more players than a tournament has, too many to compare with all matchings
+        Random random = new Random(7);
+        int[][] weights = createWeights(512, 250000, random);
+
+        int[] pairs = new MinimalWeightPerfectMatching(weights).getPairs();
+
+        assertPerfect(pairs);
+    }
+
+    @Test
+    public void shouldMatchEmptyGraph() {
+        assertEquals(0, new MinimalWeightPerfectMatching(new int[0][0]).getPairs().length);
+    }
+
+    private static int[][] createWeights(int n, int maxWeight, Random random) {
+        int[][] weights = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < i; j++) {
+                weights[i][j] = random.nextInt(maxWeight);
+                weights[j][i] = weights[i][j];
+            }
+        }
+        return weights;
+    }
+
+    private static void assertPerfect(int[] pairs) {
+        for (int i = 0; i < pairs.length; i++) {
+            assertTrue(pairs[i] >= 0 && pairs[i] != i);
+            assertEquals(i, pairs[pairs[i]]);
+        }
+    }
+
+    private static long weight(int[][] weights, int[] pairs) {
+        long weight = 0;
+        for (int i = 0; i < pairs.length; i++) {
+            if (i < pairs[i]) {
+                weight += weights[i][pairs[i]];
+            }
+        }
+        return weight;
+    }
+
+    private static long bruteForce(int[][] weights, boolean[] used, int t) {
+        while (t < used.length && used[t]) {
+            t++;
+        }
+        if (t == used.length) {
+            return 0;
+        }
+        long min = Long.MAX_VALUE;
+        used[t] = true;
+        for (int i = t + 1; i < used.length; i++) {
+            if (!used[i]) {
+                used[i] = true;
+                min = Math.min(min, weights[t][i] + bruteForce(weights, used, t + 1));
+                used[i] = false;
+            }
+        }
+        used[t] = false;
+        return min;
+    }
+}
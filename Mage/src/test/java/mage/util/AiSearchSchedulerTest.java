@@ -0,0 +1,153 @@
+package mage.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Custom unit tests for {@link AiSearchScheduler}
+ */
+public class AiSearchSchedulerTest {
+
+    @Test
+    public void shouldServeGamesRoundRobin() throws Exception {
+        // given
+        AiSearchScheduler.configure(1);
+        AiSearchScheduler scheduler = AiSearchScheduler.getInstance();
+        UUID gameA = UUID.randomUUID();
+        UUID gameB = UUID.randomUUID();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> executed = Collections.synchronizedList(new ArrayList<String>());
+        scheduler.submit(gameA, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                blocked.countDown();
+                release.await();
+                return "A1";
+            }
+        });
+        blocked.await();
+
+        // when
+        scheduler.submit(gameA, record("A2", executed));
+        scheduler.submit(gameA, record("A3", executed));
+        AiSearchScheduler.Search<String> last = scheduler.submit(gameB, record("B1", executed));
+        release.countDown();
+
+        // then
+        assertEquals("B1", last.get(10, TimeUnit.SECONDS));
+        AiSearchScheduler.Search<String> end = scheduler.submit(gameB, record("B2", executed));
+        end.get(10, TimeUnit.SECONDS);
+        assertEquals("[A2, B1, A3, B2]", executed.toString());
+    }
+
+    @Test
+    public void shouldNotCountQueueWaitAsThinkTime() throws Exception {
+        // given
+        AiSearchScheduler.configure(1);
+        AiSearchScheduler scheduler = AiSearchScheduler.getInstance();
+        final CountDownLatch release = new CountDownLatch(1);
+        scheduler.submit(UUID.randomUUID(), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                release.await();
+                return "blocking";
+            }
+        });
+        AiSearchScheduler.Search<String> search = scheduler.submit(UUID.randomUUID(), record("queued", new ArrayList<String>()));
+
+        // when
+        Thread.sleep(200);
+        release.countDown();
+
+        // then
+        assertEquals("queued", search.getWithinThinkTime(100, TimeUnit.MILLISECONDS));
+        assertTrue(search.getQueueWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    public void shouldCancelSearchNotStartedWithinThinkTime() throws Exception {
+        // given
+        AiSearchScheduler.configure(1);
+        AiSearchScheduler scheduler = AiSearchScheduler.getInstance();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        AiSearchScheduler.Search<String> blocking = scheduler.submit(UUID.randomUUID(), new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                blocked.countDown();
+                release.await();
+                return "blocking";
+            }
+        });
+        blocked.await();
+        List<String> executed = Collections.synchronizedList(new ArrayList<String>());
+        AiSearchScheduler.Search<String> search = scheduler.submit(UUID.randomUUID(), record("queued", executed));
+
+        // when
+        long start = System.nanoTime();
+        try {
+            search.getWithinThinkTime(100, TimeUnit.MILLISECONDS);
+            fail("search was not started, expected a timeout");
+        } catch (TimeoutException ex) {
+            // expected
+        }
+
+        // then
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertTrue(search.isCancelled());
+        release.countDown();
+        blocking.get(10, TimeUnit.SECONDS);
+        scheduler.submit(UUID.randomUUID(), record("next", executed)).get(10, TimeUnit.SECONDS);
+        assertEquals("[next]", executed.toString());
+    }
+
+    @Test
+    public void shouldLimitParallelismToIdleWorkers() throws Exception {
+        // given
+        AiSearchScheduler.configure(4);
+        AiSearchScheduler scheduler = AiSearchScheduler.getInstance();
+        assertEquals(2, scheduler.getParallelism());
+        final CountDownLatch blocked = new CountDownLatch(3);
+        final CountDownLatch release = new CountDownLatch(1);
+        List<AiSearchScheduler.Search<String>> searches = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            searches.add(scheduler.submit(UUID.randomUUID(), new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    blocked.countDown();
+                    release.await();
+                    return "blocking";
+                }
+            }));
+        }
+        blocked.await();
+
+        // then
+        assertEquals(1, scheduler.getParallelism());
+        release.countDown();
+        for (AiSearchScheduler.Search<String> search : searches) {
+            search.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Callable<String> record(final String name, final List<String> executed) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                executed.add(name);
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,78 @@
+package mage.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Custom unit tests for {@link BinaryDelta}
+ */
+public class BinaryDeltaTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void shouldRestoreChangedData() {
+        // given
+        byte[] base = randomBytes(100000);
+        byte[] target = Arrays.copyOf(base, base.length + 50);
+        target[10] = (byte) (target[10] + 1);
+        System.arraycopy(randomBytes(50), 0, target, 50000, 50);
+        System.arraycopy(base, 50000, target, 50050, base.length - 50000);
+
+        // when
+        byte[] delta = BinaryDelta.encode(base, target);
+
+        // then
+        assertArrayEquals(target, BinaryDelta.apply(base, delta));
+        assertTrue("delta too big: " + delta.length, delta.length < 200);
+    }
+
+    @Test
+    public void shouldRestoreUnrelatedData() {
+        // given
+        byte[] base = randomBytes(1000);
+        byte[] target = randomBytes(3000);
+
+        // when
+        byte[] delta = BinaryDelta.encode(base, target);
+
+        // then
+        assertArrayEquals(target, BinaryDelta.apply(base, delta));
+    }
+
+    @Test
+    public void shouldHandleEmptyData() {
+        // given
+        byte[] base = new byte[0];
+        byte[] target = randomBytes(10);
+
+        // when
+        byte[] delta = BinaryDelta.encode(base, target);
+
+        // then
+        assertArrayEquals(target, BinaryDelta.apply(base, delta));
+        assertArrayEquals(base, BinaryDelta.apply(target, BinaryDelta.encode(target, base)));
+    }
+
+    @Test
+    public void shouldUncompressCompressedData() {
+        // given
+        byte[] data = new byte[20000];
+        Arrays.fill(data, 5000, 6000, (byte) 7);
+
+        // when
+        byte[] compressed = BinaryDelta.compress(data);
+
+        // then
+        assertTrue(compressed.length < data.length / 10);
+        assertArrayEquals(data, BinaryDelta.uncompress(compressed));
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}